@@ -0,0 +1,102 @@
+package com.payswiff.mfmsproject.configs;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the pooled id generator rows in the {@code id_generator} table ahead of the ids
+ * that already exist in their tables.
+ * <p>
+ * Entities written on the hot path (feedback and its question answers) use a pooled
+ * {@code @TableGenerator} instead of IDENTITY so Hibernate can batch their inserts. On a
+ * database whose rows were created with AUTO_INCREMENT the generator row starts from 1, which
+ * would collide with existing ids. On startup this component moves each generator row past the
+ * current maximum id of its table; it never moves a row backwards.
+ * </p>
+ * <p>
+ * The rows are aligned once every singleton is created, so after Hibernate has updated the
+ * schema but before the web server is started and before the {@code ApplicationReadyEvent}
+ * listeners, such as the replay of the ingestion journal, can insert a feedback. Several
+ * instances may start at once: each move is a single conditional UPDATE that only raises
+ * {@code next_val}, and an instance that loses the race to create a missing row aligns the
+ * row the other one created. A generator row is always ahead of every id it has handed out,
+ * so a block already taken by a running instance is never handed out again.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Component
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+	private static final Logger logger = LogManager.getLogger(IdGeneratorInitializer.class); // Logger initialization
+
+	/** Must match the allocationSize of the generators below. */
+	static final int ALLOCATION_SIZE = 50;
+
+	/** segment name (pkColumnValue), table, id column */
+	private static final List<String[]> POOLED_TABLES = List.of(
+			new String[] { "feedback", "feedback", "feedback_id" },
+			new String[] { "feedback_questions_association", "feedback_questions_association", "id" });
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Aligns the generators before the application takes any request.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		alignGenerators();
+	}
+
+	/**
+	 * Aligns every pooled generator row with the data already present in its table.
+	 */
+	public void alignGenerators() {
+		for (String[] pooledTable : POOLED_TABLES) {
+			try {
+				align(pooledTable[0], pooledTable[1], pooledTable[2]);
+			} catch (Exception e) {
+				// Never block startup; Hibernate will still create the row on first use
+				logger.error("Unable to align id generator for segment " + pooledTable[0], e);
+			}
+		}
+	}
+
+	private void align(String segment, String table, String idColumn) {
+		Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table,
+				Long.class);
+		// the pooled optimizer hands out (next_val - allocation + 1) .. next_val, so keep the whole block above maxId
+		long target = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE + 1;
+
+		int updated = raise(segment, target);
+		if (updated == 0) {
+			Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM id_generator WHERE sequence_name = ?",
+					Integer.class, segment);
+			if (rows != null && rows == 0) {
+				try {
+					updated = jdbcTemplate.update("INSERT INTO id_generator (sequence_name, next_val) VALUES (?, ?)",
+							segment, target);
+				} catch (DuplicateKeyException e) {
+					// another instance created the row meanwhile; make sure it is far enough ahead
+					updated = raise(segment, target);
+				}
+			}
+		}
+		logger.info("Id generator '" + segment + "' checked against max id " + maxId
+				+ (updated > 0 ? ", moved to " + target : ", already ahead"));
+	}
+
+	private int raise(String segment, long target) {
+		return jdbcTemplate.update("UPDATE id_generator SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+				target, segment, target);
+	}
+}
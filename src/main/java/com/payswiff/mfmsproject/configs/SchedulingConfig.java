@@ -0,0 +1,23 @@
+package com.payswiff.mfmsproject.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} support for background jobs such as the
+ * email outbox dispatcher.
+ * <p>
+ * Scheduling stays off when {@code mfms.feedback.export.file} is set: the application then
+ * only runs {@code FeedbackExportCommand} and exits, and must not start dispatching emails
+ * or rebuilding indexes meanwhile.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnExpression("'${mfms.feedback.export.file:}'.isEmpty()")
+public class SchedulingConfig {
+}
@@ -22,6 +22,8 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager; //
 import org.springframework.security.web.SecurityFilterChain; // Importing SecurityFilterChain for security filter chain
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter; // Importing filter for username/password authentication
 
+import jakarta.servlet.DispatcherType; // Importing DispatcherType to match async dispatches
+
 import com.payswiff.mfmsproject.security.JwtAuthenticationEntryPoint; // Importing custom JWT authentication entry point
 import com.payswiff.mfmsproject.security.JwtAuthenticationFilter; // Importing custom JWT authentication filter
 import com.payswiff.mfmsproject.security.JwtTokenProvider; // Importing custom JWT token provider
@@ -99,6 +101,9 @@ public class SecurityConfig {
     SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         httpSecurity.csrf(csrf -> csrf.disable()) // Disable CSRF protection
                 .authorizeHttpRequests((authorize) -> authorize
+                        // Streaming responses finish on an ASYNC dispatch; the request was authorized on the first dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Allow access to Swagger and API documentation endpoints
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
@@ -109,30 +114,50 @@ public class SecurityConfig {
                         // Allow unauthenticated access to certain authentication and employee creation endpoints
                         .requestMatchers(HttpMethod.POST, "/api/authentication/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/authentication/forgotpassword").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/authentication/setpassword").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/employees/create").permitAll()
 
                         // Allow access to admin-only endpoints with 'admin' role
+                        .requestMatchers(HttpMethod.POST, "/api/employees/bulk").hasRole("admin")
                         .requestMatchers(HttpMethod.POST, "/api/devices/create").hasRole("admin")
                         .requestMatchers(HttpMethod.POST, "/api/merchants/create").hasRole("admin")
+                        .requestMatchers(HttpMethod.POST, "/api/merchants/import").hasRole("admin")
                         .requestMatchers(HttpMethod.POST, "/api/MerchantDeviceAssociation/assign").hasRole("admin")
+                        .requestMatchers(HttpMethod.POST, "/api/MerchantDeviceAssociation/assign/bulk").hasRole("admin")
+                        .requestMatchers(HttpMethod.POST, "/api/MerchantDeviceAssociation/duplicates/remove").hasRole("admin")
                         .requestMatchers(HttpMethod.POST, "/api/questions/create").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/MerchantDeviceAssociation/get/merchantdeviceslist").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/MerchantDeviceAssociation/check/merchant-device").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/feedback/allfeedbackscount").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/feedback/average-rating-by-device").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/MerchantDeviceAssociation/device-count").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/MerchantDeviceAssociation/duplicates").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/feedback/device-count").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/answer-distribution").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/rating-distribution/**").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/trend/**").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/duplicates").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/duplicates/audit").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/export").hasRole("admin")
                         .requestMatchers(HttpMethod.GET, "/api/employees/all").hasRole("admin")
                         .requestMatchers(HttpMethod.GET,"/api/FeedbackQuestions/**").hasRole("admin")
+                        .requestMatchers(HttpMethod.POST, "/api/FeedbackQuestions/migrate-answers").hasRole("admin")
+                        .requestMatchers(HttpMethod.GET, "/api/cache/statistics").hasRole("admin")
                         
                         // Access to employee endpoints with 'employee' role
                         .requestMatchers(HttpMethod.POST, "/api/feedback/create").hasRole("employee")
+                        .requestMatchers(HttpMethod.POST, "/api/feedback/bulk").hasRole("employee")
                         
                         // Access to endpoints requiring either admin or employee authentication
                         .requestMatchers(HttpMethod.GET, "/api/devices/get").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/devices/all").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/employees/get").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/feedback/getallfeedbacks").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/page").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/stream").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/search").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/get/{id}").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/feedback/ingest/{uuid}").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/merchants/get").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/merchants/all").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/questions/get").authenticated()
@@ -13,11 +13,14 @@ import org.springframework.web.bind.annotation.RestController; // Importing Rest
 import com.payswiff.mfmsproject.dtos.ForgotPasswordDto; // Importing DTO for forgot password requests
 import com.payswiff.mfmsproject.dtos.LoginDto; // Importing DTO for login requests
 import com.payswiff.mfmsproject.dtos.LoginResponseDto; // Importing DTO for login response
+import com.payswiff.mfmsproject.dtos.SetPasswordDto;
 import com.payswiff.mfmsproject.exceptions.EmployeePasswordUpdationFailedException; // Importing custom exception for password update failures
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException; // Importing custom exception for resource not found scenarios
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.services.AuthService; // Importing service for authentication operations
 import com.payswiff.mfmsproject.services.EmployeeService; // Importing service for employee operations
+import com.payswiff.mfmsproject.services.PasswordSetupService;
 
 /**
  * REST controller for handling authentication-related operations.
@@ -44,6 +47,9 @@ public class AuthController {
     @Autowired // Automatically inject the AuthService bean
     private AuthService authService; // Service for authentication operations
 
+    @Autowired
+    private PasswordSetupService passwordSetupService; // Redeems the set-password links of welcome mails
+
     /**
      * Endpoint for user login.
      *
@@ -105,4 +111,23 @@ public class AuthController {
         	return results;
         }
     }
+
+    /**
+     * Endpoint for setting a password through the single-use link of a welcome mail.
+     *
+     * @param setPasswordDto the token from the link and the new password
+     * @return true once the password is set
+     * @throws InvalidRequestParameterException if the token is unknown, used or expired (400)
+     * @throws ResourceNotFoundException if the employee no longer exists
+     * @throws ResourceUnableToCreate if the body is missing
+     */
+    @PostMapping("/setpassword") // Maps POST requests to /api/authentication/setpassword
+    public boolean setPassword(@RequestBody SetPasswordDto setPasswordDto)
+            throws InvalidRequestParameterException, ResourceNotFoundException, ResourceUnableToCreate {
+        if (setPasswordDto == null) {
+            AuthControllerLogger.error("SetPassword Dto is Null");
+            throw new ResourceUnableToCreate("null request for setpassword body", null, null);
+        }
+        return passwordSetupService.setPassword(setPasswordDto.getToken(), setPasswordDto.getPassword());
+    }
 }
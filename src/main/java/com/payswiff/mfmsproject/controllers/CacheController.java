@@ -0,0 +1,43 @@
+package com.payswiff.mfmsproject.controllers;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.payswiff.mfmsproject.dtos.CacheRegionStatsDto;
+import com.payswiff.mfmsproject.services.ReferenceCacheService;
+
+/**
+ * REST controller exposing the second-level cache counters of the reference entities,
+ * so the hit rate can be checked on a running instance.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = {"http://localhost:5173", "http://192.168.2.7:5173"})
+public class CacheController {
+
+    private static final Logger logger = LogManager.getLogger(CacheController.class);
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    /**
+     * Retrieves the hit, miss and put counters of every reference cache region of this instance.
+     *
+     * @return ResponseEntity containing one entry per region.
+     */
+    @GetMapping("/statistics")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<List<CacheRegionStatsDto>> getStatistics() {
+        logger.info("Fetching second-level cache statistics");
+        return ResponseEntity.ok(referenceCacheService.getStatistics());
+    }
+}
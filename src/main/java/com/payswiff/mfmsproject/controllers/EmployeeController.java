@@ -9,12 +9,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.payswiff.mfmsproject.dtos.EmployeeOnboardingResultDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.exceptions.UnableSentEmail;
 import com.payswiff.mfmsproject.models.Employee;
 import com.payswiff.mfmsproject.reuquests.CreateEmployeeRequest;
+import com.payswiff.mfmsproject.services.EmployeeOnboardingService;
 import com.payswiff.mfmsproject.services.EmployeeService;
 
 import jakarta.validation.Valid;
@@ -28,6 +31,7 @@ import jakarta.validation.Valid;
  *   <li>Creating a new employee with unique Payswiff ID, email, and phone number.</li>
  *   <li>Retrieving employees by Payswiff ID, phone number, or email.</li>
  *   <li>Listing all employees.</li>
+ *   <li>Onboarding many employees in one request.</li>
  * </ul>
  * 
  * <p>
@@ -63,6 +67,9 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeOnboardingService employeeOnboardingService;
+
     /**
      * Creates a new Employee after validating that no existing employee has the
      * same Payswiff ID, email, or phone number.
@@ -99,6 +106,28 @@ public class EmployeeController {
         return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates many employees at once, for example a quarterly intake of agents. Each employee
+     * is checked by the same rules as {@link #createEmployee}; the ones that are invalid or
+     * already exist are reported and skipped, the others are created and sent their welcome email.
+     *
+     * @param requests The employees to create.
+     * @return ResponseEntity containing one result per employee, in request order.
+     * @throws InvalidRequestParameterException If the request is empty or too large.
+     * @throws ResourceNotFoundException If the admin or employee role does not exist.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<EmployeeOnboardingResultDto>> onboardEmployees(
+            @RequestBody List<CreateEmployeeRequest> requests)
+            throws InvalidRequestParameterException, ResourceNotFoundException {
+        logger.info("Received request to onboard {} employees", requests == null ? 0 : requests.size());
+
+        List<EmployeeOnboardingResultDto> results = employeeOnboardingService.onboard(requests);
+
+        logger.info("Employee onboarding request processed");
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Retrieves an Employee by Payswiff ID, phone number, or email.
      *
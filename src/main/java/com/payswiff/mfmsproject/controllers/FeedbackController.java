@@ -3,25 +3,68 @@ package com.payswiff.mfmsproject.controllers;
 import com.payswiff.mfmsproject.models.Feedback; // Importing model class for feedback data
 import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest; // Importing request structure for feedback creation
 import com.payswiff.mfmsproject.reuquests.FeedbackRequestWrapper; // Importing wrapper for feedback requests
+import com.payswiff.mfmsproject.services.AnswerDistributionService; // Per-question answer counters
+import com.payswiff.mfmsproject.services.FeedbackBulkUploadService; // Bulk upload of offline feedbacks
+import com.payswiff.mfmsproject.services.FeedbackExportService; // Compressed exports for BI
+import com.payswiff.mfmsproject.services.FeedbackIdempotencyService; // Dedupes retried submissions
+import com.payswiff.mfmsproject.services.FeedbackIngestionService; // Queued write path for bursts
 import com.payswiff.mfmsproject.services.FeedbackService; // Service class to handle feedback business logic
+import com.payswiff.mfmsproject.services.FeedbackTrendService; // Daily and weekly trends from the daily rollups
+import com.payswiff.mfmsproject.services.RatingDistributionEngine; // In-memory rating histograms
 
+import jakarta.servlet.http.HttpServletResponse; // Written directly while the upload is read
 import jakarta.validation.Valid; // Validation library for input validation annotations
+import com.payswiff.mfmsproject.dtos.AnswerDistributionDto; // DTO for the answers to one question
 import com.payswiff.mfmsproject.dtos.AverageRatingResponseDTO; // DTO for average rating response
 import com.payswiff.mfmsproject.dtos.DeviceFeedbackCountDTO; // DTO for device feedback count
 import com.payswiff.mfmsproject.dtos.EmployeeFeedbackCountDto; // DTO for employee feedback count
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateAuditDto; // Result of a near-duplicate audit
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateDto; // A feedback and the earlier one it copies
+import com.payswiff.mfmsproject.dtos.FeedbackFilter; // Optional criteria of the feedback listings
+import com.payswiff.mfmsproject.dtos.FeedbackIngestionStatusDto; // Status of a queued feedback
+import com.payswiff.mfmsproject.dtos.FeedbackPageDto; // DTO for one page of feedbacks
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto; // DTO for feedback question-answer assignment
+import com.payswiff.mfmsproject.dtos.FeedbackSearchHitDto; // One ranked search result
+import com.payswiff.mfmsproject.dtos.FeedbackSummaryDto; // DTO for one feedback row of a listing
+import com.payswiff.mfmsproject.dtos.FeedbackTrendDto; // Trend of one employee, device or merchant
+import com.payswiff.mfmsproject.dtos.FeedbackUploadResultDto; // Result of one uploaded record
+import com.payswiff.mfmsproject.dtos.RatingDistributionDto; // Rating statistics of one employee, device or merchant
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException; // Custom exception for bad paging parameters
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException; // Custom exception for resources not found
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate; // Custom exception for feedback creation failure
+import com.payswiff.mfmsproject.models.FeedbackExportFormat; // CSV or NDJSON export
+import com.payswiff.mfmsproject.models.FeedbackIngestionState; // Written or queued outcome of a keyed submission
+import com.payswiff.mfmsproject.models.FeedbackRollupScope; // Employee, device or merchant
+import com.payswiff.mfmsproject.models.TrendInterval; // Day or week points of a trend
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedOutputStream; // Buffers the streamed rows before they hit the socket
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI; // Location of the ingestion status
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate; // Bounds of the answer distribution window
+import java.time.LocalDateTime; // Bounds of the report window
 import java.util.List; // Import List for handling collections
 
 import org.springframework.beans.factory.annotation.Autowired; // Dependency injection
+import org.springframework.format.annotation.DateTimeFormat; // ISO date-time request parameters
+import org.springframework.http.ContentDisposition; // File name of the export
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus; // HTTP status codes
+import org.springframework.http.MediaType; // Content type of the streamed response
 import org.springframework.http.ResponseEntity; // Building HTTP responses
 import org.springframework.web.bind.annotation.*; // RESTful web service annotations
+import org.springframework.security.core.context.SecurityContextHolder; // The authenticated caller
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Writes the response outside the request thread
+
+import com.fasterxml.jackson.databind.ObjectMapper; // JSON serialization of streamed rows
+import com.fasterxml.jackson.databind.ObjectWriter;
 /**
  * The FeedbackController handles all HTTP requests related to feedback management.
  * Provides endpoints for:
@@ -43,20 +86,64 @@ public class FeedbackController {
 
     private static final Logger logger = LogManager.getLogger(FeedbackController.class); // Logger for this class
 
+    static final String FEEDBACK_UUID_HEADER = "X-Feedback-Uuid"; // UUID of a queued or keyed feedback
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key"; // Client key of a retryable submission
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed"; // Set when an earlier outcome is returned
+    static final String EXPORT_WATERMARK_HEADER = "X-Export-Watermark"; // Start of the next incremental export
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor"; // Set when a capped listing has more rows
+
     @Autowired
     private FeedbackService feedbackService; // Injecting FeedbackService for business logic operations
 
+    @Autowired
+    private FeedbackIngestionService feedbackIngestionService; // Optional queued write path
+
+    @Autowired
+    private FeedbackIdempotencyService feedbackIdempotencyService; // Dedupes retried submissions
+
+    @Autowired
+    private FeedbackBulkUploadService feedbackBulkUploadService; // Bulk upload of offline feedbacks
+
+    @Autowired
+    private FeedbackExportService feedbackExportService; // Compressed exports for BI
+
+    @Autowired
+    private AnswerDistributionService answerDistributionService; // Per-question answer counters
+
+    @Autowired
+    private RatingDistributionEngine ratingDistributionEngine; // In-memory rating histograms
+
+    @Autowired
+    private FeedbackTrendService feedbackTrendService; // Daily rollups behind the trends
+
+    @Autowired
+    private ObjectMapper objectMapper; // Spring's configured mapper, so dates match the other endpoints
+
     /**
      * Endpoint to create a new feedback entry.
      * Validates that the request is non-null and contains exactly 10 question-answer pairs.
+     * <p>
+     * When the ingestion queue is enabled the validated feedback is queued instead of written:
+     * the response is 202 with the feedback UUID in the {@code X-Feedback-Uuid} header and the
+     * status endpoint in {@code Location}. A full queue answers 503 with Retry-After.
+     * </p>
+     * <p>
+     * A client that may retry sends an {@code Idempotency-Key} header, for example a UUID it
+     * generated for the feedback. The feedback UUID is derived from the key and the logged-in
+     * user and returned in {@code X-Feedback-Uuid}. A repeated key of the same user gets the
+     * original response, marked with {@code Idempotent-Replayed: true}, and nothing is
+     * written or emailed again. A repeated key with a different body is refused with 422.
+     * </p>
      *
      * @param requestWrapper The wrapper containing feedback request data and question-answer pairs.
+     * @param idempotencyKey The optional idempotency key of the submission.
      * @return ResponseEntity with HTTP status indicating the result of the creation.
      * @throws ResourceUnableToCreate if the request is null or incomplete.
      */
     @PostMapping("/create")
     public ResponseEntity<HttpStatus> createFeedback(
-            @Valid @RequestBody FeedbackRequestWrapper requestWrapper) throws Exception {
+            @Valid @RequestBody FeedbackRequestWrapper requestWrapper,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws Exception {
 
         logger.info("Initiating feedback creation process"); // Log beginning of creation process
 
@@ -76,6 +163,20 @@ public class FeedbackController {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST); // Return HTTP 400 Bad Request
         }
 
+        // Keyed submission: at most one feedback per key
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return createFeedbackOnce(requestWrapper, idempotencyKey);
+        }
+
+        // Queued ingestion: validate now, write in the background
+        if (feedbackIngestionService.isEnabled()) {
+            String feedbackUuid = feedbackIngestionService.submit(feedbackRequest, questionAnswers);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(FEEDBACK_UUID_HEADER, feedbackUuid)
+                    .location(URI.create("/api/feedback/ingest/" + feedbackUuid))
+                    .build();
+        }
+
         // Call the service layer to create feedback
         boolean isFeedbackCreated = feedbackService.createFeedback(feedbackRequest, questionAnswers);
 
@@ -90,28 +191,63 @@ public class FeedbackController {
     }
 
     /**
-     * Retrieves feedback based on filter criteria, such as employee ID, device ID, rating, and merchant ID.
+     * Creates or queues a keyed feedback once, replaying the outcome for repeated keys.
+     */
+    private ResponseEntity<HttpStatus> createFeedbackOnce(FeedbackRequestWrapper requestWrapper, String idempotencyKey)
+            throws Exception {
+        CreateFeedbackRequest feedbackRequest = requestWrapper.getFeedbackRequest();
+        List<FeedbackQuestionAnswerAssignDto> questionAnswers = requestWrapper.getQuestionAnswers();
+
+        // scoped by the JWT subject, not by the employee ID the body claims
+        String principal = SecurityContextHolder.getContext().getAuthentication().getName();
+        String feedbackUuid = feedbackIdempotencyService.feedbackUuidFor(principal, idempotencyKey);
+        // the bound body, re-serialized, so formatting of the JSON does not count as a change
+        String requestHash = FeedbackIdempotencyService.requestHash(objectMapper.writeValueAsBytes(requestWrapper));
+        FeedbackIdempotencyService.Outcome outcome = feedbackIdempotencyService.execute(feedbackUuid, requestHash, () -> {
+            if (feedbackIngestionService.isEnabled()) {
+                feedbackIngestionService.submit(feedbackRequest, questionAnswers, feedbackUuid);
+                return new FeedbackIngestionStatusDto(feedbackUuid, FeedbackIngestionState.QUEUED, null, null);
+            }
+            Integer feedbackId = feedbackService.createFeedback(feedbackRequest, questionAnswers, feedbackUuid);
+            return new FeedbackIngestionStatusDto(feedbackUuid, FeedbackIngestionState.WRITTEN, feedbackId, null);
+        });
+
+        logger.info("Keyed feedback {} {}", feedbackUuid, outcome.replayed() ? "replayed" : "accepted"); // Log outcome
+        ResponseEntity.BodyBuilder response;
+        if (outcome.status().getStatus() == FeedbackIngestionState.QUEUED) {
+            response = ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/feedback/ingest/" + feedbackUuid));
+        } else {
+            response = ResponseEntity.status(HttpStatus.CREATED);
+        }
+        response.header(FEEDBACK_UUID_HEADER, feedbackUuid);
+        if (outcome.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.build();
+    }
+
+    /**
+     * Retrieves feedback based on filter criteria: employee ID, device ID, merchant ID, rating,
+     * rating range (minRating, maxRating) and creation-time range (from, to). All criteria are
+     * optional and combined. At most 500 feedbacks are returned, newest first; if there are
+     * more, the X-Next-Cursor header holds the cursor that continues at /page.
      *
-     * @param employeeId The ID of the employee (optional).
-     * @param deviceId   The ID of the device (optional).
-     * @param rating     The feedback rating (optional).
-     * @param merchantId The ID of the merchant (optional).
-     * @return ResponseEntity containing a list of feedback entries matching the filters.
-     * @throws ResourceNotFoundException if no feedbacks match the provided criteria.
+     * @param filter The filter criteria, bound from the query parameters.
+     * @return ResponseEntity containing summaries of the feedback entries matching the filters.
+     * @throws ResourceNotFoundException        if the employee, device or merchant does not exist.
+     * @throws InvalidRequestParameterException if a range is empty.
      */
     @GetMapping("/getallfeedbacks")
-    public ResponseEntity<List<Feedback>> getFeedbacksByFilters(
-            @RequestParam(required = false) Long employeeId,
-            @RequestParam(required = false) Long deviceId,
-            @RequestParam(required = false) Integer rating,
-            @RequestParam(required = false) Long merchantId) throws ResourceNotFoundException {
+    public ResponseEntity<List<FeedbackSummaryDto>> getFeedbacksByFilters(FeedbackFilter filter)
+            throws ResourceNotFoundException, InvalidRequestParameterException {
         
         // Log input filter parameters
-        logger.info("Retrieving feedbacks with filters - Employee ID: {}, Device ID: {}, Rating: {}, Merchant ID: {}", 
-                    employeeId, deviceId, rating, merchantId);
+        logger.info("Retrieving feedbacks with filters - {}", filter);
 
-        // Fetch feedback based on filters
-        List<Feedback> feedbacks = feedbackService.getFeedbacksByFilters(employeeId, deviceId, rating, merchantId);
+        // Fetch the first page of feedbacks matching the filters
+        FeedbackPageDto page = feedbackService.getFeedbacksByFilters(filter);
+        List<FeedbackSummaryDto> feedbacks = page.getFeedbacks();
 
         // Log result based on feedback data availability
         if (feedbacks.isEmpty()) {
@@ -120,21 +256,243 @@ public class FeedbackController {
             logger.info("Successfully retrieved {} feedback(s) matching the filters", feedbacks.size()); // Log success with count
         }
 
-        // Return feedback list with HTTP 200 OK status
-        return new ResponseEntity<>(feedbacks, HttpStatus.OK);
+        // Return feedback list with HTTP 200 OK status, and the cursor if the list was capped
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            logger.warn("Feedback listing capped at {} rows", feedbacks.size());
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(feedbacks);
+    }
+
+    /**
+     * Searches the feedback text. A feedback matches if its text contains any word of the
+     * query, after lower-casing and suffix stripping; results are ranked by relevance. The
+     * employee, device and merchant filters are optional and combined.
+     *
+     * @param q          The words to look for.
+     * @param employeeId Only feedbacks of this employee (optional).
+     * @param deviceId   Only feedbacks about this device (optional).
+     * @param merchantId Only feedbacks about this merchant (optional).
+     * @param limit      The maximum number of results (optional, 20, at most 100).
+     * @return ResponseEntity containing the matching feedbacks, best first.
+     * @throws ResourceNotFoundException        if the employee, device or merchant does not exist.
+     * @throws InvalidRequestParameterException if the query is blank or the limit is invalid.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<FeedbackSearchHitDto>> searchFeedbacks(@RequestParam String q,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) Long deviceId,
+            @RequestParam(required = false) Long merchantId,
+            @RequestParam(required = false) Integer limit)
+            throws ResourceNotFoundException, InvalidRequestParameterException {
+        logger.info("Searching feedbacks for '{}', employee: {}, device: {}, merchant: {}", q, employeeId, deviceId,
+                merchantId); // Log request start
+        List<FeedbackSearchHitDto> hits = feedbackService.searchFeedbacks(q, employeeId, deviceId, merchantId, limit);
+        logger.info("Search returned {} feedback(s)", hits.size()); // Log success
+        return ResponseEntity.ok(hits);
+    }
+
+    /**
+     * Retrieves one feedback with its employee, merchant and device. The listings only return
+     * summaries; this is the endpoint for the full record.
+     *
+     * @param id The ID of the feedback.
+     * @return ResponseEntity containing the feedback.
+     * @throws ResourceNotFoundException if no feedback has this ID.
+     */
+    @GetMapping("/get/{id}")
+    public ResponseEntity<Feedback> getFeedbackById(@PathVariable Integer id) throws ResourceNotFoundException {
+        logger.info("Retrieving feedback with ID: {}", id);
+
+        Feedback feedback = feedbackService.getFeedbackById(id);
+
+        // Return the feedback with HTTP 200 OK status
+        return ResponseEntity.ok(feedback);
+    }
+
+    /**
+     * Retrieves the status of a feedback submitted through the ingestion queue.
+     *
+     * @param uuid The UUID returned when the feedback was accepted.
+     * @return ResponseEntity containing the status, and the feedback ID once written.
+     * @throws ResourceNotFoundException if no submission or feedback has this UUID.
+     */
+    @GetMapping("/ingest/{uuid}")
+    public ResponseEntity<FeedbackIngestionStatusDto> getIngestionStatus(@PathVariable String uuid)
+            throws ResourceNotFoundException {
+        logger.info("Retrieving ingestion status of feedback {}", uuid);
+        return ResponseEntity.ok(feedbackIngestionService.getStatus(uuid));
+    }
+
+    /**
+     * Retrieves one page of feedbacks, newest first. Filters are optional and combined.
+     * Pass the returned nextCursor as cursor to get the following page.
+     *
+     * @param filter     The filter criteria, bound from the query parameters.
+     * @param cursor     The continuation token of the previous page (optional).
+     * @param size       The page size, 50 by default and at most 500 (optional).
+     * @return ResponseEntity containing the page of feedbacks.
+     * @throws ResourceNotFoundException        if the employee, device or merchant does not exist.
+     * @throws InvalidRequestParameterException if the size or the cursor is invalid.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<FeedbackPageDto> getFeedbackPage(FeedbackFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) throws ResourceNotFoundException, InvalidRequestParameterException {
+
+        logger.info("Retrieving feedback page with filters - {}, size: {}", filter, size);
+
+        FeedbackPageDto page = feedbackService.getFeedbackPage(filter, cursor, size);
+
+        // Return the page with HTTP 200 OK status
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Streams every matching feedback as newline-delimited JSON, newest first. Rows are written
+     * as they are read from the database, so the size of the result does not affect memory use.
+     *
+     * @param filter The filter criteria, bound from the query parameters.
+     * @return ResponseEntity with a body that streams one JSON object per line.
+     * @throws ResourceNotFoundException        if the employee, device or merchant does not exist.
+     * @throws InvalidRequestParameterException if a range is empty.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFeedbacks(FeedbackFilter filter)
+            throws ResourceNotFoundException, InvalidRequestParameterException {
+
+        logger.info("Streaming feedbacks with filters - {}", filter);
+
+        // Report a bad filter while an error status can still be sent
+        feedbackService.validateFilter(filter);
+
+        ObjectWriter writer = objectMapper.writerFor(FeedbackSummaryDto.class);
+        StreamingResponseBody body = (OutputStream out) -> {
+            OutputStream buffered = new BufferedOutputStream(out, 16 * 1024);
+            try {
+                feedbackService.streamFeedbacks(filter, row -> {
+                    try {
+                        buffered.write(writer.writeValueAsBytes(row));
+                        buffered.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // client went away, stops the JDBC cursor
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                logger.warn("Feedback stream aborted: {}", e.getCause().getMessage());
+                return;
+            }
+            buffered.flush();
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Exports the feedbacks with their answers, oldest first, as a gzip-compressed CSV or
+     * NDJSON file. The rows are read in one streaming pass and compressed as they are written.
+     * <p>
+     * The export ends at the watermark returned in the {@code X-Export-Watermark} header, a few
+     * minutes in the past so that every earlier feedback has committed. Passing it as
+     * {@code since} on the next call exports exactly the feedbacks created in between.
+     * </p>
+     *
+     * @param format csv (default) or ndjson.
+     * @param since  Inclusive start of the creation-time window, ISO date-time (optional, all feedbacks).
+     * @return ResponseEntity with a body that streams the compressed export.
+     * @throws InvalidRequestParameterException if the format is unknown or since is after the watermark.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFeedbacks(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since)
+            throws InvalidRequestParameterException {
+
+        logger.info("Exporting feedbacks as {} since {}", format, since);
+
+        FeedbackExportFormat exportFormat = formatOf(format);
+        LocalDateTime until = feedbackExportService.watermark(since);
+        StreamingResponseBody body = (OutputStream out) -> {
+            try {
+                feedbackExportService.export(exportFormat, since, until, out);
+            } catch (IOException e) {
+                logger.warn("Feedback export aborted: {}", e.getMessage()); // client went away
+            }
+        };
+
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("feedback-export." + exportFormat.name().toLowerCase() + ".gz").build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .header(EXPORT_WATERMARK_HEADER, until.toString())
+                .body(body);
+    }
+
+    /**
+     * Bulk upload of feedbacks collected offline, one JSON record per line in the format of
+     * {@link com.payswiff.mfmsproject.dtos.FeedbackSubmission}.
+     * <p>
+     * The response is newline-delimited JSON with one {@link FeedbackUploadResultDto} per record.
+     * It is written while the upload is still being read: the results of each batch are flushed
+     * once the batch is committed, so a client can follow the progress and the upload size does
+     * not affect memory use. A record's {@code feedbackUuid} is optional; with it, the upload can
+     * safely be sent again after a broken connection.
+     * </p>
+     *
+     * @param body     The uploaded records.
+     * @param response The response the results are written to.
+     * @throws IOException if the upload cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void uploadFeedbacks(InputStream body, HttpServletResponse response) throws IOException {
+
+        logger.info("Receiving bulk feedback upload");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writerFor(FeedbackUploadResultDto.class);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 16 * 1024);
+        try {
+            feedbackBulkUploadService.upload(new InputStreamReader(body, StandardCharsets.UTF_8), results -> {
+                try {
+                    for (FeedbackUploadResultDto result : results) {
+                        out.write(writer.writeValueAsBytes(result));
+                        out.write('\n');
+                    }
+                    out.flush(); // hand out each batch as soon as it is written
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client went away, stops reading the upload
+                }
+            });
+        } catch (UncheckedIOException e) {
+            logger.warn("Bulk feedback upload aborted: {}", e.getCause().getMessage());
+            return;
+        }
+        out.flush();
     }
 
     /**
-     * Retrieves the count of feedbacks submitted for each employee.
+     * Retrieves the count of feedbacks submitted for each employee, most feedbacks first.
      *
+     * @param top  The number of employees to return (optional, all by default).
+     * @param from Inclusive start of the creation-time window, ISO date-time (optional).
+     * @param to   Exclusive end of the creation-time window, ISO date-time (optional).
      * @return ResponseEntity containing a list of feedback counts per employee.
+     * @throws InvalidRequestParameterException if top is not positive or the window is empty.
      */
     @GetMapping("/allfeedbackscount")
-    public ResponseEntity<List<EmployeeFeedbackCountDto>> getAllFeedbacksCount() {
-        logger.info("Retrieving feedback counts for all employees"); // Log request start
+    public ResponseEntity<List<EmployeeFeedbackCountDto>> getAllFeedbacksCount(
+            @RequestParam(required = false) Integer top,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to)
+            throws InvalidRequestParameterException {
+        logger.info("Retrieving feedback counts for all employees, top: {}, from: {}, to: {}", top, from, to); // Log request start
 
         // Get feedback counts from the service
-        List<EmployeeFeedbackCountDto> feedbackCounts = feedbackService.countFeedbacksForAllEmployees();
+        List<EmployeeFeedbackCountDto> feedbackCounts = feedbackService.countFeedbacksForAllEmployees(top, from, to);
 
         // Log result based on feedback count availability
         if (feedbackCounts.isEmpty()) {
@@ -192,4 +550,174 @@ public class FeedbackController {
         // Return device feedback counts list with HTTP 200 OK
         return ResponseEntity.ok(feedbackCounts);
     }
+
+    /**
+     * Retrieves how the answers to each question are spread over the feedbacks, read from
+     * the pre-aggregated answer counters.
+     *
+     * @param merchantBusinessType Only feedbacks of merchants of this business type (optional).
+     * @param deviceManufacturer   Only feedbacks of devices of this manufacturer (optional).
+     * @param from Inclusive first creation day, ISO date (optional).
+     * @param to   Exclusive last creation day, ISO date (optional).
+     * @return ResponseEntity containing one answer distribution per question.
+     * @throws InvalidRequestParameterException if the window is empty.
+     */
+    @GetMapping("/answer-distribution")
+    public ResponseEntity<List<AnswerDistributionDto>> getAnswerDistribution(
+            @RequestParam(required = false) String merchantBusinessType,
+            @RequestParam(required = false) String deviceManufacturer,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+            throws InvalidRequestParameterException {
+        logger.info("Retrieving answer distributions, business type: {}, manufacturer: {}, from: {}, to: {}",
+                merchantBusinessType, deviceManufacturer, from, to); // Log request start
+
+        // Get the distributions from the counters
+        List<AnswerDistributionDto> distributions = answerDistributionService.getDistributions(merchantBusinessType,
+                deviceManufacturer, from, to);
+        logger.info("Successfully retrieved answer distributions for {} question(s)", distributions.size()); // Log success
+
+        // Return the distributions with HTTP 200 OK
+        return ResponseEntity.ok(distributions);
+    }
+
+    /**
+     * Retrieves the rating distribution of every employee, device or merchant with feedbacks:
+     * count, mean, standard deviation, median, p10, p90 and share of low ratings. Served from
+     * memory.
+     *
+     * @param scope employee, device or merchant.
+     * @return ResponseEntity containing the distributions, ordered by ID.
+     * @throws InvalidRequestParameterException if the scope is unknown.
+     */
+    @GetMapping("/rating-distribution/{scope}")
+    public ResponseEntity<List<RatingDistributionDto>> getRatingDistributions(@PathVariable String scope)
+            throws InvalidRequestParameterException {
+        logger.info("Retrieving rating distributions per {}", scope); // Log request start
+        List<RatingDistributionDto> distributions = ratingDistributionEngine.getDistributions(scopeOf(scope));
+        logger.info("Successfully retrieved {} rating distribution(s)", distributions.size()); // Log success
+        return ResponseEntity.ok(distributions);
+    }
+
+    /**
+     * Retrieves the rating distribution of one employee, device or merchant. Served from memory.
+     *
+     * @param scope employee, device or merchant.
+     * @param id    its ID.
+     * @return ResponseEntity containing the distribution.
+     * @throws InvalidRequestParameterException if the scope is unknown.
+     * @throws ResourceNotFoundException if it has no feedbacks.
+     */
+    @GetMapping("/rating-distribution/{scope}/{id}")
+    public ResponseEntity<RatingDistributionDto> getRatingDistribution(@PathVariable String scope,
+            @PathVariable Long id) throws InvalidRequestParameterException, ResourceNotFoundException {
+        logger.info("Retrieving rating distribution of {} {}", scope, id); // Log request start
+        return ResponseEntity.ok(ratingDistributionEngine.getDistribution(scopeOf(scope), id));
+    }
+
+    /**
+     * Retrieves the feedback volume and average rating trend of every employee, device or
+     * merchant with feedbacks in the range, one point per day or week. Periods without
+     * feedbacks are included with a count of 0.
+     *
+     * @param scope    employee, device or merchant.
+     * @param from     Inclusive first day, ISO date (optional, 30 days before {@code to}).
+     * @param to       Exclusive last day, ISO date (optional, tomorrow).
+     * @param interval day or week (optional, day).
+     * @return ResponseEntity containing the trends, ordered by ID.
+     * @throws InvalidRequestParameterException if the scope, interval or range is invalid.
+     */
+    @GetMapping("/trend/{scope}")
+    public ResponseEntity<List<FeedbackTrendDto>> getTrends(@PathVariable String scope,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "day") String interval)
+            throws InvalidRequestParameterException {
+        logger.info("Retrieving {} trends per {}, from: {}, to: {}", interval, scope, from, to); // Log request start
+        List<FeedbackTrendDto> trends = feedbackTrendService.getTrends(scopeOf(scope), from, to, intervalOf(interval));
+        logger.info("Successfully retrieved {} trend(s)", trends.size()); // Log success
+        return ResponseEntity.ok(trends);
+    }
+
+    /**
+     * Retrieves the feedback volume and average rating trend of one employee, device or
+     * merchant, one point per day or week.
+     *
+     * @param scope    employee, device or merchant.
+     * @param id       its ID.
+     * @param from     Inclusive first day, ISO date (optional, 30 days before {@code to}).
+     * @param to       Exclusive last day, ISO date (optional, tomorrow).
+     * @param interval day or week (optional, day).
+     * @return ResponseEntity containing the trend.
+     * @throws InvalidRequestParameterException if the scope, interval or range is invalid.
+     */
+    @GetMapping("/trend/{scope}/{id}")
+    public ResponseEntity<FeedbackTrendDto> getTrend(@PathVariable String scope, @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "day") String interval)
+            throws InvalidRequestParameterException {
+        logger.info("Retrieving {} trend of {} {}, from: {}, to: {}", interval, scope, id, from, to); // Log request start
+        return ResponseEntity.ok(feedbackTrendService.getTrend(scopeOf(scope), id, from, to, intervalOf(interval)));
+    }
+
+    /**
+     * Retrieves the feedbacks most recently flagged at submission because their text
+     * near-duplicates an earlier feedback.
+     *
+     * @param limit The maximum number of flags (optional, 100, at most 1000).
+     * @return ResponseEntity containing the flags, newest first.
+     * @throws InvalidRequestParameterException if the limit is invalid.
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<FeedbackDuplicateDto>> getDuplicateFlags(
+            @RequestParam(required = false) Integer limit) throws InvalidRequestParameterException {
+        logger.info("Retrieving near-duplicate flags, limit: {}", limit); // Log request start
+        List<FeedbackDuplicateDto> flags = feedbackService.getDuplicateFlags(limit);
+        logger.info("Successfully retrieved {} flag(s)", flags.size()); // Log success
+        return ResponseEntity.ok(flags);
+    }
+
+    /**
+     * Audits the whole feedback history for near-duplicate texts: every feedback is paired
+     * with the most similar earlier feedback whose text is at least minSimilarity similar.
+     *
+     * @param minSimilarity The lowest estimated similarity, above 0 and at most 1 (optional, 0.7).
+     * @param limit         The maximum number of duplicates listed (optional, 100, at most 1000).
+     * @return ResponseEntity containing the counts and the first duplicates by feedback ID.
+     * @throws InvalidRequestParameterException if the similarity or the limit is invalid.
+     */
+    @GetMapping("/duplicates/audit")
+    public ResponseEntity<FeedbackDuplicateAuditDto> auditDuplicates(
+            @RequestParam(required = false) Double minSimilarity,
+            @RequestParam(required = false) Integer limit) throws InvalidRequestParameterException {
+        logger.info("Auditing feedbacks for near-duplicates, min similarity: {}", minSimilarity); // Log request start
+        FeedbackDuplicateAuditDto audit = feedbackService.auditDuplicates(minSimilarity, limit);
+        logger.info("Audit flagged {} of {} feedback(s)", audit.getFlagged(), audit.getScanned()); // Log success
+        return ResponseEntity.ok(audit);
+    }
+
+    private static FeedbackExportFormat formatOf(String format) throws InvalidRequestParameterException {
+        try {
+            return FeedbackExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("format", format, "must be csv or ndjson");
+        }
+    }
+
+    private static TrendInterval intervalOf(String interval) throws InvalidRequestParameterException {
+        try {
+            return TrendInterval.valueOf(interval.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("interval", interval, "must be day or week");
+        }
+    }
+
+    private static FeedbackRollupScope scopeOf(String scope) throws InvalidRequestParameterException {
+        try {
+            return FeedbackRollupScope.valueOf(scope.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("scope", scope, "must be employee, device or merchant");
+        }
+    }
 }
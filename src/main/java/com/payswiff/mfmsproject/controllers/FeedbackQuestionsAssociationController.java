@@ -1,7 +1,9 @@
 package com.payswiff.mfmsproject.controllers;
 
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+import com.payswiff.mfmsproject.services.FeedbackAnswerMigrationService;
 import com.payswiff.mfmsproject.services.FeedbackQuestionsAssociationService;
 
 import org.apache.logging.log4j.LogManager;
@@ -10,12 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.payswiff.mfmsproject.dtos.FeedbackAnswersDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionDTO;
 import java.util.List;
 
 /**
  * Controller for managing Feedback Questions Associations.
- * Provides an endpoint for retrieving feedback questions by feedback ID.
+ * Provides endpoints for retrieving feedback questions by feedback ID, one feedback or many
+ * at a time.
  * <p>
  * Relies on {@link FeedbackQuestionsAssociationService} to execute business logic, 
  * while handling error logging and exceptions for resource management.
@@ -35,6 +39,9 @@ public class FeedbackQuestionsAssociationController {
     @Autowired
     private FeedbackQuestionsAssociationService feedbackQuestionsAssociationService;
 
+    @Autowired
+    private FeedbackAnswerMigrationService feedbackAnswerMigrationService;
+
     /**
      * Endpoint to retrieve feedback questions by feedback ID.
      *
@@ -65,4 +72,36 @@ public class FeedbackQuestionsAssociationController {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Endpoint to retrieve the answers of several feedbacks in one call, for screens that
+     * open many feedbacks at once.
+     *
+     * @param ids The feedback IDs, comma-separated or repeated, at most 200.
+     * @return A ResponseEntity containing the answers grouped by feedback, in the order of the
+     *         IDs; feedbacks that do not exist are left out.
+     * @throws InvalidRequestParameterException if no ID or too many IDs are given.
+     */
+    @GetMapping("/feedback/questions")
+    public ResponseEntity<List<FeedbackAnswersDto>> getFeedbackQuestionsByFeedbackIds(@RequestParam List<Integer> ids)
+            throws InvalidRequestParameterException {
+        logger.info("Received request to get feedback questions for " + ids.size() + " feedback IDs");
+        List<FeedbackAnswersDto> answers = feedbackQuestionsAssociationService.getFeedbackQuestionsByFeedbackIds(ids);
+        logger.info("Successfully retrieved the answers of " + answers.size() + " feedbacks");
+        return new ResponseEntity<>(answers, HttpStatus.OK);
+    }
+
+    /**
+     * Converts the answers of feedbacks written before the compact answer storage. Runs in
+     * batches that commit one by one, so an interrupted run can simply be started again.
+     *
+     * @return A ResponseEntity containing the number of feedbacks converted.
+     */
+    @PostMapping("/migrate-answers")
+    public ResponseEntity<Integer> migrateAnswers() {
+        logger.info("Received request to migrate feedback answers to compact storage");
+        int converted = feedbackAnswerMigrationService.migrate();
+        logger.info("Converted the answers of " + converted + " feedbacks");
+        return new ResponseEntity<>(converted, HttpStatus.OK);
+    }
 }
@@ -1,5 +1,9 @@
 package com.payswiff.mfmsproject.controllers;
 
+import java.io.IOException; // Importing IOException for unreadable uploads.
+import java.io.InputStream; // Importing InputStream for streamed uploads.
+import java.io.InputStreamReader; // Importing InputStreamReader for decoding uploads.
+import java.nio.charset.StandardCharsets; // Importing StandardCharsets for the upload encoding.
 import java.util.List; // Importing List for handling collections of Merchant entities.
 
 import org.apache.logging.log4j.LogManager; // Importing LogManager for creating logger
@@ -10,11 +14,14 @@ import org.springframework.http.HttpStatus; // Importing HTTP status codes for r
 import org.springframework.http.ResponseEntity; // Importing ResponseEntity for building HTTP responses.
 import org.springframework.web.bind.annotation.*; // Importing Spring MVC annotations for RESTful web services.
 
+import com.payswiff.mfmsproject.dtos.MerchantImportReportDto; // Importing the report of a merchant import.
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException; // Importing exception for malformed imports.
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists; // Importing exception for handling already existing resources.
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException; // Importing exception for handling resource not found errors.
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate; // Importing exception for handling creation errors.
 import com.payswiff.mfmsproject.models.Merchant; // Importing the Merchant model for handling merchant data.
 import com.payswiff.mfmsproject.reuquests.CreateMerchantRequest; // Importing the request object for creating merchants.
+import com.payswiff.mfmsproject.services.MerchantImportService; // Importing the service for bulk merchant imports.
 import com.payswiff.mfmsproject.services.MerchantService; // Importing the service layer for business logic related to merchants.
 
 /**
@@ -24,6 +31,7 @@ import com.payswiff.mfmsproject.services.MerchantService; // Importing the servi
  * - Creating merchants
  * - Retrieving merchants by email or phone number
  * - Retrieving all merchants
+ * - Importing merchants from a CSV file
  * <p>
  * Relies on {@link MerchantService} for executing business logic, handling exception scenarios,
  * and managing the retrieval and creation of merchant data.
@@ -43,6 +51,9 @@ public class MerchantController {
     @Autowired
     private MerchantService merchantService; // Injecting the MerchantService for business logic
 
+    @Autowired
+    private MerchantImportService merchantImportService; // Injecting the MerchantImportService for CSV imports
+
     /**
      * Creates a new Merchant after checking for existing merchants with the same email or phone number.
      *
@@ -108,4 +119,26 @@ public class MerchantController {
         logger.info("Successfully retrieved all merchants. Total count: {}", merchants.size()); // Log success with count
         return ResponseEntity.ok(merchants); // Returns a 200 OK response with the list of merchants
     }
+
+    /**
+     * Imports merchants from a CSV file with a header row. Rows that are invalid or whose email
+     * or phone is already taken, in the database or earlier in the file, are skipped and listed
+     * in the report.
+     *
+     * @param body The CSV file.
+     * @return ResponseEntity containing the import report.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidRequestParameterException if the file is empty or its header lacks a column.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "text/plain" })
+    public ResponseEntity<MerchantImportReportDto> importMerchants(InputStream body)
+            throws IOException, InvalidRequestParameterException {
+        logger.info("Receiving merchant import"); // Log the import attempt
+
+        MerchantImportReportDto report = merchantImportService.importMerchants(
+                new InputStreamReader(body, StandardCharsets.UTF_8));
+        logger.info("Merchant import finished, created: {}, rejected: {}", report.getCreated(),
+                report.getRejected().size()); // Log the outcome
+        return ResponseEntity.ok(report); // Returns a 200 OK response with the report
+    }
 }
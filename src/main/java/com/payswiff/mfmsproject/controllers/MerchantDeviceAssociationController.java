@@ -1,21 +1,31 @@
 package com.payswiff.mfmsproject.controllers;
 
+import java.io.IOException; // Importing IOException for unreadable uploads.
+import java.io.InputStream; // Importing InputStream for streamed uploads.
+import java.io.InputStreamReader; // Importing InputStreamReader for decoding uploads.
+import java.nio.charset.StandardCharsets; // Importing StandardCharsets for the upload encoding.
 import java.util.List; // Importing List for handling collections of devices.
 
 import org.apache.logging.log4j.LogManager; // Importing LogManager for logger instantiation
 import org.apache.logging.log4j.Logger; // Importing Logger for logging
 import org.springframework.beans.factory.annotation.Autowired; // Importing annotation for dependency injection.
 import org.springframework.http.HttpStatus; // Importing HTTP status codes for responses.
+import org.springframework.http.MediaType; // Importing media types for content negotiation.
 import org.springframework.http.ResponseEntity; // Importing ResponseEntity for building HTTP responses.
 import org.springframework.web.bind.annotation.*; // Importing Spring MVC annotations for RESTful web services.
 
+import com.payswiff.mfmsproject.dtos.MerchantDeviceAssignmentSummaryDto; // Importing the summary of a bulk assignment.
 import com.payswiff.mfmsproject.dtos.MerchantDeviceCountDTO; // Importing DTO for device counts by merchant.
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateReportDto; // Importing the report of repeated associations.
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException; // Importing exception for malformed bulk requests.
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException; // Importing exception for handling resource not found errors.
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Device; // Importing Device model for handling device data.
 import com.payswiff.mfmsproject.models.MerchantDeviceAssociation; // Importing model for merchant-device associations.
 import com.payswiff.mfmsproject.reuquests.MerchantDeviceAssociationRequest; // Importing request object for merchant-device associations.
 import com.payswiff.mfmsproject.services.MerchantDeviceAssociationService; // Importing service layer for merchant-device association logic.
+import com.payswiff.mfmsproject.services.MerchantDeviceBulkAssignService; // Importing service layer for bulk assignments.
+import com.payswiff.mfmsproject.services.MerchantDeviceDuplicateService; // Importing service layer for repeated associations.
 
 /**
  * MerchantDeviceAssociationController handles requests related to the 
@@ -25,9 +35,11 @@ import com.payswiff.mfmsproject.services.MerchantDeviceAssociationService; // Im
  * <p>
  * Provides the following endpoints:
  * - Assigning devices to merchants
+ * - Assigning many devices to merchants at once, from JSON or CSV
  * - Retrieving the list of devices associated with a merchant
  * - Checking if a device is associated with a merchant
  * - Retrieving the count of devices associated with each merchant
+ * - Listing and removing repeated associations, and adding the unique key on the pair
  * </p>
  * 
  * This controller relies on {@link MerchantDeviceAssociationService} for handling 
@@ -47,6 +59,12 @@ public class MerchantDeviceAssociationController {
     @Autowired
     private MerchantDeviceAssociationService associationService; // Injecting the MerchantDeviceAssociationService for business logic
 
+    @Autowired
+    private MerchantDeviceBulkAssignService bulkAssignService; // Injecting the MerchantDeviceBulkAssignService for bulk assignments
+
+    @Autowired
+    private MerchantDeviceDuplicateService duplicateService; // Injecting the MerchantDeviceDuplicateService for repeated associations
+
     /**
      * Assigns a device to a merchant.
      *
@@ -74,6 +92,44 @@ public class MerchantDeviceAssociationController {
         return new ResponseEntity<>(createdAssociation, HttpStatus.CREATED); // Return the created association with HTTP 201 Created status
     }
 
+    /**
+     * Assigns many devices to merchants. Pairs that already exist are skipped, and pairs with
+     * an unknown merchant or device are listed in the summary.
+     *
+     * @param requests The merchant and device ID pairs.
+     * @return ResponseEntity containing the summary of the assignment.
+     * @throws InvalidRequestParameterException if the list is empty or too large.
+     */
+    @PostMapping(value = "/assign/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MerchantDeviceAssignmentSummaryDto> assignDevicesToMerchants(
+            @RequestBody List<MerchantDeviceAssociationRequest> requests) throws InvalidRequestParameterException {
+        logger.info("Attempting to assign {} devices to merchants", requests == null ? 0 : requests.size()); // Log bulk assignment attempt
+
+        MerchantDeviceAssignmentSummaryDto summary = bulkAssignService.assign(requests);
+        logger.info("Bulk assignment finished, assigned: {}", summary.getAssigned()); // Log the outcome
+        return ResponseEntity.ok(summary); // Return the summary with HTTP 200 OK status
+    }
+
+    /**
+     * Assigns the devices of a CSV stream with a header row naming merchant_id and device_id.
+     * Pairs that already exist are skipped, and invalid rows are listed in the summary by line.
+     *
+     * @param body The CSV stream.
+     * @return ResponseEntity containing the summary of the assignment.
+     * @throws IOException if the stream cannot be read.
+     * @throws InvalidRequestParameterException if the stream is empty or its header lacks a column.
+     */
+    @PostMapping(value = "/assign/bulk", consumes = { "text/csv", "text/plain" })
+    public ResponseEntity<MerchantDeviceAssignmentSummaryDto> assignDevicesToMerchantsFromCsv(InputStream body)
+            throws IOException, InvalidRequestParameterException {
+        logger.info("Receiving bulk device assignment upload"); // Log bulk assignment attempt
+
+        MerchantDeviceAssignmentSummaryDto summary = bulkAssignService.assign(
+                new InputStreamReader(body, StandardCharsets.UTF_8));
+        logger.info("Bulk assignment finished, assigned: {}", summary.getAssigned()); // Log the outcome
+        return ResponseEntity.ok(summary); // Return the summary with HTTP 200 OK status
+    }
+
     /**
      * Retrieves the list of devices associated with a specific merchant.
      *
@@ -142,4 +198,32 @@ public class MerchantDeviceAssociationController {
         logger.info("Successfully retrieved device counts for merchants. Total merchants: {}", deviceCounts.size()); // Log success with merchant count
         return new ResponseEntity<>(deviceCounts, HttpStatus.OK); // Return the list of device counts with HTTP 200 OK status
     }
+
+    /**
+     * Lists the repeated associations that {@code POST /duplicates/remove} would delete,
+     * without changing anything.
+     *
+     * @return ResponseEntity containing whether the unique key exists and the repeated rows.
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<MerchantDeviceDuplicateReportDto> getDuplicates() {
+        MerchantDeviceDuplicateReportDto report = duplicateService.findDuplicates();
+        logger.info("Found {} repeated associations, unique key exists: {}", report.getDuplicates().size(),
+                report.isUniqueKeyExists());
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    /**
+     * Backs up and deletes the repeated associations, keeping the oldest row of each pair,
+     * and adds the unique key on the pair.
+     *
+     * @return ResponseEntity containing the deleted rows.
+     * @throws ResourceUnableToCreate if the key cannot be added.
+     */
+    @PostMapping("/duplicates/remove")
+    public ResponseEntity<MerchantDeviceDuplicateReportDto> removeDuplicates() throws ResourceUnableToCreate {
+        MerchantDeviceDuplicateReportDto report = duplicateService.removeDuplicatesAndAddKey();
+        logger.info("Removed {} repeated associations", report.getDuplicates().size());
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
 }
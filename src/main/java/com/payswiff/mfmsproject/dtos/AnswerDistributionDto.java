@@ -0,0 +1,112 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * AnswerDistributionDto reports how the answers to one question are spread over the
+ * feedbacks, most given answer first.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class AnswerDistributionDto {
+
+    private Long questionId; // The question
+    private String questionDescription; // Its text, null if the question was deleted
+    private long totalCount; // Number of feedbacks that answered it
+    private List<AnswerFrequencyDto> answers; // Frequency of each answer
+
+    /**
+     * Default constructor for AnswerDistributionDto.
+     */
+    public AnswerDistributionDto() {
+    }
+
+    /**
+     * Constructs an AnswerDistributionDto with all fields.
+     * 
+     * @param questionId The question.
+     * @param questionDescription The text of the question, or null.
+     * @param totalCount The number of feedbacks that answered it.
+     * @param answers The frequency of each answer.
+     */
+    public AnswerDistributionDto(Long questionId, String questionDescription, long totalCount,
+            List<AnswerFrequencyDto> answers) {
+        this.questionId = questionId;
+        this.questionDescription = questionDescription;
+        this.totalCount = totalCount;
+        this.answers = answers;
+    }
+
+    /**
+     * Gets the question ID.
+     * 
+     * @return the questionId
+     */
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    /**
+     * Sets the question ID.
+     * 
+     * @param questionId the questionId to set
+     */
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    /**
+     * Gets the text of the question.
+     * 
+     * @return the questionDescription
+     */
+    public String getQuestionDescription() {
+        return questionDescription;
+    }
+
+    /**
+     * Sets the text of the question.
+     * 
+     * @param questionDescription the questionDescription to set
+     */
+    public void setQuestionDescription(String questionDescription) {
+        this.questionDescription = questionDescription;
+    }
+
+    /**
+     * Gets the number of feedbacks that answered the question.
+     * 
+     * @return the totalCount
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Sets the number of feedbacks that answered the question.
+     * 
+     * @param totalCount the totalCount to set
+     */
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Gets the frequency of each answer.
+     * 
+     * @return the answers
+     */
+    public List<AnswerFrequencyDto> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * Sets the frequency of each answer.
+     * 
+     * @param answers the answers to set
+     */
+    public void setAnswers(List<AnswerFrequencyDto> answers) {
+        this.answers = answers;
+    }
+}
@@ -0,0 +1,87 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * AnswerFrequencyDto reports how many feedbacks gave one answer to a question.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class AnswerFrequencyDto {
+
+    private int answerCode; // Dictionary ID of the answer, 0 for no answer
+    private String answer; // The answer text
+    private long count; // Number of feedbacks that gave it
+
+    /**
+     * Default constructor for AnswerFrequencyDto.
+     */
+    public AnswerFrequencyDto() {
+    }
+
+    /**
+     * Constructs an AnswerFrequencyDto with all fields.
+     * 
+     * @param answerCode The dictionary ID of the answer.
+     * @param answer The answer text.
+     * @param count The number of feedbacks that gave it.
+     */
+    public AnswerFrequencyDto(int answerCode, String answer, long count) {
+        this.answerCode = answerCode;
+        this.answer = answer;
+        this.count = count;
+    }
+
+    /**
+     * Gets the dictionary ID of the answer.
+     * 
+     * @return the answerCode
+     */
+    public int getAnswerCode() {
+        return answerCode;
+    }
+
+    /**
+     * Sets the dictionary ID of the answer.
+     * 
+     * @param answerCode the answerCode to set
+     */
+    public void setAnswerCode(int answerCode) {
+        this.answerCode = answerCode;
+    }
+
+    /**
+     * Gets the answer text.
+     * 
+     * @return the answer
+     */
+    public String getAnswer() {
+        return answer;
+    }
+
+    /**
+     * Sets the answer text.
+     * 
+     * @param answer the answer to set
+     */
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    /**
+     * Gets the number of feedbacks that gave the answer.
+     * 
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Sets the number of feedbacks that gave the answer.
+     * 
+     * @param count the count to set
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,140 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * CacheRegionStatsDto carries the hit and miss counters of one Hibernate
+ * second-level cache region since the application started.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class CacheRegionStatsDto {
+
+    private String region; // The name of the cache region
+    private long hitCount; // Lookups answered from the region
+    private long missCount; // Lookups that went to the database
+    private long putCount; // Entries written to the region
+    private long elementCount; // Entries currently held in memory, -1 if unknown
+
+    /**
+     * Default constructor for CacheRegionStatsDto.
+     */
+    public CacheRegionStatsDto() {
+    }
+
+    /**
+     * Constructs a CacheRegionStatsDto with all counters.
+     * 
+     * @param region The name of the cache region.
+     * @param hitCount Lookups answered from the region.
+     * @param missCount Lookups that went to the database.
+     * @param putCount Entries written to the region.
+     * @param elementCount Entries currently held in memory.
+     */
+    public CacheRegionStatsDto(String region, long hitCount, long missCount, long putCount, long elementCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCount = elementCount;
+    }
+
+    /**
+     * Gets the share of lookups answered from the region.
+     * 
+     * @return the hit ratio between 0 and 1, or 0 before the first lookup
+     */
+    public double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Gets the region name.
+     * 
+     * @return the region
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Sets the region name.
+     * 
+     * @param region the region to set
+     */
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    /**
+     * Gets the hit count.
+     * 
+     * @return the hitCount
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Sets the hit count.
+     * 
+     * @param hitCount the hitCount to set
+     */
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    /**
+     * Gets the miss count.
+     * 
+     * @return the missCount
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Sets the miss count.
+     * 
+     * @param missCount the missCount to set
+     */
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    /**
+     * Gets the put count.
+     * 
+     * @return the putCount
+     */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * Sets the put count.
+     * 
+     * @param putCount the putCount to set
+     */
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    /**
+     * Gets the number of entries in memory.
+     * 
+     * @return the elementCount
+     */
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * Sets the number of entries in memory.
+     * 
+     * @param elementCount the elementCount to set
+     */
+    public void setElementCount(long elementCount) {
+        this.elementCount = elementCount;
+    }
+}
@@ -0,0 +1,132 @@
+package com.payswiff.mfmsproject.dtos;
+
+import com.payswiff.mfmsproject.models.EmployeeOnboardingStatus;
+
+/**
+ * EmployeeOnboardingResultDto reports the outcome of one employee of a bulk onboarding request.
+ * 
+ * @version MFMS_0.0.1
+ * @author Revanth K
+ */
+public class EmployeeOnboardingResultDto {
+
+    private int index; // 0-based position of the employee in the request
+    private EmployeeOnboardingStatus status; // Created, duplicate or rejected
+    private String employeePayswiffId; // Payswiff ID of the employee
+    private Long employeeId; // ID of the created employee, null otherwise
+    private String message; // Reason of a duplicate or rejection, null otherwise
+
+    /**
+     * Default constructor for EmployeeOnboardingResultDto.
+     */
+    public EmployeeOnboardingResultDto() {
+    }
+
+    /**
+     * Constructs an EmployeeOnboardingResultDto with all fields.
+     * 
+     * @param index The position of the employee in the request.
+     * @param status The outcome of the employee.
+     * @param employeePayswiffId The Payswiff ID of the employee.
+     * @param employeeId The ID of the created employee, or null.
+     * @param message The reason of a duplicate or rejection, or null.
+     */
+    public EmployeeOnboardingResultDto(int index, EmployeeOnboardingStatus status, String employeePayswiffId,
+            Long employeeId, String message) {
+        this.index = index;
+        this.status = status;
+        this.employeePayswiffId = employeePayswiffId;
+        this.employeeId = employeeId;
+        this.message = message;
+    }
+
+    /**
+     * Gets the position of the employee in the request.
+     * 
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the position of the employee in the request.
+     * 
+     * @param index the index to set
+     */
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets the outcome of the employee.
+     * 
+     * @return the status
+     */
+    public EmployeeOnboardingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the outcome of the employee.
+     * 
+     * @param status the status to set
+     */
+    public void setStatus(EmployeeOnboardingStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the Payswiff ID of the employee.
+     * 
+     * @return the employeePayswiffId
+     */
+    public String getEmployeePayswiffId() {
+        return employeePayswiffId;
+    }
+
+    /**
+     * Sets the Payswiff ID of the employee.
+     * 
+     * @param employeePayswiffId the employeePayswiffId to set
+     */
+    public void setEmployeePayswiffId(String employeePayswiffId) {
+        this.employeePayswiffId = employeePayswiffId;
+    }
+
+    /**
+     * Gets the ID of the created employee.
+     * 
+     * @return the employeeId
+     */
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Sets the ID of the created employee.
+     * 
+     * @param employeeId the employeeId to set
+     */
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Gets the reason of a duplicate or rejection.
+     * 
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the reason of a duplicate or rejection.
+     * 
+     * @param message the message to set
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,69 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * FeedbackAnswersDto holds the answers of one feedback, as returned by the batch lookup of
+ * feedback answers.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class FeedbackAnswersDto {
+
+    private int feedbackId; // The feedback
+    private List<FeedbackQuestionDTO> answers; // Its answers, in question order
+
+    /**
+     * Default constructor for FeedbackAnswersDto.
+     */
+    public FeedbackAnswersDto() {
+    }
+
+    /**
+     * Constructs a FeedbackAnswersDto with all fields.
+     * 
+     * @param feedbackId The feedback.
+     * @param answers The answers of the feedback.
+     */
+    public FeedbackAnswersDto(int feedbackId, List<FeedbackQuestionDTO> answers) {
+        this.feedbackId = feedbackId;
+        this.answers = answers;
+    }
+
+    /**
+     * Gets the feedback ID.
+     * 
+     * @return the feedbackId
+     */
+    public int getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the feedback ID.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(int feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the answers of the feedback.
+     * 
+     * @return the answers
+     */
+    public List<FeedbackQuestionDTO> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * Sets the answers of the feedback.
+     * 
+     * @param answers the answers to set
+     */
+    public void setAnswers(List<FeedbackQuestionDTO> answers) {
+        this.answers = answers;
+    }
+}
@@ -0,0 +1,89 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * FeedbackDuplicateAuditDto is the result of a near-duplicate audit of the feedback history.
+ * 
+ * @version MFMS_0.0.1
+ * @author Revanth K
+ */
+public class FeedbackDuplicateAuditDto {
+
+    private long scanned; // Feedbacks with enough text to be compared
+    private long flagged; // Feedbacks that near-duplicate an earlier one
+    private List<FeedbackDuplicateDto> duplicates; // The first of them, by feedback ID
+
+    /**
+     * Default constructor for FeedbackDuplicateAuditDto.
+     */
+    public FeedbackDuplicateAuditDto() {
+    }
+
+    /**
+     * Constructs a FeedbackDuplicateAuditDto with all fields.
+     * 
+     * @param scanned The number of feedbacks compared.
+     * @param flagged The number of feedbacks that near-duplicate an earlier one.
+     * @param duplicates The first of them, by feedback ID, up to the requested limit.
+     */
+    public FeedbackDuplicateAuditDto(long scanned, long flagged, List<FeedbackDuplicateDto> duplicates) {
+        this.scanned = scanned;
+        this.flagged = flagged;
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * Gets the number of feedbacks compared.
+     * 
+     * @return the scanned
+     */
+    public long getScanned() {
+        return scanned;
+    }
+
+    /**
+     * Sets the number of feedbacks compared.
+     * 
+     * @param scanned the scanned to set
+     */
+    public void setScanned(long scanned) {
+        this.scanned = scanned;
+    }
+
+    /**
+     * Gets the number of feedbacks that near-duplicate an earlier one.
+     * 
+     * @return the flagged
+     */
+    public long getFlagged() {
+        return flagged;
+    }
+
+    /**
+     * Sets the number of feedbacks that near-duplicate an earlier one.
+     * 
+     * @param flagged the flagged to set
+     */
+    public void setFlagged(long flagged) {
+        this.flagged = flagged;
+    }
+
+    /**
+     * Gets the reported duplicates.
+     * 
+     * @return the duplicates
+     */
+    public List<FeedbackDuplicateDto> getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Sets the reported duplicates.
+     * 
+     * @param duplicates the duplicates to set
+     */
+    public void setDuplicates(List<FeedbackDuplicateDto> duplicates) {
+        this.duplicates = duplicates;
+    }
+}
@@ -0,0 +1,88 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * FeedbackDuplicateDto pairs a feedback with the earlier feedback whose text it
+ * near-duplicates.
+ * 
+ * @version MFMS_0.0.1
+ * @author Revanth K
+ */
+public class FeedbackDuplicateDto {
+
+    private int feedbackId; // The later feedback
+    private int duplicateOfFeedbackId; // The earlier feedback with the closest text
+    private double similarity; // Estimated Jaccard similarity, 1 for the same wording
+
+    /**
+     * Default constructor for FeedbackDuplicateDto.
+     */
+    public FeedbackDuplicateDto() {
+    }
+
+    /**
+     * Constructs a FeedbackDuplicateDto with all fields.
+     * 
+     * @param feedbackId The later feedback.
+     * @param duplicateOfFeedbackId The earlier feedback with the closest text.
+     * @param similarity The estimated similarity of their texts.
+     */
+    public FeedbackDuplicateDto(int feedbackId, int duplicateOfFeedbackId, double similarity) {
+        this.feedbackId = feedbackId;
+        this.duplicateOfFeedbackId = duplicateOfFeedbackId;
+        this.similarity = similarity;
+    }
+
+    /**
+     * Gets the later feedback.
+     * 
+     * @return the feedbackId
+     */
+    public int getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the later feedback.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(int feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the earlier feedback with the closest text.
+     * 
+     * @return the duplicateOfFeedbackId
+     */
+    public int getDuplicateOfFeedbackId() {
+        return duplicateOfFeedbackId;
+    }
+
+    /**
+     * Sets the earlier feedback with the closest text.
+     * 
+     * @param duplicateOfFeedbackId the duplicateOfFeedbackId to set
+     */
+    public void setDuplicateOfFeedbackId(int duplicateOfFeedbackId) {
+        this.duplicateOfFeedbackId = duplicateOfFeedbackId;
+    }
+
+    /**
+     * Gets the estimated similarity of the texts.
+     * 
+     * @return the similarity
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    /**
+     * Sets the estimated similarity of the texts.
+     * 
+     * @param similarity the similarity to set
+     */
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,206 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * FeedbackFilter holds the optional criteria of a feedback listing.
+ * <p>
+ * Every criterion that is set narrows the result; criteria that are null are ignored. The
+ * rating range is inclusive on both ends, the creation-time range includes {@code from} and
+ * excludes {@code to}.
+ * </p>
+ * <p>
+ * The listing endpoints bind it from the query string, e.g.
+ * {@code ?merchantId=4&minRating=3&from=2024-10-01T00:00:00}.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackFilter {
+
+    private Long employeeId; // Only feedbacks submitted by this employee
+    private Long merchantId; // Only feedbacks about this merchant
+    private Long deviceId; // Only feedbacks about this device
+    private Integer rating; // Only feedbacks with exactly this rating
+    private Double minRating; // Lowest rating to include
+    private Double maxRating; // Highest rating to include
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from; // Earliest creation time to include
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to; // Creation time to stop before
+
+    /**
+     * Default constructor for FeedbackFilter, matches every feedback.
+     */
+    public FeedbackFilter() {
+    }
+
+    /**
+     * Constructs a FeedbackFilter with the equality criteria of the original listing.
+     * 
+     * @param employeeId The employee filter, may be null.
+     * @param deviceId   The device filter, may be null.
+     * @param rating     The exact rating filter, may be null.
+     * @param merchantId The merchant filter, may be null.
+     */
+    public FeedbackFilter(Long employeeId, Long deviceId, Integer rating, Long merchantId) {
+        this.employeeId = employeeId;
+        this.deviceId = deviceId;
+        this.rating = rating;
+        this.merchantId = merchantId;
+    }
+
+    /**
+     * Gets the employee filter.
+     * 
+     * @return the employeeId
+     */
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Sets the employee filter.
+     * 
+     * @param employeeId the employeeId to set
+     */
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Gets the merchant filter.
+     * 
+     * @return the merchantId
+     */
+    public Long getMerchantId() {
+        return merchantId;
+    }
+
+    /**
+     * Sets the merchant filter.
+     * 
+     * @param merchantId the merchantId to set
+     */
+    public void setMerchantId(Long merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    /**
+     * Gets the device filter.
+     * 
+     * @return the deviceId
+     */
+    public Long getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * Sets the device filter.
+     * 
+     * @param deviceId the deviceId to set
+     */
+    public void setDeviceId(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Gets the exact rating filter.
+     * 
+     * @return the rating
+     */
+    public Integer getRating() {
+        return rating;
+    }
+
+    /**
+     * Sets the exact rating filter.
+     * 
+     * @param rating the rating to set
+     */
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    /**
+     * Gets the lowest rating to include.
+     * 
+     * @return the minRating
+     */
+    public Double getMinRating() {
+        return minRating;
+    }
+
+    /**
+     * Sets the lowest rating to include.
+     * 
+     * @param minRating the minRating to set
+     */
+    public void setMinRating(Double minRating) {
+        this.minRating = minRating;
+    }
+
+    /**
+     * Gets the highest rating to include.
+     * 
+     * @return the maxRating
+     */
+    public Double getMaxRating() {
+        return maxRating;
+    }
+
+    /**
+     * Sets the highest rating to include.
+     * 
+     * @param maxRating the maxRating to set
+     */
+    public void setMaxRating(Double maxRating) {
+        this.maxRating = maxRating;
+    }
+
+    /**
+     * Gets the earliest creation time to include.
+     * 
+     * @return the from
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * Sets the earliest creation time to include.
+     * 
+     * @param from the from to set
+     */
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    /**
+     * Gets the creation time to stop before.
+     * 
+     * @return the to
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Sets the creation time to stop before.
+     * 
+     * @param to the to to set
+     */
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedbackFilter [employeeId=" + employeeId + ", merchantId=" + merchantId + ", deviceId=" + deviceId
+                + ", rating=" + rating + ", minRating=" + minRating + ", maxRating=" + maxRating + ", from=" + from
+                + ", to=" + to + "]";
+    }
+}
@@ -0,0 +1,111 @@
+package com.payswiff.mfmsproject.dtos;
+
+import com.payswiff.mfmsproject.models.FeedbackIngestionState;
+
+/**
+ * FeedbackIngestionStatusDto reports where a queued feedback submission stands.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackIngestionStatusDto {
+
+    private String feedbackUuid; // UUID handed to the client on acceptance
+    private FeedbackIngestionState status; // Queued, written or failed
+    private Integer feedbackId; // ID of the written feedback, null until written
+    private String message; // Reason of a failure, null otherwise
+
+    /**
+     * Default constructor for FeedbackIngestionStatusDto.
+     */
+    public FeedbackIngestionStatusDto() {
+    }
+
+    /**
+     * Constructs a FeedbackIngestionStatusDto with all fields.
+     * 
+     * @param feedbackUuid The UUID of the submission.
+     * @param status The state of the submission.
+     * @param feedbackId The ID of the written feedback, or null.
+     * @param message The reason of a failure, or null.
+     */
+    public FeedbackIngestionStatusDto(String feedbackUuid, FeedbackIngestionState status, Integer feedbackId,
+            String message) {
+        this.feedbackUuid = feedbackUuid;
+        this.status = status;
+        this.feedbackId = feedbackId;
+        this.message = message;
+    }
+
+    /**
+     * Gets the feedback UUID.
+     * 
+     * @return the feedbackUuid
+     */
+    public String getFeedbackUuid() {
+        return feedbackUuid;
+    }
+
+    /**
+     * Sets the feedback UUID.
+     * 
+     * @param feedbackUuid the feedbackUuid to set
+     */
+    public void setFeedbackUuid(String feedbackUuid) {
+        this.feedbackUuid = feedbackUuid;
+    }
+
+    /**
+     * Gets the state of the submission.
+     * 
+     * @return the status
+     */
+    public FeedbackIngestionState getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the state of the submission.
+     * 
+     * @param status the status to set
+     */
+    public void setStatus(FeedbackIngestionState status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the ID of the written feedback.
+     * 
+     * @return the feedbackId
+     */
+    public Integer getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the ID of the written feedback.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(Integer feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the failure reason.
+     * 
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the failure reason.
+     * 
+     * @param message the message to set
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
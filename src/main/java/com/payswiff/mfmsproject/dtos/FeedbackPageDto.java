@@ -0,0 +1,93 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * FeedbackPageDto is one page of a keyset-paginated feedback listing.
+ * <p>
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to get the following page.
+ * It is null once the last page has been reached.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackPageDto {
+
+    private List<FeedbackSummaryDto> feedbacks; // The feedbacks of this page, newest first
+    private String nextCursor; // Opaque continuation token, null on the last page
+    private int size; // The page size that was applied
+
+    /**
+     * Constructs a new FeedbackPageDto.
+     * 
+     * @param feedbacks  The feedbacks of this page.
+     * @param nextCursor The cursor for the next page, or null.
+     * @param size       The page size that was applied.
+     */
+    public FeedbackPageDto(List<FeedbackSummaryDto> feedbacks, String nextCursor, int size) {
+        this.feedbacks = feedbacks;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    /**
+     * Default constructor for FeedbackPageDto.
+     */
+    public FeedbackPageDto() {
+    }
+
+    /**
+     * Gets the feedbacks of this page.
+     * 
+     * @return the feedbacks
+     */
+    public List<FeedbackSummaryDto> getFeedbacks() {
+        return feedbacks;
+    }
+
+    /**
+     * Sets the feedbacks of this page.
+     * 
+     * @param feedbacks the feedbacks to set
+     */
+    public void setFeedbacks(List<FeedbackSummaryDto> feedbacks) {
+        this.feedbacks = feedbacks;
+    }
+
+    /**
+     * Gets the cursor for the next page, null on the last page.
+     * 
+     * @return the nextCursor
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the cursor for the next page, null on the last page.
+     * 
+     * @param nextCursor the nextCursor to set
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the page size that was applied.
+     * 
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the page size that was applied.
+     * 
+     * @param size the size to set
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
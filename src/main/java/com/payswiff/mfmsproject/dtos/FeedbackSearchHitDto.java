@@ -0,0 +1,67 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * FeedbackSearchHitDto is one result of a full-text feedback search: the feedback and how
+ * well its text matches the query.
+ * 
+ * @version MFMS_0.0.1
+ * @author Gopi Bapanapalli
+ */
+public class FeedbackSearchHitDto {
+
+    private double score; // BM25 relevance, higher is better
+    private FeedbackSummaryDto feedback; // The matching feedback
+
+    /**
+     * Default constructor for FeedbackSearchHitDto.
+     */
+    public FeedbackSearchHitDto() {
+    }
+
+    /**
+     * Constructs a FeedbackSearchHitDto with all fields.
+     * 
+     * @param score The relevance of the feedback.
+     * @param feedback The matching feedback.
+     */
+    public FeedbackSearchHitDto(double score, FeedbackSummaryDto feedback) {
+        this.score = score;
+        this.feedback = feedback;
+    }
+
+    /**
+     * Gets the relevance of the feedback.
+     * 
+     * @return the score
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the relevance of the feedback.
+     * 
+     * @param score the score to set
+     */
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    /**
+     * Gets the matching feedback.
+     * 
+     * @return the feedback
+     */
+    public FeedbackSummaryDto getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Sets the matching feedback.
+     * 
+     * @param feedback the feedback to set
+     */
+    public void setFeedback(FeedbackSummaryDto feedback) {
+        this.feedback = feedback;
+    }
+}
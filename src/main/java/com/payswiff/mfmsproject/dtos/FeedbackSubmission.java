@@ -0,0 +1,208 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
+
+/**
+ * FeedbackSubmission is a validated feedback waiting in the ingestion queue.
+ * <p>
+ * It carries the UUID the submission was accepted under, so the feedback row is
+ * written with the UUID the client already holds. It is also the record written
+ * to the ingestion journal, and is therefore a plain bean that Jackson can read back.
+ * It is also the record format of the bulk upload, where the UUID is optional.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackSubmission {
+
+    private String feedbackUuid; // UUID handed to the client on acceptance
+    private Long feedbackEmployeeId; // ID of the employee providing the feedback
+    private Long feedbackMerchantId; // ID of the merchant related to the feedback
+    private Long feedbackDeviceId; // ID of the device related to the feedback
+    private String feedbackImage1; // URL or path for image 1
+    private Double feedbackRating; // Rating for the feedback
+    private String feedback; // Additional feedback text
+    private List<FeedbackQuestionAnswerAssignDto> questionAnswers; // The submitted answers
+
+    /**
+     * Default constructor for FeedbackSubmission.
+     */
+    public FeedbackSubmission() {
+    }
+
+    /**
+     * Constructs a FeedbackSubmission from an accepted request.
+     * 
+     * @param feedbackUuid The UUID handed to the client.
+     * @param request The feedback request.
+     * @param questionAnswers The submitted answers.
+     */
+    public FeedbackSubmission(String feedbackUuid, CreateFeedbackRequest request,
+            List<FeedbackQuestionAnswerAssignDto> questionAnswers) {
+        this.feedbackUuid = feedbackUuid;
+        this.feedbackEmployeeId = request.getFeedbackEmployeeId();
+        this.feedbackMerchantId = request.getFeedbackMerchantId();
+        this.feedbackDeviceId = request.getFeedbackDeviceId();
+        this.feedbackImage1 = request.getFeedbackImage1();
+        this.feedbackRating = request.getFeedbackRating();
+        this.feedback = request.getFeedback();
+        this.questionAnswers = questionAnswers;
+    }
+
+    /**
+     * Rebuilds the feedback request of this submission.
+     * 
+     * @return a new CreateFeedbackRequest
+     */
+    public CreateFeedbackRequest toCreateFeedbackRequest() {
+        return new CreateFeedbackRequest(feedbackEmployeeId, feedbackMerchantId, feedbackDeviceId, feedbackImage1,
+                feedbackRating, feedback);
+    }
+
+    /**
+     * Gets the feedback UUID.
+     * 
+     * @return the feedbackUuid
+     */
+    public String getFeedbackUuid() {
+        return feedbackUuid;
+    }
+
+    /**
+     * Sets the feedback UUID.
+     * 
+     * @param feedbackUuid the feedbackUuid to set
+     */
+    public void setFeedbackUuid(String feedbackUuid) {
+        this.feedbackUuid = feedbackUuid;
+    }
+
+    /**
+     * Gets the employee ID.
+     * 
+     * @return the feedbackEmployeeId
+     */
+    public Long getFeedbackEmployeeId() {
+        return feedbackEmployeeId;
+    }
+
+    /**
+     * Sets the employee ID.
+     * 
+     * @param feedbackEmployeeId the feedbackEmployeeId to set
+     */
+    public void setFeedbackEmployeeId(Long feedbackEmployeeId) {
+        this.feedbackEmployeeId = feedbackEmployeeId;
+    }
+
+    /**
+     * Gets the merchant ID.
+     * 
+     * @return the feedbackMerchantId
+     */
+    public Long getFeedbackMerchantId() {
+        return feedbackMerchantId;
+    }
+
+    /**
+     * Sets the merchant ID.
+     * 
+     * @param feedbackMerchantId the feedbackMerchantId to set
+     */
+    public void setFeedbackMerchantId(Long feedbackMerchantId) {
+        this.feedbackMerchantId = feedbackMerchantId;
+    }
+
+    /**
+     * Gets the device ID.
+     * 
+     * @return the feedbackDeviceId
+     */
+    public Long getFeedbackDeviceId() {
+        return feedbackDeviceId;
+    }
+
+    /**
+     * Sets the device ID.
+     * 
+     * @param feedbackDeviceId the feedbackDeviceId to set
+     */
+    public void setFeedbackDeviceId(Long feedbackDeviceId) {
+        this.feedbackDeviceId = feedbackDeviceId;
+    }
+
+    /**
+     * Gets the feedback image.
+     * 
+     * @return the feedbackImage1
+     */
+    public String getFeedbackImage1() {
+        return feedbackImage1;
+    }
+
+    /**
+     * Sets the feedback image.
+     * 
+     * @param feedbackImage1 the feedbackImage1 to set
+     */
+    public void setFeedbackImage1(String feedbackImage1) {
+        this.feedbackImage1 = feedbackImage1;
+    }
+
+    /**
+     * Gets the feedback rating.
+     * 
+     * @return the feedbackRating
+     */
+    public Double getFeedbackRating() {
+        return feedbackRating;
+    }
+
+    /**
+     * Sets the feedback rating.
+     * 
+     * @param feedbackRating the feedbackRating to set
+     */
+    public void setFeedbackRating(Double feedbackRating) {
+        this.feedbackRating = feedbackRating;
+    }
+
+    /**
+     * Gets the feedback text.
+     * 
+     * @return the feedback
+     */
+    public String getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Sets the feedback text.
+     * 
+     * @param feedback the feedback to set
+     */
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    /**
+     * Gets the submitted answers.
+     * 
+     * @return the questionAnswers
+     */
+    public List<FeedbackQuestionAnswerAssignDto> getQuestionAnswers() {
+        return questionAnswers;
+    }
+
+    /**
+     * Sets the submitted answers.
+     * 
+     * @param questionAnswers the questionAnswers to set
+     */
+    public void setQuestionAnswers(List<FeedbackQuestionAnswerAssignDto> questionAnswers) {
+        this.questionAnswers = questionAnswers;
+    }
+}
@@ -0,0 +1,254 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * FeedbackSummaryDto is a flat, read-only view of one feedback row, and the list
+ * representation of feedbacks.
+ * <p>
+ * It carries the feedback columns, the ids of the related employee, merchant and device, and
+ * the merchant business name and device model the clients display. All of it comes from one
+ * JOIN query, so no Employee, Merchant or Device entity is loaded. The full entity is only
+ * served by the feedback detail endpoint.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackSummaryDto {
+
+    private Integer feedbackId; // The unique identifier of the feedback
+    private String feedbackUuid; // The UUID of the feedback
+    private Long employeeId; // The employee who submitted the feedback
+    private Long merchantId; // The merchant the feedback is about
+    private String merchantBusinessName; // Display name of the merchant
+    private Long deviceId; // The device the feedback is about
+    private String deviceModel; // Display name of the device
+    private Double feedbackRating; // The rating given
+    private String feedback; // The feedback text
+    private String feedbackImage1; // URL or path of the image
+    private LocalDateTime feedbackCreationTime; // When the feedback was created
+    private LocalDateTime feedbackUpdationTime; // When the feedback was last updated
+
+    /**
+     * Default constructor for FeedbackSummaryDto.
+     */
+    public FeedbackSummaryDto() {
+    }
+
+    /**
+     * Gets the feedback ID.
+     * 
+     * @return the feedbackId
+     */
+    public Integer getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the feedback ID.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(Integer feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the feedback UUID.
+     * 
+     * @return the feedbackUuid
+     */
+    public String getFeedbackUuid() {
+        return feedbackUuid;
+    }
+
+    /**
+     * Sets the feedback UUID.
+     * 
+     * @param feedbackUuid the feedbackUuid to set
+     */
+    public void setFeedbackUuid(String feedbackUuid) {
+        this.feedbackUuid = feedbackUuid;
+    }
+
+    /**
+     * Gets the ID of the employee who submitted the feedback.
+     * 
+     * @return the employeeId
+     */
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Sets the ID of the employee who submitted the feedback.
+     * 
+     * @param employeeId the employeeId to set
+     */
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Gets the merchant ID.
+     * 
+     * @return the merchantId
+     */
+    public Long getMerchantId() {
+        return merchantId;
+    }
+
+    /**
+     * Sets the merchant ID.
+     * 
+     * @param merchantId the merchantId to set
+     */
+    public void setMerchantId(Long merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    /**
+     * Gets the device ID.
+     * 
+     * @return the deviceId
+     */
+    public Long getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * Sets the device ID.
+     * 
+     * @param deviceId the deviceId to set
+     */
+    public void setDeviceId(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Gets the rating.
+     * 
+     * @return the feedbackRating
+     */
+    public Double getFeedbackRating() {
+        return feedbackRating;
+    }
+
+    /**
+     * Sets the rating.
+     * 
+     * @param feedbackRating the feedbackRating to set
+     */
+    public void setFeedbackRating(Double feedbackRating) {
+        this.feedbackRating = feedbackRating;
+    }
+
+    /**
+     * Gets the feedback text.
+     * 
+     * @return the feedback
+     */
+    public String getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Sets the feedback text.
+     * 
+     * @param feedback the feedback to set
+     */
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    /**
+     * Gets the image URL.
+     * 
+     * @return the feedbackImage1
+     */
+    public String getFeedbackImage1() {
+        return feedbackImage1;
+    }
+
+    /**
+     * Sets the image URL.
+     * 
+     * @param feedbackImage1 the feedbackImage1 to set
+     */
+    public void setFeedbackImage1(String feedbackImage1) {
+        this.feedbackImage1 = feedbackImage1;
+    }
+
+    /**
+     * Gets the creation time.
+     * 
+     * @return the feedbackCreationTime
+     */
+    public LocalDateTime getFeedbackCreationTime() {
+        return feedbackCreationTime;
+    }
+
+    /**
+     * Sets the creation time.
+     * 
+     * @param feedbackCreationTime the feedbackCreationTime to set
+     */
+    public void setFeedbackCreationTime(LocalDateTime feedbackCreationTime) {
+        this.feedbackCreationTime = feedbackCreationTime;
+    }
+
+    /**
+     * Gets the business name of the merchant.
+     * 
+     * @return the merchantBusinessName
+     */
+    public String getMerchantBusinessName() {
+        return merchantBusinessName;
+    }
+
+    /**
+     * Sets the business name of the merchant.
+     * 
+     * @param merchantBusinessName the merchantBusinessName to set
+     */
+    public void setMerchantBusinessName(String merchantBusinessName) {
+        this.merchantBusinessName = merchantBusinessName;
+    }
+
+    /**
+     * Gets the model of the device.
+     * 
+     * @return the deviceModel
+     */
+    public String getDeviceModel() {
+        return deviceModel;
+    }
+
+    /**
+     * Sets the model of the device.
+     * 
+     * @param deviceModel the deviceModel to set
+     */
+    public void setDeviceModel(String deviceModel) {
+        this.deviceModel = deviceModel;
+    }
+
+    /**
+     * Gets the last update time.
+     * 
+     * @return the feedbackUpdationTime
+     */
+    public LocalDateTime getFeedbackUpdationTime() {
+        return feedbackUpdationTime;
+    }
+
+    /**
+     * Sets the last update time.
+     * 
+     * @param feedbackUpdationTime the feedbackUpdationTime to set
+     */
+    public void setFeedbackUpdationTime(LocalDateTime feedbackUpdationTime) {
+        this.feedbackUpdationTime = feedbackUpdationTime;
+    }
+}
@@ -0,0 +1,69 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * FeedbackTrendDto is the feedback trend of one employee, device or merchant: one point per
+ * day or week of the requested range, including the periods without feedbacks.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackTrendDto {
+
+    private Long id; // Employee, device or merchant ID
+    private List<FeedbackTrendPointDto> points; // One per period, oldest first
+
+    /**
+     * Default constructor for FeedbackTrendDto.
+     */
+    public FeedbackTrendDto() {
+    }
+
+    /**
+     * Constructs a FeedbackTrendDto with all fields.
+     * 
+     * @param id The employee, device or merchant ID.
+     * @param points The points, oldest first.
+     */
+    public FeedbackTrendDto(Long id, List<FeedbackTrendPointDto> points) {
+        this.id = id;
+        this.points = points;
+    }
+
+    /**
+     * Gets the employee, device or merchant ID.
+     * 
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the employee, device or merchant ID.
+     * 
+     * @param id the id to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the points of the series, oldest first.
+     * 
+     * @return the points
+     */
+    public List<FeedbackTrendPointDto> getPoints() {
+        return points;
+    }
+
+    /**
+     * Sets the points of the series, oldest first.
+     * 
+     * @param points the points to set
+     */
+    public void setPoints(List<FeedbackTrendPointDto> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,89 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.time.LocalDate;
+
+/**
+ * FeedbackTrendPointDto is one day or week of a feedback trend series.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackTrendPointDto {
+
+    private LocalDate periodStart; // First day of the day or week
+    private long feedbackCount; // Number of feedbacks in the period
+    private Double averageRating; // Mean rating, null without feedbacks
+
+    /**
+     * Default constructor for FeedbackTrendPointDto.
+     */
+    public FeedbackTrendPointDto() {
+    }
+
+    /**
+     * Constructs a FeedbackTrendPointDto with all fields.
+     * 
+     * @param periodStart The first day of the period.
+     * @param feedbackCount The number of feedbacks in the period.
+     * @param averageRating The mean rating, or null.
+     */
+    public FeedbackTrendPointDto(LocalDate periodStart, long feedbackCount, Double averageRating) {
+        this.periodStart = periodStart;
+        this.feedbackCount = feedbackCount;
+        this.averageRating = averageRating;
+    }
+
+    /**
+     * Gets the first day of the period.
+     * 
+     * @return the periodStart
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Sets the first day of the period.
+     * 
+     * @param periodStart the periodStart to set
+     */
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    /**
+     * Gets the number of feedbacks in the period.
+     * 
+     * @return the feedbackCount
+     */
+    public long getFeedbackCount() {
+        return feedbackCount;
+    }
+
+    /**
+     * Sets the number of feedbacks in the period.
+     * 
+     * @param feedbackCount the feedbackCount to set
+     */
+    public void setFeedbackCount(long feedbackCount) {
+        this.feedbackCount = feedbackCount;
+    }
+
+    /**
+     * Gets the mean rating of the period.
+     * 
+     * @return the averageRating
+     */
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    /**
+     * Sets the mean rating of the period.
+     * 
+     * @param averageRating the averageRating to set
+     */
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+}
@@ -0,0 +1,132 @@
+package com.payswiff.mfmsproject.dtos;
+
+import com.payswiff.mfmsproject.models.FeedbackUploadStatus;
+
+/**
+ * FeedbackUploadResultDto reports the outcome of one record of a bulk feedback upload.
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class FeedbackUploadResultDto {
+
+    private int line; // 1-based line number of the record in the upload
+    private FeedbackUploadStatus status; // Created, duplicate or rejected
+    private String feedbackUuid; // UUID of the feedback, null if the record could not be read
+    private Integer feedbackId; // ID of the created feedback, null otherwise
+    private String message; // Reason of a rejection, null otherwise
+
+    /**
+     * Default constructor for FeedbackUploadResultDto.
+     */
+    public FeedbackUploadResultDto() {
+    }
+
+    /**
+     * Constructs a FeedbackUploadResultDto with all fields.
+     * 
+     * @param line The line number of the record.
+     * @param status The outcome of the record.
+     * @param feedbackUuid The UUID of the feedback, or null.
+     * @param feedbackId The ID of the created feedback, or null.
+     * @param message The reason of a rejection, or null.
+     */
+    public FeedbackUploadResultDto(int line, FeedbackUploadStatus status, String feedbackUuid, Integer feedbackId,
+            String message) {
+        this.line = line;
+        this.status = status;
+        this.feedbackUuid = feedbackUuid;
+        this.feedbackId = feedbackId;
+        this.message = message;
+    }
+
+    /**
+     * Gets the line number.
+     * 
+     * @return the line
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Sets the line number.
+     * 
+     * @param line the line to set
+     */
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    /**
+     * Gets the outcome of the record.
+     * 
+     * @return the status
+     */
+    public FeedbackUploadStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the outcome of the record.
+     * 
+     * @param status the status to set
+     */
+    public void setStatus(FeedbackUploadStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the feedback UUID.
+     * 
+     * @return the feedbackUuid
+     */
+    public String getFeedbackUuid() {
+        return feedbackUuid;
+    }
+
+    /**
+     * Sets the feedback UUID.
+     * 
+     * @param feedbackUuid the feedbackUuid to set
+     */
+    public void setFeedbackUuid(String feedbackUuid) {
+        this.feedbackUuid = feedbackUuid;
+    }
+
+    /**
+     * Gets the feedback ID.
+     * 
+     * @return the feedbackId
+     */
+    public Integer getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the feedback ID.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(Integer feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the rejection message.
+     * 
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the rejection message.
+     * 
+     * @param message the message to set
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
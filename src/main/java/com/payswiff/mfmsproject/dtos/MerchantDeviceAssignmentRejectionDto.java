@@ -0,0 +1,109 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * MerchantDeviceAssignmentRejectionDto reports one pair of a bulk device assignment that was
+ * not assigned.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class MerchantDeviceAssignmentRejectionDto {
+
+    private int position; // 1-based position of the pair, its line number in a CSV upload
+    private Long merchantId; // Merchant of the pair, null if it could not be read
+    private Long deviceId; // Device of the pair, null if it could not be read
+    private String reason; // Why the pair was not assigned
+
+    /**
+     * Default constructor for MerchantDeviceAssignmentRejectionDto.
+     */
+    public MerchantDeviceAssignmentRejectionDto() {
+    }
+
+    /**
+     * Constructs a MerchantDeviceAssignmentRejectionDto with all fields.
+     * 
+     * @param position The position of the pair in the request.
+     * @param merchantId The merchant of the pair, or null.
+     * @param deviceId The device of the pair, or null.
+     * @param reason Why the pair was not assigned.
+     */
+    public MerchantDeviceAssignmentRejectionDto(int position, Long merchantId, Long deviceId, String reason) {
+        this.position = position;
+        this.merchantId = merchantId;
+        this.deviceId = deviceId;
+        this.reason = reason;
+    }
+
+    /**
+     * Gets the position of the pair in the request.
+     * 
+     * @return the position
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Sets the position of the pair in the request.
+     * 
+     * @param position the position to set
+     */
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Gets the merchant of the pair.
+     * 
+     * @return the merchantId
+     */
+    public Long getMerchantId() {
+        return merchantId;
+    }
+
+    /**
+     * Sets the merchant of the pair.
+     * 
+     * @param merchantId the merchantId to set
+     */
+    public void setMerchantId(Long merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    /**
+     * Gets the device of the pair.
+     * 
+     * @return the deviceId
+     */
+    public Long getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * Sets the device of the pair.
+     * 
+     * @param deviceId the deviceId to set
+     */
+    public void setDeviceId(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Gets why the pair was not assigned.
+     * 
+     * @return the reason
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Sets why the pair was not assigned.
+     * 
+     * @param reason the reason to set
+     */
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,112 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * MerchantDeviceAssignmentSummaryDto summarizes a bulk device assignment: how many pairs were
+ * read, assigned and already assigned, and why the others were not assigned.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class MerchantDeviceAssignmentSummaryDto {
+
+    private int requested; // Pairs read, without the header and blank lines
+    private int assigned; // Associations created
+    private int alreadyAssigned; // Pairs skipped because they exist or repeat in the request
+    private List<MerchantDeviceAssignmentRejectionDto> rejected; // Pairs not assigned, in request order
+
+    /**
+     * Default constructor for MerchantDeviceAssignmentSummaryDto.
+     */
+    public MerchantDeviceAssignmentSummaryDto() {
+    }
+
+    /**
+     * Constructs a MerchantDeviceAssignmentSummaryDto with all fields.
+     * 
+     * @param requested The number of pairs read.
+     * @param assigned The number of associations created.
+     * @param alreadyAssigned The number of pairs that exist or repeat in the request.
+     * @param rejected The pairs not assigned, in request order.
+     */
+    public MerchantDeviceAssignmentSummaryDto(int requested, int assigned, int alreadyAssigned,
+            List<MerchantDeviceAssignmentRejectionDto> rejected) {
+        this.requested = requested;
+        this.assigned = assigned;
+        this.alreadyAssigned = alreadyAssigned;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the number of pairs read.
+     * 
+     * @return the requested
+     */
+    public int getRequested() {
+        return requested;
+    }
+
+    /**
+     * Sets the number of pairs read.
+     * 
+     * @param requested the requested to set
+     */
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    /**
+     * Gets the number of associations created.
+     * 
+     * @return the assigned
+     */
+    public int getAssigned() {
+        return assigned;
+    }
+
+    /**
+     * Sets the number of associations created.
+     * 
+     * @param assigned the assigned to set
+     */
+    public void setAssigned(int assigned) {
+        this.assigned = assigned;
+    }
+
+    /**
+     * Gets the number of pairs that exist or repeat in the request.
+     * 
+     * @return the alreadyAssigned
+     */
+    public int getAlreadyAssigned() {
+        return alreadyAssigned;
+    }
+
+    /**
+     * Sets the number of pairs that exist or repeat in the request.
+     * 
+     * @param alreadyAssigned the alreadyAssigned to set
+     */
+    public void setAlreadyAssigned(int alreadyAssigned) {
+        this.alreadyAssigned = alreadyAssigned;
+    }
+
+    /**
+     * Gets the pairs not assigned.
+     * 
+     * @return the rejected
+     */
+    public List<MerchantDeviceAssignmentRejectionDto> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Sets the pairs not assigned.
+     * 
+     * @param rejected the rejected to set
+     */
+    public void setRejected(List<MerchantDeviceAssignmentRejectionDto> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,93 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * MerchantDeviceDuplicateDto reports one repeated merchant-device association, which is
+ * deleted before the unique key on the pair is added.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class MerchantDeviceDuplicateDto {
+
+    private Integer id; // The repeated association row
+    private Long merchantId; // Merchant of the pair
+    private Long deviceId; // Device of the pair
+    private Integer keptId; // The oldest row of the pair, which is kept
+
+    /**
+     * Default constructor for MerchantDeviceDuplicateDto.
+     */
+    public MerchantDeviceDuplicateDto() {
+    }
+
+    /**
+     * Constructs a MerchantDeviceDuplicateDto with all fields.
+     * 
+     * @param id The repeated association row.
+     * @param merchantId The merchant of the pair.
+     * @param deviceId The device of the pair.
+     * @param keptId The oldest row of the pair.
+     */
+    public MerchantDeviceDuplicateDto(Integer id, Long merchantId, Long deviceId, Integer keptId) {
+        this.id = id;
+        this.merchantId = merchantId;
+        this.deviceId = deviceId;
+        this.keptId = keptId;
+    }
+
+    /**
+     * @return the id of the repeated row
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * @param id the id to set
+     */
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the merchantId
+     */
+    public Long getMerchantId() {
+        return merchantId;
+    }
+
+    /**
+     * @param merchantId the merchantId to set
+     */
+    public void setMerchantId(Long merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    /**
+     * @return the deviceId
+     */
+    public Long getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * @param deviceId the deviceId to set
+     */
+    public void setDeviceId(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * @return the id of the row that is kept
+     */
+    public Integer getKeptId() {
+        return keptId;
+    }
+
+    /**
+     * @param keptId the keptId to set
+     */
+    public void setKeptId(Integer keptId) {
+        this.keptId = keptId;
+    }
+}
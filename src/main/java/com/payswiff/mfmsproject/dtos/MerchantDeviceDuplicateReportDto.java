@@ -0,0 +1,79 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * MerchantDeviceDuplicateReportDto reports the repeated merchant-device associations, and
+ * whether they were removed and the unique key on the pair added.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class MerchantDeviceDuplicateReportDto {
+
+    private boolean uniqueKeyExists; // The key on the pair exists (after this request)
+    private boolean removed; // The duplicates below were deleted and backed up
+    private List<MerchantDeviceDuplicateDto> duplicates; // The repeated rows, by ID
+
+    /**
+     * Default constructor for MerchantDeviceDuplicateReportDto.
+     */
+    public MerchantDeviceDuplicateReportDto() {
+    }
+
+    /**
+     * Constructs a MerchantDeviceDuplicateReportDto with all fields.
+     * 
+     * @param uniqueKeyExists Whether the unique key on the pair exists.
+     * @param removed Whether the duplicates were deleted.
+     * @param duplicates The repeated rows.
+     */
+    public MerchantDeviceDuplicateReportDto(boolean uniqueKeyExists, boolean removed,
+            List<MerchantDeviceDuplicateDto> duplicates) {
+        this.uniqueKeyExists = uniqueKeyExists;
+        this.removed = removed;
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * @return whether the unique key on the pair exists
+     */
+    public boolean isUniqueKeyExists() {
+        return uniqueKeyExists;
+    }
+
+    /**
+     * @param uniqueKeyExists the uniqueKeyExists to set
+     */
+    public void setUniqueKeyExists(boolean uniqueKeyExists) {
+        this.uniqueKeyExists = uniqueKeyExists;
+    }
+
+    /**
+     * @return whether the duplicates were deleted
+     */
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    /**
+     * @param removed the removed to set
+     */
+    public void setRemoved(boolean removed) {
+        this.removed = removed;
+    }
+
+    /**
+     * @return the repeated rows
+     */
+    public List<MerchantDeviceDuplicateDto> getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @param duplicates the duplicates to set
+     */
+    public void setDuplicates(List<MerchantDeviceDuplicateDto> duplicates) {
+        this.duplicates = duplicates;
+    }
+}
@@ -0,0 +1,87 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * MerchantImportRejectionDto reports one row of a merchant CSV import that was not imported.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class MerchantImportRejectionDto {
+
+    private int line; // 1-based line the row starts on
+    private String merchantEmail; // Email of the row, null if it could not be read
+    private String reason; // Why the row was not imported
+
+    /**
+     * Default constructor for MerchantImportRejectionDto.
+     */
+    public MerchantImportRejectionDto() {
+    }
+
+    /**
+     * Constructs a MerchantImportRejectionDto with all fields.
+     * 
+     * @param line The line the row starts on.
+     * @param merchantEmail The email of the row, or null.
+     * @param reason Why the row was not imported.
+     */
+    public MerchantImportRejectionDto(int line, String merchantEmail, String reason) {
+        this.line = line;
+        this.merchantEmail = merchantEmail;
+        this.reason = reason;
+    }
+
+    /**
+     * Gets the line the row starts on.
+     * 
+     * @return the line
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Sets the line the row starts on.
+     * 
+     * @param line the line to set
+     */
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    /**
+     * Gets the email of the row.
+     * 
+     * @return the merchantEmail
+     */
+    public String getMerchantEmail() {
+        return merchantEmail;
+    }
+
+    /**
+     * Sets the email of the row.
+     * 
+     * @param merchantEmail the merchantEmail to set
+     */
+    public void setMerchantEmail(String merchantEmail) {
+        this.merchantEmail = merchantEmail;
+    }
+
+    /**
+     * Gets why the row was not imported.
+     * 
+     * @return the reason
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Sets why the row was not imported.
+     * 
+     * @param reason the reason to set
+     */
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
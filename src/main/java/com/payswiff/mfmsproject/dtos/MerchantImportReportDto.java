@@ -0,0 +1,90 @@
+package com.payswiff.mfmsproject.dtos;
+
+import java.util.List;
+
+/**
+ * MerchantImportReportDto summarizes a merchant CSV import: how many rows were read and
+ * imported, and why the others were not.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class MerchantImportReportDto {
+
+    private int rows; // Data rows read, without the header and blank lines
+    private int created; // Merchants created
+    private List<MerchantImportRejectionDto> rejected; // Rows not imported, in file order
+
+    /**
+     * Default constructor for MerchantImportReportDto.
+     */
+    public MerchantImportReportDto() {
+    }
+
+    /**
+     * Constructs a MerchantImportReportDto with all fields.
+     * 
+     * @param rows The number of data rows read.
+     * @param created The number of merchants created.
+     * @param rejected The rows not imported, in file order.
+     */
+    public MerchantImportReportDto(int rows, int created, List<MerchantImportRejectionDto> rejected) {
+        this.rows = rows;
+        this.created = created;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the number of data rows read.
+     * 
+     * @return the rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Sets the number of data rows read.
+     * 
+     * @param rows the rows to set
+     */
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Gets the number of merchants created.
+     * 
+     * @return the created
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * Sets the number of merchants created.
+     * 
+     * @param created the created to set
+     */
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    /**
+     * Gets the rows not imported.
+     * 
+     * @return the rejected
+     */
+    public List<MerchantImportRejectionDto> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Sets the rows not imported.
+     * 
+     * @param rejected the rejected to set
+     */
+    public void setRejected(List<MerchantImportRejectionDto> rejected) {
+        this.rejected = rejected;
+    }
+}
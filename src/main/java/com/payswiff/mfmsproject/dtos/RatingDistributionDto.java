@@ -0,0 +1,195 @@
+package com.payswiff.mfmsproject.dtos;
+
+/**
+ * RatingDistributionDto describes how the ratings of one employee, device or merchant are
+ * spread: their count, mean and standard deviation, the median and the 10th and 90th
+ * percentiles, and the share of low ratings.
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class RatingDistributionDto {
+
+    private long id; // Employee, device or merchant ID
+    private long count; // Number of ratings
+    private double mean; // Mean rating
+    private double standardDeviation; // Population standard deviation
+    private double median; // 50th percentile, to one decimal
+    private double p10; // 10th percentile, to one decimal
+    private double p90; // 90th percentile, to one decimal
+    private double lowRatingShare; // Fraction of ratings at or below the low-rating threshold
+
+    /**
+     * Default constructor for RatingDistributionDto.
+     */
+    public RatingDistributionDto() {
+    }
+
+    /**
+     * Constructs a RatingDistributionDto with all fields.
+     * 
+     * @param id The employee, device or merchant ID.
+     * @param count The number of ratings.
+     * @param mean The mean rating.
+     * @param standardDeviation The standard deviation of the ratings.
+     * @param median The median rating.
+     * @param p10 The 10th percentile.
+     * @param p90 The 90th percentile.
+     * @param lowRatingShare The fraction of low ratings.
+     */
+    public RatingDistributionDto(long id, long count, double mean, double standardDeviation, double median, double p10,
+            double p90, double lowRatingShare) {
+        this.id = id;
+        this.count = count;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.median = median;
+        this.p10 = p10;
+        this.p90 = p90;
+        this.lowRatingShare = lowRatingShare;
+    }
+
+    /**
+     * Gets the employee, device or merchant ID.
+     * 
+     * @return the id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the employee, device or merchant ID.
+     * 
+     * @param id the id to set
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the number of ratings.
+     * 
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Sets the number of ratings.
+     * 
+     * @param count the count to set
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * Gets the mean rating.
+     * 
+     * @return the mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Sets the mean rating.
+     * 
+     * @param mean the mean to set
+     */
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    /**
+     * Gets the standard deviation of the ratings.
+     * 
+     * @return the standardDeviation
+     */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    /**
+     * Sets the standard deviation of the ratings.
+     * 
+     * @param standardDeviation the standardDeviation to set
+     */
+    public void setStandardDeviation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    /**
+     * Gets the median rating.
+     * 
+     * @return the median
+     */
+    public double getMedian() {
+        return median;
+    }
+
+    /**
+     * Sets the median rating.
+     * 
+     * @param median the median to set
+     */
+    public void setMedian(double median) {
+        this.median = median;
+    }
+
+    /**
+     * Gets the 10th percentile.
+     * 
+     * @return the p10
+     */
+    public double getP10() {
+        return p10;
+    }
+
+    /**
+     * Sets the 10th percentile.
+     * 
+     * @param p10 the p10 to set
+     */
+    public void setP10(double p10) {
+        this.p10 = p10;
+    }
+
+    /**
+     * Gets the 90th percentile.
+     * 
+     * @return the p90
+     */
+    public double getP90() {
+        return p90;
+    }
+
+    /**
+     * Sets the 90th percentile.
+     * 
+     * @param p90 the p90 to set
+     */
+    public void setP90(double p90) {
+        this.p90 = p90;
+    }
+
+    /**
+     * Gets the fraction of low ratings.
+     * 
+     * @return the lowRatingShare
+     */
+    public double getLowRatingShare() {
+        return lowRatingShare;
+    }
+
+    /**
+     * Sets the fraction of low ratings.
+     * 
+     * @param lowRatingShare the lowRatingShare to set
+     */
+    public void setLowRatingShare(double lowRatingShare) {
+        this.lowRatingShare = lowRatingShare;
+    }
+}
@@ -0,0 +1,66 @@
+package com.payswiff.mfmsproject.dtos;
+/**
+ * SetPasswordDto is a Data Transfer Object used for setting a password
+ * through the single-use link of a welcome mail.
+ * 
+ * @version MFMS_0.0.1
+ * @author Gopi Bapanapalli
+ */
+public class SetPasswordDto {
+
+	private String token;      // The token from the set-password link
+	private String password;   // The new password to be set
+
+	/**
+	 * Default constructor.
+	 */
+	public SetPasswordDto() {
+	}
+
+	/**
+	 * Constructs a new SetPasswordDto with the specified token and password.
+	 *
+	 * @param token    The token from the set-password link.
+	 * @param password The new password to be set.
+	 */
+	public SetPasswordDto(String token, String password) {
+		this.token = token;
+		this.password = password;
+	}
+
+	/**
+	 * Gets the token from the set-password link.
+	 *
+	 * @return the token as String.
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * Sets the token from the set-password link.
+	 *
+	 * @param token The token to set.
+	 */
+	public void setToken(String token) {
+		this.token = token;
+	}
+
+	/**
+	 * Gets the new password to be set.
+	 *
+	 * @return the password as String.
+	 */
+	public String getPassword() {
+		return password;
+	}
+
+	/**
+	 * Sets the new password to be set.
+	 *
+	 * @param password The new password to set.
+	 */
+	public void setPassword(String password) {
+		this.password = password;
+	}
+}
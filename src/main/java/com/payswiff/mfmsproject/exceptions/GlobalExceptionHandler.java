@@ -1,5 +1,6 @@
 package com.payswiff.mfmsproject.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -47,6 +48,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles InvalidRequestParameterException.
+     * 
+     * @param ex      The thrown InvalidRequestParameterException.
+     * @param request The current web request.
+     * @return A ResponseEntity containing the error details and an HTTP status code.
+     */
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidRequestParameterException(
+            InvalidRequestParameterException ex, WebRequest request) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+            new Date(), 
+            ex.getMessage(),
+            String.valueOf(HttpStatus.BAD_REQUEST),
+            request.getDescription(false)
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles ResourceAlreadyExists exception.
      * 
@@ -168,4 +190,70 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * Handles IngestionQueueFullException. The Retry-After header tells the client
+     * when to submit again.
+     * 
+     * @param ex      The thrown IngestionQueueFullException.
+     * @param request The current web request.
+     * @return A ResponseEntity containing the error details and an HTTP status code.
+     */
+    @ExceptionHandler(IngestionQueueFullException.class)
+    public ResponseEntity<ErrorDetails> handleIngestionQueueFullException(
+            IngestionQueueFullException ex, WebRequest request) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+            new Date(), 
+            ex.getMessage(),
+            String.valueOf(HttpStatus.SERVICE_UNAVAILABLE),
+            request.getDescription(false)
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorDetails);
+    }
+
+    /**
+     * Handles IndexNotLoadedException.
+     * 
+     * @param ex      The thrown IndexNotLoadedException.
+     * @param request The current web request.
+     * @return A ResponseEntity containing the error details and an HTTP status code.
+     */
+    @ExceptionHandler(IndexNotLoadedException.class)
+    public ResponseEntity<ErrorDetails> handleIndexNotLoadedException(
+            IndexNotLoadedException ex, WebRequest request) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+            new Date(), 
+            ex.getMessage(),
+            String.valueOf(HttpStatus.SERVICE_UNAVAILABLE),
+            request.getDescription(false)
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles IdempotencyKeyReusedException.
+     * 
+     * @param ex      The thrown IdempotencyKeyReusedException.
+     * @param request The current web request.
+     * @return A ResponseEntity containing the error details and an HTTP status code.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorDetails> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException ex, WebRequest request) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+            new Date(), 
+            ex.getMessage(),
+            String.valueOf(HttpStatus.UNPROCESSABLE_ENTITY),
+            request.getDescription(false)
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
 }
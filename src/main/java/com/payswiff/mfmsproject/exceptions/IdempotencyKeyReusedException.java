@@ -0,0 +1,29 @@
+package com.payswiff.mfmsproject.exceptions;
+
+/**
+ * IdempotencyKeyReusedException is thrown when a feedback submission reuses an
+ * {@code Idempotency-Key} with a request body that differs from the one the key was first
+ * sent with.
+ * <p>
+ * It is mapped to HTTP 422 by the {@link GlobalExceptionHandler}: replaying the first
+ * response would tell the client its different feedback was stored when it was not. The
+ * client should send the new feedback with a new key.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class IdempotencyKeyReusedException extends Exception {
+
+    private static final long serialVersionUID = 1L;  // Serial version UID for serialization compatibility.
+
+    /**
+     * Constructor for IdempotencyKeyReusedException.
+     * 
+     * @param feedbackUuid The feedback UUID derived from the reused key.
+     */
+    public IdempotencyKeyReusedException(String feedbackUuid) {
+        super(String.format("Idempotency-Key of feedback %s was already used with a different request body",
+                feedbackUuid));
+    }
+}
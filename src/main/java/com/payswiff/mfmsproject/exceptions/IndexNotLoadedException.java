@@ -0,0 +1,26 @@
+package com.payswiff.mfmsproject.exceptions;
+
+/**
+ * IndexNotLoadedException is thrown when an in-memory feedback index is read before its
+ * first load has completed, typically right after startup.
+ * <p>
+ * It is unchecked because every read of an index may throw it, and it is mapped to HTTP 503
+ * by the {@link GlobalExceptionHandler}: the client should try again once the load is done.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Ruchitha Guttikonda
+ */
+public class IndexNotLoadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;  // Serial version UID for serialization compatibility.
+
+    /**
+     * Constructor for IndexNotLoadedException.
+     * 
+     * @param index What the index holds (e.g., "Rating distributions").
+     */
+    public IndexNotLoadedException(String index) {
+        super(String.format("%s are still loading, try again shortly", index));
+    }
+}
@@ -0,0 +1,38 @@
+package com.payswiff.mfmsproject.exceptions;
+
+/**
+ * IngestionQueueFullException is thrown when the feedback ingestion queue has no free slot
+ * within the configured wait.
+ * <p>
+ * It is mapped to HTTP 503 with a Retry-After header by the {@link GlobalExceptionHandler}:
+ * nothing was stored, and the client should submit the same feedback again later.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Chatla Sarika
+ */
+public class IngestionQueueFullException extends Exception {
+
+    private static final long serialVersionUID = 1L;  // Serial version UID for serialization compatibility.
+
+    private final long retryAfterSeconds;  // Suggested wait before the next attempt.
+
+    /**
+     * Constructor for IngestionQueueFullException.
+     * 
+     * @param capacity          The capacity of the queue.
+     * @param retryAfterSeconds The suggested wait before the next attempt.
+     */
+    public IngestionQueueFullException(int capacity, long retryAfterSeconds) {
+        super(String.format("Feedback ingestion queue is full (%d submissions), retry in %d seconds", capacity,
+                retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return the suggested wait before the next attempt, in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,46 @@
+package com.payswiff.mfmsproject.exceptions;
+
+/**
+ * InvalidRequestParameterException is a custom exception class that is thrown when a request
+ * parameter (e.g., a page size or a continuation cursor) is present but cannot be accepted.
+ * <p>
+ * It is mapped to HTTP 400 by the {@link GlobalExceptionHandler}, as the client can fix the request.
+ * </p>
+ * 
+ * @version MFMS_0.0.1
+ * @author Gopi Bapanapalli
+ */
+public class InvalidRequestParameterException extends Exception {
+
+    private static final long serialVersionUID = 1L;  // Serial version UID for serialization compatibility.
+
+    private String parameter;  // Name of the rejected parameter (e.g., "size", "cursor").
+    private String value;      // The value that was rejected.
+
+    /**
+     * Constructor for InvalidRequestParameterException.
+     * 
+     * @param parameter The name of the rejected parameter.
+     * @param value     The value that was rejected.
+     * @param reason    Why the value was rejected.
+     */
+    public InvalidRequestParameterException(String parameter, String value, String reason) {
+        super(String.format("Invalid value for %s: %s (%s)", parameter, value, reason));
+        this.parameter = parameter;
+        this.value = value;
+    }
+
+    /**
+     * @return the name of the rejected parameter
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * @return the rejected value
+     */
+    public String getValue() {
+        return value;
+    }
+}
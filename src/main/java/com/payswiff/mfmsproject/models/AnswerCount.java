@@ -0,0 +1,216 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDate;
+
+/**
+ * How many feedbacks gave one answer to one question, for one merchant business type,
+ * device manufacturer and day.
+ * <p>
+ * {@code AnswerDistributionService} increments the rows in the same transaction that inserts
+ * a feedback, and a reconciliation job periodically rebuilds them from the stored answers.
+ * The answer distribution endpoint sums these rows instead of decoding every feedback.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>countId</b>: A unique identifier for the row (auto-increment).</li>
+ *     <li><b>questionId</b>: The question answered.</li>
+ *     <li><b>answerId</b>: The answer code, its dictionary ID in {@link AnswerText}; 0 means "No answer provided".</li>
+ *     <li><b>merchantBusinessType</b>: The business type of the feedback's merchant.</li>
+ *     <li><b>deviceManufacturer</b>: The manufacturer of the feedback's device.</li>
+ *     <li><b>countDay</b>: The day the feedbacks were created.</li>
+ *     <li><b>answerCount</b>: The number of feedbacks.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "answer_count", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_answer_count_key", columnNames = { "question_id", "answer_id",
+                "merchant_business_type", "device_manufacturer", "count_day" }) },
+        indexes = { @Index(name = "idx_answer_count_day", columnList = "count_day") })
+public class AnswerCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "count_id")
+    private Long countId; // Auto-increment ID for the counter row
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId; // The question answered
+
+    @Column(name = "answer_id", nullable = false)
+    private Integer answerId; // Dictionary ID of the answer
+
+    @Column(name = "merchant_business_type", nullable = false)
+    private String merchantBusinessType; // Business type of the merchant
+
+    @Column(name = "device_manufacturer", nullable = false)
+    private String deviceManufacturer; // Manufacturer of the device
+
+    @Column(name = "count_day", nullable = false)
+    private LocalDate countDay; // Creation day of the feedbacks
+
+    @Column(name = "answer_count", nullable = false)
+    private long answerCount; // Number of feedbacks
+
+    /**
+     * Creates an empty counter row.
+     *
+     * @param questionId           The question answered.
+     * @param answerId             The dictionary ID of the answer.
+     * @param merchantBusinessType The business type of the merchant.
+     * @param deviceManufacturer   The manufacturer of the device.
+     * @param countDay             The creation day of the feedbacks.
+     */
+    public AnswerCount(Long questionId, Integer answerId, String merchantBusinessType, String deviceManufacturer,
+            LocalDate countDay) {
+        this.questionId = questionId;
+        this.answerId = answerId;
+        this.merchantBusinessType = merchantBusinessType;
+        this.deviceManufacturer = deviceManufacturer;
+        this.countDay = countDay;
+    }
+
+    /**
+     * Default constructor for JPA.
+     */
+    public AnswerCount() {
+    }
+
+    /**
+     * Gets the ID of the counter row.
+     * 
+     * @return the countId
+     */
+    public Long getCountId() {
+        return countId;
+    }
+
+    /**
+     * Sets the ID of the counter row.
+     * 
+     * @param countId the countId to set
+     */
+    public void setCountId(Long countId) {
+        this.countId = countId;
+    }
+
+    /**
+     * Gets the question answered.
+     * 
+     * @return the questionId
+     */
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    /**
+     * Sets the question answered.
+     * 
+     * @param questionId the questionId to set
+     */
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    /**
+     * Gets the dictionary ID of the answer.
+     * 
+     * @return the answerId
+     */
+    public Integer getAnswerId() {
+        return answerId;
+    }
+
+    /**
+     * Sets the dictionary ID of the answer.
+     * 
+     * @param answerId the answerId to set
+     */
+    public void setAnswerId(Integer answerId) {
+        this.answerId = answerId;
+    }
+
+    /**
+     * Gets the business type of the merchant.
+     * 
+     * @return the merchantBusinessType
+     */
+    public String getMerchantBusinessType() {
+        return merchantBusinessType;
+    }
+
+    /**
+     * Sets the business type of the merchant.
+     * 
+     * @param merchantBusinessType the merchantBusinessType to set
+     */
+    public void setMerchantBusinessType(String merchantBusinessType) {
+        this.merchantBusinessType = merchantBusinessType;
+    }
+
+    /**
+     * Gets the manufacturer of the device.
+     * 
+     * @return the deviceManufacturer
+     */
+    public String getDeviceManufacturer() {
+        return deviceManufacturer;
+    }
+
+    /**
+     * Sets the manufacturer of the device.
+     * 
+     * @param deviceManufacturer the deviceManufacturer to set
+     */
+    public void setDeviceManufacturer(String deviceManufacturer) {
+        this.deviceManufacturer = deviceManufacturer;
+    }
+
+    /**
+     * Gets the creation day of the feedbacks.
+     * 
+     * @return the countDay
+     */
+    public LocalDate getCountDay() {
+        return countDay;
+    }
+
+    /**
+     * Sets the creation day of the feedbacks.
+     * 
+     * @param countDay the countDay to set
+     */
+    public void setCountDay(LocalDate countDay) {
+        this.countDay = countDay;
+    }
+
+    /**
+     * Gets the number of feedbacks.
+     * 
+     * @return the answerCount
+     */
+    public long getAnswerCount() {
+        return answerCount;
+    }
+
+    /**
+     * Sets the number of feedbacks.
+     * 
+     * @param answerCount the answerCount to set
+     */
+    public void setAnswerCount(long answerCount) {
+        this.answerCount = answerCount;
+    }
+}
@@ -0,0 +1,114 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One distinct answer text of the answer dictionary.
+ * <p>
+ * Feedback answers are stored as dictionary IDs in {@link FeedbackAnswers}, so an answer
+ * such as "Yes" is stored once however many feedbacks give it. The text is looked up by the
+ * SHA-256 of its exact characters: the unique key does not depend on the collation of the
+ * text column, so "yes" and "Yes" stay different entries.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>answerId</b>: The dictionary ID (auto-increment, starting at 1; 0 means "No answer provided").</li>
+ *     <li><b>answerHash</b>: The hex SHA-256 of the text, unique.</li>
+ *     <li><b>answerText</b>: The answer as submitted.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "answer_text")
+public class AnswerText {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "answer_id")
+    private Integer answerId; // Dictionary ID
+
+    @Column(name = "answer_hash", nullable = false, unique = true, length = 64)
+    private String answerHash; // Hex SHA-256 of the text
+
+    @Column(name = "answer_text", nullable = false)
+    private String answerText; // The answer as submitted
+
+    /**
+     * Creates a dictionary entry.
+     *
+     * @param answerHash The hex SHA-256 of the text.
+     * @param answerText The answer text.
+     */
+    public AnswerText(String answerHash, String answerText) {
+        this.answerHash = answerHash;
+        this.answerText = answerText;
+    }
+
+    /**
+     * Default constructor for JPA.
+     */
+    public AnswerText() {
+    }
+
+    /**
+     * Gets the dictionary ID.
+     * 
+     * @return the answerId
+     */
+    public Integer getAnswerId() {
+        return answerId;
+    }
+
+    /**
+     * Sets the dictionary ID.
+     * 
+     * @param answerId the answerId to set
+     */
+    public void setAnswerId(Integer answerId) {
+        this.answerId = answerId;
+    }
+
+    /**
+     * Gets the hash of the text.
+     * 
+     * @return the answerHash
+     */
+    public String getAnswerHash() {
+        return answerHash;
+    }
+
+    /**
+     * Sets the hash of the text.
+     * 
+     * @param answerHash the answerHash to set
+     */
+    public void setAnswerHash(String answerHash) {
+        this.answerHash = answerHash;
+    }
+
+    /**
+     * Gets the answer text.
+     * 
+     * @return the answerText
+     */
+    public String getAnswerText() {
+        return answerText;
+    }
+
+    /**
+     * Sets the answer text.
+     * 
+     * @param answerText the answerText to set
+     */
+    public void setAnswerText(String answerText) {
+        this.answerText = answerText;
+    }
+}
@@ -9,6 +9,10 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.payswiff.mfmsproject.utils.CacheRegions;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -47,6 +51,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 //@AllArgsConstructor // Lombok annotation to generate a constructor with all fields
 //@NoArgsConstructor // Lombok annotation to generate a default constructor
 @Table(name = "device") // Specifies the name of the table in the database
+@Cacheable // Reference data, kept in the second-level cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DEVICE)
 public class Device {
 
     @Id
@@ -0,0 +1,282 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Represents one outgoing email in the transactional outbox.
+ * <p>
+ * Services insert a row in the same transaction as the business write (feedback, employee)
+ * instead of talking to the SMTP server on the request thread. The
+ * {@code EmailOutboxDispatcher} drains due rows in the background, retries failures with
+ * backoff and marks rows sent. The body is cleared once the mail is delivered. Bodies never
+ * hold credentials: a welcome mail is queued with {@code emailPasswordLink} set, and the
+ * dispatcher puts a freshly issued set-password link into the body only when it sends it.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>emailOutboxId</b>: A unique identifier for the outbox entry (auto-increment).</li>
+ *     <li><b>emailRecipient</b>: The recipient address.</li>
+ *     <li><b>emailSubject</b>: The subject line.</li>
+ *     <li><b>emailBody</b>: The plain text body (null once sent).</li>
+ *     <li><b>emailPasswordLink</b>: Whether a set-password link is put into the body when it is sent.</li>
+ *     <li><b>emailStatus</b>: The delivery state, see {@link EmailOutboxStatus}.</li>
+ *     <li><b>emailAttempts</b>: How many times a dispatcher has claimed the row.</li>
+ *     <li><b>emailNextAttemptTime</b>: When the row is next due (or when a claim expires).</li>
+ *     <li><b>emailClaimVersion</b>: Incremented on every claim so two dispatchers never send the same row.</li>
+ *     <li><b>emailLastError</b>: The last delivery error, if any.</li>
+ *     <li><b>emailCreationTime</b>: When the row was written.</li>
+ *     <li><b>emailSentTime</b>: When the mail server accepted the mail.</li>
+ * </ul>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "email_status, email_next_attempt_time") })
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "email_outbox_id")
+    private Long emailOutboxId; // Auto-increment ID for the outbox row
+
+    @Column(name = "email_recipient", nullable = false)
+    private String emailRecipient; // Recipient address
+
+    @Column(name = "email_subject", nullable = false)
+    private String emailSubject; // Subject line
+
+    @Column(name = "email_body", columnDefinition = "TEXT")
+    private String emailBody; // Plain text body, cleared after delivery
+
+    @Column(name = "email_password_link", nullable = false)
+    private boolean emailPasswordLink; // Body holds the set-password link placeholder
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "email_status", nullable = false, length = 16)
+    private EmailOutboxStatus emailStatus; // Delivery state
+
+    @Column(name = "email_attempts", nullable = false)
+    private int emailAttempts; // Number of claims so far
+
+    @Column(name = "email_next_attempt_time", nullable = false)
+    private LocalDateTime emailNextAttemptTime; // Next due time or claim expiry
+
+    @Column(name = "email_claim_version", nullable = false)
+    private int emailClaimVersion; // Bumped on every claim
+
+    @Column(name = "email_last_error", length = 1000)
+    private String emailLastError; // Last delivery error
+
+    @CreationTimestamp
+    @Column(name = "email_creation_time", nullable = false, updatable = false)
+    private LocalDateTime emailCreationTime; // Creation timestamp
+
+    @Column(name = "email_sent_time")
+    private LocalDateTime emailSentTime; // Delivery timestamp
+
+    /**
+     * Creates a pending outbox row that is due immediately.
+     *
+     * @param emailRecipient The recipient address.
+     * @param emailSubject   The subject line.
+     * @param emailBody      The plain text body.
+     */
+    public EmailOutbox(String emailRecipient, String emailSubject, String emailBody) {
+        this.emailRecipient = emailRecipient;
+        this.emailSubject = emailSubject;
+        this.emailBody = emailBody;
+        this.emailStatus = EmailOutboxStatus.PENDING;
+        this.emailAttempts = 0;
+        this.emailClaimVersion = 0;
+        this.emailNextAttemptTime = LocalDateTime.now();
+    }
+
+    /**
+     * Default constructor.
+     */
+    public EmailOutbox() {
+    }
+
+	/**
+	 * @return the emailOutboxId
+	 */
+	public Long getEmailOutboxId() {
+		return emailOutboxId;
+	}
+
+	/**
+	 * @param emailOutboxId the emailOutboxId to set
+	 */
+	public void setEmailOutboxId(Long emailOutboxId) {
+		this.emailOutboxId = emailOutboxId;
+	}
+
+	/**
+	 * @return the emailRecipient
+	 */
+	public String getEmailRecipient() {
+		return emailRecipient;
+	}
+
+	/**
+	 * @param emailRecipient the emailRecipient to set
+	 */
+	public void setEmailRecipient(String emailRecipient) {
+		this.emailRecipient = emailRecipient;
+	}
+
+	/**
+	 * @return the emailSubject
+	 */
+	public String getEmailSubject() {
+		return emailSubject;
+	}
+
+	/**
+	 * @param emailSubject the emailSubject to set
+	 */
+	public void setEmailSubject(String emailSubject) {
+		this.emailSubject = emailSubject;
+	}
+
+	/**
+	 * @return the emailBody
+	 */
+	public String getEmailBody() {
+		return emailBody;
+	}
+
+	/**
+	 * @param emailBody the emailBody to set
+	 */
+	public void setEmailBody(String emailBody) {
+		this.emailBody = emailBody;
+	}
+
+	/**
+	 * @return the emailPasswordLink
+	 */
+	public boolean isEmailPasswordLink() {
+		return emailPasswordLink;
+	}
+
+	/**
+	 * @param emailPasswordLink the emailPasswordLink to set
+	 */
+	public void setEmailPasswordLink(boolean emailPasswordLink) {
+		this.emailPasswordLink = emailPasswordLink;
+	}
+
+	/**
+	 * @return the emailStatus
+	 */
+	public EmailOutboxStatus getEmailStatus() {
+		return emailStatus;
+	}
+
+	/**
+	 * @param emailStatus the emailStatus to set
+	 */
+	public void setEmailStatus(EmailOutboxStatus emailStatus) {
+		this.emailStatus = emailStatus;
+	}
+
+	/**
+	 * @return the emailAttempts
+	 */
+	public int getEmailAttempts() {
+		return emailAttempts;
+	}
+
+	/**
+	 * @param emailAttempts the emailAttempts to set
+	 */
+	public void setEmailAttempts(int emailAttempts) {
+		this.emailAttempts = emailAttempts;
+	}
+
+	/**
+	 * @return the emailNextAttemptTime
+	 */
+	public LocalDateTime getEmailNextAttemptTime() {
+		return emailNextAttemptTime;
+	}
+
+	/**
+	 * @param emailNextAttemptTime the emailNextAttemptTime to set
+	 */
+	public void setEmailNextAttemptTime(LocalDateTime emailNextAttemptTime) {
+		this.emailNextAttemptTime = emailNextAttemptTime;
+	}
+
+	/**
+	 * @return the emailClaimVersion
+	 */
+	public int getEmailClaimVersion() {
+		return emailClaimVersion;
+	}
+
+	/**
+	 * @param emailClaimVersion the emailClaimVersion to set
+	 */
+	public void setEmailClaimVersion(int emailClaimVersion) {
+		this.emailClaimVersion = emailClaimVersion;
+	}
+
+	/**
+	 * @return the emailLastError
+	 */
+	public String getEmailLastError() {
+		return emailLastError;
+	}
+
+	/**
+	 * @param emailLastError the emailLastError to set
+	 */
+	public void setEmailLastError(String emailLastError) {
+		this.emailLastError = emailLastError;
+	}
+
+	/**
+	 * @return the emailCreationTime
+	 */
+	public LocalDateTime getEmailCreationTime() {
+		return emailCreationTime;
+	}
+
+	/**
+	 * @param emailCreationTime the emailCreationTime to set
+	 */
+	public void setEmailCreationTime(LocalDateTime emailCreationTime) {
+		this.emailCreationTime = emailCreationTime;
+	}
+
+	/**
+	 * @return the emailSentTime
+	 */
+	public LocalDateTime getEmailSentTime() {
+		return emailSentTime;
+	}
+
+	/**
+	 * @param emailSentTime the emailSentTime to set
+	 */
+	public void setEmailSentTime(LocalDateTime emailSentTime) {
+		this.emailSentTime = emailSentTime;
+	}
+}
@@ -0,0 +1,20 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * Delivery states of a row in the email outbox.
+ * <ul>
+ *     <li><b>PENDING</b>: Waiting to be sent (first attempt or a scheduled retry).</li>
+ *     <li><b>SENDING</b>: Claimed by a dispatcher; the claim expires if that dispatcher dies.</li>
+ *     <li><b>SENT</b>: Accepted by the mail server.</li>
+ *     <li><b>FAILED</b>: Gave up after the maximum number of attempts.</li>
+ * </ul>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
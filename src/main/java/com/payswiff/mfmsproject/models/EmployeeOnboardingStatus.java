@@ -0,0 +1,18 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * Outcome of one employee of a bulk onboarding request.
+ * <ul>
+ *     <li><b>CREATED</b>: The employee was written and the welcome email queued.</li>
+ *     <li><b>DUPLICATE</b>: The Payswiff ID, email or phone number is already taken, nothing was written.</li>
+ *     <li><b>REJECTED</b>: A required field is missing or invalid, nothing was written.</li>
+ * </ul>
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+public enum EmployeeOnboardingStatus {
+    CREATED,
+    DUPLICATE,
+    REJECTED
+}
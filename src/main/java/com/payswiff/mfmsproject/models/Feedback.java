@@ -6,9 +6,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -26,7 +28,7 @@ import org.hibernate.annotations.UpdateTimestamp;
  * 
  * <p>This class contains the following fields:</p>
  * <ul>
- *     <li><b>feedbackId</b>: A unique identifier for the feedback entry (auto-increment).</li>
+ *     <li><b>feedbackId</b>: A unique identifier for the feedback entry (pooled table generator, so inserts can be JDBC-batched).</li>
  *     <li><b>feedbackUuid</b>: A unique UUID for the feedback entry.</li>
  *     <li><b>feedbackEmployee</b>: A reference to the employee who provided the feedback.</li>
  *     <li><b>feedbackMerchant</b>: A reference to the merchant the feedback is about.</li>
@@ -45,7 +47,14 @@ import org.hibernate.annotations.UpdateTimestamp;
  * @version MFMS_0.0.1
  */
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        // listing order; serves unfiltered listings and creation-time ranges
+        @Index(name = "idx_feedback_created", columnList = "feedback_creation_time DESC, feedback_id DESC"),
+        // one index per equality filter, followed by the listing order
+        @Index(name = "idx_feedback_employee_created", columnList = "feedback_employee_id, feedback_creation_time DESC, feedback_id DESC"),
+        @Index(name = "idx_feedback_merchant_created", columnList = "feedback_merchant_id, feedback_creation_time DESC, feedback_id DESC"),
+        @Index(name = "idx_feedback_device_created", columnList = "feedback_device_id, feedback_creation_time DESC, feedback_id DESC"),
+        @Index(name = "idx_feedback_rating_created", columnList = "feedback_rating, feedback_creation_time DESC, feedback_id DESC") })
 @Builder
 @Getter
 @Setter
@@ -54,9 +63,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Feedback {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_id_generator")
+    @TableGenerator(name = "feedback_id_generator", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "feedback", allocationSize = 50)
     @Column(name = "feedback_id")
-    private Integer feedbackId;  // Auto-increment ID for feedback
+    private Integer feedbackId;  // Pooled ID for feedback (allocated 50 at a time)
 
     @Column(name = "feedback_uuid", nullable = false, unique = true, length = 36)
     private String feedbackUuid;  // Unique UUID for feedback
@@ -0,0 +1,118 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/**
+ * The answers of one feedback, stored as a single compact row.
+ * <p>
+ * The row holds an {@link com.payswiff.mfmsproject.utils.AnswerVector}: for every question
+ * of the catalog at the time of the feedback, its ID and the {@link AnswerText} ID of the
+ * answer, 0 when no answer was given. It replaces the ten
+ * {@link FeedbackQuestionsAssociation} rows per feedback, which repeated the answer text
+ * and "No answer provided" on every row.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>feedbackId</b>: The ID of the feedback, also the primary key.</li>
+ *     <li><b>feedback</b>: The feedback the answers belong to.</li>
+ *     <li><b>answers</b>: The encoded answer vector.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "feedback_answers")
+public class FeedbackAnswers {
+
+    @Id
+    @Column(name = "feedback_id")
+    private Integer feedbackId; // Same as the feedback
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "feedback_id")
+    private Feedback feedback; // Foreign key referencing feedback
+
+    @Column(name = "answers", nullable = false, length = 1024)
+    private byte[] answers; // Encoded answer vector
+
+    /**
+     * Creates the answers row of a feedback.
+     *
+     * @param feedback The (managed) feedback.
+     * @param answers  The encoded answer vector.
+     */
+    public FeedbackAnswers(Feedback feedback, byte[] answers) {
+        this.feedback = feedback;
+        this.answers = answers;
+    }
+
+    /**
+     * Default constructor for JPA.
+     */
+    public FeedbackAnswers() {
+    }
+
+    /**
+     * Gets the feedback ID.
+     * 
+     * @return the feedbackId
+     */
+    public Integer getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the feedback ID.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(Integer feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the feedback.
+     * 
+     * @return the feedback
+     */
+    public Feedback getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Sets the feedback.
+     * 
+     * @param feedback the feedback to set
+     */
+    public void setFeedback(Feedback feedback) {
+        this.feedback = feedback;
+    }
+
+    /**
+     * Gets the encoded answer vector.
+     * 
+     * @return the answers
+     */
+    public byte[] getAnswers() {
+        return answers;
+    }
+
+    /**
+     * Sets the encoded answer vector.
+     * 
+     * @param answers the answers to set
+     */
+    public void setAnswers(byte[] answers) {
+        this.answers = answers;
+    }
+}
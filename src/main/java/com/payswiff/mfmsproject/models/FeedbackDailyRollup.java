@@ -0,0 +1,192 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDate;
+
+/**
+ * Feedback count and rating sum of one employee, device or merchant on one day.
+ * <p>
+ * {@code FeedbackTrendService} increments the rows in the same transaction that inserts a
+ * feedback, and rebuilds them from the {@code feedback} table: completely while the table is
+ * empty, the last days nightly. The trend endpoints read these rows instead of grouping
+ * the feedbacks by day.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>rollupId</b>: A unique identifier for the row (auto-increment).</li>
+ *     <li><b>rollupScope</b>: What the key refers to, see {@link FeedbackRollupScope}.</li>
+ *     <li><b>rollupKey</b>: The employee, device or merchant ID.</li>
+ *     <li><b>rollupDay</b>: The creation day of the feedbacks.</li>
+ *     <li><b>feedbackCount</b>: The number of feedbacks.</li>
+ *     <li><b>ratingSum</b>: The sum of their ratings.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "feedback_daily_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_feedback_daily_rollup_key", columnNames = { "rollup_scope", "rollup_key",
+                "rollup_day" }) },
+        indexes = { @Index(name = "idx_feedback_daily_rollup_scope_day", columnList = "rollup_scope, rollup_day") })
+public class FeedbackDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId; // Auto-increment ID for the rollup row
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rollup_scope", nullable = false, length = 16)
+    private FeedbackRollupScope rollupScope; // Employee, device or merchant
+
+    @Column(name = "rollup_key", nullable = false)
+    private Long rollupKey; // ID of the employee, device or merchant
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate rollupDay; // Creation day of the feedbacks
+
+    @Column(name = "feedback_count", nullable = false)
+    private long feedbackCount; // Number of feedbacks
+
+    @Column(name = "rating_sum", nullable = false)
+    private double ratingSum; // Sum of the ratings
+
+    /**
+     * Creates an empty rollup row.
+     *
+     * @param rollupScope What the key refers to.
+     * @param rollupKey   The employee, device or merchant ID.
+     * @param rollupDay   The creation day of the feedbacks.
+     */
+    public FeedbackDailyRollup(FeedbackRollupScope rollupScope, Long rollupKey, LocalDate rollupDay) {
+        this.rollupScope = rollupScope;
+        this.rollupKey = rollupKey;
+        this.rollupDay = rollupDay;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public FeedbackDailyRollup() {
+    }
+
+    /**
+     * Gets the ID of the rollup row.
+     * 
+     * @return the rollupId
+     */
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    /**
+     * Sets the ID of the rollup row.
+     * 
+     * @param rollupId the rollupId to set
+     */
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    /**
+     * Gets what the key refers to.
+     * 
+     * @return the rollupScope
+     */
+    public FeedbackRollupScope getRollupScope() {
+        return rollupScope;
+    }
+
+    /**
+     * Sets what the key refers to.
+     * 
+     * @param rollupScope the rollupScope to set
+     */
+    public void setRollupScope(FeedbackRollupScope rollupScope) {
+        this.rollupScope = rollupScope;
+    }
+
+    /**
+     * Gets the employee, device or merchant ID.
+     * 
+     * @return the rollupKey
+     */
+    public Long getRollupKey() {
+        return rollupKey;
+    }
+
+    /**
+     * Sets the employee, device or merchant ID.
+     * 
+     * @param rollupKey the rollupKey to set
+     */
+    public void setRollupKey(Long rollupKey) {
+        this.rollupKey = rollupKey;
+    }
+
+    /**
+     * Gets the creation day of the feedbacks.
+     * 
+     * @return the rollupDay
+     */
+    public LocalDate getRollupDay() {
+        return rollupDay;
+    }
+
+    /**
+     * Sets the creation day of the feedbacks.
+     * 
+     * @param rollupDay the rollupDay to set
+     */
+    public void setRollupDay(LocalDate rollupDay) {
+        this.rollupDay = rollupDay;
+    }
+
+    /**
+     * Gets the number of feedbacks.
+     * 
+     * @return the feedbackCount
+     */
+    public long getFeedbackCount() {
+        return feedbackCount;
+    }
+
+    /**
+     * Sets the number of feedbacks.
+     * 
+     * @param feedbackCount the feedbackCount to set
+     */
+    public void setFeedbackCount(long feedbackCount) {
+        this.feedbackCount = feedbackCount;
+    }
+
+    /**
+     * Gets the sum of the ratings.
+     * 
+     * @return the ratingSum
+     */
+    public double getRatingSum() {
+        return ratingSum;
+    }
+
+    /**
+     * Sets the sum of the ratings.
+     * 
+     * @param ratingSum the ratingSum to set
+     */
+    public void setRatingSum(double ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+}
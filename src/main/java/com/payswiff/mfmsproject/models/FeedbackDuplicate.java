@@ -0,0 +1,165 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * A feedback whose text was found to near-duplicate an earlier feedback when it was submitted.
+ * <p>
+ * {@code FeedbackDuplicateDetector} writes the row in the transaction that inserts the
+ * feedback; the feedback itself is accepted. Only the closest earlier feedback is recorded.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>duplicateId</b>: A unique identifier for the row (auto-increment).</li>
+ *     <li><b>feedbackId</b>: The flagged feedback.</li>
+ *     <li><b>duplicateOfFeedbackId</b>: The earlier feedback with the closest text.</li>
+ *     <li><b>similarity</b>: The estimated Jaccard similarity of their texts.</li>
+ *     <li><b>detectedTime</b>: When the feedback was flagged.</li>
+ * </ul>
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "feedback_duplicate", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_feedback_duplicate_feedback", columnNames = { "feedback_id" }) })
+public class FeedbackDuplicate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "duplicate_id")
+    private Long duplicateId; // Auto-increment ID of the flag
+
+    @Column(name = "feedback_id", nullable = false)
+    private Integer feedbackId; // The flagged feedback
+
+    @Column(name = "duplicate_of_feedback_id", nullable = false)
+    private Integer duplicateOfFeedbackId; // The earlier feedback it copies
+
+    @Column(name = "similarity", nullable = false)
+    private double similarity; // Estimated Jaccard similarity, 1 for the same wording
+
+    @CreationTimestamp
+    @Column(name = "detected_time", nullable = false, updatable = false)
+    private LocalDateTime detectedTime; // When the feedback was flagged
+
+    /**
+     * Creates a flag.
+     *
+     * @param feedbackId            The flagged feedback.
+     * @param duplicateOfFeedbackId The earlier feedback it copies.
+     * @param similarity            The estimated similarity of their texts.
+     */
+    public FeedbackDuplicate(Integer feedbackId, Integer duplicateOfFeedbackId, double similarity) {
+        this.feedbackId = feedbackId;
+        this.duplicateOfFeedbackId = duplicateOfFeedbackId;
+        this.similarity = similarity;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public FeedbackDuplicate() {
+    }
+
+    /**
+     * Gets the ID of the flag.
+     * 
+     * @return the duplicateId
+     */
+    public Long getDuplicateId() {
+        return duplicateId;
+    }
+
+    /**
+     * Sets the ID of the flag.
+     * 
+     * @param duplicateId the duplicateId to set
+     */
+    public void setDuplicateId(Long duplicateId) {
+        this.duplicateId = duplicateId;
+    }
+
+    /**
+     * Gets the flagged feedback.
+     * 
+     * @return the feedbackId
+     */
+    public Integer getFeedbackId() {
+        return feedbackId;
+    }
+
+    /**
+     * Sets the flagged feedback.
+     * 
+     * @param feedbackId the feedbackId to set
+     */
+    public void setFeedbackId(Integer feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    /**
+     * Gets the earlier feedback it copies.
+     * 
+     * @return the duplicateOfFeedbackId
+     */
+    public Integer getDuplicateOfFeedbackId() {
+        return duplicateOfFeedbackId;
+    }
+
+    /**
+     * Sets the earlier feedback it copies.
+     * 
+     * @param duplicateOfFeedbackId the duplicateOfFeedbackId to set
+     */
+    public void setDuplicateOfFeedbackId(Integer duplicateOfFeedbackId) {
+        this.duplicateOfFeedbackId = duplicateOfFeedbackId;
+    }
+
+    /**
+     * Gets the estimated similarity of the texts.
+     * 
+     * @return the similarity
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    /**
+     * Sets the estimated similarity of the texts.
+     * 
+     * @param similarity the similarity to set
+     */
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+
+    /**
+     * Gets when the feedback was flagged.
+     * 
+     * @return the detectedTime
+     */
+    public LocalDateTime getDetectedTime() {
+        return detectedTime;
+    }
+
+    /**
+     * Sets when the feedback was flagged.
+     * 
+     * @param detectedTime the detectedTime to set
+     */
+    public void setDetectedTime(LocalDateTime detectedTime) {
+        this.detectedTime = detectedTime;
+    }
+}
@@ -0,0 +1,17 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * The file format of a feedback export. Both are written gzip-compressed.
+ * <ul>
+ *     <li><b>CSV</b>: One line per answer, the feedback columns repeated on each; a feedback
+ *     without answers has one line with empty answer columns.</li>
+ *     <li><b>NDJSON</b>: One JSON object per feedback, its answers in an array.</li>
+ * </ul>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+public enum FeedbackExportFormat {
+    CSV,
+    NDJSON
+}
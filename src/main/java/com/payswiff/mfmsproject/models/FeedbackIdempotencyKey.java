@@ -0,0 +1,83 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The request body a keyed feedback submission was first sent with.
+ * <p>
+ * A feedback submitted with an {@code Idempotency-Key} is written with a UUID derived from
+ * the key. The SHA-256 hash of the body of the first submission is kept here under that UUID,
+ * so {@code FeedbackIdempotencyService} can refuse a later submission that reuses the key
+ * with a different body, on any instance, instead of replaying the first response to it. The
+ * row is deleted again when the first submission fails, so the corrected request may reuse
+ * the key.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>feedbackUuid</b>: The UUID derived from the key.</li>
+ *     <li><b>requestHash</b>: The hex SHA-256 hash of the request body.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "feedback_idempotency_key")
+public class FeedbackIdempotencyKey {
+
+    @Id
+    @Column(name = "feedback_uuid", length = 36)
+    private String feedbackUuid; // UUID derived from the key
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash; // Hex SHA-256 of the first body
+
+    /**
+     * Creates the row of a key.
+     *
+     * @param feedbackUuid The UUID derived from the key.
+     * @param requestHash  The hex SHA-256 hash of the request body.
+     */
+    public FeedbackIdempotencyKey(String feedbackUuid, String requestHash) {
+        this.feedbackUuid = feedbackUuid;
+        this.requestHash = requestHash;
+    }
+
+    /**
+     * Default constructor for JPA.
+     */
+    public FeedbackIdempotencyKey() {
+    }
+
+	/**
+	 * @return the feedbackUuid
+	 */
+	public String getFeedbackUuid() {
+		return feedbackUuid;
+	}
+
+	/**
+	 * @param feedbackUuid the feedbackUuid to set
+	 */
+	public void setFeedbackUuid(String feedbackUuid) {
+		this.feedbackUuid = feedbackUuid;
+	}
+
+	/**
+	 * @return the requestHash
+	 */
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	/**
+	 * @param requestHash the requestHash to set
+	 */
+	public void setRequestHash(String requestHash) {
+		this.requestHash = requestHash;
+	}
+}
@@ -0,0 +1,18 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * States of a feedback submitted through the ingestion queue.
+ * <ul>
+ *     <li><b>QUEUED</b>: Accepted and journaled, waiting for the writer.</li>
+ *     <li><b>WRITTEN</b>: Committed to the feedback table.</li>
+ *     <li><b>FAILED</b>: Rejected by the writer, for example because its device was unassigned meanwhile.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public enum FeedbackIngestionState {
+    QUEUED,
+    WRITTEN,
+    FAILED
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,7 +21,7 @@ import lombok.Setter;
  * 
  * <p>This class contains the following fields:</p>
  * <ul>
- *     <li><b>id</b>: A unique identifier for the association entry (auto-increment).</li>
+ *     <li><b>id</b>: A unique identifier for the association entry (pooled table generator, so inserts can be JDBC-batched).</li>
  *     <li><b>feedback</b>: A reference to the feedback entity that the question is associated with.</li>
  *     <li><b>question</b>: A reference to the question that is associated with the feedback.</li>
  *     <li><b>answer</b>: The answer given by the employee to the respective question.</li>
@@ -42,9 +43,11 @@ import lombok.Setter;
 public class FeedbackQuestionsAssociation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_question_id_generator")
+    @TableGenerator(name = "feedback_question_id_generator", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "feedback_questions_association", allocationSize = 50)
     @Column(name = "id")
-    private Integer id;  // Auto-increment ID for association
+    private Integer id;  // Pooled ID for association (allocated 50 at a time)
 
     @ManyToOne
     @JoinColumn(name = "feedback_id", nullable = false)
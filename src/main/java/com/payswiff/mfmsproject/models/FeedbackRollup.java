@@ -0,0 +1,265 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated feedback statistics of one employee, device or merchant.
+ * <p>
+ * {@code FeedbackRollupService} increments the rows in the same transaction that inserts a
+ * feedback, and a reconciliation job periodically corrects them from the {@code feedback}
+ * table. The analytics endpoints read these rows instead of grouping every feedback.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>rollupId</b>: A unique identifier for the row (auto-increment).</li>
+ *     <li><b>rollupScope</b>: What the key refers to, see {@link FeedbackRollupScope}.</li>
+ *     <li><b>rollupKey</b>: The employee, device or merchant ID.</li>
+ *     <li><b>feedbackCount</b>: The number of feedbacks.</li>
+ *     <li><b>ratingSum</b>: The sum of the ratings.</li>
+ *     <li><b>rating1Count</b> .. <b>rating5Count</b>: The rating histogram; a rating is counted
+ *     in the bucket of its nearest whole star, clamped to 1..5. Feedbacks without a rating are
+ *     only in {@code feedbackCount}.</li>
+ *     <li><b>rollupUpdationTime</b>: When the row was last written.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "feedback_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_feedback_rollup_scope_key", columnNames = { "rollup_scope", "rollup_key" }) })
+public class FeedbackRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId; // Auto-increment ID for the rollup row
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rollup_scope", nullable = false, length = 16)
+    private FeedbackRollupScope rollupScope; // Employee, device or merchant
+
+    @Column(name = "rollup_key", nullable = false)
+    private Long rollupKey; // ID of the employee, device or merchant
+
+    @Column(name = "feedback_count", nullable = false)
+    private long feedbackCount; // Number of feedbacks
+
+    @Column(name = "rating_sum", nullable = false)
+    private double ratingSum; // Sum of the ratings
+
+    @Column(name = "rating_1_count", nullable = false)
+    private long rating1Count; // Ratings below 1.5
+
+    @Column(name = "rating_2_count", nullable = false)
+    private long rating2Count; // Ratings from 1.5 to below 2.5
+
+    @Column(name = "rating_3_count", nullable = false)
+    private long rating3Count; // Ratings from 2.5 to below 3.5
+
+    @Column(name = "rating_4_count", nullable = false)
+    private long rating4Count; // Ratings from 3.5 to below 4.5
+
+    @Column(name = "rating_5_count", nullable = false)
+    private long rating5Count; // Ratings from 4.5
+
+    @Column(name = "rollup_updation_time")
+    private LocalDateTime rollupUpdationTime; // Last write
+
+    /**
+     * Creates an empty rollup row.
+     *
+     * @param rollupScope What the key refers to.
+     * @param rollupKey   The employee, device or merchant ID.
+     */
+    public FeedbackRollup(FeedbackRollupScope rollupScope, Long rollupKey) {
+        this.rollupScope = rollupScope;
+        this.rollupKey = rollupKey;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public FeedbackRollup() {
+    }
+
+    /**
+     * @return the number of feedbacks that have a rating
+     */
+    public long getRatedCount() {
+        return rating1Count + rating2Count + rating3Count + rating4Count + rating5Count;
+    }
+
+    /**
+     * @return the average rating, or null if no feedback has a rating
+     */
+    public Double getAverageRating() {
+        long rated = getRatedCount();
+        return rated == 0 ? null : ratingSum / rated;
+    }
+
+	/**
+	 * @return the rollupId
+	 */
+	public Long getRollupId() {
+		return rollupId;
+	}
+
+	/**
+	 * @param rollupId the rollupId to set
+	 */
+	public void setRollupId(Long rollupId) {
+		this.rollupId = rollupId;
+	}
+
+	/**
+	 * @return the rollupScope
+	 */
+	public FeedbackRollupScope getRollupScope() {
+		return rollupScope;
+	}
+
+	/**
+	 * @param rollupScope the rollupScope to set
+	 */
+	public void setRollupScope(FeedbackRollupScope rollupScope) {
+		this.rollupScope = rollupScope;
+	}
+
+	/**
+	 * @return the rollupKey
+	 */
+	public Long getRollupKey() {
+		return rollupKey;
+	}
+
+	/**
+	 * @param rollupKey the rollupKey to set
+	 */
+	public void setRollupKey(Long rollupKey) {
+		this.rollupKey = rollupKey;
+	}
+
+	/**
+	 * @return the feedbackCount
+	 */
+	public long getFeedbackCount() {
+		return feedbackCount;
+	}
+
+	/**
+	 * @param feedbackCount the feedbackCount to set
+	 */
+	public void setFeedbackCount(long feedbackCount) {
+		this.feedbackCount = feedbackCount;
+	}
+
+	/**
+	 * @return the ratingSum
+	 */
+	public double getRatingSum() {
+		return ratingSum;
+	}
+
+	/**
+	 * @param ratingSum the ratingSum to set
+	 */
+	public void setRatingSum(double ratingSum) {
+		this.ratingSum = ratingSum;
+	}
+
+	/**
+	 * @return the rating1Count
+	 */
+	public long getRating1Count() {
+		return rating1Count;
+	}
+
+	/**
+	 * @param rating1Count the rating1Count to set
+	 */
+	public void setRating1Count(long rating1Count) {
+		this.rating1Count = rating1Count;
+	}
+
+	/**
+	 * @return the rating2Count
+	 */
+	public long getRating2Count() {
+		return rating2Count;
+	}
+
+	/**
+	 * @param rating2Count the rating2Count to set
+	 */
+	public void setRating2Count(long rating2Count) {
+		this.rating2Count = rating2Count;
+	}
+
+	/**
+	 * @return the rating3Count
+	 */
+	public long getRating3Count() {
+		return rating3Count;
+	}
+
+	/**
+	 * @param rating3Count the rating3Count to set
+	 */
+	public void setRating3Count(long rating3Count) {
+		this.rating3Count = rating3Count;
+	}
+
+	/**
+	 * @return the rating4Count
+	 */
+	public long getRating4Count() {
+		return rating4Count;
+	}
+
+	/**
+	 * @param rating4Count the rating4Count to set
+	 */
+	public void setRating4Count(long rating4Count) {
+		this.rating4Count = rating4Count;
+	}
+
+	/**
+	 * @return the rating5Count
+	 */
+	public long getRating5Count() {
+		return rating5Count;
+	}
+
+	/**
+	 * @param rating5Count the rating5Count to set
+	 */
+	public void setRating5Count(long rating5Count) {
+		this.rating5Count = rating5Count;
+	}
+
+	/**
+	 * @return the rollupUpdationTime
+	 */
+	public LocalDateTime getRollupUpdationTime() {
+		return rollupUpdationTime;
+	}
+
+	/**
+	 * @param rollupUpdationTime the rollupUpdationTime to set
+	 */
+	public void setRollupUpdationTime(LocalDateTime rollupUpdationTime) {
+		this.rollupUpdationTime = rollupUpdationTime;
+	}
+}
@@ -0,0 +1,18 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * What a row of the feedback rollup is keyed by.
+ * <ul>
+ *     <li><b>EMPLOYEE</b>: The rollup key is an employee ID.</li>
+ *     <li><b>DEVICE</b>: The rollup key is a device ID.</li>
+ *     <li><b>MERCHANT</b>: The rollup key is a merchant ID.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public enum FeedbackRollupScope {
+    EMPLOYEE,
+    DEVICE,
+    MERCHANT
+}
@@ -0,0 +1,18 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * Outcome of one record of a bulk feedback upload.
+ * <ul>
+ *     <li><b>CREATED</b>: The feedback was written.</li>
+ *     <li><b>DUPLICATE</b>: A feedback with the record's UUID already exists, nothing was written.</li>
+ *     <li><b>REJECTED</b>: The record is malformed or refers to unknown data, nothing was written.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public enum FeedbackUploadStatus {
+    CREATED,
+    DUPLICATE,
+    REJECTED
+}
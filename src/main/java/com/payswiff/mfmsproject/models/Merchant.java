@@ -1,8 +1,13 @@
 package com.payswiff.mfmsproject.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.payswiff.mfmsproject.utils.CacheRegions;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -44,6 +49,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "merchant")
+@Cacheable // Reference data, kept in the second-level cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MERCHANT)
 @Getter
 @Setter
 //@AllArgsConstructor
@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -29,6 +30,10 @@ import lombok.Setter;
  *         establishing a relationship with the Device entity.</li>
  * </ul>
  * 
+ * <p>A merchant and a device are associated at most once, which a unique key on the pair enforces.
+ * On tables created before it existed, an admin adds the key through
+ * {@code MerchantDeviceDuplicateService}, which first backs up and removes the repeated pairs.</p>
+ * 
  * <p>This class helps to manage the relationship between merchants and the devices they are linked to, 
  * enabling the system to associate each device with a specific merchant.</p>
  * 
@@ -36,7 +41,9 @@ import lombok.Setter;
  * @version MFMS_0.0.1
  */
 @Entity
-@Table(name = "merchant_device_association")
+@Table(name = "merchant_device_association",
+       uniqueConstraints = @UniqueConstraint(name = "uk_merchant_device_association_pair",
+               columnNames = {"merchant_id", "device_id"}))
 //@AllArgsConstructor
 //@NoArgsConstructor
 @Getter
@@ -0,0 +1,125 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the single-use link with which an employee sets their password.
+ * <p>
+ * Welcome mails carry a set-password link instead of the password itself. The token in the
+ * link is generated when the {@code EmailOutboxDispatcher} sends the mail, so it is never
+ * written to the outbox; only its SHA-256 hash is kept here. An employee has at most one
+ * token, and each new link replaces the previous one.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>passwordSetupTokenId</b>: A unique identifier for the token (auto-increment).</li>
+ *     <li><b>passwordSetupEmail</b>: The email of the employee the link is for.</li>
+ *     <li><b>passwordSetupTokenHash</b>: The hex SHA-256 hash of the token in the link.</li>
+ *     <li><b>passwordSetupExpiryTime</b>: When the link stops working.</li>
+ * </ul>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "password_setup_token")
+public class PasswordSetupToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "password_setup_token_id")
+    private Long passwordSetupTokenId; // Auto-increment ID for the token
+
+    @Column(name = "password_setup_email", nullable = false, unique = true)
+    private String passwordSetupEmail; // Employee the link is for
+
+    @Column(name = "password_setup_token_hash", nullable = false, unique = true, length = 64)
+    private String passwordSetupTokenHash; // Hex SHA-256 of the token
+
+    @Column(name = "password_setup_expiry_time", nullable = false)
+    private LocalDateTime passwordSetupExpiryTime; // Expiry of the link
+
+    /**
+     * Creates a token for an employee.
+     *
+     * @param passwordSetupEmail      The email of the employee.
+     * @param passwordSetupTokenHash  The hex SHA-256 hash of the token.
+     * @param passwordSetupExpiryTime When the link stops working.
+     */
+    public PasswordSetupToken(String passwordSetupEmail, String passwordSetupTokenHash,
+            LocalDateTime passwordSetupExpiryTime) {
+        this.passwordSetupEmail = passwordSetupEmail;
+        this.passwordSetupTokenHash = passwordSetupTokenHash;
+        this.passwordSetupExpiryTime = passwordSetupExpiryTime;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public PasswordSetupToken() {
+    }
+
+	/**
+	 * @return the passwordSetupTokenId
+	 */
+	public Long getPasswordSetupTokenId() {
+		return passwordSetupTokenId;
+	}
+
+	/**
+	 * @param passwordSetupTokenId the passwordSetupTokenId to set
+	 */
+	public void setPasswordSetupTokenId(Long passwordSetupTokenId) {
+		this.passwordSetupTokenId = passwordSetupTokenId;
+	}
+
+	/**
+	 * @return the passwordSetupEmail
+	 */
+	public String getPasswordSetupEmail() {
+		return passwordSetupEmail;
+	}
+
+	/**
+	 * @param passwordSetupEmail the passwordSetupEmail to set
+	 */
+	public void setPasswordSetupEmail(String passwordSetupEmail) {
+		this.passwordSetupEmail = passwordSetupEmail;
+	}
+
+	/**
+	 * @return the passwordSetupTokenHash
+	 */
+	public String getPasswordSetupTokenHash() {
+		return passwordSetupTokenHash;
+	}
+
+	/**
+	 * @param passwordSetupTokenHash the passwordSetupTokenHash to set
+	 */
+	public void setPasswordSetupTokenHash(String passwordSetupTokenHash) {
+		this.passwordSetupTokenHash = passwordSetupTokenHash;
+	}
+
+	/**
+	 * @return the passwordSetupExpiryTime
+	 */
+	public LocalDateTime getPasswordSetupExpiryTime() {
+		return passwordSetupExpiryTime;
+	}
+
+	/**
+	 * @param passwordSetupExpiryTime the passwordSetupExpiryTime to set
+	 */
+	public void setPasswordSetupExpiryTime(LocalDateTime passwordSetupExpiryTime) {
+		this.passwordSetupExpiryTime = passwordSetupExpiryTime;
+	}
+}
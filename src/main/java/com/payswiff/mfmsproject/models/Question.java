@@ -1,6 +1,12 @@
 package com.payswiff.mfmsproject.models;
 
 import jakarta.persistence.*;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +37,8 @@ import lombok.Setter;
  */
 @Entity
 @Table(name = "question")
+@Cacheable // Reference data, kept in the second-level cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.QUESTION)
 @Data
 @Getter
 @Setter
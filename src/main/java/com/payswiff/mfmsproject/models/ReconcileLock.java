@@ -0,0 +1,62 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The lock row of one counter table, taken while the table is reconciled.
+ * <p>
+ * Reconciliation adds the drift it computed to the counter rows, so two instances
+ * reconciling the same table at once would add it twice. {@code CounterTable} takes the row
+ * of its table with {@code SELECT ... FOR UPDATE SKIP LOCKED} at the start of the
+ * reconciliation transaction and skips the run when another instance holds it. The lock is
+ * released when that transaction ends, including when its instance dies.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>lockName</b>: The name of the counter table.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "reconcile_lock")
+public class ReconcileLock {
+
+    @Id
+    @Column(name = "lock_name", length = 64)
+    private String lockName; // Name of the counter table
+
+    /**
+     * Creates the lock row of a table.
+     *
+     * @param lockName The name of the counter table.
+     */
+    public ReconcileLock(String lockName) {
+        this.lockName = lockName;
+    }
+
+    /**
+     * Default constructor for JPA.
+     */
+    public ReconcileLock() {
+    }
+
+	/**
+	 * @return the lockName
+	 */
+	public String getLockName() {
+		return lockName;
+	}
+
+	/**
+	 * @param lockName the lockName to set
+	 */
+	public void setLockName(String lockName) {
+		this.lockName = lockName;
+	}
+}
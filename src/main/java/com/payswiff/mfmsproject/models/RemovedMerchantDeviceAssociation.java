@@ -0,0 +1,126 @@
+package com.payswiff.mfmsproject.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A copy of a repeated merchant-device association, kept when the repeat was deleted.
+ * <p>
+ * The single-pair assignment used to allow the same merchant and device to be associated
+ * twice. Before the unique key on the pair is added, an admin removes the repeats through
+ * {@code MerchantDeviceDuplicateService}, which copies every row it deletes here first, in the
+ * same transaction.
+ * </p>
+ *
+ * <p>This class contains the following fields:</p>
+ * <ul>
+ *     <li><b>id</b>: The ID the row had in {@code merchant_device_association}.</li>
+ *     <li><b>merchantId</b>: The merchant of the pair.</li>
+ *     <li><b>deviceId</b>: The device of the pair.</li>
+ *     <li><b>keptId</b>: The ID of the oldest row of the pair, which was kept.</li>
+ *     <li><b>removedTime</b>: When the row was deleted.</li>
+ * </ul>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+@Entity
+@Table(name = "merchant_device_association_removed")
+public class RemovedMerchantDeviceAssociation {
+
+    @Id
+    @Column(name = "id")
+    private Integer id; // Former ID of the association
+
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId; // Merchant of the pair
+
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId; // Device of the pair
+
+    @Column(name = "kept_id", nullable = false)
+    private Integer keptId; // Row of the pair that was kept
+
+    @Column(name = "removed_time", nullable = false)
+    private LocalDateTime removedTime; // Deletion timestamp
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RemovedMerchantDeviceAssociation() {
+    }
+
+	/**
+	 * @return the id
+	 */
+	public Integer getId() {
+		return id;
+	}
+
+	/**
+	 * @param id the id to set
+	 */
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return the merchantId
+	 */
+	public Long getMerchantId() {
+		return merchantId;
+	}
+
+	/**
+	 * @param merchantId the merchantId to set
+	 */
+	public void setMerchantId(Long merchantId) {
+		this.merchantId = merchantId;
+	}
+
+	/**
+	 * @return the deviceId
+	 */
+	public Long getDeviceId() {
+		return deviceId;
+	}
+
+	/**
+	 * @param deviceId the deviceId to set
+	 */
+	public void setDeviceId(Long deviceId) {
+		this.deviceId = deviceId;
+	}
+
+	/**
+	 * @return the keptId
+	 */
+	public Integer getKeptId() {
+		return keptId;
+	}
+
+	/**
+	 * @param keptId the keptId to set
+	 */
+	public void setKeptId(Integer keptId) {
+		this.keptId = keptId;
+	}
+
+	/**
+	 * @return the removedTime
+	 */
+	public LocalDateTime getRemovedTime() {
+		return removedTime;
+	}
+
+	/**
+	 * @param removedTime the removedTime to set
+	 */
+	public void setRemovedTime(LocalDateTime removedTime) {
+		this.removedTime = removedTime;
+	}
+}
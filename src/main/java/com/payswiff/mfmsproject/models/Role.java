@@ -1,5 +1,11 @@
 package com.payswiff.mfmsproject.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -30,6 +36,8 @@ import lombok.Setter;
  */
 @Entity
 @Table(name = "roles")
+@Cacheable // Reference data, kept in the second-level cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
 //@AllArgsConstructor
 //@NoArgsConstructor
 @Builder
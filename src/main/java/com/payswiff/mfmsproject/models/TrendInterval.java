@@ -0,0 +1,16 @@
+package com.payswiff.mfmsproject.models;
+
+/**
+ * The length of one point of a feedback trend series.
+ * <ul>
+ *     <li><b>DAY</b>: One point per calendar day.</li>
+ *     <li><b>WEEK</b>: One point per ISO week, starting on Monday.</li>
+ * </ul>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public enum TrendInterval {
+    DAY,
+    WEEK
+}
@@ -0,0 +1,60 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.AnswerCount;
+
+/**
+ * Repository interface for managing {@link AnswerCount} entities.
+ * <p>Feedback writes only ever add to existing rows with relative UPDATEs, so concurrent
+ * feedbacks giving the same answer never overwrite each other.</p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface AnswerCountRepository extends JpaRepository<AnswerCount, Long> {
+
+    /**
+     * Finds the counter row of one question, answer, business type, manufacturer and day.
+     *
+     * @param questionId           The question answered.
+     * @param answerId             The dictionary ID of the answer.
+     * @param merchantBusinessType The business type of the merchant.
+     * @param deviceManufacturer   The manufacturer of the device.
+     * @param countDay             The creation day of the feedbacks.
+     * @return The row, if one was created.
+     */
+    @Query("SELECT a FROM AnswerCount a WHERE a.questionId = :questionId AND a.answerId = :answerId "
+            + "AND a.merchantBusinessType = :businessType AND a.deviceManufacturer = :manufacturer "
+            + "AND a.countDay = :day")
+    Optional<AnswerCount> findByKey(@Param("questionId") Long questionId, @Param("answerId") Integer answerId,
+            @Param("businessType") String merchantBusinessType, @Param("manufacturer") String deviceManufacturer,
+            @Param("day") LocalDate countDay);
+
+    /**
+     * Sums the counters per question and answer. Every filter is optional.
+     *
+     * @param merchantBusinessType Only feedbacks of merchants of this business type, or null.
+     * @param deviceManufacturer   Only feedbacks of devices of this manufacturer, or null.
+     * @param from                 Inclusive first day, or null.
+     * @param to                   Exclusive last day, or null.
+     * @return Rows of question ID, answer ID and count, by question and then most given answer first.
+     */
+    @Query("SELECT a.questionId, a.answerId, SUM(a.answerCount) FROM AnswerCount a "
+            + "WHERE (:businessType IS NULL OR a.merchantBusinessType = :businessType) "
+            + "AND (:manufacturer IS NULL OR a.deviceManufacturer = :manufacturer) "
+            + "AND (:from IS NULL OR a.countDay >= :from) AND (:to IS NULL OR a.countDay < :to) "
+            + "GROUP BY a.questionId, a.answerId HAVING SUM(a.answerCount) > 0 "
+            + "ORDER BY a.questionId, SUM(a.answerCount) DESC, a.answerId")
+    List<Object[]> sumByQuestionAndAnswer(@Param("businessType") String merchantBusinessType,
+            @Param("manufacturer") String deviceManufacturer, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -0,0 +1,16 @@
+package com.payswiff.mfmsproject.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.AnswerText;
+
+/**
+ * Repository interface for the answer dictionary, see {@link AnswerText}.
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface AnswerTextRepository extends JpaRepository<AnswerText, Integer> {
+}
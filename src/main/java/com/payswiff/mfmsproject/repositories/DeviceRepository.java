@@ -1,11 +1,16 @@
 package com.payswiff.mfmsproject.repositories;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing Device entities.
@@ -32,7 +37,9 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
      * @param model The model of the device to search for.
      * @return The Device entity if found; otherwise, returns null.
      */
-    @Query(value = "SELECT * FROM device WHERE device_model = :model", nativeQuery = true) // Custom SQL query to find a device by its model
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.DEVICE_QUERIES) })
+    @Query("SELECT d FROM Device d WHERE d.deviceModel = :model") // JPQL, so the result can be cached
     Device findByModel(@Param("model") String model); // Parameter binding for the SQL query
 
 }
@@ -0,0 +1,99 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.models.EmailOutbox;
+import com.payswiff.mfmsproject.models.EmailOutboxStatus;
+
+/**
+ * Repository interface for managing {@link EmailOutbox} entities.
+ * <p>Besides the standard CRUD operations it exposes the small set of state transitions the
+ * outbox dispatcher needs. Each transition is a single conditional UPDATE so that several
+ * application instances can drain the same table without sending a mail twice.</p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Finds rows in the given states whose next attempt (or claim expiry) is due.
+     *
+     * @param statuses The states to look at (PENDING, and SENDING for expired claims).
+     * @param now      The current time.
+     * @param pageable Limits the number of rows and orders them.
+     * @return The due rows.
+     */
+    List<EmailOutbox> findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(Collection<EmailOutboxStatus> statuses,
+            LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims a row for sending if nobody else claimed it since it was read.
+     *
+     * @return 1 if the claim succeeded, 0 otherwise.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.emailStatus = com.payswiff.mfmsproject.models.EmailOutboxStatus.SENDING, "
+            + "e.emailNextAttemptTime = :leaseUntil, e.emailAttempts = e.emailAttempts + 1, "
+            + "e.emailClaimVersion = e.emailClaimVersion + 1 "
+            + "WHERE e.emailOutboxId = :id AND e.emailClaimVersion = :claimVersion")
+    int claim(@Param("id") Long id, @Param("claimVersion") int claimVersion,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Marks a claimed row as sent and drops its body.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.emailStatus = com.payswiff.mfmsproject.models.EmailOutboxStatus.SENT, "
+            + "e.emailSentTime = :sentTime, e.emailBody = NULL, e.emailLastError = NULL "
+            + "WHERE e.emailOutboxId = :id AND e.emailClaimVersion = :claimVersion")
+    int markSent(@Param("id") Long id, @Param("claimVersion") int claimVersion,
+            @Param("sentTime") LocalDateTime sentTime);
+
+    /**
+     * Releases a claimed row after a failed attempt so that it is retried at {@code nextAttempt}.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.emailStatus = com.payswiff.mfmsproject.models.EmailOutboxStatus.PENDING, "
+            + "e.emailNextAttemptTime = :nextAttempt, e.emailLastError = :lastError "
+            + "WHERE e.emailOutboxId = :id AND e.emailClaimVersion = :claimVersion")
+    int markFailedAttempt(@Param("id") Long id, @Param("claimVersion") int claimVersion,
+            @Param("nextAttempt") LocalDateTime nextAttempt, @Param("lastError") String lastError);
+
+    /**
+     * Marks a claimed row as failed for good and drops its body.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.emailStatus = com.payswiff.mfmsproject.models.EmailOutboxStatus.FAILED, "
+            + "e.emailNextAttemptTime = :failedTime, e.emailBody = NULL, e.emailLastError = :lastError "
+            + "WHERE e.emailOutboxId = :id AND e.emailClaimVersion = :claimVersion")
+    int markFailed(@Param("id") Long id, @Param("claimVersion") int claimVersion,
+            @Param("failedTime") LocalDateTime failedTime, @Param("lastError") String lastError);
+
+    /**
+     * Deletes SENT and FAILED rows written before the cutoff.
+     *
+     * @param cutoff Rows created before this time are deleted.
+     * @return The number of rows deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.emailStatus IN (com.payswiff.mfmsproject.models.EmailOutboxStatus.SENT, "
+            + "com.payswiff.mfmsproject.models.EmailOutboxStatus.FAILED) AND e.emailCreationTime < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
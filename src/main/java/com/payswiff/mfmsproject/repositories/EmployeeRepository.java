@@ -1,8 +1,11 @@
 package com.payswiff.mfmsproject.repositories;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.payswiff.mfmsproject.models.Employee;
@@ -55,7 +58,31 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     boolean existsByEmployeePhoneNumber(String employeePhoneNumber);
 
 	boolean existsByEmployeePayswiffId(String payswiffId);
-    
-    
-    
+
+    /**
+     * Returns which of the given Payswiff IDs already belong to an employee.
+     *
+     * @param payswiffIds the Payswiff IDs to look up
+     * @return the Payswiff IDs that exist
+     */
+    @Query("SELECT e.employeePayswiffId FROM Employee e WHERE e.employeePayswiffId IN :payswiffIds")
+    List<String> findExistingPayswiffIds(@Param("payswiffIds") Collection<String> payswiffIds);
+
+    /**
+     * Returns which of the given emails already belong to an employee.
+     *
+     * @param emails the emails to look up
+     * @return the emails that exist
+     */
+    @Query("SELECT e.employeeEmail FROM Employee e WHERE e.employeeEmail IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Returns which of the given phone numbers already belong to an employee.
+     *
+     * @param phoneNumbers the phone numbers to look up
+     * @return the phone numbers that exist
+     */
+    @Query("SELECT e.employeePhoneNumber FROM Employee e WHERE e.employeePhoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
 }
@@ -0,0 +1,16 @@
+package com.payswiff.mfmsproject.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.FeedbackAnswers;
+
+/**
+ * Repository interface for the compact answer rows of the feedbacks, keyed by feedback ID.
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface FeedbackAnswersRepository extends JpaRepository<FeedbackAnswers, Integer> {
+}
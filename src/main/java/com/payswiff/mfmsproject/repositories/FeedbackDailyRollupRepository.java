@@ -0,0 +1,79 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.FeedbackDailyRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+
+/**
+ * Repository interface for managing {@link FeedbackDailyRollup} entities.
+ * <p>Feedback writes only ever add to a row with a single relative UPDATE, so concurrent
+ * feedbacks for the same employee, device or merchant never overwrite each other.</p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface FeedbackDailyRollupRepository extends JpaRepository<FeedbackDailyRollup, Long> {
+
+    /**
+     * Finds the row of one employee, device or merchant on one day.
+     *
+     * @param rollupScope What the key refers to.
+     * @param rollupKey   The employee, device or merchant ID.
+     * @param rollupDay   The day.
+     * @return The row, if one was created.
+     */
+    Optional<FeedbackDailyRollup> findByRollupScopeAndRollupKeyAndRollupDay(FeedbackRollupScope rollupScope,
+            Long rollupKey, LocalDate rollupDay);
+
+    /**
+     * Finds the rows of one employee, device or merchant in a range of days.
+     *
+     * @param rollupScope What the key refers to.
+     * @param rollupKey   The employee, device or merchant ID.
+     * @param from        Inclusive first day.
+     * @param to          Exclusive last day.
+     * @return The rows, ordered by day.
+     */
+    @Query("SELECT r FROM FeedbackDailyRollup r WHERE r.rollupScope = :scope AND r.rollupKey = :key "
+            + "AND r.rollupDay >= :from AND r.rollupDay < :to AND r.feedbackCount > 0 ORDER BY r.rollupDay")
+    List<FeedbackDailyRollup> findRangeOfKey(@Param("scope") FeedbackRollupScope rollupScope, @Param("key") Long rollupKey,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Finds the rows of every employee, device or merchant of a scope in a range of days.
+     *
+     * @param rollupScope What the keys refer to.
+     * @param from        Inclusive first day.
+     * @param to          Exclusive last day.
+     * @return The rows, ordered by key and day.
+     */
+    @Query("SELECT r FROM FeedbackDailyRollup r WHERE r.rollupScope = :scope "
+            + "AND r.rollupDay >= :from AND r.rollupDay < :to AND r.feedbackCount > 0 ORDER BY r.rollupKey, r.rollupDay")
+    List<FeedbackDailyRollup> findRangeOfScope(@Param("scope") FeedbackRollupScope rollupScope,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Adds one feedback to a row. Must run inside the transaction that inserts the feedback.
+     *
+     * @param rollupScope What the key refers to.
+     * @param rollupKey   The employee, device or merchant ID.
+     * @param rollupDay   The creation day of the feedback.
+     * @param rating      The rating, 0 if the feedback has none.
+     * @return 1 if the row exists, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE FeedbackDailyRollup r SET r.feedbackCount = r.feedbackCount + 1, r.ratingSum = r.ratingSum + :rating "
+            + "WHERE r.rollupScope = :scope AND r.rollupKey = :key AND r.rollupDay = :day")
+    int increment(@Param("scope") FeedbackRollupScope rollupScope, @Param("key") Long rollupKey,
+            @Param("day") LocalDate rollupDay, @Param("rating") double rating);
+}
@@ -0,0 +1,27 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.FeedbackDuplicate;
+
+/**
+ * Repository interface for managing {@link FeedbackDuplicate} entities.
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface FeedbackDuplicateRepository extends JpaRepository<FeedbackDuplicate, Long> {
+
+    /**
+     * Finds the most recent flags.
+     *
+     * @param pageable The number of flags to read.
+     * @return The flags, newest first.
+     */
+    List<FeedbackDuplicate> findAllByOrderByDuplicateIdDesc(Pageable pageable);
+}
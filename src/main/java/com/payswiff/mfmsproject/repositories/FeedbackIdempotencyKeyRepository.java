@@ -0,0 +1,57 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.models.FeedbackIdempotencyKey;
+
+/**
+ * Repository interface for managing {@link FeedbackIdempotencyKey} entities.
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface FeedbackIdempotencyKeyRepository extends JpaRepository<FeedbackIdempotencyKey, String> {
+
+    /**
+     * Records the body a key is first used with. A plain INSERT rather than a save, so a key
+     * recorded meanwhile by another instance fails on the primary key instead of being
+     * overwritten.
+     *
+     * @param feedbackUuid The UUID derived from the key.
+     * @param requestHash  The hex SHA-256 hash of the request body.
+     * @return 1 once inserted.
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key is already recorded.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO feedback_idempotency_key (feedback_uuid, request_hash) VALUES (:uuid, :hash)",
+            nativeQuery = true)
+    int insert(@Param("uuid") String feedbackUuid, @Param("hash") String requestHash);
+
+    /**
+     * @param feedbackUuid The UUID derived from a key.
+     * @return The hash of the body the key was first used with, if it is recorded.
+     */
+    @Query("SELECT k.requestHash FROM FeedbackIdempotencyKey k WHERE k.feedbackUuid = :uuid")
+    Optional<String> findRequestHash(@Param("uuid") String feedbackUuid);
+
+    /**
+     * Forgets a key whose first submission failed.
+     *
+     * @param feedbackUuid The UUID derived from the key.
+     * @param requestHash  The hash recorded by that submission; a row recorded by another body is kept.
+     * @return The number of rows deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FeedbackIdempotencyKey k WHERE k.feedbackUuid = :uuid AND k.requestHash = :hash")
+    int release(@Param("uuid") String feedbackUuid, @Param("hash") String requestHash);
+}
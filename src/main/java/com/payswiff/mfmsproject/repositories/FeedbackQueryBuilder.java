@@ -0,0 +1,85 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import com.payswiff.mfmsproject.dtos.FeedbackFilter;
+import com.payswiff.mfmsproject.utils.FeedbackCursor;
+
+/**
+ * Builds the WHERE clause of a feedback listing from a {@link FeedbackFilter}.
+ * <p>
+ * Every criterion that is set becomes one sargable predicate on a column of {@code feedback}
+ * (alias {@code f}), bound as a named parameter. The predicates are ANDed, so any combination
+ * is served by one statement. Each access path is backed by one of the composite indexes
+ * declared on {@link com.payswiff.mfmsproject.models.Feedback}: the equality columns lead, and
+ * (creation time, ID) follows so the ORDER BY and the keyset predicate use the same index.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+final class FeedbackQueryBuilder {
+
+	/** Listing order, matches the trailing columns of every feedback index. */
+	static final String ORDER_BY = " ORDER BY f.feedback_creation_time DESC, f.feedback_id DESC";
+
+	private FeedbackQueryBuilder() {
+	}
+
+	/**
+	 * @param filter the criteria, may be null to match everything
+	 * @param after  the keyset position to continue after, may be null
+	 * @param params receives the values of the named parameters used
+	 * @return the WHERE clause with a leading space, or an empty string
+	 */
+	static String where(FeedbackFilter filter, FeedbackCursor after, Map<String, Object> params) {
+		StringBuilder where = new StringBuilder();
+		if (filter != null) {
+			if (filter.getEmployeeId() != null) {
+				and(where, "f.feedback_employee_id = :employeeId");
+				params.put("employeeId", filter.getEmployeeId());
+			}
+			if (filter.getMerchantId() != null) {
+				and(where, "f.feedback_merchant_id = :merchantId");
+				params.put("merchantId", filter.getMerchantId());
+			}
+			if (filter.getDeviceId() != null) {
+				and(where, "f.feedback_device_id = :deviceId");
+				params.put("deviceId", filter.getDeviceId());
+			}
+			if (filter.getRating() != null) {
+				and(where, "f.feedback_rating = :rating");
+				params.put("rating", filter.getRating().doubleValue());
+			}
+			if (filter.getMinRating() != null) {
+				and(where, "f.feedback_rating >= :minRating");
+				params.put("minRating", filter.getMinRating());
+			}
+			if (filter.getMaxRating() != null) {
+				and(where, "f.feedback_rating <= :maxRating");
+				params.put("maxRating", filter.getMaxRating());
+			}
+			if (filter.getFrom() != null) {
+				and(where, "f.feedback_creation_time >= :fromTime");
+				params.put("fromTime", Timestamp.valueOf(filter.getFrom()));
+			}
+			if (filter.getTo() != null) {
+				and(where, "f.feedback_creation_time < :toTime");
+				params.put("toTime", Timestamp.valueOf(filter.getTo()));
+			}
+		}
+		if (after != null) {
+			// together: (time, id) < (afterTime, afterId); the plain range lets the optimizer use the index
+			and(where, "f.feedback_creation_time <= :afterTime");
+			and(where, "(f.feedback_creation_time < :afterTime OR f.feedback_id < :afterId)");
+			params.put("afterTime", Timestamp.valueOf(after.getCreationTime()));
+			params.put("afterId", after.getFeedbackId());
+		}
+		return where.toString();
+	}
+
+	private static void and(StringBuilder where, String predicate) {
+		where.append(where.length() == 0 ? " WHERE " : " AND ").append(predicate);
+	}
+}
@@ -0,0 +1,192 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.dtos.FeedbackFilter;
+import com.payswiff.mfmsproject.dtos.FeedbackSummaryDto;
+import com.payswiff.mfmsproject.utils.FeedbackCursor;
+
+/**
+ * Read-only, JDBC based queries over the {@code feedback} table for listings.
+ * <p>
+ * The WHERE clause of every listing comes from {@link FeedbackQueryBuilder}, so all
+ * filter combinations share the same predicates and indexes.
+ * </p>
+ * <p>
+ * Rows are mapped straight to {@link FeedbackSummaryDto} from one JOIN with merchant and device,
+ * so no Feedback, Employee, Merchant or Device entity is loaded. Listings are ordered by (creation time, feedback ID) descending and
+ * paged with a keyset predicate instead of an offset, so every page costs the same no matter how
+ * deep the client has read.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public class FeedbackQueryRepository {
+
+	private static final String SELECT_SUMMARY = "SELECT f.feedback_id, f.feedback_uuid, f.feedback_employee_id, "
+			+ "f.feedback_merchant_id, m.merchant_business_name, f.feedback_device_id, d.device_model, "
+			+ "f.feedback_rating, f.feedback, f.feedback_image_1, f.feedback_creation_time, f.feedback_updation_time "
+			+ "FROM feedback f "
+			+ "JOIN merchant m ON m.merchant_id = f.feedback_merchant_id "
+			+ "JOIN device d ON d.device_id = f.feedback_device_id";
+
+	// the compact row of a feedback, or its association rows while it is not migrated
+	private static final String SELECT_ANSWERS = "SELECT f.feedback_id, fa.answers, a.question_id, a.answer "
+			+ "FROM feedback f "
+			+ "LEFT JOIN feedback_answers fa ON fa.feedback_id = f.feedback_id "
+			+ "LEFT JOIN feedback_questions_association a ON a.feedback_id = f.feedback_id "
+			+ "WHERE f.feedback_id IN (:ids) ORDER BY f.feedback_id, a.id";
+
+	private static final RowMapper<FeedbackSummaryDto> SUMMARY_MAPPER = FeedbackQueryRepository::mapSummary;
+
+	/**
+	 * One row of the answers of a feedback: its encoded compact answers, or one answer of a
+	 * feedback that is not migrated yet, or neither for a feedback without answers.
+	 *
+	 * @param feedbackId the feedback
+	 * @param answers    the encoded answer vector, null if the feedback has no compact row
+	 * @param questionId the question of an association row, null if there is none
+	 * @param answer     the answer of the association row
+	 */
+	public record AnswerRow(int feedbackId, byte[] answers, Long questionId, String answer) {
+	}
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+	/**
+	 * @param dataSource      the application data source
+	 * @param streamFetchSize JDBC fetch size used while streaming; MySQL Connector/J only streams
+	 *                        row by row with {@code Integer.MIN_VALUE}
+	 */
+	@Autowired
+	public FeedbackQueryRepository(DataSource dataSource,
+			@Value("${mfms.feedback.stream-fetch-size:-2147483648}") int streamFetchSize) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		JdbcTemplate streaming = new JdbcTemplate(dataSource);
+		streaming.setFetchSize(streamFetchSize);
+		this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+	}
+
+	/**
+	 * Reads one page of feedbacks, newest first.
+	 *
+	 * @param filter the criteria, may be null
+	 * @param after  the position to continue after, null for the first page
+	 * @param limit  the maximum number of rows
+	 * @return the rows of the page
+	 */
+	public List<FeedbackSummaryDto> findPage(FeedbackFilter filter, FeedbackCursor after, int limit) {
+		Map<String, Object> params = new HashMap<>();
+		return jdbcTemplate.query(pageSql(filter, after, limit, params), params, SUMMARY_MAPPER);
+	}
+
+	/**
+	 * Streams every matching feedback, newest first, over a forward-only cursor. Each row is
+	 * handed to the consumer as soon as it is read and is not retained.
+	 *
+	 * @param filter   the criteria, may be null
+	 * @param consumer receives the rows in order
+	 * @return the number of rows streamed
+	 */
+	public long stream(FeedbackFilter filter, Consumer<FeedbackSummaryDto> consumer) {
+		Map<String, Object> params = new HashMap<>();
+		long[] rows = new long[1];
+		streamingJdbcTemplate.query(streamSql(filter, params), params, (RowCallbackHandler) rs -> {
+			consumer.accept(mapSummary(rs, 0));
+			rows[0]++;
+		});
+		return rows[0];
+	}
+
+	/**
+	 * Reads the given feedbacks, in no particular order.
+	 *
+	 * @param feedbackIds the feedback IDs, not empty
+	 * @return the rows of the feedbacks that exist
+	 */
+	public List<FeedbackSummaryDto> findByIds(Collection<Integer> feedbackIds) {
+		return jdbcTemplate.query(SELECT_SUMMARY + " WHERE f.feedback_id IN (:ids)", Map.of("ids", feedbackIds),
+				SUMMARY_MAPPER);
+	}
+
+	/**
+	 * Reads the stored answers of the given feedbacks in one query, without loading any
+	 * entity.
+	 *
+	 * @param feedbackIds the feedback IDs, not empty
+	 * @return the answer rows of the feedbacks that exist, grouped by feedback ID
+	 */
+	public List<AnswerRow> findAnswerRows(Collection<Integer> feedbackIds) {
+		return jdbcTemplate.query(SELECT_ANSWERS, Map.of("ids", feedbackIds), (rs, rowNum) -> {
+			long questionId = rs.getLong("question_id");
+			Long associationQuestion = rs.wasNull() ? null : questionId;
+			return new AnswerRow(rs.getInt("feedback_id"), rs.getBytes("answers"), associationQuestion,
+					rs.getString("answer"));
+		});
+	}
+
+	/**
+	 * Builds the query of {@link #findPage}.
+	 *
+	 * @param filter the criteria, may be null
+	 * @param after  the position to continue after, null for the first page
+	 * @param limit  the maximum number of rows
+	 * @param params receives the named parameters of the query
+	 * @return the SQL
+	 */
+	static String pageSql(FeedbackFilter filter, FeedbackCursor after, int limit, Map<String, Object> params) {
+		params.put("limit", limit);
+		return SELECT_SUMMARY + FeedbackQueryBuilder.where(filter, after, params) + FeedbackQueryBuilder.ORDER_BY
+				+ " LIMIT :limit";
+	}
+
+	/**
+	 * Builds the query of {@link #stream}.
+	 *
+	 * @param filter the criteria, may be null
+	 * @param params receives the named parameters of the query
+	 * @return the SQL
+	 */
+	static String streamSql(FeedbackFilter filter, Map<String, Object> params) {
+		return SELECT_SUMMARY + FeedbackQueryBuilder.where(filter, null, params) + FeedbackQueryBuilder.ORDER_BY;
+	}
+
+	private static FeedbackSummaryDto mapSummary(ResultSet rs, int rowNum) throws SQLException {
+		FeedbackSummaryDto summary = new FeedbackSummaryDto();
+		summary.setFeedbackId(rs.getInt("feedback_id"));
+		summary.setFeedbackUuid(rs.getString("feedback_uuid"));
+		summary.setEmployeeId(rs.getLong("feedback_employee_id"));
+		summary.setMerchantId(rs.getLong("feedback_merchant_id"));
+		summary.setMerchantBusinessName(rs.getString("merchant_business_name"));
+		summary.setDeviceId(rs.getLong("feedback_device_id"));
+		summary.setDeviceModel(rs.getString("device_model"));
+		summary.setFeedbackRating(rs.getObject("feedback_rating", Double.class)); // null stays null, not 0.0
+		summary.setFeedback(rs.getString("feedback"));
+		summary.setFeedbackImage1(rs.getString("feedback_image_1"));
+		Timestamp created = rs.getTimestamp("feedback_creation_time");
+		summary.setFeedbackCreationTime(created == null ? null : created.toLocalDateTime());
+		Timestamp updated = rs.getTimestamp("feedback_updation_time");
+		summary.setFeedbackUpdationTime(updated == null ? null : updated.toLocalDateTime());
+		return summary;
+	}
+}
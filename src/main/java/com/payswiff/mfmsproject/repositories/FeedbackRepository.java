@@ -1,10 +1,14 @@
 package com.payswiff.mfmsproject.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.payswiff.mfmsproject.models.Device;
 import com.payswiff.mfmsproject.models.Employee;
@@ -56,30 +60,106 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer> {
     List<Feedback> findByFeedbackRating(Integer rating);
 
     /**
-     * Counts the number of feedbacks grouped by each Employee's ID.
+     * Aggregates selected per group by the rollup queries: count, rating sum and the rating
+     * histogram, bucketed like {@code FeedbackRollupService.bucketOf}.
+     */
+    String ROLLUP_AGGREGATES = "COUNT(f), COALESCE(SUM(f.feedbackRating), 0), "
+            + "SUM(CASE WHEN f.feedbackRating < 1.5 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN f.feedbackRating >= 1.5 AND f.feedbackRating < 2.5 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN f.feedbackRating >= 2.5 AND f.feedbackRating < 3.5 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN f.feedbackRating >= 3.5 AND f.feedbackRating < 4.5 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN f.feedbackRating >= 4.5 THEN 1 ELSE 0 END)";
+
+    /**
+     * Rebuilds the rollup of every employee from source.
+     *
+     * @return Rows of employee ID followed by the {@link #ROLLUP_AGGREGATES}.
+     */
+    @Query("SELECT f.feedbackEmployee.employeeId, " + ROLLUP_AGGREGATES
+         + " FROM Feedback f GROUP BY f.feedbackEmployee.employeeId")
+    List<Object[]> rollupByEmployee();
+
+    /**
+     * Rebuilds the rollup of every device from source.
+     *
+     * @return Rows of device ID followed by the {@link #ROLLUP_AGGREGATES}.
+     */
+    @Query("SELECT f.feedbackDevice.deviceId, " + ROLLUP_AGGREGATES
+         + " FROM Feedback f GROUP BY f.feedbackDevice.deviceId")
+    List<Object[]> rollupByDevice();
+
+    /**
+     * Rebuilds the rollup of every merchant from source.
+     *
+     * @return Rows of merchant ID followed by the {@link #ROLLUP_AGGREGATES}.
+     */
+    @Query("SELECT f.feedbackMerchant.merchantId, " + ROLLUP_AGGREGATES
+         + " FROM Feedback f GROUP BY f.feedbackMerchant.merchantId")
+    List<Object[]> rollupByMerchant();
+
+    /**
+     * Rebuilds the daily rollups of every employee from source, from a given time on.
+     *
+     * @param since Inclusive start of the creation time.
+     * @return Rows of employee ID, creation day, count and rating sum.
+     */
+    @Query("SELECT f.feedbackEmployee.employeeId, CAST(f.feedbackCreationTime AS LocalDate), COUNT(f), "
+         + "COALESCE(SUM(f.feedbackRating), 0) FROM Feedback f WHERE f.feedbackCreationTime >= :since "
+         + "GROUP BY f.feedbackEmployee.employeeId, CAST(f.feedbackCreationTime AS LocalDate)")
+    List<Object[]> dailyRollupByEmployee(@Param("since") LocalDateTime since);
+
+    /**
+     * Rebuilds the daily rollups of every device from source, from a given time on.
+     *
+     * @param since Inclusive start of the creation time.
+     * @return Rows of device ID, creation day, count and rating sum.
+     */
+    @Query("SELECT f.feedbackDevice.deviceId, CAST(f.feedbackCreationTime AS LocalDate), COUNT(f), "
+         + "COALESCE(SUM(f.feedbackRating), 0) FROM Feedback f WHERE f.feedbackCreationTime >= :since "
+         + "GROUP BY f.feedbackDevice.deviceId, CAST(f.feedbackCreationTime AS LocalDate)")
+    List<Object[]> dailyRollupByDevice(@Param("since") LocalDateTime since);
+
+    /**
+     * Rebuilds the daily rollups of every merchant from source, from a given time on.
+     *
+     * @param since Inclusive start of the creation time.
+     * @return Rows of merchant ID, creation day, count and rating sum.
+     */
+    @Query("SELECT f.feedbackMerchant.merchantId, CAST(f.feedbackCreationTime AS LocalDate), COUNT(f), "
+         + "COALESCE(SUM(f.feedbackRating), 0) FROM Feedback f WHERE f.feedbackCreationTime >= :since "
+         + "GROUP BY f.feedbackMerchant.merchantId, CAST(f.feedbackCreationTime AS LocalDate)")
+    List<Object[]> dailyRollupByMerchant(@Param("since") LocalDateTime since);
+
+    /**
+     * Counts the feedbacks of every employee created in a time window, with the employee's
+     * email, in one statement. Most feedbacks first.
      *
-     * @return A list of Object arrays, where each array contains an employee ID and the corresponding feedback count.
+     * @param from     Inclusive start of the window, or null for no lower bound.
+     * @param to       Exclusive end of the window, or null for no upper bound.
+     * @param pageable Limits the report to the top N employees, or unpaged for all.
+     * @return Rows of employee ID, email and feedback count.
      */
-    @Query("SELECT f.feedbackEmployee.employeeId AS employeeId, COUNT(f) AS feedbackCount "
-         + "FROM Feedback f GROUP BY f.feedbackEmployee.employeeId")
-    List<Object[]> countFeedbacksByEmployee();
+    @Query("SELECT e.employeeId, e.employeeEmail, COUNT(f) FROM Feedback f JOIN f.feedbackEmployee e "
+         + "WHERE (:from IS NULL OR f.feedbackCreationTime >= :from) AND (:to IS NULL OR f.feedbackCreationTime < :to) "
+         + "GROUP BY e.employeeId, e.employeeEmail ORDER BY COUNT(f) DESC, e.employeeId")
+    List<Object[]> countFeedbacksByEmployeeBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            Pageable pageable);
 
     /**
-     * Calculates the average rating for feedback grouped by each Device's ID.
+     * Finds the ID of the feedback with the given UUID.
      *
-     * @return A list of Object arrays, where each array contains a device ID and the corresponding average rating.
+     * @param feedbackUuid The UUID of the feedback.
+     * @return The feedback ID, or empty if no feedback has that UUID.
      */
-    @Query("SELECT f.feedbackDevice.deviceId AS deviceId, AVG(f.feedbackRating) AS averageRating "
-         + "FROM Feedback f GROUP BY f.feedbackDevice.deviceId")
-    List<Object[]> avgRatingByDevice();
+    @Query("SELECT f.feedbackId FROM Feedback f WHERE f.feedbackUuid = :uuid")
+    Optional<Integer> findFeedbackIdByFeedbackUuid(@Param("uuid") String feedbackUuid);
 
     /**
-     * Counts the number of feedbacks grouped by each Device's ID.
+     * Returns which of the given UUIDs already belong to a feedback.
      *
-     * @return A list of Object arrays, where each array contains a device ID and the corresponding feedback count.
+     * @param feedbackUuids The UUIDs to look up.
+     * @return The UUIDs that exist.
      */
-    @Query("SELECT f.feedbackDevice.deviceId, COUNT(f) " +
-           "FROM Feedback f " +
-           "GROUP BY f.feedbackDevice.deviceId")
-    List<Object[]> countFeedbacksByDevice();
+    @Query("SELECT f.feedbackUuid FROM Feedback f WHERE f.feedbackUuid IN :uuids")
+    List<String> findExistingFeedbackUuids(@Param("uuids") Collection<String> feedbackUuids);
 }
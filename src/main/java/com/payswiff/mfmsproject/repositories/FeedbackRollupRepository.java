@@ -0,0 +1,64 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.FeedbackRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+
+/**
+ * Repository interface for managing {@link FeedbackRollup} entities.
+ * <p>Rows are only ever written by {@code FeedbackRollupService}, with relative UPDATEs, so
+ * concurrent feedbacks for the same employee, device or merchant never overwrite each other.</p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface FeedbackRollupRepository extends JpaRepository<FeedbackRollup, Long> {
+
+    /**
+     * Finds the row of one employee, device or merchant.
+     *
+     * @param rollupScope What the key refers to.
+     * @param rollupKey   The employee, device or merchant ID.
+     * @return The row, if one was created.
+     */
+    Optional<FeedbackRollup> findByRollupScopeAndRollupKey(FeedbackRollupScope rollupScope, Long rollupKey);
+
+    /**
+     * Finds the rows of a scope that have at least one feedback, ordered by key.
+     *
+     * @param rollupScope What the keys refer to.
+     * @param feedbackCount The exclusive lower bound, 0 to skip empty rows.
+     * @return The rows.
+     */
+    List<FeedbackRollup> findByRollupScopeAndFeedbackCountGreaterThanOrderByRollupKey(FeedbackRollupScope rollupScope,
+            long feedbackCount);
+
+    /**
+     * Finds every row of a scope.
+     *
+     * @param rollupScope What the keys refer to.
+     * @return The rows.
+     */
+    List<FeedbackRollup> findByRollupScope(FeedbackRollupScope rollupScope);
+
+    /**
+     * Reports the feedback count of every employee with feedbacks, with the employee's email,
+     * in one statement. Most feedbacks first.
+     *
+     * @param pageable Limits the report to the top N employees, or unpaged for all.
+     * @return Rows of employee ID, email ("Unknown" if the employee is gone) and feedback count.
+     */
+    @Query("SELECT r.rollupKey, COALESCE(e.employeeEmail, 'Unknown'), r.feedbackCount FROM FeedbackRollup r "
+            + "LEFT JOIN Employee e ON e.employeeId = r.rollupKey "
+            + "WHERE r.rollupScope = com.payswiff.mfmsproject.models.FeedbackRollupScope.EMPLOYEE "
+            + "AND r.feedbackCount > 0 ORDER BY r.feedbackCount DESC, r.rollupKey")
+    List<Object[]> countFeedbacksByEmployee(Pageable pageable);
+}
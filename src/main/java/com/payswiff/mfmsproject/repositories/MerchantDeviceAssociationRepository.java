@@ -1,6 +1,7 @@
 package com.payswiff.mfmsproject.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -30,8 +31,10 @@ public interface MerchantDeviceAssociationRepository extends JpaRepository<Merch
      */
     List<MerchantDeviceAssociation> findAllByMerchant(Merchant merchant);
     boolean existsByMerchantAndDevice(Merchant merchant, Device device);
+    // first, not single: a table that predates the unique key may still hold a pair twice
+    Optional<MerchantDeviceAssociation> findFirstByMerchantAndDeviceOrderByIdAsc(Merchant merchant, Device device);
     
-    @Query("SELECT m.id AS merchantId, COUNT(md.device.id) AS deviceCount " +
+    @Query("SELECT m.id AS merchantId, COUNT(DISTINCT md.device.id) AS deviceCount " +
             "FROM MerchantDeviceAssociation md " +
             "JOIN md.merchant m " +
             "GROUP BY m.id")
@@ -1,10 +1,15 @@
 package com.payswiff.mfmsproject.repositories;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing {@link Merchant} entities.
@@ -26,6 +31,8 @@ public interface MerchantRepository extends JpaRepository<Merchant, Long> {
      * @param phone The phone number of the merchant to search for.
      * @return The Merchant object if found, or null if no merchant exists with the provided email or phone.
      */
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.MERCHANT_QUERIES) })
     @Query("SELECT m FROM Merchant m WHERE m.merchantEmail = :email OR m.merchantPhone = :phone")
     Merchant findByMerchantEmailOrMerchantPhone(@Param("email") String email, @Param("phone") String phone);
 }
@@ -0,0 +1,44 @@
+package com.payswiff.mfmsproject.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.payswiff.mfmsproject.models.PasswordSetupToken;
+
+/**
+ * Repository interface for managing {@link PasswordSetupToken} entities.
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Repository
+public interface PasswordSetupTokenRepository extends JpaRepository<PasswordSetupToken, Long> {
+
+    /**
+     * @param email The email of an employee.
+     * @return The current token of that employee, if any.
+     */
+    Optional<PasswordSetupToken> findByPasswordSetupEmail(String email);
+
+    /**
+     * @param tokenHash The hex SHA-256 hash of a token.
+     * @return The token with that hash, if any.
+     */
+    Optional<PasswordSetupToken> findByPasswordSetupTokenHash(String tokenHash);
+
+    /**
+     * Uses up a token. Only the caller that deletes the row may set the password, so a link
+     * opened twice at the same time still works once.
+     *
+     * @param id The ID of the token.
+     * @return 1 if this call deleted the token, 0 if it was already used or replaced.
+     */
+    @Modifying
+    @Query("DELETE FROM PasswordSetupToken t WHERE t.passwordSetupTokenId = :id")
+    int consume(@Param("id") Long id);
+}
@@ -1,11 +1,16 @@
 package com.payswiff.mfmsproject.repositories;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.QueryHint;
 
 import java.util.Optional;
 /**
@@ -27,6 +32,8 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
      * @param description The description of the question to search for.
      * @return An Optional containing the found Question, or an empty Optional if no question exists with the provided description.
      */
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.QUESTION_QUERIES) })
     @Query("SELECT q FROM Question q WHERE q.questionDescription = :description")
     Optional<Question> findByDescription(@Param("description") String description);
     
@@ -2,9 +2,14 @@ package com.payswiff.mfmsproject.repositories;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.payswiff.mfmsproject.models.Role;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.QueryHint;
 /**
  * Repository interface for managing {@link Role} entities.
  * This interface extends JpaRepository to provide basic CRUD operations
@@ -23,5 +28,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param name The name of the role to search for.
      * @return An Optional containing the Role if found, otherwise an empty Optional.
      */
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.ROLE_QUERIES) })
     Optional<Role> findByName(String name);
 }
@@ -1,16 +1,23 @@
 package com.payswiff.mfmsproject.security;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,7 +26,9 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * A filter that processes JWT authentication for incoming requests.
  * This class extends OncePerRequestFilter to ensure that the filter is
- * invoked once per request. 
+ * invoked once per request. The token is verified once and the
+ * authentication is built from its claims, so an authenticated request
+ * costs no database query.
  *  @authorGopi Bapanapalli
  * @version MFMS_0.0.1
  */
@@ -30,7 +39,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider jwtTokenProvider; // Responsible for generating and validating JWT tokens
 
     @Autowired
-    private UserDetailsService userDetailsService; // Service to load user details for authentication
+    private UserDetailsService userDetailsService; // Only for tokens issued without the roles claim
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache; // In-memory revocations, no database access
 
     /**
      * Processes the incoming request to authenticate the user based on the JWT token.
@@ -50,16 +62,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Validate the token and set the authentication in the context if valid
         try {
-            if (org.springframework.util.StringUtils.hasText(token) && jwtTokenProvider.validate(token)) {
-                // Extract username from the token
-                String username = jwtTokenProvider.getUsername(token);
+            if (org.springframework.util.StringUtils.hasText(token)) {
+                // Verify the signature and expiry once
+                Claims claims = jwtTokenProvider.parseClaims(token);
+                String username = claims.getSubject();
 
-                // Load user details from the database using the username
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Tokens issued before a password change are no longer accepted
+                if (tokenRevocationCache.isRevoked(username, JwtTokenProvider.issuedAtMillis(claims))) {
+                    throw new Exception("jwt token revoked");
+                }
 
-                // Create an authentication token
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                // Create an authentication token from the claims, no user lookup needed
+                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = authenticationOf(claims);
 
                 // Set details for the authentication token
                 usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -75,6 +89,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Builds the authentication of the token's user. The authorities come from the roles claim;
+     * tokens issued before the claim existed fall back to loading the user.
+     *
+     * @param claims the verified claims of the token
+     * @return the authentication token
+     */
+    private UsernamePasswordAuthenticationToken authenticationOf(Claims claims) {
+        String username = claims.getSubject();
+        List<?> roles = claims.get(JwtTokenProvider.ROLES_CLAIM, List.class);
+        if (roles == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+        }
+        UserDetails userDetails = new User(username, "", authorities); // the password is never needed here
+        return new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+    }
+
     /**
      * Extracts the JWT token from the Authorization header of the request.
      *
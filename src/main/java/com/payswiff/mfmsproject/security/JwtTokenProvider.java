@@ -1,8 +1,8 @@
 package com.payswiff.mfmsproject.security;
 
 import java.security.Key;
-import java.sql.Date;
-import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
 
@@ -10,14 +10,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 /**
  * Represents a request to create a new Merchant.
  * <p>This class is used to encapsulate the data required for creating a new Merchant entity in the system. 
@@ -33,53 +37,75 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtTokenProvider {
 
+	/** Claim holding the granted authorities of the user, e.g. {@code ROLE_admin}. */
+	public static final String ROLES_CLAIM = "roles";
+
+	/** Claim holding the issue time in epoch milliseconds; {@code iat} only has seconds. */
+	public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
 	@Value("${app.jwt-secret}")
 	private String jwtSecretKey;
 	@Value("${app-jwt-expiration-milliseconds}")
 	private Long jwtExpiration;
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-	// generate jwt token
+	private SecretKey key; // decoded once, the secret does not change at runtime
+	private JwtParser parser; // thread-safe and reusable
+
+	// decode the key and build the parser once
+	@PostConstruct
+	public void init() {
+		key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecretKey));
+		parser = Jwts.parser().verifyWith(key).build();
+	}
+
+	// generate jwt token carrying the user's roles, so requests need no user lookup
 	public String generateToken(Authentication authentication) {
 
 		String username = authentication.getName();
+		List<String> roles = authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList());
 		java.util.Date currentDate =  new java.util.Date();
 
 		java.util.Date expireDate = new java.util.Date(currentDate.getTime() + jwtExpiration);
 
-		String token = Jwts.builder().subject(username).issuedAt(currentDate).expiration(expireDate).signWith(key())
+		String token = Jwts.builder().subject(username).claim(ROLES_CLAIM, roles).issuedAt(currentDate)
+				.claim(ISSUED_AT_MILLIS_CLAIM, currentDate.getTime()).expiration(expireDate).signWith(key)
 				.compact();
 		return token;
 
 	}
 
+	// issue time in milliseconds; older tokens without the claim fall back to the start of their iat second
+	public static long issuedAtMillis(Claims claims) {
+		Long millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+		return millis != null ? millis : claims.getIssuedAt().getTime();
+	}
+
 	// generate key
 	public Key key() {
-		return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecretKey));
+		return key;
 	}
 
 	// get username from jwt token
-	public String getUsername(String token) {
-
-		return Jwts.parser()
-				.verifyWith((SecretKey) key())
-				.build()
-				.parseSignedClaims(token)
-				.getPayload()
-				.getSubject();
+	public String getUsername(String token) throws Exception {
+		return parseClaims(token).getSubject();
 	}
-	
+
 	//validate jwt token
 	public boolean validate(String token) throws Exception
+	{
+		parseClaims(token);
+		return true;
+	}
+
+	// verify the signature and expiry once and return the claims
+	public Claims parseClaims(String token) throws Exception
 	{
 		
 		try {
-			Jwts.parser()
-			.verifyWith((SecretKey) key())
-			.build()
-			.parse(token);
-			
-			
+			return parser.parseSignedClaims(token).getPayload();
 			
 		} catch (MalformedJwtException e) {
 			// TODO: handle exception
@@ -103,6 +129,5 @@ public class JwtTokenProvider {
 			// TODO: handle exception
 			throw new Exception("String is empty");
 		}
-		return true;
 	}
 }
@@ -0,0 +1,76 @@
+package com.payswiff.mfmsproject.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory record of revoked JWTs, checked on every authenticated request.
+ * <p>
+ * Instead of a list of token IDs it keeps, per user, the time before which every token of
+ * that user is revoked. A password change revokes all the user's earlier tokens in one
+ * entry, and the check is a single map lookup with no database access. An entry can be
+ * dropped once every token it covers has expired on its own.
+ * </p>
+ * <p>
+ * Times are compared in milliseconds, using the {@link JwtTokenProvider#ISSUED_AT_MILLIS_CLAIM}
+ * of the token, so a token issued in the same second as a password change is still told
+ * apart: earlier ones are revoked, the login that follows the change is not.
+ * </p>
+ * <p>
+ * The record lives in the memory of this instance only and starts empty after a restart.
+ * With several instances behind a load balancer, a password change revokes the old tokens
+ * only on the instance that handled it; the other instances, and this one after a restart,
+ * accept them until they expire, at most {@code app-jwt-expiration-milliseconds} later.
+ * Deployments that need revocation everywhere must run a single instance or keep the
+ * expiration short.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Component
+public class TokenRevocationCache {
+
+    private static final Logger logger = LogManager.getLogger(TokenRevocationCache.class); // Logger initialization
+
+    @Value("${app-jwt-expiration-milliseconds}")
+    private long jwtExpiration; // Tokens older than this are expired anyway
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>(); // username -> epoch millisecond
+
+    /**
+     * Revokes every token of the user issued before now.
+     *
+     * @param username the subject of the tokens (the employee email)
+     */
+    public void revokeTokensIssuedBefore(String username) {
+        long now = System.currentTimeMillis();
+        revokedBefore.merge(username, now, Math::max);
+        logger.info("Revoked tokens of {} issued before epoch millisecond {}", username, now);
+    }
+
+    /**
+     * @param username       the subject of the token
+     * @param issuedAtMillis the issue time of the token, see {@link JwtTokenProvider#issuedAtMillis}
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(String username, long issuedAtMillis) {
+        Long before = revokedBefore.get(username);
+        return before != null && issuedAtMillis < before;
+    }
+
+    /**
+     * Drops entries that only cover tokens which have expired by now.
+     */
+    @Scheduled(fixedDelay = 3600000)
+    public void evictExpired() {
+        long oldestLiveIssue = System.currentTimeMillis() - jwtExpiration;
+        revokedBefore.values().removeIf(before -> before <= oldestLiveIssue);
+    }
+}
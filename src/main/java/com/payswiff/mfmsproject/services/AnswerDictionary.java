@@ -0,0 +1,185 @@
+package com.payswiff.mfmsproject.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.payswiff.mfmsproject.models.AnswerText;
+import com.payswiff.mfmsproject.repositories.AnswerTextRepository;
+
+/**
+ * Maps answer texts to the small integer IDs stored in the answer vectors, and back.
+ * <p>
+ * Both directions are cached in memory up to {@code mfms.feedback.answers.dictionary-cache-size}
+ * entries, so once the common answers are known a feedback is encoded and decoded without
+ * reading the dictionary table. A new text is inserted on the caller's connection, in the
+ * transaction of the feedback that uses it, so a feedback never needs a second connection.
+ * Two writers adding the same text meet on the unique hash: the second one waits for the
+ * first, then reads its row instead of failing the feedback. IDs are cached only once the
+ * transaction that read or inserted them has committed.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class AnswerDictionary {
+
+	private static final Logger logger = LogManager.getLogger(AnswerDictionary.class); // Logger initialization
+
+	/** Text stored for a question the feedback did not answer. */
+	public static final String NO_ANSWER = "No answer provided";
+
+	/** Dictionary ID of {@link #NO_ANSWER}; it has no row. */
+	public static final int NO_ANSWER_ID = 0;
+
+	private static final String SELECT_ID = "SELECT answer_id FROM answer_text WHERE answer_hash = ?";
+
+	private static final String SELECT_ID_LOCKING = SELECT_ID + " FOR UPDATE";
+
+	private static final String INSERT_TEXT = "INSERT INTO answer_text (answer_hash, answer_text) VALUES (?, ?)";
+
+	@Autowired
+	private AnswerTextRepository answerTextRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${mfms.feedback.answers.dictionary-cache-size:10000}")
+	private int cacheSize; // texts beyond this are looked up in the table
+
+	private final Map<String, Integer> idsByText = new ConcurrentHashMap<>();
+	private final Map<Integer, String> textsById = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the ID of an answer text, adding the text to the dictionary if needed. An added
+	 * text commits or rolls back with the caller's transaction.
+	 *
+	 * @param text The answer text.
+	 * @return Its dictionary ID; {@link #NO_ANSWER_ID} for a missing answer.
+	 */
+	public int idOf(String text) {
+		if (text == null || NO_ANSWER.equals(text)) {
+			return NO_ANSWER_ID;
+		}
+		Integer id = idsByText.get(text);
+		if (id != null) {
+			return id;
+		}
+		String hash = hash(text);
+		id = find(SELECT_ID, hash);
+		if (id == null) {
+			try {
+				jdbcTemplate.update(INSERT_TEXT, hash, text);
+			} catch (DuplicateKeyException e) {
+				// added by another writer meanwhile; only this statement is rolled back
+			}
+			// a locking read sees the row even if it committed after this transaction's snapshot
+			id = find(SELECT_ID_LOCKING, hash);
+			if (id == null) {
+				throw new IllegalStateException("Answer text " + hash + " was neither inserted nor found");
+			}
+		}
+		rememberAfterCommit(id, text);
+		return id;
+	}
+
+	/**
+	 * Returns the text of a dictionary ID.
+	 *
+	 * @param id The dictionary ID.
+	 * @return The answer text, {@link #NO_ANSWER} for {@link #NO_ANSWER_ID}.
+	 * @throws IllegalStateException if the ID is not in the dictionary.
+	 */
+	public String textOf(int id) {
+		return textsOf(List.of(id)).get(id);
+	}
+
+	/**
+	 * Returns the texts of several dictionary IDs, reading the uncached ones in one query.
+	 *
+	 * @param ids The dictionary IDs.
+	 * @return The texts by ID.
+	 * @throws IllegalStateException if an ID is not in the dictionary.
+	 */
+	public Map<Integer, String> textsOf(Collection<Integer> ids) {
+		Map<Integer, String> texts = new HashMap<>();
+		List<Integer> missing = new ArrayList<>();
+		for (Integer id : ids) {
+			String text = id == NO_ANSWER_ID ? NO_ANSWER : textsById.get(id);
+			if (text != null) {
+				texts.put(id, text);
+			} else {
+				missing.add(id);
+			}
+		}
+		if (!missing.isEmpty()) {
+			for (AnswerText answerText : answerTextRepository.findAllById(missing)) {
+				texts.put(answerText.getAnswerId(), answerText.getAnswerText());
+				remember(answerText.getAnswerId(), answerText.getAnswerText());
+			}
+			Optional<Integer> unknown = missing.stream().filter(id -> !texts.containsKey(id)).findFirst();
+			if (unknown.isPresent()) {
+				logger.error("Answer dictionary has no entry " + unknown.get());
+				throw new IllegalStateException("Unknown answer ID " + unknown.get());
+			}
+		}
+		return texts;
+	}
+
+	private Integer find(String sql, String hash) {
+		List<Integer> ids = jdbcTemplate.queryForList(sql, Integer.class, hash);
+		return ids.isEmpty() ? null : ids.get(0);
+	}
+
+	/**
+	 * Caches an ID once the caller's transaction has committed, so a rolled back insert never
+	 * leaves an ID in the cache that has no row.
+	 */
+	private void rememberAfterCommit(int id, String text) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remember(id, text);
+				}
+			});
+		} else {
+			remember(id, text);
+		}
+	}
+
+	private void remember(int id, String text) {
+		if (textsById.size() < cacheSize) {
+			idsByText.put(text, id);
+			textsById.put(id, text);
+		}
+	}
+
+	static String hash(String text) {
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e); // required of every JVM
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.dtos.AnswerDistributionDto;
+import com.payswiff.mfmsproject.dtos.AnswerFrequencyDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.AnswerCountRepository;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+import com.payswiff.mfmsproject.utils.CounterTable;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Maintains the answer counters behind the per-question answer distributions.
+ * <p>
+ * {@link #record(Feedback, AnswerVector)} adds the answers of a new feedback to their
+ * counter rows inside the transaction that inserts it, with one batched relative UPDATE, so
+ * the counters commit or roll back with the feedback. A missing row is inserted in the same
+ * transaction; see {@link CounterTable}.
+ * </p>
+ * <p>
+ * {@link #reconcile()} corrects every row from the stored answers, compact and not yet
+ * migrated alike, without locking the counters: it adds only the drift between one snapshot
+ * of the answers and the counters. The nightly run starts on every instance, but only one
+ * at a time reconciles the table; the others skip it.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class AnswerDistributionService {
+
+	private static final Logger logger = LogManager.getLogger(AnswerDistributionService.class); // Logger initialization
+
+	private static final String COMPACT_SOURCE = "SELECT fa.answers, m.merchant_business_type, d.device_manufacturer, "
+			+ "f.feedback_creation_time FROM feedback_answers fa JOIN feedback f ON f.feedback_id = fa.feedback_id "
+			+ "JOIN merchant m ON m.merchant_id = f.feedback_merchant_id "
+			+ "JOIN device d ON d.device_id = f.feedback_device_id";
+
+	private static final String LEGACY_SOURCE = "SELECT a.question_id, a.answer, m.merchant_business_type, "
+			+ "d.device_manufacturer, f.feedback_creation_time FROM feedback_questions_association a "
+			+ "JOIN feedback f ON f.feedback_id = a.feedback_id "
+			+ "JOIN merchant m ON m.merchant_id = f.feedback_merchant_id "
+			+ "JOIN device d ON d.device_id = f.feedback_device_id";
+
+	@Autowired
+	private AnswerCountRepository answerCountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AnswerDictionary answerDictionary;
+
+	@Autowired
+	private QuestionCatalog questionCatalog;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private CounterTable<Key> counters; // the answer_count rows
+
+	/**
+	 * The identity of one counter row.
+	 */
+	record Key(long questionId, int answerId, String merchantBusinessType, String deviceManufacturer,
+			LocalDate countDay) implements Comparable<Key> {
+
+		private static final Comparator<Key> ORDER = Comparator.comparingLong(Key::questionId)
+				.thenComparingInt(Key::answerId).thenComparing(Key::merchantBusinessType)
+				.thenComparing(Key::deviceManufacturer).thenComparing(Key::countDay);
+
+		@Override
+		public int compareTo(Key other) {
+			return ORDER.compare(this, other);
+		}
+	}
+
+	/**
+	 * Prepares the counter table.
+	 */
+	@PostConstruct
+	public void init() {
+		counters = new CounterTable<>(jdbcTemplate, transactionManager, "answer_count",
+				List.of("question_id", "answer_id", "merchant_business_type", "device_manufacturer", "count_day"),
+				List.of("answer_count"), List.of(), null) {
+
+			@Override
+			protected Object[] keyParams(Key key) {
+				return new Object[] { key.questionId(), key.answerId(), key.merchantBusinessType(),
+						key.deviceManufacturer(), key.countDay() };
+			}
+
+			@Override
+			protected Key readKey(ResultSet rs) throws SQLException {
+				return new Key(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getString(4),
+						rs.getObject(5, LocalDate.class));
+			}
+		};
+	}
+
+	/**
+	 * Builds the counters from source on the first start, when the table is still empty.
+	 * Instances starting together may all find it empty; the build runs under the
+	 * reconciliation lock, so the others skip it or find nothing left to correct.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void initializeIfEmpty() {
+		if (answerCountRepository.count() == 0) {
+			logger.info("Answer counters are empty, building them from source.");
+			reconcile();
+		}
+	}
+
+	/**
+	 * Adds the answers of a saved feedback to the counters. Must be called in the transaction
+	 * that inserts the feedback.
+	 *
+	 * @param feedback The saved feedback.
+	 * @param answers  Its answers, as stored.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(Feedback feedback, AnswerVector answers) {
+		record(List.of(feedback), List.of(answers));
+	}
+
+	/**
+	 * Adds the answers of a batch of saved feedbacks to the counters, summed per row, with one
+	 * batched write. Must be called in the transaction that inserts the feedbacks.
+	 *
+	 * @param feedbacks The saved feedbacks.
+	 * @param answers   Their answers, as stored, in the same order.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(List<Feedback> feedbacks, List<AnswerVector> answers) {
+		CounterTable<Key>.Deltas deltas = counters.deltas();
+		for (int f = 0; f < feedbacks.size(); f++) {
+			Feedback feedback = feedbacks.get(f);
+			AnswerVector vector = answers.get(f);
+			String businessType = feedback.getFeedbackMerchant().getMerchantBusinessType();
+			String manufacturer = feedback.getFeedbackDevice().getDeviceManufacturer();
+			LocalDateTime created = feedback.getFeedbackCreationTime();
+			LocalDate day = created == null ? LocalDate.now() : created.toLocalDate();
+			for (int i = 0; i < vector.size(); i++) {
+				deltas.add(new Key(vector.questionId(i), vector.answerId(i), businessType, manufacturer, day), 1);
+			}
+		}
+		counters.apply(deltas);
+	}
+
+	/**
+	 * Returns how the answers to each question are spread. Every filter is optional.
+	 *
+	 * @param merchantBusinessType Only feedbacks of merchants of this business type.
+	 * @param deviceManufacturer   Only feedbacks of devices of this manufacturer.
+	 * @param from                 Inclusive first creation day.
+	 * @param to                   Exclusive last creation day.
+	 * @return One distribution per answered question, ordered by question ID.
+	 * @throws InvalidRequestParameterException if the window is empty.
+	 */
+	public List<AnswerDistributionDto> getDistributions(String merchantBusinessType, String deviceManufacturer,
+			LocalDate from, LocalDate to) throws InvalidRequestParameterException {
+		logger.info("Fetching answer distributions, business type: " + merchantBusinessType + ", manufacturer: "
+				+ deviceManufacturer + ", from: " + from + ", to: " + to);
+		if (from != null && to != null && !from.isBefore(to)) {
+			throw new InvalidRequestParameterException("from", String.valueOf(from), "must be before to");
+		}
+
+		// (question ID, answer ID, count) rows, by question and most given answer first
+		List<Object[]> rows = answerCountRepository.sumByQuestionAndAnswer(blankToNull(merchantBusinessType),
+				blankToNull(deviceManufacturer), from, to);
+		List<Integer> answerIds = new ArrayList<>();
+		for (Object[] row : rows) {
+			answerIds.add(((Number) row[1]).intValue());
+		}
+		Map<Integer, String> texts = answerDictionary.textsOf(answerIds);
+		QuestionCatalog.Snapshot questions = questionCatalog.current();
+
+		Map<Long, AnswerDistributionDto> distributions = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			Long questionId = ((Number) row[0]).longValue();
+			int answerId = ((Number) row[1]).intValue();
+			long count = ((Number) row[2]).longValue();
+			AnswerDistributionDto distribution = distributions.computeIfAbsent(questionId,
+					id -> new AnswerDistributionDto(id,
+							questions.findById(id).map(Question::getQuestionDescription).orElse(null), 0,
+							new ArrayList<>()));
+			distribution.getAnswers().add(new AnswerFrequencyDto(answerId, texts.get(answerId), count));
+			distribution.setTotalCount(distribution.getTotalCount() + count);
+		}
+
+		logger.info("Returning answer distributions of " + distributions.size() + " questions.");
+		return new ArrayList<>(distributions.values());
+	}
+
+	/**
+	 * Corrects every counter row from the stored answers, in one snapshot, unless another
+	 * instance is reconciling them.
+	 */
+	@Scheduled(cron = "${mfms.feedback.answers.reconcile-cron:0 45 3 * * *}")
+	public void reconcile() {
+		int corrected = counters.reconcile(this::countSource, null);
+		if (corrected != CounterTable.SKIPPED) {
+			logger.info("Reconciled answer counters, " + corrected + " row(s) corrected.");
+		}
+	}
+
+	private Map<Key, double[]> countSource() {
+		Map<Key, double[]> source = new HashMap<>();
+		jdbcTemplate.query(COMPACT_SOURCE, (RowCallbackHandler) rs -> {
+			AnswerVector answers = AnswerVector.decode(rs.getBytes(1));
+			LocalDate day = dayOf(rs.getTimestamp(4));
+			for (int i = 0; i < answers.size(); i++) {
+				source.computeIfAbsent(new Key(answers.questionId(i), answers.answerId(i), rs.getString(2),
+						rs.getString(3), day), key -> new double[1])[0]++;
+			}
+		});
+		// feedbacks whose answers are not migrated to the compact form yet
+		jdbcTemplate.query(LEGACY_SOURCE, (RowCallbackHandler) rs -> source.computeIfAbsent(
+				new Key(rs.getLong(1), answerDictionary.idOf(rs.getString(2)), rs.getString(3), rs.getString(4),
+						dayOf(rs.getTimestamp(5))),
+				key -> new double[1])[0]++);
+		return source;
+	}
+
+	private static LocalDate dayOf(Timestamp created) {
+		return created == null ? LocalDate.now() : created.toLocalDateTime().toLocalDate();
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value.trim();
+	}
+}
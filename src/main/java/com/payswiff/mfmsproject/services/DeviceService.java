@@ -15,6 +15,7 @@ import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Device;
 import com.payswiff.mfmsproject.repositories.DeviceRepository;
+import com.payswiff.mfmsproject.utils.CacheRegions;
 /**
  * Service class responsible for handling the business logic related to Device entities.
  * Provides methods to save, retrieve, and check the existence of devices in the system.
@@ -34,6 +35,9 @@ public class DeviceService {
     @Autowired
     private DeviceRepository deviceRepository;
 
+    @Autowired
+    private ReferenceCacheService referenceCacheService; // Second-level cache of reference data
+
     /**
      * Saves a new device if no existing device with the same model already exists.
      *
@@ -62,7 +66,9 @@ public class DeviceService {
                 "Device cannot be null and the device model cannot be empty.");
         }
 
-        // Check if a device with the same model already exists
+        // Check if a device with the same model already exists; the lookup must not be
+        // answered from a cache that another instance's insert did not reach
+        referenceCacheService.evictLookups(CacheRegions.DEVICE_QUERIES);
         Optional<Device> existingDevice = Optional.ofNullable(deviceRepository.findByModel(device.getDeviceModel()));
 
         // If a device with the same model is found, throw a ResourceAlreadyExists exception
@@ -0,0 +1,212 @@
+package com.payswiff.mfmsproject.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.models.EmailOutbox;
+import com.payswiff.mfmsproject.models.EmailOutboxStatus;
+import com.payswiff.mfmsproject.repositories.EmailOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background dispatcher that drains the email outbox.
+ * <p>
+ * On every poll it reads a page of due rows, claims each one with a conditional
+ * update (so a row is only ever sent by one instance) and hands the claimed rows
+ * to a fixed-size worker pool that calls {@link EmailService#sendEmail}. A row
+ * that fails is put back as PENDING with an exponential backoff, and marked
+ * FAILED once it has used up its attempts; a FAILED row loses its body, as a
+ * sent one does. A row queued with a set-password link gets a fresh link from
+ * {@link PasswordSetupService} on every attempt, so the link is only ever in the
+ * mail and never in the table. A claim is a lease: if the
+ * instance dies mid-send the row becomes due again when the lease expires.
+ * SENT and FAILED rows are deleted once they are older than
+ * {@code mfms.mail.outbox.retention-ms}.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+	private static final Logger logger = LogManager.getLogger(EmailOutboxDispatcher.class); // Logger initialization
+
+	private static final EnumSet<EmailOutboxStatus> DUE_STATUSES = EnumSet.of(EmailOutboxStatus.PENDING,
+			EmailOutboxStatus.SENDING);
+
+	@Autowired
+	private EmailOutboxRepository emailOutboxRepository;
+
+	@Autowired
+	private EmailService emailService;
+
+	@Autowired
+	private PasswordSetupService passwordSetupService;
+
+	@Value("${mfms.mail.outbox.batch-size:50}")
+	private int batchSize; // rows fetched per poll
+
+	@Value("${mfms.mail.outbox.workers:4}")
+	private int workers; // concurrent SMTP sends
+
+	@Value("${mfms.mail.outbox.max-attempts:6}")
+	private int maxAttempts; // attempts before a row is marked FAILED
+
+	@Value("${mfms.mail.outbox.backoff-initial-ms:30000}")
+	private long backoffInitialMs; // delay after the first failure
+
+	@Value("${mfms.mail.outbox.backoff-max-ms:3600000}")
+	private long backoffMaxMs; // upper bound for the delay
+
+	@Value("${mfms.mail.outbox.lease-ms:300000}")
+	private long leaseMs; // how long a claim is held before another instance may retry
+
+	@Value("${mfms.mail.outbox.retention-ms:604800000}")
+	private long retentionMs; // how long SENT and FAILED rows are kept
+
+	private ExecutorService workerPool;
+
+	/**
+	 * Starts the bounded worker pool.
+	 */
+	@PostConstruct
+	public void init() {
+		workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				new CustomizableThreadFactory("email-outbox-"));
+		logger.info("Email outbox dispatcher started with " + workers + " workers.");
+	}
+
+	/**
+	 * Stops the worker pool; unfinished rows stay claimed and are retried after their lease.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (workerPool != null) {
+			workerPool.shutdown();
+		}
+	}
+
+	/**
+	 * Sends every due row once. Runs on a fixed delay, so polls never overlap.
+	 *
+	 * @return the number of rows that were delivered in this poll
+	 */
+	@Scheduled(fixedDelayString = "${mfms.mail.outbox.poll-interval-ms:2000}")
+	public int dispatchDue() {
+		LocalDateTime now = LocalDateTime.now();
+		List<EmailOutbox> due = emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(
+				DUE_STATUSES, now, PageRequest.of(0, batchSize, Sort.by("emailOutboxId")));
+		if (due.isEmpty()) {
+			return 0;
+		}
+		logger.debug("Found " + due.size() + " due outbox rows.");
+
+		// Claim first; anything another instance grabbed in the meantime is skipped
+		LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000L);
+		List<Callable<Boolean>> sends = new ArrayList<>(due.size());
+		for (EmailOutbox row : due) {
+			if (emailOutboxRepository.claim(row.getEmailOutboxId(), row.getEmailClaimVersion(), leaseUntil) == 1) {
+				int claimVersion = row.getEmailClaimVersion() + 1;
+				int attempt = row.getEmailAttempts() + 1;
+				sends.add(() -> deliver(row, claimVersion, attempt));
+			}
+		}
+
+		int delivered = 0;
+		try {
+			for (Future<Boolean> result : workerPool.invokeAll(sends)) {
+				if (Boolean.TRUE.equals(result.get())) {
+					delivered++;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt(); // claimed rows are retried after their lease
+		} catch (Exception e) {
+			logger.error("Unexpected error while dispatching outbox rows.", e);
+		}
+		logger.info("Email outbox poll: " + delivered + " of " + sends.size() + " claimed rows delivered.");
+		return delivered;
+	}
+
+	private boolean deliver(EmailOutbox row, int claimVersion, int attempt) {
+		boolean sent;
+		try {
+			sent = emailService.sendEmail(row.getEmailRecipient(), row.getEmailSubject(), render(row));
+		} catch (RuntimeException e) {
+			logger.error("Unable to prepare outbox row " + row.getEmailOutboxId() + ".", e);
+			sent = false;
+		}
+		if (sent) {
+			emailOutboxRepository.markSent(row.getEmailOutboxId(), claimVersion, LocalDateTime.now());
+			return true;
+		}
+
+		if (attempt >= maxAttempts) {
+			logger.error("Giving up on outbox row " + row.getEmailOutboxId() + " to " + row.getEmailRecipient()
+					+ " after " + attempt + " attempts.");
+			emailOutboxRepository.markFailed(row.getEmailOutboxId(), claimVersion, LocalDateTime.now(),
+					"Unable to send after " + attempt + " attempts");
+		} else {
+			long delayMs = backoffDelayMs(attempt);
+			logger.warn("Outbox row " + row.getEmailOutboxId() + " failed (attempt " + attempt + "), retrying in "
+					+ delayMs + " ms.");
+			emailOutboxRepository.markFailedAttempt(row.getEmailOutboxId(), claimVersion,
+					LocalDateTime.now().plusNanos(delayMs * 1_000_000L), "Send attempt " + attempt + " failed");
+		}
+		return false;
+	}
+
+	private String render(EmailOutbox row) {
+		if (!row.isEmailPasswordLink()) {
+			return row.getEmailBody();
+		}
+		return row.getEmailBody().replace(PasswordSetupService.LINK_PLACEHOLDER,
+				passwordSetupService.issueLink(row.getEmailRecipient()));
+	}
+
+	/**
+	 * Deletes SENT and FAILED rows older than the retention period.
+	 *
+	 * @return the number of rows deleted
+	 */
+	@Scheduled(fixedDelayString = "${mfms.mail.outbox.purge-interval-ms:3600000}")
+	public int purgeFinished() {
+		int deleted = emailOutboxRepository.deleteFinishedBefore(LocalDateTime.now().minusNanos(retentionMs * 1_000_000L));
+		if (deleted > 0) {
+			logger.info("Email outbox purge: " + deleted + " finished rows deleted.");
+		}
+		return deleted;
+	}
+
+	/**
+	 * Exponential backoff: initial, 2x, 4x, ... capped at the configured maximum.
+	 *
+	 * @param attempt the attempt that just failed (1-based)
+	 * @return the delay before the next attempt in milliseconds
+	 */
+	long backoffDelayMs(int attempt) {
+		int shift = Math.min(attempt - 1, 30);
+		return Math.min(backoffMaxMs, backoffInitialMs << shift);
+	}
+}
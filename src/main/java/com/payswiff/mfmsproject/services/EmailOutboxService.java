@@ -0,0 +1,83 @@
+package com.payswiff.mfmsproject.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.models.EmailOutbox;
+import com.payswiff.mfmsproject.repositories.EmailOutboxRepository;
+
+/**
+ * Service for queueing outgoing emails in the transactional outbox.
+ * <p>
+ * Callers never talk to the SMTP server directly: the mail is written as an
+ * {@link EmailOutbox} row and {@link EmailOutboxDispatcher} delivers it in the
+ * background. {@link #enqueue(String, String, String)} joins the caller's
+ * transaction, so the mail exists if and only if the business write commits.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger emailOutboxLogger = LogManager.getLogger(EmailOutboxService.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    /**
+     * Queues an email as part of the current transaction.
+     *
+     * @param to      the recipient's email address
+     * @param subject the subject of the email
+     * @param text    the body of the email
+     * @return the saved outbox row
+     */
+    @Transactional
+    public EmailOutbox enqueue(String to, String subject, String text) {
+        EmailOutbox saved = emailOutboxRepository.save(new EmailOutbox(to, subject, text));
+        emailOutboxLogger.info("Queued email {} to: {}", saved.getEmailOutboxId(), to);
+        return saved;
+    }
+
+    /**
+     * Queues a welcome email as part of the current transaction. The body holds
+     * {@link PasswordSetupService#LINK_PLACEHOLDER} where the set-password link goes; the
+     * link is issued and filled in by the dispatcher when it sends the mail, so it is never
+     * stored in the outbox.
+     *
+     * @param to      the recipient's email address, whose password the link sets
+     * @param subject the subject of the email
+     * @param text    the body of the email, with the link placeholder
+     * @return the saved outbox row
+     */
+    @Transactional
+    public EmailOutbox enqueueWithPasswordLink(String to, String subject, String text) {
+        EmailOutbox row = new EmailOutbox(to, subject, text);
+        row.setEmailPasswordLink(true);
+        EmailOutbox saved = emailOutboxRepository.save(row);
+        emailOutboxLogger.info("Queued email {} with a set-password link to: {}", saved.getEmailOutboxId(), to);
+        return saved;
+    }
+
+    /**
+     * Queues an email in its own transaction. Used for failure notifications,
+     * which must survive the rollback of the business transaction that failed.
+     *
+     * @param to      the recipient's email address
+     * @param subject the subject of the email
+     * @param text    the body of the email
+     * @return the saved outbox row
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public EmailOutbox enqueueIndependently(String to, String subject, String text) {
+        EmailOutbox saved = emailOutboxRepository.save(new EmailOutbox(to, subject, text));
+        emailOutboxLogger.info("Queued email {} to: {} (independent transaction)", saved.getEmailOutboxId(), to);
+        return saved;
+    }
+}
@@ -0,0 +1,356 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payswiff.mfmsproject.dtos.EmployeeOnboardingResultDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeOnboardingStatus;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Role;
+import com.payswiff.mfmsproject.repositories.EmployeeRepository;
+import com.payswiff.mfmsproject.repositories.RoleRepository;
+import com.payswiff.mfmsproject.reuquests.CreateEmployeeRequest;
+import com.payswiff.mfmsproject.utils.BatchRetry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulk onboarding of employees, for the quarterly intake of field agents.
+ * <p>
+ * {@link EmployeeService#saveEmployee} costs three lookups that each load a whole employee with
+ * its roles, a role lookup, a BCrypt hash and an outbox insert per employee, one after the other.
+ * Here employees are handled in batches of {@code mfms.employee.onboarding.batch-size}: the
+ * Payswiff IDs, emails and phone numbers of a batch are checked with one query each that returns
+ * only the values already taken, the passwords are hashed in parallel on a pool of
+ * {@code mfms.employee.onboarding.hash-parallelism} threads, and the employees and their roles
+ * are inserted with JDBC batches in one transaction per batch, together with their welcome
+ * emails in the outbox.
+ * </p>
+ * <p>
+ * Employees are validated by the rules of {@link EmployeeService#saveEmployee}. A value that
+ * repeats within the request is a duplicate from its second occurrence on. If the database
+ * rejects a batch, for instance because an employee with the same email was created meanwhile,
+ * its employees are written one by one so one conflict does not reject the others.
+ * </p>
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+@Service
+public class EmployeeOnboardingService {
+
+	private static final Logger logger = LogManager.getLogger(EmployeeOnboardingService.class); // Logger initialization
+
+	static final String WELCOME_SUBJECT = "Merchant Feedback Management System"; // same mail as a single creation
+
+	private static final String INSERT_EMPLOYEE = "INSERT INTO employee (employee_uuid, employee_payswiff_id, "
+			+ "employee_name, employee_email, employee_password, employee_phone_number, employee_designation, "
+			+ "employee_type, employee_creation_time, employee_updation_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERT_ROLE = "INSERT INTO employee_roles (employee_id, role_id) VALUES (?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private EmailOutboxService emailOutboxService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${mfms.employee.onboarding.batch-size:500}")
+	private int batchSize; // employees per uniqueness check and per transaction
+
+	@Value("${mfms.employee.onboarding.max-employees:10000}")
+	private int maxEmployees; // largest accepted request
+
+	@Value("${mfms.employee.onboarding.hash-parallelism:0}")
+	private int hashParallelism; // BCrypt threads, 0 for one per core
+
+	private ForkJoinPool hashPool;
+	private TransactionTemplate transaction;
+
+	/**
+	 * A valid employee waiting for its batch, with the password to hash.
+	 */
+	private record Candidate(int index, Employee employee, String password) {
+	}
+
+	/**
+	 * Starts the bounded hashing pool.
+	 */
+	@PostConstruct
+	public void init() {
+		int parallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+		hashPool = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("employee-onboarding-" + thread.getPoolIndex());
+			return thread;
+		}, null, false);
+		transaction = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Stops the hashing pool.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (hashPool != null) {
+			hashPool.shutdown();
+		}
+	}
+
+	/**
+	 * Creates the valid employees of a request.
+	 *
+	 * @param requests The employees to create.
+	 * @return One result per employee, in request order.
+	 * @throws InvalidRequestParameterException If the request is empty or holds more than
+	 *                                          {@code mfms.employee.onboarding.max-employees}.
+	 * @throws ResourceNotFoundException        If the admin or employee role does not exist.
+	 */
+	public List<EmployeeOnboardingResultDto> onboard(List<CreateEmployeeRequest> requests)
+			throws InvalidRequestParameterException, ResourceNotFoundException {
+		if (requests == null || requests.isEmpty() || requests.size() > maxEmployees) {
+			throw new InvalidRequestParameterException("employees",
+					requests == null ? null : String.valueOf(requests.size()),
+					"must hold between 1 and " + maxEmployees + " employees");
+		}
+		Role adminRole = roleRepository.findByName("ROLE_admin")
+				.orElseThrow(() -> new ResourceNotFoundException("Role", "Name", "ROLE_admin"));
+		Role employeeRole = roleRepository.findByName("ROLE_employee")
+				.orElseThrow(() -> new ResourceNotFoundException("Role", "Name", "ROLE_employee"));
+
+		EmployeeOnboardingResultDto[] results = new EmployeeOnboardingResultDto[requests.size()];
+		Set<String> payswiffIds = new HashSet<>();
+		Set<String> emails = new HashSet<>();
+		Set<String> phoneNumbers = new HashSet<>();
+		List<Candidate> batch = new ArrayList<>(Math.min(batchSize, requests.size()));
+		int created = 0;
+		for (int i = 0; i < requests.size(); i++) {
+			CreateEmployeeRequest request = requests.get(i);
+			String error = validate(request);
+			if (error != null) {
+				results[i] = new EmployeeOnboardingResultDto(i, EmployeeOnboardingStatus.REJECTED,
+						request == null ? null : String.valueOf(request.getEmployeePayswiffId()), null, error);
+				continue;
+			}
+			Employee employee = toEmployee(request);
+			String repeated = payswiffIds.contains(employee.getEmployeePayswiffId()) ? "Payswiff ID"
+					: emails.contains(employee.getEmployeeEmail()) ? "Email"
+					: phoneNumbers.contains(employee.getEmployeePhoneNumber()) ? "Phone Number" : null;
+			if (repeated != null) {
+				results[i] = new EmployeeOnboardingResultDto(i, EmployeeOnboardingStatus.DUPLICATE,
+						employee.getEmployeePayswiffId(), null, repeated + " repeated in the request");
+				continue;
+			}
+			payswiffIds.add(employee.getEmployeePayswiffId());
+			emails.add(employee.getEmployeeEmail());
+			phoneNumbers.add(employee.getEmployeePhoneNumber());
+			batch.add(new Candidate(i, employee, request.getEmployeePassword()));
+			if (batch.size() >= batchSize) {
+				created += flush(batch, adminRole, employeeRole, results);
+			}
+		}
+		created += flush(batch, adminRole, employeeRole, results);
+
+		logger.info("Employee onboarding: " + requests.size() + " employees, " + created + " created.");
+		return Arrays.asList(results);
+	}
+
+	private static String validate(CreateEmployeeRequest request) {
+		if (request == null) {
+			return "Employee cannot be null";
+		}
+		if (request.getEmployeePayswiffId() <= 0) {
+			return "Payswiff ID must be positive";
+		}
+		if (isBlank(request.getEmployeeName())) {
+			return "Name cannot be null or empty";
+		}
+		if (isBlank(request.getEmployeeEmail())) {
+			return "Email cannot be null or empty";
+		}
+		if (isBlank(request.getEmployeePassword())) {
+			return "Password cannot be null or empty";
+		}
+		if (isBlank(request.getEmployeePhoneNumber())) {
+			return "Phone number cannot be null or empty";
+		}
+		if (isBlank(request.getEmployeeDesignation())) {
+			return "Designation cannot be null or empty";
+		}
+		if (request.getEmployeeType() == null) {
+			return "Employee type cannot be null";
+		}
+		try {
+			EmployeeType.valueOf(request.getEmployeeType().toLowerCase());
+		} catch (IllegalArgumentException e) {
+			return "Invalid employee type: " + request.getEmployeeType();
+		}
+		return null;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	/**
+	 * Maps a validated request without a ModelMapper, which is costly to set up per employee.
+	 */
+	private static Employee toEmployee(CreateEmployeeRequest request) {
+		Employee employee = new Employee();
+		employee.setEmployeeUuid(UUID.randomUUID().toString());
+		employee.setEmployeePayswiffId(String.valueOf(request.getEmployeePayswiffId()));
+		employee.setEmployeeName(request.getEmployeeName());
+		employee.setEmployeeEmail(request.getEmployeeEmail());
+		employee.setEmployeePhoneNumber(request.getEmployeePhoneNumber());
+		employee.setEmployeeDesignation(request.getEmployeeDesignation());
+		employee.setEmployeeType(EmployeeType.valueOf(request.getEmployeeType().toLowerCase()));
+		return employee;
+	}
+
+	/**
+	 * Drops the employees whose values are taken, hashes the passwords of the others and writes
+	 * them.
+	 *
+	 * @return the number of employees created
+	 */
+	private int flush(List<Candidate> batch, Role adminRole, Role employeeRole, EmployeeOnboardingResultDto[] results) {
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		Set<String> takenPayswiffIds = new HashSet<>(employeeRepository.findExistingPayswiffIds(
+				batch.stream().map(c -> c.employee().getEmployeePayswiffId()).toList()));
+		Set<String> takenEmails = new HashSet<>(employeeRepository.findExistingEmails(
+				batch.stream().map(c -> c.employee().getEmployeeEmail()).toList()));
+		Set<String> takenPhoneNumbers = new HashSet<>(employeeRepository.findExistingPhoneNumbers(
+				batch.stream().map(c -> c.employee().getEmployeePhoneNumber()).toList()));
+		List<Candidate> fresh = new ArrayList<>(batch.size());
+		for (Candidate c : batch) {
+			Employee employee = c.employee();
+			String taken = takenPayswiffIds.contains(employee.getEmployeePayswiffId())
+					? "Payswiff ID " + employee.getEmployeePayswiffId()
+					: takenEmails.contains(employee.getEmployeeEmail()) ? "Email " + employee.getEmployeeEmail()
+					: takenPhoneNumbers.contains(employee.getEmployeePhoneNumber())
+							? "Phone Number " + employee.getEmployeePhoneNumber() : null;
+			if (taken != null) {
+				results[c.index()] = new EmployeeOnboardingResultDto(c.index(), EmployeeOnboardingStatus.DUPLICATE,
+						employee.getEmployeePayswiffId(), null, "Employee with " + taken + " already exists");
+			} else {
+				fresh.add(c);
+			}
+		}
+		batch.clear();
+		if (fresh.isEmpty()) {
+			return 0;
+		}
+
+		// BCrypt dominates the cost of onboarding; the pool keeps it off the common pool
+		List<String> hashes = hashPool
+				.submit(() -> fresh.parallelStream().map(c -> passwordEncoder.encode(c.password())).toList()).join();
+		for (int i = 0; i < fresh.size(); i++) {
+			fresh.get(i).employee().setEmployeePassword(hashes.get(i));
+		}
+		return write(fresh, adminRole, employeeRole, results);
+	}
+
+	/**
+	 * Writes employees in one transaction, or one by one if the batch is rejected. A database
+	 * outage ends the onboarding; the employees already written are reported as duplicates when
+	 * the request is sent again.
+	 */
+	private int write(List<Candidate> fresh, Role adminRole, Role employeeRole, EmployeeOnboardingResultDto[] results) {
+		return BatchRetry.writeAll("Employee onboarding", fresh, batch -> {
+			Map<String, Long> ids = transaction.execute(status -> insert(batch, adminRole, employeeRole));
+			for (Candidate c : batch) {
+				String payswiffId = c.employee().getEmployeePayswiffId();
+				results[c.index()] = new EmployeeOnboardingResultDto(c.index(), EmployeeOnboardingStatus.CREATED,
+						payswiffId, ids.get(payswiffId), null);
+			}
+		}, (c, e) -> {
+			logger.warn("Employee onboarding of " + c.employee().getEmployeePayswiffId() + " rejected: "
+					+ e.getMessage());
+			results[c.index()] = e instanceof DuplicateKeyException
+					? new EmployeeOnboardingResultDto(c.index(), EmployeeOnboardingStatus.DUPLICATE,
+							c.employee().getEmployeePayswiffId(), null,
+							"Employee with the same Payswiff ID, Email or Phone Number already exists")
+					: new EmployeeOnboardingResultDto(c.index(), EmployeeOnboardingStatus.REJECTED,
+							c.employee().getEmployeePayswiffId(), null, "Employee could not be created");
+		});
+	}
+
+	/**
+	 * Inserts the employees and their roles, and queues their welcome emails.
+	 *
+	 * @return the IDs of the new employees by Payswiff ID
+	 */
+	private Map<String, Long> insert(List<Candidate> batch, Role adminRole, Role employeeRole) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>(batch.size());
+		for (Candidate c : batch) {
+			Employee e = c.employee();
+			rows.add(new Object[] { e.getEmployeeUuid(), e.getEmployeePayswiffId(), e.getEmployeeName(),
+					e.getEmployeeEmail(), e.getEmployeePassword(), e.getEmployeePhoneNumber(),
+					e.getEmployeeDesignation(), e.getEmployeeType().name(), now, now });
+		}
+		jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, rows);
+
+		// The keys are generated by the database; one lookup instead of one per row
+		Map<String, Long> ids = new HashMap<>();
+		jdbcTemplate.query("SELECT employee_payswiff_id, employee_id FROM employee WHERE employee_payswiff_id IN ("
+				+ String.join(",", Collections.nCopies(batch.size(), "?")) + ")",
+				(RowCallbackHandler) rs -> ids.put(rs.getString(1), rs.getLong(2)),
+				batch.stream().map(c -> c.employee().getEmployeePayswiffId()).toArray());
+
+		List<Object[]> roles = new ArrayList<>(batch.size());
+		for (Candidate c : batch) {
+			Role role = c.employee().getEmployeeType() == EmployeeType.admin ? adminRole : employeeRole;
+			roles.add(new Object[] { ids.get(c.employee().getEmployeePayswiffId()), role.getId() });
+		}
+		jdbcTemplate.batchUpdate(INSERT_ROLE, roles);
+
+		for (Candidate c : batch) {
+			String email = c.employee().getEmployeeEmail();
+			// no password in the outbox: the dispatcher puts a set-password link into the mail
+			emailOutboxService.enqueueWithPasswordLink(email, WELCOME_SUBJECT, EmployeeService.welcomeText(email));
+		}
+		return ids;
+	}
+}
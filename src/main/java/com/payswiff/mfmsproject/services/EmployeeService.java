@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.payswiff.mfmsproject.dtos.EmailSendDto;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
@@ -15,6 +16,7 @@ import com.payswiff.mfmsproject.models.Employee;
 import com.payswiff.mfmsproject.models.Role;
 import com.payswiff.mfmsproject.repositories.EmployeeRepository;
 import com.payswiff.mfmsproject.repositories.RoleRepository;
+import com.payswiff.mfmsproject.security.TokenRevocationCache;
 
 import java.util.HashSet;
 import java.util.List;
@@ -32,8 +34,8 @@ import java.util.Set;
  * </ul>
  * 
  * This service interacts with the {@link EmployeeRepository} and {@link RoleRepository}
- * to access and manage employee and role data, and leverages {@link EmailService} for
- * sending notifications. All critical operations are logged for success and error tracking.
+ * to access and manage employee and role data, and leverages {@link EmailOutboxService} for
+ * queueing notifications. All critical operations are logged for success and error tracking.
  * @author Reavnth K
  * @version MFMS_0.0.1
  */
@@ -52,19 +54,25 @@ public class EmployeeService {
     private RoleRepository roleRepository;
 
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache; // Revokes the JWTs of a user whose password changed
 
     /**
      * Saves a new Employee after performing checks for existing data and validating
-     * required fields. Sends an email notification upon successful creation.
+     * required fields. Queues the welcome email in the same transaction; it is
+     * delivered by the outbox dispatcher once the employee is committed.
      *
      * @param employee The employee entity to be saved.
      * @return The saved Employee object.
      * @throws ResourceAlreadyExists If an employee with the same Payswiff ID, email, or phone number already exists.
      * @throws ResourceNotFoundException If the specified role does not exist.
-     * @throws UnableSentEmail If there is an issue sending the email.
+     * @throws UnableSentEmail Kept for API compatibility; delivery failures are now retried by the outbox.
      * @throws ResourceUnableToCreate If the employee object is null or lacks required fields.
      */
+    @Transactional(rollbackFor = { ResourceAlreadyExists.class, ResourceNotFoundException.class,
+            ResourceUnableToCreate.class })
     public Employee saveEmployee(Employee employee) 
             throws ResourceAlreadyExists, ResourceNotFoundException, UnableSentEmail, ResourceUnableToCreate {
         logger.info("Starting employee creation process");
@@ -116,8 +124,7 @@ public class EmployeeService {
         }
 
         // Encrypt the employee password before saving
-        String password = employee.getEmployeePassword();
-        employee.setEmployeePassword(passwordEncoder.encode(password));
+        employee.setEmployeePassword(passwordEncoder.encode(employee.getEmployeePassword()));
 
         Set<Role> roles = new HashSet<>();
         Role employeeRole;
@@ -137,22 +144,31 @@ public class EmployeeService {
         Employee createdEmployee = employeeRepository.save(employee);
         logger.info("Employee created successfully with ID: {}", createdEmployee.getEmployeeId());
 
-        // Prepare and send email
+        // Prepare and queue email; the password is not mailed, the dispatcher adds a set-password link
         EmailSendDto emailSendDto = new EmailSendDto();
         emailSendDto.setTo(employee.getEmployeeEmail());
         emailSendDto.setSubject("Merchant Feedback Management System");
-        emailSendDto.setText("Your Account has been created successfully.\nYour Login Credentials are:\n"
-                + "Email: " + employee.getEmployeeEmail() + "\n" + "Password: " + password);
+        emailSendDto.setText(welcomeText(employee.getEmployeeEmail()));
 
-        if (!emailService.sendEmail(emailSendDto.getTo(), emailSendDto.getSubject(), emailSendDto.getText())) {
-            logger.error("Failed to send email to: {}", employee.getEmployeeEmail());
-            throw new UnableSentEmail(employee.getEmployeeEmail());
-        }
+        emailOutboxService.enqueueWithPasswordLink(emailSendDto.getTo(), emailSendDto.getSubject(),
+                emailSendDto.getText());
 
-        logger.info("Email sent successfully to {}", employee.getEmployeeEmail());
+        logger.info("Email queued for {}", employee.getEmployeeEmail());
         return createdEmployee;
     }
 
+    /**
+     * Builds the body of the welcome mail. It holds no credentials, only the placeholder
+     * for the set-password link that the outbox dispatcher fills in when it sends the mail.
+     *
+     * @param email The email of the new employee.
+     * @return The mail body.
+     */
+    static String welcomeText(String email) {
+        return "Your Account has been created successfully.\nYour Login Email is: " + email + "\n"
+                + "Set your password here: " + PasswordSetupService.LINK_PLACEHOLDER;
+    }
+
     /**
      * Retrieves an Employee by Payswiff ID, phone number, or email.
      *
@@ -208,6 +224,8 @@ public class EmployeeService {
 
         employee.setEmployeePassword(passwordEncoder.encode(newPassword));
         employeeRepository.save(employee);
+        // Tokens issued with the old password stop working
+        tokenRevocationCache.revokeTokensIssuedBefore(employee.getEmployeeEmail());
         logger.info("Password updated successfully for employee with email: {}", email);
 
         return true;
@@ -0,0 +1,123 @@
+package com.payswiff.mfmsproject.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payswiff.mfmsproject.utils.AnswerVector;
+
+/**
+ * Converts the answers of existing feedbacks from {@code feedback_questions_association} rows
+ * to compact {@code feedback_answers} rows.
+ * <p>
+ * Feedbacks are converted in batches of {@code mfms.feedback.answers.migration-batch-size},
+ * each in its own transaction that inserts the compact rows and deletes the old ones. The
+ * migration can therefore be stopped at any point and run again; it continues with the
+ * feedbacks that still have old rows. Reads work throughout, as they fall back to the old
+ * rows for feedbacks not yet converted.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackAnswerMigrationService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackAnswerMigrationService.class); // Logger initialization
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AnswerDictionary answerDictionary;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${mfms.feedback.answers.migration-batch-size:500}")
+	private int batchSize; // feedbacks per transaction
+
+	/**
+	 * Converts every feedback that still has association rows.
+	 *
+	 * @return The number of feedbacks converted.
+	 */
+	public synchronized int migrate() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		int total = 0;
+		int converted;
+		do {
+			converted = transaction.execute(status -> migrateBatch());
+			total += converted;
+			if (converted > 0) {
+				logger.info("Feedback answer migration: " + total + " feedbacks converted so far.");
+			}
+		} while (converted > 0);
+		logger.info("Feedback answer migration finished, " + total + " feedbacks converted.");
+		return total;
+	}
+
+	private int migrateBatch() {
+		List<Integer> feedbackIds = jdbcTemplate.queryForList(
+				"SELECT DISTINCT feedback_id FROM feedback_questions_association ORDER BY feedback_id LIMIT ?",
+				Integer.class, batchSize);
+		if (feedbackIds.isEmpty()) {
+			return 0;
+		}
+		String in = String.join(",", Collections.nCopies(feedbackIds.size(), "?"));
+		Object[] ids = feedbackIds.toArray();
+
+		// Old rows of the batch, in question order per feedback
+		Map<Integer, List<Long>> questionsByFeedback = new LinkedHashMap<>();
+		Map<Integer, List<Integer>> answersByFeedback = new LinkedHashMap<>();
+		jdbcTemplate.query("SELECT feedback_id, question_id, answer FROM feedback_questions_association"
+				+ " WHERE feedback_id IN (" + in + ") ORDER BY feedback_id, question_id", (RowCallbackHandler) rs -> {
+					int feedbackId = rs.getInt(1);
+					long questionId = rs.getLong(2);
+					List<Long> questions = questionsByFeedback.computeIfAbsent(feedbackId, id -> new ArrayList<>());
+					if (!questions.isEmpty() && questions.get(questions.size() - 1) == questionId) {
+						return; // the same question twice, keep the first answer
+					}
+					questions.add(questionId);
+					answersByFeedback.computeIfAbsent(feedbackId, id -> new ArrayList<>())
+							.add(answerDictionary.idOf(rs.getString(3)));
+				}, ids);
+
+		// A feedback converted by an earlier, interrupted run only needs its old rows deleted
+		Set<Integer> converted = new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT feedback_id FROM feedback_answers WHERE feedback_id IN (" + in + ")", Integer.class, ids));
+
+		List<Object[]> rows = new ArrayList<>(questionsByFeedback.size());
+		for (Map.Entry<Integer, List<Long>> entry : questionsByFeedback.entrySet()) {
+			if (converted.contains(entry.getKey())) {
+				continue;
+			}
+			List<Long> questions = entry.getValue();
+			List<Integer> answers = answersByFeedback.get(entry.getKey());
+			long[] questionIds = new long[questions.size()];
+			int[] answerIds = new int[questions.size()];
+			for (int i = 0; i < questionIds.length; i++) {
+				questionIds[i] = questions.get(i);
+				answerIds[i] = answers.get(i);
+			}
+			rows.add(new Object[] { entry.getKey(), new AnswerVector(questionIds, answerIds).encode() });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO feedback_answers (feedback_id, answers) VALUES (?, ?)", rows);
+		jdbcTemplate.update("DELETE FROM feedback_questions_association WHERE feedback_id IN (" + in + ")", ids);
+		return feedbackIds.size();
+	}
+}
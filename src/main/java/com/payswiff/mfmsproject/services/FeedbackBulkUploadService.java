@@ -0,0 +1,326 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+import com.payswiff.mfmsproject.dtos.FeedbackUploadResultDto;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.FeedbackUploadStatus;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.repositories.DeviceRepository;
+import com.payswiff.mfmsproject.repositories.EmployeeRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.repositories.MerchantRepository;
+import com.payswiff.mfmsproject.utils.BatchRetry;
+
+/**
+ * Bulk upload of feedbacks collected offline, one JSON record per line.
+ * <p>
+ * Each line is a {@link FeedbackSubmission}. Its {@code feedbackUuid} is optional; a device
+ * that sets it can upload the same backlog again after a broken connection, and the records
+ * that already reached the database come back as {@code DUPLICATE}.
+ * </p>
+ * <p>
+ * Records are validated as they are read, against lookups cached for the upload and the
+ * in-memory merchant-device index and question catalog, and the valid ones are written with
+ * {@link FeedbackService#createCheckedFeedbacks} in batches of
+ * {@code mfms.feedback.bulk.batch-size}, one transaction each. The employees, merchants and
+ * devices found during validation go along with the records, so a batch is written without
+ * reading them again. The results of each batch are handed out in line order as soon as it
+ * has committed, so only one batch, one line and the bounded lookup caches are held in
+ * memory, whatever the size of the upload. If a batch fails, its records are written one by
+ * one so a bad record does not reject the others. A record whose {@code feedbackUuid} is
+ * already in the database, or repeats an earlier record of the upload, is reported as
+ * {@code DUPLICATE} and not written again.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackBulkUploadService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackBulkUploadService.class); // Logger initialization
+
+	static final int REQUIRED_ANSWERS = 10; // same rule as /api/feedback/create
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private MerchantRepository merchantRepository;
+
+	@Autowired
+	private DeviceRepository deviceRepository;
+
+	@Autowired
+	private MerchantDeviceAssociationService merchantDeviceAssociationService;
+
+	@Autowired
+	private QuestionCatalog questionCatalog;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${mfms.feedback.bulk.batch-size:100}")
+	private int batchSize; // records per transaction and per flushed group of results
+
+	@Value("${mfms.feedback.bulk.max-line-length:65536}")
+	private int maxLineLength; // longer lines are rejected without being buffered
+
+	@Value("${mfms.feedback.bulk.lookup-cache-size:1024}")
+	private int lookupCacheSize; // employees, merchants and devices remembered per upload
+
+	/**
+	 * A valid record waiting for its batch to be written.
+	 */
+	private record Pending(int line, FeedbackService.CheckedSubmission checked) {
+
+		FeedbackSubmission submission() {
+			return checked.submission();
+		}
+	}
+
+	/**
+	 * Reads an upload to the end and writes its valid records.
+	 *
+	 * @param body    The upload, one JSON record per line. Blank lines are skipped.
+	 * @param results Receives the results of each batch, in line order, once it has been
+	 *                written.
+	 * @return The number of feedbacks created.
+	 * @throws IOException if the upload cannot be read.
+	 */
+	public int upload(Reader body, Consumer<List<FeedbackUploadResultDto>> results) throws IOException {
+		BufferedReader reader = body instanceof BufferedReader buffered ? buffered : new BufferedReader(body, 16 * 1024);
+		ObjectReader recordReader = objectMapper.readerFor(FeedbackSubmission.class);
+		QuestionCatalog.Snapshot questions = questionCatalog.current();
+
+		LongFunction<Optional<Employee>> employees = cached(employeeRepository::findById);
+		LongFunction<Optional<Merchant>> merchants = cached(merchantRepository::findById); // served by the L2 cache
+		LongFunction<Optional<Device>> devices = cached(deviceRepository::findById);
+
+		List<FeedbackUploadResultDto> done = new ArrayList<>(batchSize);
+		List<Pending> pending = new ArrayList<>(batchSize);
+		StringBuilder line = new StringBuilder();
+		int lineNumber = 0;
+		int lines = 0;
+		int created = 0;
+		int length;
+		while ((length = readLine(reader, line)) >= 0) {
+			lineNumber++;
+			if (length > maxLineLength) {
+				done.add(rejected(lineNumber, null, "Record longer than " + maxLineLength + " characters"));
+			} else if (!line.toString().isBlank()) {
+				FeedbackSubmission submission = null;
+				String error;
+				try {
+					submission = recordReader.readValue(line.toString());
+					error = validate(submission, employees, merchants, devices, questions);
+				} catch (JsonProcessingException e) {
+					error = "Malformed record: " + e.getOriginalMessage();
+				}
+				if (error == null) {
+					// all three are cached: validate just looked them up
+					pending.add(new Pending(lineNumber, new FeedbackService.CheckedSubmission(submission,
+							employees.apply(submission.getFeedbackEmployeeId()).get(),
+							merchants.apply(submission.getFeedbackMerchantId()).get(),
+							devices.apply(submission.getFeedbackDeviceId()).get(), questions)));
+				} else {
+					done.add(rejected(lineNumber, submission == null ? null : submission.getFeedbackUuid(), error));
+				}
+			} else {
+				continue;
+			}
+			lines++;
+			if (done.size() + pending.size() >= batchSize) {
+				created += flush(pending, done, results);
+			}
+		}
+		created += flush(pending, done, results);
+
+		logger.info("Bulk feedback upload: " + lines + " records, " + created + " created.");
+		return created;
+	}
+
+	private String validate(FeedbackSubmission submission, LongFunction<Optional<Employee>> employees,
+			LongFunction<Optional<Merchant>> merchants, LongFunction<Optional<Device>> devices,
+			QuestionCatalog.Snapshot questions) {
+		if (submission.getFeedbackUuid() == null || submission.getFeedbackUuid().isBlank()) {
+			submission.setFeedbackUuid(UUID.randomUUID().toString());
+		} else {
+			String uuid = submission.getFeedbackUuid().toLowerCase();
+			try {
+				if (!UUID.fromString(uuid).toString().equals(uuid)) {
+					return "Invalid feedbackUuid";
+				}
+			} catch (IllegalArgumentException e) {
+				return "Invalid feedbackUuid";
+			}
+			submission.setFeedbackUuid(uuid);
+		}
+		if (submission.getFeedbackEmployeeId() == null || submission.getFeedbackMerchantId() == null
+				|| submission.getFeedbackDeviceId() == null) {
+			return "Employee, merchant and device IDs are required";
+		}
+		List<FeedbackQuestionAnswerAssignDto> answers = submission.getQuestionAnswers();
+		if (answers == null || answers.size() != REQUIRED_ANSWERS) {
+			return "Expected " + REQUIRED_ANSWERS + " question answers";
+		}
+		if (employees.apply(submission.getFeedbackEmployeeId()).isEmpty()) {
+			return "Employee not found with ID: " + submission.getFeedbackEmployeeId();
+		}
+		if (merchants.apply(submission.getFeedbackMerchantId()).isEmpty()) {
+			return "Merchant not found with ID: " + submission.getFeedbackMerchantId();
+		}
+		if (devices.apply(submission.getFeedbackDeviceId()).isEmpty()) {
+			return "Device not found with ID: " + submission.getFeedbackDeviceId();
+		}
+		if (!isAssociated(submission.getFeedbackMerchantId(), submission.getFeedbackDeviceId())) {
+			return "Device with ID " + submission.getFeedbackDeviceId() + " is not associated with Merchant ID "
+					+ submission.getFeedbackMerchantId();
+		}
+		for (FeedbackQuestionAnswerAssignDto answer : answers) {
+			if (!questions.contains(answer.getQuestionId())) {
+				return "Question not found with ID: " + answer.getQuestionId();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Answered by the merchant-device index; a pair the index does not hold is re-checked
+	 * against the table, since it may have been assigned by another instance.
+	 */
+	private boolean isAssociated(long merchantId, long deviceId) {
+		try {
+			return merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(merchantId, deviceId);
+		} catch (ResourceNotFoundException | ResourceUnableToCreate e) {
+			return false; // the merchant or device was deleted since it was looked up
+		}
+	}
+
+	/**
+	 * Writes the pending records, then hands out the results gathered since the last flush.
+	 * A record whose UUID is already in the database, or earlier in the same batch, is a
+	 * duplicate; one earlier in the upload was written by a previous batch, so it is found in
+	 * the database. A database outage ends the upload instead of rejecting every record.
+	 *
+	 * @return the number of feedbacks created
+	 */
+	private int flush(List<Pending> pending, List<FeedbackUploadResultDto> done,
+			Consumer<List<FeedbackUploadResultDto>> results) {
+		int created = 0;
+		if (!pending.isEmpty()) {
+			Set<String> seen = new HashSet<>(feedbackRepository.findExistingFeedbackUuids(
+					pending.stream().map(p -> p.submission().getFeedbackUuid()).toList()));
+			List<Pending> fresh = new ArrayList<>(pending.size());
+			for (Pending p : pending) {
+				if (seen.add(p.submission().getFeedbackUuid())) {
+					fresh.add(p);
+				} else {
+					done.add(duplicate(p));
+				}
+			}
+			created = BatchRetry.writeAll("Bulk feedback", fresh, batch -> {
+				List<Integer> ids = feedbackService.createCheckedFeedbacks(batch.stream().map(Pending::checked).toList());
+				for (int i = 0; i < batch.size(); i++) {
+					Pending p = batch.get(i);
+					done.add(new FeedbackUploadResultDto(p.line(), FeedbackUploadStatus.CREATED,
+							p.submission().getFeedbackUuid(), ids.get(i), null));
+				}
+			}, (p, e) -> {
+				logger.warn("Bulk feedback record on line " + p.line() + " rejected: " + e.getMessage());
+				done.add(e instanceof DuplicateKeyException ? duplicate(p)
+						: rejected(p.line(), p.submission().getFeedbackUuid(), "Feedback could not be written"));
+			});
+			pending.clear();
+		}
+		if (!done.isEmpty()) {
+			done.sort(Comparator.comparingInt(FeedbackUploadResultDto::getLine));
+			results.accept(List.copyOf(done));
+			done.clear();
+		}
+		return created;
+	}
+
+	/**
+	 * Reads the next line, keeping at most {@code maxLineLength} characters of it.
+	 *
+	 * @return the length of the line without its terminator, or -1 at the end of the input
+	 */
+	private int readLine(Reader reader, StringBuilder line) throws IOException {
+		line.setLength(0);
+		int length = 0;
+		int c;
+		while ((c = reader.read()) != -1 && c != '\n') {
+			if (length++ < maxLineLength) {
+				line.append((char) c);
+			}
+		}
+		if (c == -1 && length == 0) {
+			return -1;
+		}
+		if (length <= maxLineLength && line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+			line.setLength(line.length() - 1);
+			length--;
+		}
+		return length;
+	}
+
+	/**
+	 * Remembers the results of a lookup, missing entities included, least recently used first out.
+	 */
+	private <T> LongFunction<Optional<T>> cached(LongFunction<Optional<T>> lookup) {
+		Map<Long, Optional<T>> results = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Optional<T>> eldest) {
+				return size() > lookupCacheSize;
+			}
+		};
+		return id -> results.computeIfAbsent(id, lookup::apply);
+	}
+
+	private static FeedbackUploadResultDto duplicate(Pending p) {
+		return new FeedbackUploadResultDto(p.line(), FeedbackUploadStatus.DUPLICATE, p.submission().getFeedbackUuid(),
+				null, null);
+	}
+
+	private static FeedbackUploadResultDto rejected(int line, String feedbackUuid, String message) {
+		return new FeedbackUploadResultDto(line, FeedbackUploadStatus.REJECTED, feedbackUuid, null, message);
+	}
+}
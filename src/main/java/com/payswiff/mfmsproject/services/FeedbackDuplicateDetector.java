@@ -0,0 +1,255 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateAuditDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateDto;
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackDuplicate;
+import com.payswiff.mfmsproject.repositories.FeedbackDuplicateRepository;
+import com.payswiff.mfmsproject.utils.FeedbackTextIndex;
+import com.payswiff.mfmsproject.utils.MinHashIndex;
+import com.payswiff.mfmsproject.utils.RebuiltIndex;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Finds feedbacks whose text near-duplicates an earlier feedback.
+ * <p>
+ * Holds a {@link MinHashIndex} of the sketches of every feedback text with at least
+ * {@code mfms.feedback.duplicates.min-terms} terms; shorter texts ("good service") are
+ * legitimately repeated and are never compared. The index is a {@link RebuiltIndex}, loaded
+ * at startup with a streaming scan of {@code feedback} in ID order, kept current by
+ * {@link #record(Feedback)} once a feedback commits and rebuilt periodically, as
+ * {@link FeedbackSearchEngine} is.
+ * </p>
+ * <p>
+ * A submission is looked up before it is added: a near-duplicate is accepted, flagged in
+ * {@code feedback_duplicate} and logged. Submissions made before the startup load has
+ * completed are not checked. {@link #audit(double, int)} compares every indexed feedback
+ * with the earlier ones, in parallel, on a copy of the index.
+ * </p>
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+@Component
+public class FeedbackDuplicateDetector {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackDuplicateDetector.class); // Logger initialization
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private FeedbackDuplicateRepository feedbackDuplicateRepository;
+
+	@Value("${mfms.feedback.stream-fetch-size:-2147483648}")
+	private int streamFetchSize; // MySQL Connector/J only streams with Integer.MIN_VALUE
+
+	@Value("${mfms.feedback.duplicates.min-terms:6}")
+	private int minTerms; // shorter texts are not compared
+
+	@Value("${mfms.feedback.duplicates.min-similarity:0.7}")
+	private double minSimilarity; // estimated Jaccard similarity from which a submission is flagged
+
+	private JdbcTemplate streamingJdbcTemplate;
+
+	private final RebuiltIndex<MinHashIndex, Sketch> index = new RebuiltIndex<>("Feedback duplicates") {
+
+		@Override
+		protected MinHashIndex empty() {
+			return new MinHashIndex();
+		}
+
+		@Override
+		protected void scan(RowCallbackHandler handler) {
+			// in ID order, so that a lower index is an earlier feedback
+			streamingJdbcTemplate.query("SELECT feedback_id, feedback, feedback_creation_time FROM feedback "
+					+ "ORDER BY feedback_id", handler);
+		}
+
+		@Override
+		protected Sketch read(ResultSet rs) throws SQLException {
+			long[] sketch = sketchOf(rs.getString(2));
+			return sketch == null ? null : new Sketch(rs.getInt(1), sketch);
+		}
+
+		@Override
+		protected int feedbackId(Sketch sketch) {
+			return sketch.feedbackId();
+		}
+
+		@Override
+		protected void add(MinHashIndex target, Sketch sketch) {
+			target.add(sketch.feedbackId(), sketch.sketch());
+		}
+	};
+
+	/**
+	 * The sketch of one committed feedback.
+	 */
+	record Sketch(int feedbackId, long[] sketch) {
+	}
+
+	/**
+	 * Prepares the streaming template.
+	 */
+	@PostConstruct
+	public void init() {
+		streamingJdbcTemplate = new JdbcTemplate(dataSource);
+		streamingJdbcTemplate.setFetchSize(streamFetchSize);
+	}
+
+	/**
+	 * Loads the index once the application has started.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the index from the database and swaps it in.
+	 */
+	@Scheduled(fixedDelayString = "${mfms.feedback.duplicates.refresh-ms:900000}",
+			initialDelayString = "${mfms.feedback.duplicates.refresh-ms:900000}")
+	public void rebuild() {
+		MinHashIndex scanned = index.rebuild();
+		logger.info("Feedback duplicate index loaded: " + scanned.size() + " sketches.");
+	}
+
+	/**
+	 * Flags a saved feedback that near-duplicates an earlier one, in the caller's transaction,
+	 * and adds it to the index once that transaction commits, or at once when there is none.
+	 * The check is skipped while the index is still loading.
+	 *
+	 * @param feedback The saved feedback.
+	 * @return The flag, if the feedback is a near-duplicate.
+	 */
+	public Optional<FeedbackDuplicate> record(Feedback feedback) {
+		long[] sketch = sketchOf(feedback.getFeedback());
+		if (sketch == null) {
+			return Optional.empty();
+		}
+		Optional<FeedbackDuplicate> flag = Optional.empty();
+		if (index.isLoaded()) {
+			flag = nearest(sketch).map(match -> feedbackDuplicateRepository.save(new FeedbackDuplicate(
+					feedback.getFeedbackId(), match.getDuplicateOfFeedbackId(), match.getSimilarity())));
+			flag.ifPresent(duplicate -> logger.warn("Feedback " + feedback.getFeedbackId()
+					+ " near-duplicates feedback " + duplicate.getDuplicateOfFeedbackId() + " (similarity "
+					+ duplicate.getSimilarity() + ")."));
+		} else {
+			// never scan the table inside the caller's insert transaction
+			logger.debug("Duplicate index still loading, feedback " + feedback.getFeedbackId() + " not checked.");
+		}
+		index.addAfterCommit(new Sketch(feedback.getFeedbackId(), sketch));
+		return flag;
+	}
+
+	/**
+	 * Looks up a text without recording it.
+	 *
+	 * @param text The feedback text.
+	 * @return The closest existing feedback, with a feedback ID of 0 for the text itself, if
+	 *         the text near-duplicates one; empty for texts too short to compare.
+	 * @throws IndexNotLoadedException if the index is still loading.
+	 */
+	public Optional<FeedbackDuplicateDto> findDuplicate(String text) {
+		long[] sketch = sketchOf(text);
+		return sketch == null ? Optional.empty() : nearest(sketch);
+	}
+
+	/**
+	 * Compares every indexed feedback with the earlier ones and reports those that
+	 * near-duplicate one. Runs in parallel on a copy of the index, so submissions are not
+	 * held up.
+	 *
+	 * @param minSimilarity The lowest estimated similarity of two texts.
+	 * @param limit         The maximum number of duplicates listed.
+	 * @return The counts and the first duplicates by feedback ID.
+	 * @throws IndexNotLoadedException if the index is still loading.
+	 */
+	public FeedbackDuplicateAuditDto audit(double minSimilarity, int limit) {
+		MinHashIndex snapshot = index.read(MinHashIndex::copy);
+
+		int size = snapshot.size();
+		int[] nearest = new int[size];
+		IntStream.range(0, size).parallel()
+				.forEach(document -> nearest[document] = snapshot.nearestEarlier(document, minSimilarity));
+
+		long flagged = 0;
+		List<FeedbackDuplicateDto> duplicates = new ArrayList<>();
+		for (int document = 0; document < size; document++) {
+			if (nearest[document] < 0) {
+				continue;
+			}
+			flagged++;
+			if (duplicates.size() < limit) {
+				duplicates.add(new FeedbackDuplicateDto(snapshot.feedbackId(document),
+						snapshot.feedbackId(nearest[document]), snapshot.similarity(document, nearest[document])));
+			}
+		}
+		logger.info("Duplicate audit compared " + size + " feedbacks, " + flagged + " near-duplicate(s).");
+		return new FeedbackDuplicateAuditDto(size, flagged, duplicates);
+	}
+
+	/**
+	 * Returns the feedbacks most recently flagged at submission.
+	 *
+	 * @param limit The maximum number of flags.
+	 * @return The flags, newest first.
+	 */
+	public List<FeedbackDuplicateDto> getFlags(int limit) {
+		return feedbackDuplicateRepository.findAllByOrderByDuplicateIdDesc(PageRequest.of(0, limit)).stream()
+				.map(flag -> new FeedbackDuplicateDto(flag.getFeedbackId(), flag.getDuplicateOfFeedbackId(),
+						flag.getSimilarity()))
+				.toList();
+	}
+
+	/**
+	 * @return the estimated similarity from which a submission is flagged
+	 */
+	public double getMinSimilarity() {
+		return minSimilarity;
+	}
+
+	private Optional<FeedbackDuplicateDto> nearest(long[] sketch) {
+		return index.read(sketches -> {
+			int document = sketches.nearest(sketch, sketches.size(), minSimilarity);
+			if (document < 0) {
+				return Optional.empty();
+			}
+			return Optional.of(new FeedbackDuplicateDto(0, sketches.feedbackId(document),
+					sketches.similarity(sketch, document)));
+		});
+	}
+
+	/**
+	 * @return the sketch of the text, null if it has fewer than {@code minTerms} terms
+	 */
+	private long[] sketchOf(String text) {
+		List<String> terms = FeedbackTextIndex.tokenize(text);
+		return terms.size() < minTerms ? null : MinHashIndex.sketch(terms);
+	}
+}
@@ -0,0 +1,115 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.models.FeedbackExportFormat;
+
+/**
+ * Runs one feedback export from the command line and exits, for scheduled BI jobs:
+ * <pre>
+ * java -jar mfms.jar --spring.main.web-application-type=none \
+ *     --mfms.feedback.export.file=/data/feedback.csv.gz \
+ *     --mfms.feedback.export.watermark-file=/data/feedback.watermark
+ * </pre>
+ * <p>
+ * Only active when {@code mfms.feedback.export.file} is set. The export is written to a
+ * {@code .part} file next to the target and moved over it once complete, so readers never
+ * see a partial export. Without {@code mfms.feedback.export.since} the export starts at the
+ * watermark stored in {@code mfms.feedback.export.watermark-file}, or at the first feedback;
+ * after a successful export the new watermark is stored there, so the next run continues
+ * where this one stopped.
+ * </p>
+ * <p>
+ * The command runs before the application reports ready, so the in-memory indexes are never
+ * loaded for it, and {@link com.payswiff.mfmsproject.configs.SchedulingConfig} leaves
+ * scheduling off while it runs, so no background job starts either.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Component
+@ConditionalOnProperty(name = "mfms.feedback.export.file")
+public class FeedbackExportCommand implements ApplicationRunner {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackExportCommand.class); // Logger initialization
+
+	@Autowired
+	private FeedbackExportService feedbackExportService;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Value("${mfms.feedback.export.file}")
+	private String file; // gzip target
+
+	@Value("${mfms.feedback.export.format:csv}")
+	private String format; // csv or ndjson
+
+	@Value("${mfms.feedback.export.since:}")
+	private String since; // ISO date-time, overrides the watermark file
+
+	@Value("${mfms.feedback.export.watermark-file:}")
+	private String watermarkFile; // where incremental exports keep their position
+
+	/**
+	 * Exports, then shuts the application down with exit code 0. A failure is thrown, which
+	 * fails the startup with a non-zero exit code and leaves the watermark unchanged.
+	 *
+	 * @param args The command-line arguments, read through the properties above.
+	 * @throws Exception If the export fails.
+	 */
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		export();
+		System.exit(SpringApplication.exit(applicationContext, () -> 0));
+	}
+
+	/**
+	 * Writes the export and moves the watermark.
+	 *
+	 * @return The number of feedbacks written.
+	 * @throws Exception If the export fails.
+	 */
+	long export() throws Exception {
+		FeedbackExportFormat exportFormat = FeedbackExportFormat.valueOf(format.toUpperCase());
+		Path watermarkPath = watermarkFile.isBlank() ? null : Path.of(watermarkFile);
+		LocalDateTime from = null;
+		if (!since.isBlank()) {
+			from = LocalDateTime.parse(since);
+		} else if (watermarkPath != null && Files.exists(watermarkPath)) {
+			from = LocalDateTime.parse(Files.readString(watermarkPath, StandardCharsets.UTF_8).trim());
+		}
+		LocalDateTime until = feedbackExportService.watermark(from);
+
+		Path target = Path.of(file);
+		Path partial = target.resolveSibling(target.getFileName() + ".part");
+		long exported;
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+			exported = feedbackExportService.export(exportFormat, from, until, out);
+		}
+		Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		if (watermarkPath != null) {
+			Files.writeString(watermarkPath, until.toString(), StandardCharsets.UTF_8);
+		}
+		logger.info("Exported " + exported + " feedback(s) to " + target + ", next export from " + until + ".");
+		return exported;
+	}
+}
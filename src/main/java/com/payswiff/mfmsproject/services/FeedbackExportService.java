@@ -0,0 +1,420 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.FeedbackExportFormat;
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.QuestionRepository;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Exports feedbacks together with their answers for offline analysis.
+ * <p>
+ * An export is one forward-only JDBC pass over {@code feedback}, joined with its compact
+ * {@code feedback_answers} row and, for feedbacks not migrated yet, its
+ * {@code feedback_questions_association} rows. Rows are read with the streaming fetch size
+ * and written gzip-compressed as they arrive. Feedbacks are written in groups of
+ * {@link #DECODE_BATCH}, so the answer texts of a group are read with one dictionary lookup;
+ * only that group is held, so memory use does not depend on the number of feedbacks.
+ * </p>
+ * <p>
+ * Exports cover the half-open window [since, watermark) of creation times. The watermark
+ * lags the clock by {@link #COMMIT_LAG}, so every feedback created before it has committed;
+ * an incremental export that starts at the previous watermark therefore neither misses nor
+ * repeats a feedback.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackExportService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackExportService.class); // Logger initialization
+
+	// longer than any feedback transaction: a feedback created before the watermark has committed
+	static final Duration COMMIT_LAG = Duration.ofMinutes(5);
+
+	static final String CSV_HEADER = "feedback_id,feedback_uuid,employee_id,merchant_id,device_id,rating,feedback,"
+			+ "created_at,question_id,question,answer";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	static final int DECODE_BATCH = 500; // feedbacks whose answer texts are read together
+
+	private static final String SOURCE = "SELECT f.feedback_id, f.feedback_uuid, f.feedback_employee_id, "
+			+ "f.feedback_merchant_id, f.feedback_device_id, f.feedback_rating, f.feedback, f.feedback_creation_time, "
+			+ "fa.answers, a.question_id, a.answer FROM feedback f "
+			+ "LEFT JOIN feedback_answers fa ON fa.feedback_id = f.feedback_id "
+			+ "LEFT JOIN feedback_questions_association a ON a.feedback_id = f.feedback_id ";
+
+	// the rows of one feedback are adjacent, so it can be written as soon as the next one starts
+	private static final String ORDER = "ORDER BY f.feedback_creation_time, f.feedback_id, a.id";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private AnswerDictionary answerDictionary;
+
+	@Autowired
+	private QuestionCatalog questionCatalog;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${mfms.feedback.stream-fetch-size:-2147483648}")
+	private int streamFetchSize; // MySQL Connector/J only streams with Integer.MIN_VALUE
+
+	private JdbcTemplate streamingJdbcTemplate;
+
+	/**
+	 * One answer of an exported feedback.
+	 */
+	record ExportedAnswer(long questionId, String question, String answer) {
+	}
+
+	/**
+	 * One exported feedback with its answers, in question order.
+	 */
+	record ExportedFeedback(int feedbackId, String feedbackUuid, long employeeId, long merchantId, long deviceId,
+			Double rating, String feedback, LocalDateTime createdAt, List<ExportedAnswer> answers) {
+	}
+
+	/**
+	 * Prepares the streaming template.
+	 */
+	@PostConstruct
+	public void init() {
+		streamingJdbcTemplate = new JdbcTemplate(dataSource);
+		streamingJdbcTemplate.setFetchSize(streamFetchSize);
+	}
+
+	/**
+	 * Returns the end of an export window starting now.
+	 *
+	 * @param since The start of the window, null for the first feedback.
+	 * @return The watermark: the exclusive end of the window and the start of the next one.
+	 * @throws InvalidRequestParameterException If since is after the watermark.
+	 */
+	public LocalDateTime watermark(LocalDateTime since) throws InvalidRequestParameterException {
+		LocalDateTime until = LocalDateTime.now().minus(COMMIT_LAG).truncatedTo(ChronoUnit.SECONDS);
+		if (since != null && since.isAfter(until)) {
+			throw new InvalidRequestParameterException("since", String.valueOf(since),
+					"after the export watermark " + until);
+		}
+		return until;
+	}
+
+	/**
+	 * Writes the feedbacks created in [since, until) with their answers, oldest first, as a
+	 * gzip stream. The stream is finished but not closed.
+	 *
+	 * @param format The file format.
+	 * @param since  Inclusive start of the creation-time window, null for the first feedback.
+	 * @param until  Exclusive end of the window, see {@link #watermark(LocalDateTime)}.
+	 * @param out    The target.
+	 * @return The number of feedbacks written.
+	 * @throws IOException If the target cannot be written.
+	 */
+	public long export(FeedbackExportFormat format, LocalDateTime since, LocalDateTime until, OutputStream out)
+			throws IOException {
+		GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+		RowWriter rows = format == FeedbackExportFormat.CSV ? new CsvRowWriter(writer) : new JsonRowWriter(writer);
+		Exporter exporter = new Exporter(rows);
+		String window = since == null ? "WHERE f.feedback_creation_time < ? "
+				: "WHERE f.feedback_creation_time >= ? AND f.feedback_creation_time < ? ";
+		try {
+			streamingJdbcTemplate.query(SOURCE + window + ORDER, ps -> {
+				int index = 1;
+				if (since != null) {
+					ps.setTimestamp(index++, Timestamp.valueOf(since));
+				}
+				ps.setTimestamp(index, Timestamp.valueOf(until));
+			}, exporter);
+			exporter.flush();
+		} catch (UncheckedIOException e) {
+			throw e.getCause(); // target gone, the JDBC cursor is closed
+		}
+		rows.finish();
+		writer.flush();
+		gzip.finish();
+		logger.info("Exported " + exporter.exported + " feedback(s) as " + format + ", created from " + since
+				+ " to " + until + ".");
+		return exporter.exported;
+	}
+
+	/**
+	 * A read feedback waiting for its answer texts.
+	 *
+	 * @param feedback the feedback, with the answers of its association rows
+	 * @param answers  its compact answers, null if it is not migrated yet
+	 */
+	private record Pending(ExportedFeedback feedback, AnswerVector answers) {
+	}
+
+	/**
+	 * Groups the joined rows by feedback and writes the feedbacks in groups once their last
+	 * row is read.
+	 */
+	private final class Exporter implements RowCallbackHandler {
+
+		private final RowWriter rows;
+		private final QuestionCatalog.Snapshot questions = questionCatalog.current();
+		private final Map<Long, String> descriptions = new HashMap<>(); // questions missing from the snapshot
+		private final List<Pending> pending = new ArrayList<>(DECODE_BATCH);
+		private ExportedFeedback current;
+		private AnswerVector compact; // answers of current from its compact row, null if not migrated yet
+		private long exported;
+
+		Exporter(RowWriter rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			int feedbackId = rs.getInt(1);
+			if (current == null || current.feedbackId() != feedbackId) {
+				if (queueCurrent() >= DECODE_BATCH) {
+					writePending();
+				}
+				Timestamp created = rs.getTimestamp(8);
+				current = new ExportedFeedback(feedbackId, rs.getString(2), rs.getLong(3), rs.getLong(4),
+						rs.getLong(5), rs.getObject(6, Double.class), rs.getString(7),
+						created == null ? null : created.toLocalDateTime(), new ArrayList<>());
+				byte[] answers = rs.getBytes(9);
+				compact = answers == null ? null : AnswerVector.decode(answers);
+			}
+			long questionId = rs.getLong(10);
+			if (compact == null && !rs.wasNull()) {
+				// not migrated yet: one association row per answer
+				current.answers().add(new ExportedAnswer(questionId, descriptionOf(questionId), rs.getString(11)));
+			}
+		}
+
+		/**
+		 * Writes every feedback read so far.
+		 */
+		void flush() {
+			queueCurrent();
+			writePending();
+		}
+
+		/**
+		 * @return the number of feedbacks waiting, after adding the current one
+		 */
+		private int queueCurrent() {
+			if (current != null) {
+				pending.add(new Pending(current, compact));
+				current = null;
+			}
+			return pending.size();
+		}
+
+		private void writePending() {
+			Set<Integer> answerIds = new LinkedHashSet<>();
+			for (Pending feedback : pending) {
+				for (int i = 0; feedback.answers() != null && i < feedback.answers().size(); i++) {
+					answerIds.add(feedback.answers().answerId(i));
+				}
+			}
+			// one lookup for the whole group rather than one per feedback
+			Map<Integer, String> texts = answerIds.isEmpty() ? Map.of()
+					: answerDictionary.textsOf(new ArrayList<>(answerIds));
+			try {
+				for (Pending feedback : pending) {
+					AnswerVector vector = feedback.answers();
+					for (int i = 0; vector != null && i < vector.size(); i++) {
+						long questionId = vector.questionId(i);
+						feedback.feedback().answers().add(new ExportedAnswer(questionId, descriptionOf(questionId),
+								texts.get(vector.answerId(i))));
+					}
+					rows.write(feedback.feedback());
+					exported++;
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			pending.clear();
+		}
+
+		private String descriptionOf(long questionId) {
+			return questions.findById(questionId).map(Question::getQuestionDescription)
+					.orElseGet(() -> descriptions.computeIfAbsent(questionId, id -> questionRepository.findById(id)
+							.map(Question::getQuestionDescription).orElse("")));
+		}
+	}
+
+	/**
+	 * Writes exported feedbacks in one format.
+	 */
+	private interface RowWriter {
+
+		void write(ExportedFeedback feedback) throws IOException;
+
+		void finish() throws IOException;
+	}
+
+	/**
+	 * One line per answer, RFC 4180 quoting.
+	 */
+	private static final class CsvRowWriter implements RowWriter {
+
+		private final Writer writer;
+
+		CsvRowWriter(Writer writer) throws IOException {
+			this.writer = writer;
+			writer.write(CSV_HEADER);
+			writer.write("\r\n");
+		}
+
+		@Override
+		public void write(ExportedFeedback feedback) throws IOException {
+			if (feedback.answers().isEmpty()) {
+				writeFeedback(feedback);
+				writer.write(",,,\r\n");
+				return;
+			}
+			for (ExportedAnswer answer : feedback.answers()) {
+				writeFeedback(feedback);
+				writer.write(',');
+				writer.write(Long.toString(answer.questionId()));
+				writer.write(',');
+				writeField(answer.question());
+				writer.write(',');
+				writeField(answer.answer());
+				writer.write("\r\n");
+			}
+		}
+
+		@Override
+		public void finish() {
+			// nothing after the last line
+		}
+
+		private void writeFeedback(ExportedFeedback feedback) throws IOException {
+			writer.write(Integer.toString(feedback.feedbackId()));
+			writer.write(',');
+			writeField(feedback.feedbackUuid());
+			writer.write(',');
+			writer.write(Long.toString(feedback.employeeId()));
+			writer.write(',');
+			writer.write(Long.toString(feedback.merchantId()));
+			writer.write(',');
+			writer.write(Long.toString(feedback.deviceId()));
+			writer.write(',');
+			writeField(feedback.rating() == null ? null : Double.toString(feedback.rating()));
+			writer.write(',');
+			writeField(feedback.feedback());
+			writer.write(',');
+			writeField(feedback.createdAt() == null ? null : feedback.createdAt().toString());
+		}
+
+		private void writeField(String value) throws IOException {
+			if (value == null) {
+				return;
+			}
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+					&& value.indexOf('\r') < 0) {
+				writer.write(value);
+				return;
+			}
+			writer.write('"');
+			writer.write(value.replace("\"", "\"\""));
+			writer.write('"');
+		}
+	}
+
+	/**
+	 * One JSON object per line.
+	 */
+	private final class JsonRowWriter implements RowWriter {
+
+		private final Writer writer;
+		private final JsonGenerator generator;
+		private boolean written; // at least one object
+
+		JsonRowWriter(Writer writer) throws IOException {
+			this.writer = writer;
+			generator = objectMapper.getFactory().createGenerator(writer);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(new SerializedString("\n")); // written before every object but the first
+		}
+
+		@Override
+		public void write(ExportedFeedback feedback) throws IOException {
+			generator.writeStartObject();
+			generator.writeNumberField("feedbackId", feedback.feedbackId());
+			generator.writeStringField("feedbackUuid", feedback.feedbackUuid());
+			generator.writeNumberField("employeeId", feedback.employeeId());
+			generator.writeNumberField("merchantId", feedback.merchantId());
+			generator.writeNumberField("deviceId", feedback.deviceId());
+			if (feedback.rating() == null) {
+				generator.writeNullField("rating");
+			} else {
+				generator.writeNumberField("rating", feedback.rating());
+			}
+			generator.writeStringField("feedback", feedback.feedback());
+			generator.writeStringField("createdAt",
+					feedback.createdAt() == null ? null : feedback.createdAt().toString());
+			generator.writeArrayFieldStart("answers");
+			for (ExportedAnswer answer : feedback.answers()) {
+				generator.writeStartObject();
+				generator.writeNumberField("questionId", answer.questionId());
+				generator.writeStringField("question", answer.question());
+				generator.writeStringField("answer", answer.answer());
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			written = true;
+		}
+
+		@Override
+		public void finish() throws IOException {
+			generator.flush();
+			if (written) {
+				writer.write('\n');
+			}
+		}
+	}
+}
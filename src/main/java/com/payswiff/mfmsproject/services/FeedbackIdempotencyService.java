@@ -0,0 +1,312 @@
+package com.payswiff.mfmsproject.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.payswiff.mfmsproject.dtos.FeedbackIngestionStatusDto;
+import com.payswiff.mfmsproject.exceptions.IdempotencyKeyReusedException;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
+import com.payswiff.mfmsproject.models.FeedbackIngestionState;
+import com.payswiff.mfmsproject.repositories.FeedbackIdempotencyKeyRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+
+/**
+ * Deduplicates retried feedback submissions that carry an idempotency key.
+ * <p>
+ * A key is turned into the UUID the feedback is written with by hashing it together with the
+ * authenticated user, the subject of the JWT, so a key only ever replays feedbacks of the user
+ * that sent it, whatever employee ID the request body names; a UUID key
+ * is lower-cased first, so its spelling does not matter. The outcome of
+ * each key is kept in a bounded in-memory map for {@code mfms.feedback.idempotency.ttl-ms}, so
+ * a retry is answered from memory without touching the database. A retry of a key that has
+ * left the map, or that was first sent to another instance, is answered from the unique
+ * {@code feedback_uuid} column; two attempts racing on different instances are separated by
+ * that same constraint.
+ * </p>
+ * <p>
+ * A key only replays the request it was first sent with. The SHA-256 hash of that body is
+ * kept with the outcome in memory and in {@code feedback_idempotency_key}, so a submission
+ * that reuses the key with a different body is refused with
+ * {@link IdempotencyKeyReusedException} on any instance rather than answered with the first
+ * response.
+ * </p>
+ * <p>
+ * A retry that arrives while the first attempt is still running waits for its outcome. A
+ * failed attempt is not remembered, so the client can correct the request and send it again
+ * with the same key, whatever its body; neither is a queued feedback the writer later fails to write, which the
+ * writer {@linkplain #release releases}.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackIdempotencyService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackIdempotencyService.class); // Logger initialization
+
+	static final int MAX_KEY_LENGTH = 255; // longer keys are refused
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private FeedbackIdempotencyKeyRepository feedbackIdempotencyKeyRepository;
+
+	@Value("${mfms.feedback.idempotency.max-entries:10000}")
+	private int maxEntries; // oldest outcomes are dropped first
+
+	@Value("${mfms.feedback.idempotency.ttl-ms:86400000}")
+	private long ttlMs; // how long an outcome is answered from memory
+
+	@Value("${mfms.feedback.idempotency.wait-ms:10000}")
+	private long waitMs; // how long a retry waits for the attempt in progress
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>(); // feedback UUID -> outcome, oldest first
+
+	/**
+	 * An attempt, the hash of its request body and the time it started.
+	 */
+	private record Entry(CompletableFuture<FeedbackIngestionStatusDto> outcome, String requestHash,
+			long timeMillis) {
+	}
+
+	/**
+	 * The outcome of a submission, and whether it was replayed from an earlier attempt.
+	 */
+	public record Outcome(FeedbackIngestionStatusDto status, boolean replayed) {
+	}
+
+	/**
+	 * A submission attempt.
+	 */
+	@FunctionalInterface
+	public interface Attempt {
+
+		/**
+		 * @return WRITTEN with the feedback ID, or QUEUED
+		 * @throws Exception if the submission is rejected
+		 */
+		FeedbackIngestionStatusDto run() throws Exception;
+	}
+
+	/**
+	 * Derives the UUID a keyed feedback is written with.
+	 *
+	 * @param principal      The authenticated user, the subject of the JWT.
+	 * @param idempotencyKey The key sent by the client.
+	 * @return A name-based UUID of the user and key.
+	 * @throws InvalidRequestParameterException if the key is longer than 255 characters.
+	 */
+	public String feedbackUuidFor(String principal, String idempotencyKey) throws InvalidRequestParameterException {
+		String key = idempotencyKey.trim();
+		if (key.length() > MAX_KEY_LENGTH) {
+			throw new InvalidRequestParameterException("Idempotency-Key", key.length() + " characters",
+					"must not be longer than " + MAX_KEY_LENGTH);
+		}
+		try {
+			String uuid = UUID.fromString(key).toString();
+			if (uuid.equalsIgnoreCase(key)) {
+				key = uuid; // one spelling per UUID key
+			}
+		} catch (IllegalArgumentException e) {
+			// not a UUID, hashed as it is
+		}
+		// scoped to the caller, so nobody else's key can replay this feedback
+		return UUID.nameUUIDFromBytes((principal + ":" + key).getBytes(StandardCharsets.UTF_8)).toString();
+	}
+
+	/**
+	 * Hashes a request body for {@link #execute}.
+	 *
+	 * @param body The serialized request body.
+	 * @return The hex SHA-256 hash of the body.
+	 */
+	public static String requestHash(byte[] body) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e); // required of every JVM
+		}
+	}
+
+	/**
+	 * Runs the attempt once per feedback UUID, or replays the outcome of the earlier one.
+	 *
+	 * @param feedbackUuid The UUID from {@link #feedbackUuidFor}.
+	 * @param requestHash  The hash of the request body, from {@link #requestHash}.
+	 * @param attempt      Creates or queues the feedback with that UUID.
+	 * @return The outcome, replayed or not.
+	 * @throws IdempotencyKeyReusedException if the key was first used with a different body.
+	 * @throws ResourceAlreadyExists         if an earlier attempt is still running after the wait.
+	 * @throws Exception                     the failure of the attempt.
+	 */
+	public Outcome execute(String feedbackUuid, String requestHash, Attempt attempt) throws Exception {
+		CompletableFuture<FeedbackIngestionStatusDto> mine = new CompletableFuture<>();
+		CompletableFuture<FeedbackIngestionStatusDto> earlier = register(feedbackUuid, requestHash, mine);
+		if (earlier != null) {
+			return await(feedbackUuid, requestHash, earlier, attempt);
+		}
+
+		try {
+			recordRequestHash(feedbackUuid, requestHash);
+			Optional<Integer> written = feedbackRepository.findFeedbackIdByFeedbackUuid(feedbackUuid);
+			if (written.isPresent()) {
+				FeedbackIngestionStatusDto status = writtenStatus(feedbackUuid, written.get());
+				mine.complete(status);
+				logger.info("Feedback " + feedbackUuid + " already written, replaying its outcome.");
+				return new Outcome(status, true);
+			}
+			FeedbackIngestionStatusDto status = attempt.run();
+			mine.complete(status);
+			return new Outcome(status, false);
+		} catch (DataIntegrityViolationException e) {
+			// another instance wrote the same UUID meanwhile
+			Optional<Integer> written = feedbackRepository.findFeedbackIdByFeedbackUuid(feedbackUuid);
+			if (written.isPresent()) {
+				FeedbackIngestionStatusDto status = writtenStatus(feedbackUuid, written.get());
+				mine.complete(status);
+				return new Outcome(status, true);
+			}
+			forget(feedbackUuid, requestHash, mine, e);
+			throw e;
+		} catch (Exception e) {
+			forget(feedbackUuid, requestHash, mine, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Forgets a queued feedback the writer failed to write, so a retry with its key is
+	 * submitted again instead of replaying the acceptance.
+	 *
+	 * @param feedbackUuid The UUID of the failed feedback.
+	 */
+	public void release(String feedbackUuid) {
+		Entry entry;
+		synchronized (this) {
+			entry = entries.get(feedbackUuid);
+			if (entry == null || !entry.outcome().isDone() || entry.outcome().isCompletedExceptionally()
+					|| entry.outcome().join().getStatus() != FeedbackIngestionState.QUEUED) {
+				return;
+			}
+			entries.remove(feedbackUuid);
+		}
+		feedbackIdempotencyKeyRepository.release(feedbackUuid, entry.requestHash());
+	}
+
+	/**
+	 * Drops outcomes older than the retention period.
+	 */
+	@Scheduled(fixedDelay = 60000)
+	public synchronized void evictExpired() {
+		long oldest = System.currentTimeMillis() - ttlMs;
+		Iterator<Entry> it = entries.values().iterator();
+		while (it.hasNext() && it.next().timeMillis() < oldest) {
+			it.remove(); // insertion order, so the rest is younger
+		}
+	}
+
+	/**
+	 * Registers an attempt unless a live one exists for the UUID.
+	 *
+	 * @return the earlier attempt, or null if the given one was registered
+	 * @throws IdempotencyKeyReusedException if the live attempt has a different body
+	 */
+	private synchronized CompletableFuture<FeedbackIngestionStatusDto> register(String feedbackUuid,
+			String requestHash, CompletableFuture<FeedbackIngestionStatusDto> attempt)
+			throws IdempotencyKeyReusedException {
+		Entry entry = entries.get(feedbackUuid);
+		if (entry != null && entry.timeMillis() >= System.currentTimeMillis() - ttlMs) {
+			if (!entry.requestHash().equals(requestHash)) {
+				logger.warn("Idempotency key of feedback " + feedbackUuid + " reused with a different body.");
+				throw new IdempotencyKeyReusedException(feedbackUuid);
+			}
+			return entry.outcome();
+		}
+		entries.remove(feedbackUuid);
+		entries.put(feedbackUuid, new Entry(attempt, requestHash, System.currentTimeMillis()));
+		if (entries.size() > maxEntries) {
+			Iterator<String> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+		}
+		return null;
+	}
+
+	/**
+	 * Records the body the key is first used with, or checks it against the recorded one,
+	 * which may come from another instance or from before this instance started.
+	 *
+	 * @throws IdempotencyKeyReusedException if a different body is recorded
+	 */
+	private void recordRequestHash(String feedbackUuid, String requestHash) throws IdempotencyKeyReusedException {
+		try {
+			feedbackIdempotencyKeyRepository.insert(feedbackUuid, requestHash);
+		} catch (DataIntegrityViolationException e) {
+			Optional<String> recorded = feedbackIdempotencyKeyRepository.findRequestHash(feedbackUuid);
+			if (recorded.isPresent() && !recorded.get().equals(requestHash)) {
+				logger.warn("Idempotency key of feedback " + feedbackUuid + " reused with a different body.");
+				throw new IdempotencyKeyReusedException(feedbackUuid);
+			}
+		}
+	}
+
+	private Outcome await(String feedbackUuid, String requestHash, CompletableFuture<FeedbackIngestionStatusDto> earlier,
+			Attempt attempt) throws Exception {
+		try {
+			FeedbackIngestionStatusDto status = earlier.get(waitMs, TimeUnit.MILLISECONDS);
+			logger.info("Duplicate submission of feedback " + feedbackUuid + ", replaying its outcome.");
+			return new Outcome(status, true);
+		} catch (TimeoutException e) {
+			logger.warn("Feedback " + feedbackUuid + " is still being created, refusing the duplicate.");
+			throw new ResourceAlreadyExists("Feedback", "UUID", feedbackUuid);
+		} catch (ExecutionException e) {
+			// the earlier attempt failed and was forgotten, this one gets its own try
+			return execute(feedbackUuid, requestHash, attempt);
+		}
+	}
+
+	private void forget(String feedbackUuid, String requestHash, CompletableFuture<FeedbackIngestionStatusDto> attempt,
+			Exception cause) {
+		if (!(cause instanceof IdempotencyKeyReusedException)) {
+			try {
+				// only the row of this body; a different body recorded first keeps its key
+				feedbackIdempotencyKeyRepository.release(feedbackUuid, requestHash);
+			} catch (RuntimeException e) {
+				logger.error("Could not release the idempotency key of feedback " + feedbackUuid + ".", e);
+			}
+		}
+		synchronized (this) {
+			Entry entry = entries.get(feedbackUuid);
+			if (entry != null && entry.outcome() == attempt) {
+				entries.remove(feedbackUuid);
+			}
+			attempt.completeExceptionally(cause);
+		}
+	}
+
+	private static FeedbackIngestionStatusDto writtenStatus(String feedbackUuid, Integer feedbackId) {
+		return new FeedbackIngestionStatusDto(feedbackUuid, FeedbackIngestionState.WRITTEN, feedbackId, null);
+	}
+}
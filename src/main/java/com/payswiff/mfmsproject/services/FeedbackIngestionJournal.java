@@ -0,0 +1,195 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+
+/**
+ * Local append-only journal of the feedback ingestion queue.
+ * <p>
+ * Every accepted submission is written as an {@code A <json>} line and forced to disk before
+ * the client is answered; once its transaction has committed a {@code D <uuid>} line marks it
+ * done. After a crash the accepted lines without a done line are the submissions that were
+ * still queued. The file is emptied whenever nothing is in flight.
+ * </p>
+ * <p>
+ * Forcing is group-committed: a caller whose line was already covered by another caller's
+ * force returns at once, so a burst of submissions shares a few fsyncs.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+class FeedbackIngestionJournal implements Closeable {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackIngestionJournal.class); // Logger initialization
+
+	private static final String ACCEPTED = "A ";
+	private static final String DONE = "D ";
+
+	private final Path path;
+	private final ObjectMapper objectMapper;
+	private final FileChannel channel;
+	private final Object forceLock = new Object(); // one force at a time
+
+	private long written; // lines appended, guarded by this
+	private long forced; // lines known to be on disk, guarded by forceLock
+
+	/**
+	 * Opens the journal, creating the file and its directory if needed.
+	 *
+	 * @param path         the journal file
+	 * @param objectMapper serializes the submissions
+	 * @throws IOException if the file cannot be opened
+	 */
+	FeedbackIngestionJournal(Path path, ObjectMapper objectMapper) throws IOException {
+		this.path = path;
+		this.objectMapper = objectMapper;
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Appends an accepted submission and returns once it is on disk.
+	 *
+	 * @param submission the accepted submission
+	 * @throws IOException if the line cannot be written or forced
+	 */
+	void appendAccepted(FeedbackSubmission submission) throws IOException {
+		String line = ACCEPTED + objectMapper.writeValueAsString(submission) + "\n";
+		long mine;
+		synchronized (this) {
+			write(line);
+			mine = ++written;
+		}
+		synchronized (forceLock) {
+			if (forced >= mine) {
+				return; // a force issued after our write has covered it
+			}
+			long upTo;
+			synchronized (this) {
+				upTo = written;
+			}
+			channel.force(false);
+			forced = upTo;
+		}
+	}
+
+	/**
+	 * Marks submissions as done. Not forced: a lost done line only makes the replay look
+	 * the feedback up in the database.
+	 *
+	 * @param feedbackUuids the UUIDs of the written or rejected submissions
+	 * @throws IOException if the lines cannot be written
+	 */
+	synchronized void appendDone(Collection<String> feedbackUuids) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (String uuid : feedbackUuids) {
+			lines.append(DONE).append(uuid).append('\n');
+		}
+		write(lines.toString());
+		written += feedbackUuids.size();
+	}
+
+	/**
+	 * Reads the submissions that were accepted but never marked done, in acceptance order.
+	 * A torn last line from a crash mid-write is skipped.
+	 *
+	 * @return the pending submissions
+	 * @throws IOException if the file cannot be read
+	 */
+	synchronized List<FeedbackSubmission> readPending() throws IOException {
+		Map<String, FeedbackSubmission> pending = new LinkedHashMap<>();
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			try {
+				if (line.startsWith(ACCEPTED)) {
+					FeedbackSubmission submission = objectMapper.readValue(line.substring(ACCEPTED.length()),
+							FeedbackSubmission.class);
+					pending.put(submission.getFeedbackUuid(), submission);
+				} else if (line.startsWith(DONE)) {
+					pending.remove(line.substring(DONE.length()).trim());
+				} else if (!line.isBlank()) {
+					logger.warn("Skipping unreadable ingestion journal line: " + line);
+				}
+			} catch (IOException e) {
+				logger.warn("Skipping unreadable ingestion journal line: " + e.getMessage());
+			}
+		}
+		return new ArrayList<>(pending.values());
+	}
+
+	/**
+	 * Replaces the content of the journal with the given submissions, forced to disk. Used on
+	 * startup, so new lines never follow a torn one.
+	 *
+	 * @param submissions the submissions still to be written
+	 * @throws IOException if the file cannot be rewritten
+	 */
+	synchronized void rewrite(List<FeedbackSubmission> submissions) throws IOException {
+		channel.truncate(0);
+		StringBuilder lines = new StringBuilder();
+		for (FeedbackSubmission submission : submissions) {
+			lines.append(ACCEPTED).append(objectMapper.writeValueAsString(submission)).append('\n');
+		}
+		write(lines.toString());
+		channel.force(true);
+		written += submissions.size();
+	}
+
+	/**
+	 * Empties the journal if nothing is in flight. The check runs under the append lock, so
+	 * no accepted line can be dropped.
+	 *
+	 * @param idle true when every accepted submission has been marked done
+	 * @return true if the journal was emptied
+	 * @throws IOException if the file cannot be truncated
+	 */
+	synchronized boolean truncateIfIdle(BooleanSupplier idle) throws IOException {
+		if (!idle.getAsBoolean() || channel.size() == 0) {
+			return false;
+		}
+		channel.truncate(0);
+		channel.force(true);
+		return true;
+	}
+
+	/**
+	 * @return true if the journal holds no lines
+	 * @throws IOException if the size cannot be read
+	 */
+	boolean isEmpty() throws IOException {
+		return channel.size() == 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void write(String text) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
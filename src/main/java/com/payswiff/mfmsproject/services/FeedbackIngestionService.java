@@ -0,0 +1,371 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.dtos.FeedbackIngestionStatusDto;
+import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+import com.payswiff.mfmsproject.exceptions.IngestionQueueFullException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+import com.payswiff.mfmsproject.models.FeedbackIngestionState;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
+import com.payswiff.mfmsproject.utils.BatchRetry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional write-behind path for feedback creation, for end-of-shift bursts.
+ * <p>
+ * With {@code mfms.feedback.ingest.queued=true} a submission is validated, written to a local
+ * journal and put in a bounded in-memory buffer; the caller gets its UUID at once. A single
+ * writer thread takes whatever has accumulated, up to the batch size, and inserts it with
+ * {@link FeedbackService#createFeedbacks} in one transaction. Request threads therefore only
+ * hold a database connection for the validation reads.
+ * </p>
+ * <p>
+ * When the buffer is full a submission waits for a free slot for a short time and is then
+ * refused, without being stored. If a batch fails, its submissions are retried one by one,
+ * so one bad submission does not hold back the others. A database outage is waited out.
+ * Submissions still in the journal when the application stops are replayed on the next
+ * start, skipping any that reached the database.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackIngestionService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackIngestionService.class); // Logger initialization
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private FeedbackIdempotencyService feedbackIdempotencyService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${mfms.feedback.ingest.queued:false}")
+	private boolean queued; // create feedbacks through the queue
+
+	@Value("${mfms.feedback.ingest.capacity:2000}")
+	private int capacity; // submissions the buffer holds
+
+	@Value("${mfms.feedback.ingest.batch-size:100}")
+	private int batchSize; // submissions per transaction
+
+	@Value("${mfms.feedback.ingest.offer-timeout-ms:2000}")
+	private long offerTimeoutMs; // wait for a free slot before refusing
+
+	@Value("${mfms.feedback.ingest.retry-delay-ms:5000}")
+	private long retryDelayMs; // pause after a failed database connection
+
+	@Value("${mfms.feedback.ingest.journal-path:./data/feedback-ingest.journal}")
+	private String journalPath;
+
+	@Value("${mfms.feedback.ingest.status-retention-ms:3600000}")
+	private long statusRetentionMs; // how long finished statuses are kept in memory
+
+	private ArrayBlockingQueue<FeedbackSubmission> buffer;
+	private Semaphore slots; // free places in the buffer, released once a submission is done
+	private final AtomicInteger inFlight = new AtomicInteger(); // journaled but not yet done
+	private final Map<String, StatusEntry> statuses = new ConcurrentHashMap<>();
+
+	private FeedbackIngestionJournal journal;
+	private Thread writer;
+	private volatile boolean running;
+
+	/**
+	 * A status and when it was last set.
+	 */
+	private record StatusEntry(FeedbackIngestionStatusDto status, long timeMillis) {
+	}
+
+	/**
+	 * @return true if feedback creation goes through the queue
+	 */
+	public boolean isEnabled() {
+		return queued;
+	}
+
+	/**
+	 * Opens the journal, replays what it still holds and starts the writer. Does nothing when
+	 * the queue is disabled and the journal is empty.
+	 *
+	 * @throws IOException if the journal cannot be opened or read
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() throws IOException {
+		buffer = new ArrayBlockingQueue<>(capacity);
+		slots = new Semaphore(capacity);
+		journal = new FeedbackIngestionJournal(Path.of(journalPath), objectMapper);
+		if (!queued && journal.isEmpty()) {
+			journal.close();
+			journal = null;
+			return;
+		}
+
+		List<FeedbackSubmission> pending = unwritten(journal.readPending());
+		journal.rewrite(pending);
+
+		running = true;
+		writer = new CustomizableThreadFactory("feedback-ingest-").newThread(this::runWriter);
+		writer.start();
+
+		for (FeedbackSubmission submission : pending) {
+			slots.acquireUninterruptibly(); // the writer frees slots while we replay
+			inFlight.incrementAndGet();
+			setStatus(submission.getFeedbackUuid(), FeedbackIngestionState.QUEUED, null, null);
+			buffer.add(submission);
+		}
+		logger.info("Feedback ingestion queue started (capacity " + capacity + ", batch " + batchSize + "), "
+				+ pending.size() + " journaled submission(s) replayed.");
+	}
+
+	/**
+	 * Stops accepting submissions and lets the writer drain the buffer for a while.
+	 * Submissions it does not get to stay in the journal for the next start.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		try {
+			writer.join(30000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			journal.close();
+		} catch (IOException e) {
+			logger.warn("Unable to close the feedback ingestion journal: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Validates a feedback and queues it for writing.
+	 *
+	 * @param feedbackRequest The request object containing feedback data.
+	 * @param questionAnswers The submitted answers.
+	 * @return The UUID the feedback will be written with.
+	 * @throws IngestionQueueFullException if no slot frees up in time.
+	 * @throws Exception                   the validation failures of
+	 *                                     {@link FeedbackService#validateFeedback}, or
+	 *                                     ResourceUnableToCreate if the journal cannot be written.
+	 */
+	public String submit(CreateFeedbackRequest feedbackRequest, List<FeedbackQuestionAnswerAssignDto> questionAnswers)
+			throws Exception {
+		return submit(feedbackRequest, questionAnswers, UUID.randomUUID().toString());
+	}
+
+	/**
+	 * Validates a feedback and queues it for writing under a UUID chosen by the caller.
+	 *
+	 * @param feedbackRequest The request object containing feedback data.
+	 * @param questionAnswers The submitted answers.
+	 * @param feedbackUuid    The UUID to write the feedback with.
+	 * @return The UUID the feedback will be written with.
+	 * @throws IngestionQueueFullException if no slot frees up in time.
+	 * @throws Exception                   as {@link #submit(CreateFeedbackRequest, List)}.
+	 */
+	public String submit(CreateFeedbackRequest feedbackRequest, List<FeedbackQuestionAnswerAssignDto> questionAnswers,
+			String feedbackUuid) throws Exception {
+		feedbackService.validateFeedback(feedbackRequest, questionAnswers);
+
+		if (!running || !slots.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+			logger.warn("Feedback ingestion queue is full, refusing submission of Employee ID: "
+					+ feedbackRequest.getFeedbackEmployeeId());
+			throw new IngestionQueueFullException(capacity, Math.max(1, retryDelayMs / 1000));
+		}
+
+		FeedbackSubmission submission = new FeedbackSubmission(feedbackUuid, feedbackRequest, questionAnswers);
+		inFlight.incrementAndGet();
+		try {
+			journal.appendAccepted(submission);
+		} catch (IOException e) {
+			inFlight.decrementAndGet();
+			slots.release();
+			logger.error("Unable to journal feedback submission " + submission.getFeedbackUuid(), e);
+			throw new ResourceUnableToCreate("Feedback", "UUID", submission.getFeedbackUuid());
+		}
+		setStatus(submission.getFeedbackUuid(), FeedbackIngestionState.QUEUED, null, null);
+		buffer.add(submission); // cannot fail, the slot was reserved
+		logger.info("Feedback " + submission.getFeedbackUuid() + " queued for Employee ID: "
+				+ feedbackRequest.getFeedbackEmployeeId());
+		return submission.getFeedbackUuid();
+	}
+
+	/**
+	 * Looks up a submission. Statuses are kept in memory for a while; older or unknown UUIDs
+	 * are looked up in the feedback table.
+	 *
+	 * @param feedbackUuid The UUID returned on acceptance.
+	 * @return The status of the submission.
+	 * @throws ResourceNotFoundException if the UUID is neither known nor written.
+	 */
+	public FeedbackIngestionStatusDto getStatus(String feedbackUuid) throws ResourceNotFoundException {
+		StatusEntry entry = statuses.get(feedbackUuid);
+		if (entry != null) {
+			return entry.status();
+		}
+		return feedbackRepository.findFeedbackIdByFeedbackUuid(feedbackUuid)
+				.map(id -> new FeedbackIngestionStatusDto(feedbackUuid, FeedbackIngestionState.WRITTEN, id, null))
+				.orElseThrow(() -> new ResourceNotFoundException("Feedback", "UUID", feedbackUuid));
+	}
+
+	/**
+	 * Forgets finished statuses older than the retention.
+	 */
+	@Scheduled(fixedDelayString = "${mfms.feedback.ingest.status-retention-ms:3600000}")
+	public void evictStatuses() {
+		long oldest = System.currentTimeMillis() - statusRetentionMs;
+		statuses.values().removeIf(entry -> entry.status().getStatus() != FeedbackIngestionState.QUEUED
+				&& entry.timeMillis() < oldest);
+	}
+
+	private void runWriter() {
+		List<FeedbackSubmission> batch = new ArrayList<>(batchSize);
+		while (running || !buffer.isEmpty()) {
+			try {
+				FeedbackSubmission first = buffer.poll(500, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				buffer.drainTo(batch, batchSize - 1);
+				if (write(batch)) {
+					finish(batch);
+				} else {
+					return; // stopped while the database was down; the journal keeps the rest
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				logger.error("Unexpected error in the feedback ingestion writer.", e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Writes a batch in one transaction, or one by one if the batch is rejected.
+	 *
+	 * @return false if the writer was stopped before the batch could be written
+	 */
+	private boolean write(List<FeedbackSubmission> batch) throws InterruptedException {
+		while (true) {
+			try {
+				List<Integer> ids = feedbackService.createFeedbacks(batch);
+				for (int i = 0; i < batch.size(); i++) {
+					setStatus(batch.get(i).getFeedbackUuid(), FeedbackIngestionState.WRITTEN, ids.get(i), null);
+				}
+				logger.info("Feedback ingestion wrote a batch of " + batch.size() + ".");
+				return true;
+			} catch (Exception e) {
+				if (BatchRetry.isTransient(e)) {
+					if (!awaitRetry(e)) {
+						return false;
+					}
+				} else if (batch.size() > 1) {
+					logger.warn("Feedback batch of " + batch.size() + " rejected, writing one by one: "
+							+ e.getMessage());
+					for (FeedbackSubmission submission : batch) {
+						if (!write(List.of(submission))) {
+							return false;
+						}
+					}
+					return true;
+				} else {
+					String uuid = batch.get(0).getFeedbackUuid();
+					logger.error("Feedback " + uuid + " could not be written: " + e.getMessage());
+					setStatus(uuid, FeedbackIngestionState.FAILED, null, e.getMessage());
+					feedbackIdempotencyService.release(uuid); // its key may be sent again
+					return true;
+				}
+			}
+		}
+	}
+
+	private boolean awaitRetry(Exception e) throws InterruptedException {
+		if (!running) {
+			return false;
+		}
+		logger.warn("Feedback ingestion cannot reach the database, retrying in " + retryDelayMs + " ms: "
+				+ e.getMessage());
+		Thread.sleep(retryDelayMs);
+		return true;
+	}
+
+	private void finish(List<FeedbackSubmission> batch) throws IOException {
+		List<String> uuids = new ArrayList<>(batch.size());
+		for (FeedbackSubmission submission : batch) {
+			uuids.add(submission.getFeedbackUuid());
+		}
+		try {
+			journal.appendDone(uuids);
+		} finally {
+			// the batch is in the database either way; a replay skips it by UUID
+			inFlight.addAndGet(-batch.size());
+			slots.release(batch.size());
+		}
+		journal.truncateIfIdle(() -> inFlight.get() == 0);
+	}
+
+	private List<FeedbackSubmission> unwritten(List<FeedbackSubmission> journaled) {
+		if (journaled.isEmpty()) {
+			return journaled;
+		}
+		Set<String> written = new HashSet<>();
+		for (int from = 0; from < journaled.size(); from += batchSize) {
+			List<String> uuids = journaled.subList(from, Math.min(journaled.size(), from + batchSize)).stream()
+					.map(FeedbackSubmission::getFeedbackUuid).toList();
+			written.addAll(feedbackRepository.findExistingFeedbackUuids(uuids));
+		}
+		List<FeedbackSubmission> pending = new ArrayList<>(journaled.size());
+		for (FeedbackSubmission submission : journaled) {
+			if (!written.contains(submission.getFeedbackUuid())) {
+				pending.add(submission);
+			}
+		}
+		return pending;
+	}
+
+	private void setStatus(String feedbackUuid, FeedbackIngestionState state, Integer feedbackId, String message) {
+		statuses.put(feedbackUuid, new StatusEntry(new FeedbackIngestionStatusDto(feedbackUuid, state, feedbackId,
+				message), System.currentTimeMillis()));
+	}
+}
@@ -3,25 +3,44 @@ package com.payswiff.mfmsproject.services;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.modelmapper.ModelMapper;
+import com.payswiff.mfmsproject.dtos.FeedbackAnswersDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionDTO;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackAnswers;
 import com.payswiff.mfmsproject.models.FeedbackQuestionsAssociation;
 import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.FeedbackAnswersRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackQueryRepository;
 import com.payswiff.mfmsproject.repositories.FeedbackQuestionsAssociationRepository;
 import com.payswiff.mfmsproject.repositories.FeedbackRepository;
 import com.payswiff.mfmsproject.repositories.QuestionRepository;
+import com.payswiff.mfmsproject.utils.AnswerVector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service class to handle operations related to Feedback-Question Associations.
+ * <p>
+ * The answers of new feedbacks are stored as one {@link FeedbackAnswers} row holding an
+ * answer vector over the {@link AnswerDictionary}. Feedbacks written before that change keep
+ * their {@link FeedbackQuestionsAssociation} rows until {@code FeedbackAnswerMigrationService}
+ * converts them; reads look at both.
+ * </p>
  * @author Chatla Sarika
  * @version MFMS_0.0.1
  */
@@ -34,15 +53,29 @@ public class FeedbackQuestionsAssociationService {
     private final FeedbackQuestionsAssociationRepository associationRepository;
     private final FeedbackRepository feedbackRepository;
     private final QuestionRepository questionRepository;
+    private final FeedbackAnswersRepository feedbackAnswersRepository;
+    private final AnswerDictionary answerDictionary;
+    private final QuestionCatalog questionCatalog;
+    private final FeedbackQueryRepository feedbackQueryRepository;
+
+    static final int MAX_BATCH_SIZE = 200; // upper bound for one batch lookup of answers
 
     @Autowired
     public FeedbackQuestionsAssociationService(
             FeedbackQuestionsAssociationRepository associationRepository,
             FeedbackRepository feedbackRepository,
-            QuestionRepository questionRepository) {
+            QuestionRepository questionRepository,
+            FeedbackAnswersRepository feedbackAnswersRepository,
+            AnswerDictionary answerDictionary,
+            QuestionCatalog questionCatalog,
+            FeedbackQueryRepository feedbackQueryRepository) {
         this.associationRepository = associationRepository;
         this.feedbackRepository = feedbackRepository;
         this.questionRepository = questionRepository;
+        this.feedbackAnswersRepository = feedbackAnswersRepository;
+        this.answerDictionary = answerDictionary;
+        this.questionCatalog = questionCatalog;
+        this.feedbackQueryRepository = feedbackQueryRepository;
     }
 
     /**
@@ -106,6 +139,47 @@ public class FeedbackQuestionsAssociationService {
         }
     }
 
+    /**
+     * Stores the answers of a new feedback as one compact row: every given question with the
+     * dictionary ID of its answer, or "No answer provided" when the feedback has none.
+     *
+     * @param feedback  The (already persisted, managed) feedback the answers belong to.
+     * @param questions The questions of the catalog, ascending by ID.
+     * @param answers   The submitted answers by question ID.
+     * @return The saved row.
+     * @throws ResourceUnableToCreate if an answer is empty or the row cannot be written.
+     */
+    public FeedbackAnswers saveAnswers(Feedback feedback, List<Question> questions, Map<Long, String> answers)
+            throws ResourceUnableToCreate {
+
+        if (feedback == null || questions == null || answers == null) {
+            logger.error("Feedback, questions or answers are null.");
+            throw new ResourceUnableToCreate("FeedbackAnswers", "Feedback, questions and answers cannot be null", "Null");
+        }
+
+        long[] questionIds = new long[questions.size()];
+        int[] answerIds = new int[questions.size()];
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            String answer = answers.getOrDefault(question.getQuestionId(), AnswerDictionary.NO_ANSWER);
+            if (answer == null || answer.trim().isEmpty()) {
+                logger.error("Answer is null or empty for question ID: " + question.getQuestionId());
+                throw new ResourceUnableToCreate("FeedbackAnswers", "Answer cannot be null or empty", "Null or Empty");
+            }
+            questionIds[i] = question.getQuestionId();
+            answerIds[i] = answerDictionary.idOf(answer);
+        }
+
+        try {
+            logger.info("Saving " + questions.size() + " answers for feedback ID: " + feedback.getFeedbackId());
+            return feedbackAnswersRepository.save(
+                    new FeedbackAnswers(feedback, new AnswerVector(questionIds, answerIds).encode()));
+        } catch (Exception e) {
+            logger.error("Error occurred while saving the answers of feedback ID: " + feedback.getFeedbackId(), e);
+            throw new ResourceUnableToCreate("FeedbackAnswers", "feedback and question", "internal error");
+        }
+    }
+
     /**
      * Retrieves a list of FeedbackQuestionDTOs by feedback ID.
      *
@@ -129,7 +203,13 @@ public class FeedbackQuestionsAssociationService {
         
         logger.info("Found feedback with ID: " + feedbackId);
 
-        // Fetch associations using the feedback object
+        // Compact row of the feedback, if it has one
+        Optional<FeedbackAnswers> compact = feedbackAnswersRepository.findById(feedbackId);
+        if (compact.isPresent()) {
+            return toDtos(AnswerVector.decode(compact.get().getAnswers()));
+        }
+
+        // Not migrated yet: fetch associations using the feedback object
         List<FeedbackQuestionsAssociation> associations = associationRepository.findByFeedback(feedback);
 
         if (associations.isEmpty()) {
@@ -146,4 +226,107 @@ public class FeedbackQuestionsAssociationService {
                         association.getAnswer()))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Retrieves the answers of several feedbacks at once.
+     * <p>
+     * The compact rows and the association rows of not yet migrated feedbacks are read with
+     * one IN-list query, without loading any entity; question descriptions come from the
+     * question catalog and all answer texts from one dictionary lookup.
+     * </p>
+     *
+     * @param feedbackIds The feedback IDs, at most {@value #MAX_BATCH_SIZE}; repeated IDs are
+     *                    answered once.
+     * @return The answers grouped by feedback, in the order of the IDs. Feedbacks that do not
+     *         exist are left out; a feedback without answers has an empty list.
+     * @throws InvalidRequestParameterException if the list is empty, too long or contains null.
+     */
+    public List<FeedbackAnswersDto> getFeedbackQuestionsByFeedbackIds(List<Integer> feedbackIds)
+            throws InvalidRequestParameterException {
+
+        if (feedbackIds == null || feedbackIds.isEmpty() || feedbackIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestParameterException("ids", String.valueOf(feedbackIds),
+                    "must list at least one feedback ID");
+        }
+        Set<Integer> ids = new LinkedHashSet<>(feedbackIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestParameterException("ids", ids.size() + " IDs",
+                    "must list at most " + MAX_BATCH_SIZE + " feedback IDs");
+        }
+
+        // One query for every feedback; a missing feedback has no row
+        Map<Integer, AnswerVector> vectors = new HashMap<>();
+        Map<Integer, List<FeedbackQuestionDTO>> answersById = new HashMap<>();
+        QuestionCatalog.Snapshot questions = questionCatalog.current();
+        for (FeedbackQueryRepository.AnswerRow row : feedbackQueryRepository.findAnswerRows(ids)) {
+            List<FeedbackQuestionDTO> answers = answersById.computeIfAbsent(row.feedbackId(), id -> new ArrayList<>());
+            if (row.answers() != null) {
+                vectors.put(row.feedbackId(), AnswerVector.decode(row.answers()));
+            } else if (row.questionId() != null) {
+                answers.add(new FeedbackQuestionDTO(row.questionId(), descriptionOf(questions, row.questionId()),
+                        row.answer()));
+            }
+        }
+
+        // The answer texts of all compact rows in one lookup
+        Set<Integer> answerIds = new HashSet<>();
+        for (AnswerVector vector : vectors.values()) {
+            for (int i = 0; i < vector.size(); i++) {
+                answerIds.add(vector.answerId(i));
+            }
+        }
+        Map<Integer, String> texts = answerIds.isEmpty() ? Map.of() : answerDictionary.textsOf(answerIds);
+        for (Map.Entry<Integer, AnswerVector> entry : vectors.entrySet()) {
+            AnswerVector vector = entry.getValue();
+            List<FeedbackQuestionDTO> answers = answersById.get(entry.getKey());
+            for (int i = 0; i < vector.size(); i++) {
+                long questionId = vector.questionId(i);
+                answers.add(new FeedbackQuestionDTO(questionId, descriptionOf(questions, questionId),
+                        texts.get(vector.answerId(i))));
+            }
+        }
+
+        List<FeedbackAnswersDto> result = new ArrayList<>(answersById.size());
+        for (Integer id : ids) {
+            List<FeedbackQuestionDTO> answers = answersById.get(id);
+            if (answers != null) {
+                result.add(new FeedbackAnswersDto(id, answers));
+            }
+        }
+        logger.info("Retrieved the answers of " + result.size() + " of " + ids.size() + " feedbacks.");
+        return result;
+    }
+
+    /**
+     * Rebuilds the DTOs of an answer vector, in question order. Descriptions come from the
+     * question catalog; a question no longer in it is read from the table.
+     */
+    private List<FeedbackQuestionDTO> toDtos(AnswerVector vector) {
+        List<Integer> answerIds = new ArrayList<>(vector.size());
+        for (int i = 0; i < vector.size(); i++) {
+            answerIds.add(vector.answerId(i));
+        }
+        Map<Integer, String> texts = answerDictionary.textsOf(answerIds);
+
+        QuestionCatalog.Snapshot questions = questionCatalog.current();
+        List<FeedbackQuestionDTO> dtos = new ArrayList<>(vector.size());
+        for (int i = 0; i < vector.size(); i++) {
+            long questionId = vector.questionId(i);
+            dtos.add(new FeedbackQuestionDTO(questionId, descriptionOf(questions, questionId),
+                    texts.get(vector.answerId(i))));
+        }
+        logger.info("Decoded " + dtos.size() + " answers from the compact row.");
+        return dtos;
+    }
+
+    /**
+     * Returns the description of a question from the catalog; a question no longer in it is
+     * read from the table.
+     */
+    private String descriptionOf(QuestionCatalog.Snapshot questions, long questionId) {
+        return questions.findById(questionId)
+                .or(() -> questionRepository.findById(questionId))
+                .map(Question::getQuestionDescription)
+                .orElse(null);
+    }
 }
@@ -0,0 +1,219 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRollupRepository;
+import com.payswiff.mfmsproject.utils.CounterTable;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Maintains the per employee, device and merchant feedback rollups.
+ * <p>
+ * {@link #record(Feedback)} adds a new feedback to its three rollup rows inside the
+ * transaction that inserts it, so the rollups commit or roll back with the feedback. The
+ * three relative UPDATEs go to the database as one batch, always in the same order; a row
+ * that does not exist yet is inserted in the same transaction. See {@link CounterTable}.
+ * </p>
+ * <p>
+ * {@link #reconcile()} corrects every row from the {@code feedback} table. It reads the
+ * source aggregate and the rollup rows in one snapshot without locking them, and then
+ * only adds the difference to the rows that drifted. Since a feedback and its increments
+ * commit together, both reads agree on which feedbacks exist, and feedbacks committed
+ * meanwhile keep their increments. The nightly run starts on every instance, but only one
+ * at a time reconciles the table; the others skip it.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackRollupService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackRollupService.class); // Logger initialization
+
+	@Autowired
+	private FeedbackRollupRepository feedbackRollupRepository;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private CounterTable<Key> counters; // the feedback_rollup rows
+
+	/**
+	 * The identity of one rollup row.
+	 */
+	record Key(FeedbackRollupScope scope, long key) implements Comparable<Key> {
+
+		private static final Comparator<Key> ORDER = Comparator.comparing(Key::scope).thenComparingLong(Key::key);
+
+		@Override
+		public int compareTo(Key other) {
+			return ORDER.compare(this, other);
+		}
+	}
+
+	/**
+	 * Prepares the counter table.
+	 */
+	@PostConstruct
+	public void init() {
+		counters = new CounterTable<>(jdbcTemplate, transactionManager, "feedback_rollup",
+				List.of("rollup_scope", "rollup_key"),
+				List.of("feedback_count", "rating_1_count", "rating_2_count", "rating_3_count", "rating_4_count",
+						"rating_5_count"),
+				List.of("rating_sum"), "rollup_updation_time") {
+
+			@Override
+			protected Object[] keyParams(Key key) {
+				return new Object[] { key.scope().name(), key.key() };
+			}
+
+			@Override
+			protected Key readKey(ResultSet rs) throws SQLException {
+				return new Key(FeedbackRollupScope.valueOf(rs.getString(1)), rs.getLong(2));
+			}
+		};
+	}
+
+	/**
+	 * Builds the rollups from source on the first start, when the table is still empty.
+	 * Instances starting together may all find it empty; the build runs under the
+	 * reconciliation lock, so the others skip it or find nothing left to correct.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void initializeIfEmpty() {
+		if (feedbackRollupRepository.count() == 0) {
+			logger.info("Feedback rollups are empty, building them from source.");
+			reconcile();
+		}
+	}
+
+	/**
+	 * Adds a saved feedback to the rollups of its employee, device and merchant. Must be
+	 * called in the transaction that inserts the feedback.
+	 *
+	 * @param feedback The saved feedback.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(Feedback feedback) {
+		record(List.of(feedback));
+	}
+
+	/**
+	 * Adds a batch of saved feedbacks to the rollups, summed per row, with one batched write.
+	 * Must be called in the transaction that inserts the feedbacks.
+	 *
+	 * @param feedbacks The saved feedbacks.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(List<Feedback> feedbacks) {
+		CounterTable<Key>.Deltas deltas = counters.deltas();
+		for (Feedback feedback : feedbacks) {
+			double[] delta = delta(feedback.getFeedbackRating());
+			deltas.add(new Key(FeedbackRollupScope.EMPLOYEE, feedback.getFeedbackEmployee().getEmployeeId()), delta)
+					.add(new Key(FeedbackRollupScope.DEVICE, feedback.getFeedbackDevice().getDeviceId()), delta)
+					.add(new Key(FeedbackRollupScope.MERCHANT, feedback.getFeedbackMerchant().getMerchantId()), delta);
+		}
+		counters.apply(deltas);
+	}
+
+	/**
+	 * Returns the rollups of a scope that have at least one feedback, ordered by key.
+	 *
+	 * @param scope Employee, device or merchant.
+	 * @return The rollup rows.
+	 */
+	public List<FeedbackRollup> getRollups(FeedbackRollupScope scope) {
+		return feedbackRollupRepository.findByRollupScopeAndFeedbackCountGreaterThanOrderByRollupKey(scope, 0);
+	}
+
+	/**
+	 * Corrects every rollup row from the {@code feedback} table, one scope per transaction.
+	 * Stops when another instance is reconciling the rollups.
+	 */
+	@Scheduled(cron = "${mfms.feedback.rollup.reconcile-cron:0 15 3 * * *}")
+	public void reconcile() {
+		for (FeedbackRollupScope scope : FeedbackRollupScope.values()) {
+			int corrected = counters.reconcile(() -> rollupSource(scope), "rollup_scope = ?", scope.name());
+			if (corrected == CounterTable.SKIPPED) {
+				return; // another instance is reconciling the rollups
+			}
+			logger.info("Reconciled " + scope + " feedback rollups, " + corrected + " row(s) corrected.");
+		}
+	}
+
+	/**
+	 * Maps a rating to its histogram bucket: the nearest whole star, clamped to 1..5.
+	 *
+	 * @param rating The rating, may be null.
+	 * @return The bucket, 0 for no rating.
+	 */
+	static int bucketOf(Double rating) {
+		if (rating == null) {
+			return 0;
+		}
+		return (int) Math.max(1, Math.min(5, Math.round(rating)));
+	}
+
+	/**
+	 * @return the values of one feedback: its count, its histogram bucket and its rating
+	 */
+	private static double[] delta(Double rating) {
+		double[] delta = new double[7];
+		delta[0] = 1;
+		int bucket = bucketOf(rating);
+		if (bucket > 0) {
+			delta[bucket] = 1;
+		}
+		delta[6] = rating == null ? 0 : rating;
+		return delta;
+	}
+
+	private Map<Key, double[]> rollupSource(FeedbackRollupScope scope) {
+		// (key, count, sum, five bucket counts) per employee, device or merchant
+		List<Object[]> rows = switch (scope) {
+		case EMPLOYEE -> feedbackRepository.rollupByEmployee();
+		case DEVICE -> feedbackRepository.rollupByDevice();
+		case MERCHANT -> feedbackRepository.rollupByMerchant();
+		};
+		Map<Key, double[]> source = new HashMap<>();
+		for (Object[] row : rows) {
+			double[] values = new double[7];
+			values[0] = ((Number) row[1]).doubleValue();
+			for (int i = 0; i < 5; i++) {
+				values[1 + i] = row[3 + i] == null ? 0 : ((Number) row[3 + i]).doubleValue();
+			}
+			values[6] = row[2] == null ? 0 : ((Number) row[2]).doubleValue();
+			source.put(new Key(scope, ((Number) row[0]).longValue()), values);
+		}
+		return source;
+	}
+}
@@ -0,0 +1,149 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.utils.FeedbackTextIndex;
+import com.payswiff.mfmsproject.utils.RebuiltIndex;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory full-text index over the {@code feedback} text of every feedback.
+ * <p>
+ * Holds one {@link FeedbackTextIndex} in a {@link RebuiltIndex}. It is loaded once at
+ * startup with a streaming JDBC scan of {@code feedback} and kept current by
+ * {@link #record(Feedback)}, which adds a feedback once its transaction commits. A periodic
+ * rebuild picks up feedbacks written by other instances. Searches take the read lock and
+ * never touch the database; before the startup load has completed they fail with
+ * {@link IndexNotLoadedException}.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Component
+public class FeedbackSearchEngine {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackSearchEngine.class); // Logger initialization
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${mfms.feedback.stream-fetch-size:-2147483648}")
+	private int streamFetchSize; // MySQL Connector/J only streams with Integer.MIN_VALUE
+
+	private JdbcTemplate streamingJdbcTemplate;
+
+	private final RebuiltIndex<FeedbackTextIndex, Document> index = new RebuiltIndex<>("Feedback search results") {
+
+		@Override
+		protected FeedbackTextIndex empty() {
+			return new FeedbackTextIndex();
+		}
+
+		@Override
+		protected void scan(RowCallbackHandler handler) {
+			streamingJdbcTemplate.query("SELECT feedback_id, feedback_employee_id, feedback_device_id, "
+					+ "feedback_merchant_id, feedback, feedback_creation_time FROM feedback", handler);
+		}
+
+		@Override
+		protected Document read(ResultSet rs) throws SQLException {
+			return new Document(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getString(5));
+		}
+
+		@Override
+		protected int feedbackId(Document document) {
+			return document.feedbackId();
+		}
+
+		@Override
+		protected void add(FeedbackTextIndex target, Document document) {
+			target.add(document.feedbackId(), document.employeeId(), document.deviceId(), document.merchantId(),
+					document.text());
+		}
+	};
+
+	/**
+	 * The indexed fields of one committed feedback.
+	 */
+	record Document(int feedbackId, long employeeId, long deviceId, long merchantId, String text) {
+	}
+
+	/**
+	 * Prepares the streaming template.
+	 */
+	@PostConstruct
+	public void init() {
+		streamingJdbcTemplate = new JdbcTemplate(dataSource);
+		streamingJdbcTemplate.setFetchSize(streamFetchSize);
+	}
+
+	/**
+	 * Loads the index once the application has started.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the index from the database and swaps it in.
+	 */
+	@Scheduled(fixedDelayString = "${mfms.feedback.search.refresh-ms:900000}",
+			initialDelayString = "${mfms.feedback.search.refresh-ms:900000}")
+	public void rebuild() {
+		FeedbackTextIndex scanned = index.rebuild();
+		logger.info("Feedback search index loaded: " + scanned.size() + " feedbacks, " + scanned.terms() + " terms.");
+	}
+
+	/**
+	 * Adds a saved feedback to the index once its transaction commits, or at once when there
+	 * is no transaction.
+	 *
+	 * @param feedback The saved feedback.
+	 */
+	public void record(Feedback feedback) {
+		index.addAfterCommit(new Document(feedback.getFeedbackId(), feedback.getFeedbackEmployee().getEmployeeId(),
+				feedback.getFeedbackDevice().getDeviceId(), feedback.getFeedbackMerchant().getMerchantId(),
+				feedback.getFeedback()));
+	}
+
+	/**
+	 * Finds the feedbacks whose text best matches a query.
+	 *
+	 * @param query      Free text.
+	 * @param employeeId Only feedbacks of this employee, null for any.
+	 * @param deviceId   Only feedbacks about this device, null for any.
+	 * @param merchantId Only feedbacks about this merchant, null for any.
+	 * @param limit      The maximum number of results.
+	 * @return The matches, best first.
+	 * @throws IndexNotLoadedException if the index is still loading.
+	 */
+	public List<FeedbackTextIndex.Hit> search(String query, Long employeeId, Long deviceId, Long merchantId,
+			int limit) {
+		return index.read(texts -> texts.search(query, idOrAny(employeeId), idOrAny(deviceId), idOrAny(merchantId),
+				limit));
+	}
+
+	private static long idOrAny(Long id) {
+		return id == null ? 0 : id;
+	}
+}
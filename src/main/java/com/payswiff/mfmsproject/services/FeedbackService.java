@@ -1,18 +1,25 @@
 package com.payswiff.mfmsproject.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackAnswers;
 import com.payswiff.mfmsproject.models.Employee;
 import com.payswiff.mfmsproject.models.Device;
 import com.payswiff.mfmsproject.models.Merchant;
 import com.payswiff.mfmsproject.models.Question; // Import the Question model
-import com.payswiff.mfmsproject.models.FeedbackQuestionsAssociation; // Import the association model
+import com.payswiff.mfmsproject.models.FeedbackRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.repositories.FeedbackQueryRepository;
 import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRollupRepository;
 import com.payswiff.mfmsproject.repositories.EmployeeRepository;
 import com.payswiff.mfmsproject.repositories.DeviceRepository;
 import com.payswiff.mfmsproject.repositories.MerchantRepository;
@@ -20,20 +27,35 @@ import com.payswiff.mfmsproject.repositories.QuestionRepository; // Import the Q
 import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
 import com.payswiff.mfmsproject.dtos.AverageRatingResponseDTO;
 import com.payswiff.mfmsproject.dtos.DeviceFeedbackCountDTO;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateAuditDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateDto;
 import com.payswiff.mfmsproject.dtos.EmailSendDto;
 import com.payswiff.mfmsproject.dtos.EmployeeFeedbackCountDto;
+import com.payswiff.mfmsproject.dtos.FeedbackFilter;
+import com.payswiff.mfmsproject.dtos.FeedbackPageDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSearchHitDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+import com.payswiff.mfmsproject.dtos.FeedbackSummaryDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.MerchantDeviceNotAssignedException;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
-import com.payswiff.mfmsproject.exceptions.UnableSentEmail;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+import com.payswiff.mfmsproject.utils.FeedbackCursor;
+import com.payswiff.mfmsproject.utils.FeedbackTextIndex;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -66,6 +88,9 @@ public class FeedbackService {
 	@Autowired
 	private QuestionRepository questionRepository; // Inject Question repository
 
+	@Autowired
+	private QuestionCatalog questionCatalog; // In-memory snapshot of the questions
+
 	@Autowired
 	private EmployeeService employeeService;
 
@@ -82,10 +107,50 @@ public class FeedbackService {
 	private MerchantDeviceAssociationService merchantDeviceAssociationService;
 
 	@Autowired
-	private EmailService emailService;
+	private EmailOutboxService emailOutboxService; // Mails are queued, the outbox dispatcher sends them
+
+	@Autowired
+	private FeedbackQueryRepository feedbackQueryRepository; // JDBC listings without entity loading
+
+	@Autowired
+	private FeedbackRollupService feedbackRollupService; // Pre-aggregated counts and ratings for the analytics
+
+	@Autowired
+	private FeedbackRollupRepository feedbackRollupRepository; // Employee report joins the rollups with employees
+
+	@Autowired
+	private FeedbackTrendService feedbackTrendService; // Per day rollups behind the trend series
+
+	@Autowired
+	private AnswerDistributionService answerDistributionService; // Per-question answer counters
+
+	@Autowired
+	private RatingDistributionEngine ratingDistributionEngine; // In-memory rating histograms
+
+	@Autowired
+	private FeedbackSearchEngine feedbackSearchEngine; // In-memory full-text index
+
+	@Autowired
+	private FeedbackDuplicateDetector feedbackDuplicateDetector; // Near-duplicate texts
+
+	static final int DEFAULT_PAGE_SIZE = 50; // feedbacks per page when the client does not ask
+	static final int MAX_PAGE_SIZE = 500; // upper bound for a single page
+	static final int DEFAULT_SEARCH_LIMIT = 20; // search results when the client does not ask
+	static final int MAX_SEARCH_LIMIT = 100; // upper bound for one search
+	static final int DEFAULT_DUPLICATE_LIMIT = 100; // duplicates listed when the client does not ask
+	static final int MAX_DUPLICATE_LIMIT = 1000; // upper bound for one duplicate listing
 
 	/**
 	 * Method to create feedback if all associated entities are available.
+	 * <p>
+	 * Runs in one transaction: the employee, merchant and device are read once
+	 * (the association check reuses them from the persistence context), the
+	 * feedback is inserted once and all its answers go into one compact row.
+	 * The success email is written to the outbox in the same transaction,
+	 * so the response never waits on SMTP. Validation and association failures
+	 * roll the whole write back; the failure email is queued on its own so it
+	 * survives that rollback.
+	 * </p>
 	 *
 	 * @param feedbackRequest The request object containing feedback data.
 	 * @param questionAnswers List of feedback question answers to associate with
@@ -93,78 +158,175 @@ public class FeedbackService {
 	 * @return true if feedback creation is successful.
 	 * @throws Exception
 	 */
+	@Transactional(rollbackFor = { ResourceNotFoundException.class, MerchantDeviceNotAssignedException.class,
+			ResourceUnableToCreate.class })
 	public boolean createFeedback(CreateFeedbackRequest feedbackRequest,
 			List<FeedbackQuestionAnswerAssignDto> questionAnswers) throws Exception {
 
-		try {
-			logger.info("Creating feedback for Employee ID: " + feedbackRequest.getFeedbackEmployeeId()
-					+ ", Merchant ID: " + feedbackRequest.getFeedbackMerchantId() + ", Device ID: "
-					+ feedbackRequest.getFeedbackDeviceId());
+		createFeedback(feedbackRequest, questionAnswers, UUID.randomUUID().toString());
+		return true;
+	}
 
-// Check if the employee exists
-			Optional<Employee> employeeOptional = employeeRepository.findById(feedbackRequest.getFeedbackEmployeeId());
-			if (employeeOptional.isEmpty()) {
-				logger.error("Employee not found with ID: " + feedbackRequest.getFeedbackEmployeeId());
-				throw new ResourceNotFoundException("Employee", "ID",
-						feedbackRequest.getFeedbackEmployeeId().toString());
-			}
-			Employee employee = employeeOptional.get();
-			logger.info("Found employee: " + employee.getEmployeeId());
+	/**
+	 * Creates a feedback under a UUID chosen by the caller, as {@link #createFeedback(CreateFeedbackRequest, List)}
+	 * does. Used for idempotent submissions: a second insert with the same UUID
+	 * fails on the unique {@code feedback_uuid} column when the transaction commits.
+	 *
+	 * @param feedbackRequest The request object containing feedback data.
+	 * @param questionAnswers List of feedback question answers to associate with
+	 *                        the feedback.
+	 * @param feedbackUuid    The UUID to write the feedback with.
+	 * @return The ID of the created feedback.
+	 * @throws Exception ResourceNotFoundException or MerchantDeviceNotAssignedException
+	 *                   if the submission is rejected.
+	 */
+	@Transactional(rollbackFor = { ResourceNotFoundException.class, MerchantDeviceNotAssignedException.class,
+			ResourceUnableToCreate.class })
+	public Integer createFeedback(CreateFeedbackRequest feedbackRequest,
+			List<FeedbackQuestionAnswerAssignDto> questionAnswers, String feedbackUuid) throws Exception {
+
+		CheckedFeedback checked = checkOrNotify(feedbackRequest, questionAnswers);
+		Inserted inserted = insertFeedback(checked, feedbackRequest, questionAnswers, feedbackUuid);
+		recordCounters(List.of(inserted));
+		return inserted.feedback().getFeedbackId();
+	}
 
-// Check if the merchant exists
-			Optional<Merchant> merchantOptional = merchantRepository.findById(feedbackRequest.getFeedbackMerchantId());
-			if (merchantOptional.isEmpty()) {
-				logger.error("Merchant not found with ID: " + feedbackRequest.getFeedbackMerchantId());
-				throw new ResourceNotFoundException("Merchant", "ID",
-						feedbackRequest.getFeedbackMerchantId().toString());
-			}
-			Merchant merchant = merchantOptional.get();
-			logger.info("Found merchant: " + merchant.getMerchantId());
+	/**
+	 * Validates a feedback submission without writing it: the employee, merchant
+	 * and device must exist, the device must be assigned to the merchant and every
+	 * question must be in the catalog. A failure queues the same failure email as
+	 * {@link #createFeedback}.
+	 *
+	 * @param feedbackRequest The request object containing feedback data.
+	 * @param questionAnswers The submitted answers.
+	 * @throws Exception ResourceNotFoundException or MerchantDeviceNotAssignedException
+	 *                   if the submission is rejected.
+	 */
+	public void validateFeedback(CreateFeedbackRequest feedbackRequest,
+			List<FeedbackQuestionAnswerAssignDto> questionAnswers) throws Exception {
+		checkOrNotify(feedbackRequest, questionAnswers);
+	}
 
-// Check if the device exists
-			Optional<Device> deviceOptional = deviceRepository.findById(feedbackRequest.getFeedbackDeviceId());
-			if (deviceOptional.isEmpty()) {
-				logger.error("Device not found with ID: " + feedbackRequest.getFeedbackDeviceId());
-				throw new ResourceNotFoundException("Device", "ID", feedbackRequest.getFeedbackDeviceId().toString());
+	/**
+	 * Inserts a batch of accepted submissions in one transaction, each with the UUID
+	 * it was accepted under. The employees, merchants and devices of the whole batch
+	 * are read with one query each, and the counters of all its feedbacks are written
+	 * together. A submission that no longer passes validation rolls the whole batch back.
+	 *
+	 * @param submissions The submissions, in the order they were accepted.
+	 * @return The IDs of the inserted feedbacks, in the same order.
+	 * @throws Exception if any submission cannot be written.
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public List<Integer> createFeedbacks(List<FeedbackSubmission> submissions) throws Exception {
+		Map<Long, Employee> employees = new HashMap<>();
+		employeeRepository.findAllById(submissions.stream().map(FeedbackSubmission::getFeedbackEmployeeId)
+				.collect(Collectors.toSet())).forEach(e -> employees.put(e.getEmployeeId(), e));
+		Map<Long, Merchant> merchants = new HashMap<>();
+		merchantRepository.findAllById(submissions.stream().map(FeedbackSubmission::getFeedbackMerchantId)
+				.collect(Collectors.toSet())).forEach(m -> merchants.put(m.getMerchantId(), m));
+		Map<Long, Device> devices = new HashMap<>();
+		deviceRepository.findAllById(submissions.stream().map(FeedbackSubmission::getFeedbackDeviceId)
+				.collect(Collectors.toSet())).forEach(d -> devices.put(d.getDeviceId(), d));
+		QuestionCatalog.Snapshot questions = questionCatalog.current();
+
+		List<CheckedSubmission> checked = new ArrayList<>(submissions.size());
+		Set<List<Long>> associated = new HashSet<>(); // merchant-device pairs already checked
+		for (FeedbackSubmission submission : submissions) {
+			Employee employee = employees.get(submission.getFeedbackEmployeeId());
+			if (employee == null) {
+				throw new ResourceNotFoundException("Employee", "ID", String.valueOf(submission.getFeedbackEmployeeId()));
 			}
-			Device device = deviceOptional.get();
-			logger.info("Found device: " + device.getDeviceId());
-
-// Check whether the merchant has the given device or not
-			if (!merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(
-					feedbackRequest.getFeedbackMerchantId(), feedbackRequest.getFeedbackDeviceId())) {
-				logger.error("Device with ID " + feedbackRequest.getFeedbackDeviceId()
-						+ " is not associated with Merchant ID " + feedbackRequest.getFeedbackMerchantId());
-				throw new MerchantDeviceNotAssignedException("Device", "ID",
-						String.valueOf(feedbackRequest.getFeedbackDeviceId()), "Merchant", "ID",
-						String.valueOf(feedbackRequest.getFeedbackMerchantId()));
+			Merchant merchant = merchants.get(submission.getFeedbackMerchantId());
+			if (merchant == null) {
+				throw new ResourceNotFoundException("Merchant", "ID", String.valueOf(submission.getFeedbackMerchantId()));
 			}
+			Device device = devices.get(submission.getFeedbackDeviceId());
+			if (device == null) {
+				throw new ResourceNotFoundException("Device", "ID", String.valueOf(submission.getFeedbackDeviceId()));
+			}
+			if (!associated.contains(List.of(merchant.getMerchantId(), device.getDeviceId()))) {
+				checkAssociated(merchant.getMerchantId(), device.getDeviceId());
+				associated.add(List.of(merchant.getMerchantId(), device.getDeviceId()));
+			}
+			checkQuestions(questions, submission.getQuestionAnswers());
+			checked.add(new CheckedSubmission(submission, employee, merchant, device, questions));
+		}
+		return insertFeedbacks(checked);
+	}
 
-// If all checks pass, create feedback
-			Feedback feedback = new Feedback();
-			feedback.setFeedbackEmployee(employee);
-			feedback.setFeedbackDevice(device);
-			feedback.setFeedbackMerchant(merchant);
-			feedback.setFeedbackRating(feedbackRequest.getFeedbackRating());
-			feedback.setFeedbackUuid(UUID.randomUUID().toString());
-			feedback.setFeedbackImage1(feedbackRequest.getFeedbackImage1());
-			feedback.setFeedback(feedbackRequest.getFeedback());
+	/**
+	 * Inserts a batch of submissions that the caller has already validated, such as the
+	 * records of a bulk upload, in one transaction. The entities the caller looked up are
+	 * used as they are, so nothing is read again, and the counters of all the feedbacks
+	 * are written together.
+	 *
+	 * @param submissions The validated submissions, each with its entities.
+	 * @return The IDs of the inserted feedbacks, in the same order.
+	 * @throws Exception if any submission cannot be written.
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public List<Integer> createCheckedFeedbacks(List<CheckedSubmission> submissions) throws Exception {
+		return insertFeedbacks(submissions);
+	}
 
-// Save feedback to the repository
-			Feedback savedFeedback = feedbackRepository.save(feedback);
-			logger.info("Feedback created with ID: " + savedFeedback.getFeedbackId());
+	/**
+	 * A submission with the entities it refers to, once validated, and the catalog version
+	 * its questions were checked against.
+	 *
+	 * @param submission The submission.
+	 * @param employee   Its employee.
+	 * @param merchant   Its merchant.
+	 * @param device     Its device, assigned to the merchant.
+	 * @param questions  The catalog that holds every question it answers.
+	 */
+	public record CheckedSubmission(FeedbackSubmission submission, Employee employee, Merchant merchant,
+			Device device, QuestionCatalog.Snapshot questions) {
+	}
 
-// Associate questions with created feedback
-			associateFeedbackWithQuestions(savedFeedback, questionAnswers);
-			logger.info("Feedback with ID: " + savedFeedback.getFeedbackId() + " associated with questions.");
+	/**
+	 * The entities a submission refers to, once validated.
+	 */
+	private record CheckedFeedback(Employee employee, Merchant merchant, Device device,
+			QuestionCatalog.Snapshot questions) {
+	}
 
-// Send email to employee for feedback status and feedback details
-			sendSuccessEmail(employee, savedFeedback);
-			logger.info("Success email sent to Employee ID: " + employee.getEmployeeId());
+	/**
+	 * A saved feedback with its answers, waiting for its counters.
+	 */
+	private record Inserted(Feedback feedback, AnswerVector answers) {
+	}
 
-			return true;
+	private List<Integer> insertFeedbacks(List<CheckedSubmission> submissions)
+			throws ResourceNotFoundException, ResourceUnableToCreate {
+		List<Inserted> inserted = new ArrayList<>(submissions.size());
+		for (CheckedSubmission submission : submissions) {
+			inserted.add(insertFeedback(
+					new CheckedFeedback(submission.employee(), submission.merchant(), submission.device(),
+							submission.questions()),
+					submission.submission().toCreateFeedbackRequest(), submission.submission().getQuestionAnswers(),
+					submission.submission().getFeedbackUuid()));
+		}
+		recordCounters(inserted);
+		return inserted.stream().map(i -> i.feedback().getFeedbackId()).toList();
+	}
 
-		} catch (ResourceNotFoundException | MerchantDeviceNotAssignedException | UnableSentEmail e) {
+	/**
+	 * Adds saved feedbacks to the rollups, the daily rollups and the answer counters, one
+	 * batched write each, in the transaction that inserted them.
+	 */
+	private void recordCounters(List<Inserted> inserted) {
+		List<Feedback> feedbacks = inserted.stream().map(Inserted::feedback).toList();
+		feedbackRollupService.record(feedbacks);
+		feedbackTrendService.record(feedbacks);
+		answerDistributionService.record(feedbacks, inserted.stream().map(Inserted::answers).toList());
+	}
+
+	private CheckedFeedback checkOrNotify(CreateFeedbackRequest feedbackRequest,
+			List<FeedbackQuestionAnswerAssignDto> questionAnswers) throws Exception {
+		try {
+			return check(feedbackRequest, questionAnswers);
+		} catch (ResourceNotFoundException | MerchantDeviceNotAssignedException e) {
 // Send failure email to inform about the error
 			Optional<Employee> employeeOptional = employeeRepository.findById(feedbackRequest.getFeedbackEmployeeId());
 			if (employeeOptional.isEmpty()) {
@@ -174,7 +336,7 @@ public class FeedbackService {
 			}
 			Employee employee = employeeOptional.get();
 			sendFailureEmail(feedbackRequest, employee, e);
-			logger.error("Failure email sent to Employee ID: " + employee.getEmployeeId() + " due to exception: "
+			logger.error("Failure email queued for Employee ID: " + employee.getEmployeeId() + " due to exception: "
 					+ e.getMessage());
 
 			// the exception to maintain the original behavior
@@ -182,14 +344,118 @@ public class FeedbackService {
 		}
 	}
 
+	private CheckedFeedback check(CreateFeedbackRequest feedbackRequest,
+			List<FeedbackQuestionAnswerAssignDto> questionAnswers)
+			throws ResourceNotFoundException, MerchantDeviceNotAssignedException, ResourceUnableToCreate {
+		logger.info("Creating feedback for Employee ID: " + feedbackRequest.getFeedbackEmployeeId()
+				+ ", Merchant ID: " + feedbackRequest.getFeedbackMerchantId() + ", Device ID: "
+				+ feedbackRequest.getFeedbackDeviceId());
+
+// Check if the employee exists
+		Optional<Employee> employeeOptional = employeeRepository.findById(feedbackRequest.getFeedbackEmployeeId());
+		if (employeeOptional.isEmpty()) {
+			logger.error("Employee not found with ID: " + feedbackRequest.getFeedbackEmployeeId());
+			throw new ResourceNotFoundException("Employee", "ID",
+					feedbackRequest.getFeedbackEmployeeId().toString());
+		}
+		Employee employee = employeeOptional.get();
+		logger.info("Found employee: " + employee.getEmployeeId());
+
+// Check if the merchant exists
+		Optional<Merchant> merchantOptional = merchantRepository.findById(feedbackRequest.getFeedbackMerchantId());
+		if (merchantOptional.isEmpty()) {
+			logger.error("Merchant not found with ID: " + feedbackRequest.getFeedbackMerchantId());
+			throw new ResourceNotFoundException("Merchant", "ID",
+					feedbackRequest.getFeedbackMerchantId().toString());
+		}
+		Merchant merchant = merchantOptional.get();
+		logger.info("Found merchant: " + merchant.getMerchantId());
+
+// Check if the device exists
+		Optional<Device> deviceOptional = deviceRepository.findById(feedbackRequest.getFeedbackDeviceId());
+		if (deviceOptional.isEmpty()) {
+			logger.error("Device not found with ID: " + feedbackRequest.getFeedbackDeviceId());
+			throw new ResourceNotFoundException("Device", "ID", feedbackRequest.getFeedbackDeviceId().toString());
+		}
+		Device device = deviceOptional.get();
+		logger.info("Found device: " + device.getDeviceId());
+
+// Check whether the merchant has the given device or not
+		checkAssociated(feedbackRequest.getFeedbackMerchantId(), feedbackRequest.getFeedbackDeviceId());
+
+// Check the submitted questions against one version of the question catalog
+		QuestionCatalog.Snapshot questions = questionCatalog.current();
+		checkQuestions(questions, questionAnswers);
+		return new CheckedFeedback(employee, merchant, device, questions);
+	}
+
+	private void checkAssociated(Long merchantId, Long deviceId)
+			throws MerchantDeviceNotAssignedException, ResourceNotFoundException, ResourceUnableToCreate {
+		if (!merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(merchantId, deviceId)) {
+			logger.error("Device with ID " + deviceId + " is not associated with Merchant ID " + merchantId);
+			throw new MerchantDeviceNotAssignedException("Device", "ID", String.valueOf(deviceId), "Merchant", "ID",
+					String.valueOf(merchantId));
+		}
+	}
+
+	private static void checkQuestions(QuestionCatalog.Snapshot questions,
+			List<FeedbackQuestionAnswerAssignDto> questionAnswers) throws ResourceNotFoundException {
+		for (FeedbackQuestionAnswerAssignDto questionAnswer : questionAnswers) {
+			if (!questions.contains(questionAnswer.getQuestionId())) {
+				logger.error("Question not found with ID: " + questionAnswer.getQuestionId()
+						+ " in catalog version " + questions.getVersion());
+				throw new ResourceNotFoundException("Question", "ID",
+						String.valueOf(questionAnswer.getQuestionId()));
+			}
+		}
+	}
+
+	private Inserted insertFeedback(CheckedFeedback checked, CreateFeedbackRequest feedbackRequest,
+			List<FeedbackQuestionAnswerAssignDto> questionAnswers, String feedbackUuid)
+			throws ResourceNotFoundException, ResourceUnableToCreate {
+// If all checks pass, create feedback
+		Feedback feedback = new Feedback();
+		feedback.setFeedbackEmployee(checked.employee());
+		feedback.setFeedbackDevice(checked.device());
+		feedback.setFeedbackMerchant(checked.merchant());
+		feedback.setFeedbackRating(feedbackRequest.getFeedbackRating());
+		feedback.setFeedbackUuid(feedbackUuid);
+		feedback.setFeedbackImage1(feedbackRequest.getFeedbackImage1());
+		feedback.setFeedback(feedbackRequest.getFeedback());
+
+// Save feedback to the repository
+		Feedback savedFeedback = feedbackRepository.save(feedback);
+		logger.info("Feedback created with ID: " + savedFeedback.getFeedbackId());
+
+// Add the rating to the in-memory distributions once the transaction commits
+		ratingDistributionEngine.record(savedFeedback);
+
+// Add the text to the in-memory search index once the transaction commits
+		feedbackSearchEngine.record(savedFeedback);
+
+// Flag the feedback if its text near-duplicates an earlier one
+		feedbackDuplicateDetector.record(savedFeedback);
+
+// Associate questions with created feedback
+		FeedbackAnswers answers = associateFeedbackWithQuestions(savedFeedback, checked.questions(), questionAnswers);
+		logger.info("Feedback with ID: " + savedFeedback.getFeedbackId() + " associated with questions.");
+
+// Queue email to employee for feedback status and feedback details
+		sendSuccessEmail(checked.employee(), savedFeedback);
+		logger.info("Success email queued for Employee ID: " + checked.employee().getEmployeeId());
+
+// The rollups, daily rollups and answer counters are written by the caller, for the whole batch
+		return new Inserted(savedFeedback, AnswerVector.decode(answers.getAnswers()));
+	}
+
 	/**
-	 * Method to send a success email to the employee once feedback is successfully
-	 * created.
+	 * Method to queue a success email to the employee once feedback is successfully
+	 * created. The row joins the feedback transaction.
 	 *
 	 * @param employee The employee to send the email to.
 	 * @param feedback The feedback details to include in the email.
 	 */
-	private void sendSuccessEmail(Employee employee, Feedback feedback) throws UnableSentEmail {
+	private void sendSuccessEmail(Employee employee, Feedback feedback) {
 		// set the log
 		logger.info("Initiating sending feedback creation success mail to :{}", employee.getEmployeeEmail());
 		// create emailDto object
@@ -221,20 +487,15 @@ public class FeedbackService {
 				+ feedback.getFeedbackMerchant().getMerchantBusinessType() + "\n";
 		// assign text or body
 		emailSendDto.setText(emailContent);
-		// send email
-		boolean emailSent = emailService.sendEmail(emailSendDto.getTo(), emailSendDto.getSubject(),
-				emailSendDto.getText());
-		logger.info("feedback creation success Email sent successfully to: ", employee.getEmployeeEmail());
-
-		if (!emailSent) {
-			logger.info("Unable to send feedback creation success  email to: ", employee.getEmployeeEmail());
-
-			throw new UnableSentEmail(employee.getEmployeeEmail());
-		}
+		// queue email, delivered by the outbox dispatcher after commit
+		emailOutboxService.enqueue(emailSendDto.getTo(), emailSendDto.getSubject(), emailSendDto.getText());
+		logger.info("feedback creation success Email queued for: {}", employee.getEmployeeEmail());
 	}
 
 	/**
-	 * Method to send a failure email in case feedback creation fails.
+	 * Method to queue a failure email in case feedback creation fails. It is
+	 * written in its own transaction because the feedback transaction is about
+	 * to roll back.
 	 *
 	 * @param feedbackRequest The feedback request object.
 	 * @param employee
@@ -262,11 +523,11 @@ public class FeedbackService {
 		emailSendDto.setText(emailContent);// text or body
 
 		try {
-			logger.info("feedback creation failure Email sent successfully to : {}", employee.getEmployeeEmail());
-
-			emailService.sendEmail(emailSendDto.getTo(), emailSendDto.getSubject(), emailSendDto.getText());
+			emailOutboxService.enqueueIndependently(emailSendDto.getTo(), emailSendDto.getSubject(),
+					emailSendDto.getText());
+			logger.info("feedback creation failure Email queued for : {}", employee.getEmployeeEmail());
 		} catch (Exception emailException) {
-			// Log the error if email fails to send
+			// Log the error if email could not be queued
 			logger.info("feedback creation failure Email to : {}", employee.getEmployeeEmail());
 
 			throw new Exception("failed to send email: " + emailException.getMessage());
@@ -277,21 +538,23 @@ public class FeedbackService {
 	 * Method to associate feedback with predefined questions and their answers.
 	 *
 	 * @param feedback        The feedback object to associate with questions.
+	 * @param questions       The catalog version the answers were validated against.
 	 * @param questionAnswers
+	 * @return The stored answers.
 	 * @throws ResourceNotFoundException
 	 * @throws ResourceUnableToCreate
 	 * @throws ResourceAlreadyExists
 	 */
-	private void associateFeedbackWithQuestions(Feedback feedback,
+	private FeedbackAnswers associateFeedbackWithQuestions(Feedback feedback, QuestionCatalog.Snapshot questions,
 			List<FeedbackQuestionAnswerAssignDto> questionAnswers)
 			throws ResourceNotFoundException, ResourceUnableToCreate {
 
 		logger.info("Starting to associate feedback with questions for feedback ID: " + feedback.getFeedbackId());
 
-		// Fetch the predefined questions from the database
-		logger.debug("Fetching predefined questions from the database.");
-		List<Question> predefinedQuestions = questionRepository.findAll();
-		logger.debug("Retrieved " + predefinedQuestions.size() + " predefined questions from the database.");
+		// The predefined questions come from the catalog snapshot, not the database
+		List<Question> predefinedQuestions = questions.getQuestions();
+		logger.debug("Using " + predefinedQuestions.size() + " predefined questions from catalog version "
+				+ questions.getVersion() + ".");
 
 		// Convert the list of questionAnswers to a map for faster lookups (questionId
 		// -> questionAnswer)
@@ -300,168 +563,238 @@ public class FeedbackService {
 				FeedbackQuestionAnswerAssignDto::getQuestionId, FeedbackQuestionAnswerAssignDto::getQuestionAnswer));
 		logger.debug("Converted question answers to map with " + questionAnswerMap.size() + " entries.");
 
-		// Iterate over the predefined questions
-		for (Question question : predefinedQuestions) {
-			// Get the answer for the current question from the map, if it exists
-			String answerForQuestion = questionAnswerMap.getOrDefault(question.getQuestionId(), "No answer provided");
-
-			// Log the question and the answer
-			logger.debug("Associating feedback ID: " + feedback.getFeedbackId() + " with question ID: "
-					+ question.getQuestionId() + " and answer: " + answerForQuestion);
-
-			// Create the association and save it
-			FeedbackQuestionsAssociation association = new FeedbackQuestionsAssociation();
-			association.setFeedback(feedback); // Set the feedback object
-			association.setQuestion(question); // Set the question object
-			association.setAnswer(answerForQuestion); // Set the actual answer or default value
-
-			// Save the association using the association service
-			try {
-				logger.debug("Saving the association for feedback ID: " + feedback.getFeedbackId()
-						+ " and question ID: " + question.getQuestionId());
-				feedbackQuestionsAssociationService.createAssociation(association);
-				logger.info("Successfully associated feedback ID: " + feedback.getFeedbackId() + " with question ID: "
-						+ question.getQuestionId());
-			} catch (ResourceUnableToCreate e) {
-				logger.error("Failed to create association for feedback ID: " + feedback.getFeedbackId()
-						+ " and question ID: " + question.getQuestionId(), e);
-				throw e; // Re-throw the exception after logging
-			}
+		// Store every answer of the feedback as one compact row
+		FeedbackAnswers answers;
+		try {
+			answers = feedbackQuestionsAssociationService.saveAnswers(feedback, predefinedQuestions, questionAnswerMap);
+			logger.info("Successfully associated feedback ID: " + feedback.getFeedbackId() + " with "
+					+ predefinedQuestions.size() + " questions.");
+		} catch (ResourceUnableToCreate e) {
+			logger.error("Failed to create associations for feedback ID: " + feedback.getFeedbackId(), e);
+			throw e; // Re-throw the exception after logging
 		}
 
 		logger.info("Completed associating feedback with questions for feedback ID: " + feedback.getFeedbackId());
+		return answers;
 	}
 
 	/**
-	 * Method to filter feedback based on employeeId, deviceId, rating, or
-	 * merchantId. Before fetching feedback, checks if the employee, device, or
-	 * merchant exists using their respective services.
+	 * Method to filter feedback based on any combination of employee, merchant,
+	 * device, rating and creation time. Before fetching feedback, checks if the
+	 * employee, device, or merchant exists using their respective services.
+	 * Returns at most {@value #MAX_PAGE_SIZE} feedbacks: it is the first page of
+	 * {@link #getFeedbackPage}, and its cursor continues there.
 	 *
-	 * @param employeeId The ID of the employee.
-	 * @param deviceId   The ID of the device.
-	 * @param rating     The rating of the feedback.
-	 * @param merchantId The ID of the merchant.
-	 * @return List of feedbacks matching the criteria.
-	 * @throws ResourceNotFoundException If the employee, device, or merchant does
-	 *                                   not exist.
+	 * @param filter The criteria; unset criteria are ignored.
+	 * @return The newest feedbacks matching all criteria, with the cursor of the next page.
+	 * @throws ResourceNotFoundException        If the employee, device, or merchant
+	 *                                          does not exist.
+	 * @throws InvalidRequestParameterException If a range is empty.
 	 */
-	public List<Feedback> getFeedbacksByFilters(Long employeeId, Long deviceId, Integer rating, Long merchantId)
-			throws ResourceNotFoundException {
-
-		logger.info("Fetching feedbacks by filters: employeeId=" + employeeId + ", deviceId=" + deviceId + ", rating="
-				+ rating + ", merchantId=" + merchantId);
+	public FeedbackPageDto getFeedbacksByFilters(FeedbackFilter filter)
+			throws ResourceNotFoundException, InvalidRequestParameterException {
 
-		if (merchantId != null) {
-			logger.debug("Filtering feedbacks by merchant ID: " + merchantId);
-
-			// Check if merchant exists using MerchantService
-			if (!merchantService.existsById(merchantId)) {
-				logger.error("Merchant with ID " + merchantId + " not found.");
-				throw new ResourceNotFoundException("Merchant", "ID", String.valueOf(merchantId));
-			}
-
-			Optional<Merchant> merchantFromDb = merchantRepository.findById(merchantId);
-			logger.debug("Merchant found: " + merchantFromDb.orElse(null));
+		logger.info("Fetching feedbacks by filters: " + filter);
+		return getFeedbackPage(filter, null, MAX_PAGE_SIZE);
+	}
 
-			List<Feedback> feedbacks = feedbackRepository.findByFeedbackMerchant(merchantFromDb);
-			logger.info("Found " + feedbacks.size() + " feedback(s) for merchant ID " + merchantId);
-			return feedbacks;
+	/**
+	 * Returns the full feedback entity with its employee, merchant and device.
+	 *
+	 * @param feedbackId The ID of the feedback.
+	 * @return The feedback.
+	 * @throws ResourceNotFoundException If no feedback has this ID.
+	 */
+	public Feedback getFeedbackById(Integer feedbackId) throws ResourceNotFoundException {
+		logger.info("Fetching feedback with ID: " + feedbackId);
+		return feedbackRepository.findById(feedbackId).orElseThrow(() -> {
+			logger.error("Feedback not found with ID: " + feedbackId);
+			return new ResourceNotFoundException("Feedback", "ID", String.valueOf(feedbackId));
+		});
+	}
 
-		} else if (employeeId != null) {
-			logger.debug("Filtering feedbacks by employee ID: " + employeeId);
+	/**
+	 * Returns one page of feedbacks, newest first, using keyset pagination on
+	 * (creation time, feedback ID). All filters are optional and combined.
+	 *
+	 * @param filter The criteria; unset criteria are ignored.
+	 * @param cursor The nextCursor of the previous page, null for the first page.
+	 * @param size   The page size, defaults to {@value #DEFAULT_PAGE_SIZE}.
+	 * @return The page with the cursor for the next one.
+	 * @throws ResourceNotFoundException        If the employee, device, or merchant does not exist.
+	 * @throws InvalidRequestParameterException If the size, the cursor or a range is invalid.
+	 */
+	public FeedbackPageDto getFeedbackPage(FeedbackFilter filter, String cursor, Integer size)
+			throws ResourceNotFoundException, InvalidRequestParameterException {
 
-			// Check if employee exists using EmployeeService
-			if (!employeeService.existsById(employeeId)) {
-				logger.error("Employee with ID " + employeeId + " not found.");
-				throw new ResourceNotFoundException("Employee", "ID", String.valueOf(employeeId));
-			}
+		int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			throw new InvalidRequestParameterException("size", String.valueOf(size),
+					"must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		FeedbackCursor after = FeedbackCursor.decode(cursor);
+		validateFilter(filter);
+
+		// Read one extra row to know whether there is a next page
+		List<FeedbackSummaryDto> rows = feedbackQueryRepository.findPage(filter, after, pageSize + 1);
+		String nextCursor = null;
+		if (rows.size() > pageSize) {
+			rows = new ArrayList<>(rows.subList(0, pageSize));
+			FeedbackSummaryDto last = rows.get(pageSize - 1);
+			nextCursor = new FeedbackCursor(last.getFeedbackCreationTime(), last.getFeedbackId()).encode();
+		}
+		logger.info("Returning a page of " + rows.size() + " feedback(s)" + (nextCursor == null ? " (last page)." : "."));
+		return new FeedbackPageDto(rows, nextCursor, pageSize);
+	}
 
-			Optional<Employee> employeeFromDb = employeeRepository.findById(employeeId);
-			logger.debug("Employee found: " + employeeFromDb.orElse(null));
+	/**
+	 * Searches the feedback text, served from the in-memory index. A feedback matches if its
+	 * text contains any word of the query; results are ranked by BM25, best first.
+	 *
+	 * @param query      The words to look for.
+	 * @param employeeId Only feedbacks of this employee (optional).
+	 * @param deviceId   Only feedbacks about this device (optional).
+	 * @param merchantId Only feedbacks about this merchant (optional).
+	 * @param limit      The maximum number of results, defaults to {@value #DEFAULT_SEARCH_LIMIT}.
+	 * @return The matching feedbacks with their scores.
+	 * @throws ResourceNotFoundException        If the employee, device, or merchant does not exist.
+	 * @throws InvalidRequestParameterException If the query is blank or the limit is invalid.
+	 */
+	public List<FeedbackSearchHitDto> searchFeedbacks(String query, Long employeeId, Long deviceId, Long merchantId,
+			Integer limit) throws ResourceNotFoundException, InvalidRequestParameterException {
 
-			List<Feedback> feedbacks = feedbackRepository.findByFeedbackEmployee(employeeFromDb);
-			logger.info("Found " + feedbacks.size() + " feedback(s) for employee ID " + employeeId);
-			return feedbacks;
+		if (query == null || query.isBlank()) {
+			throw new InvalidRequestParameterException("q", String.valueOf(query), "must not be blank");
+		}
+		int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+		if (maxResults < 1 || maxResults > MAX_SEARCH_LIMIT) {
+			throw new InvalidRequestParameterException("limit", String.valueOf(limit),
+					"must be between 1 and " + MAX_SEARCH_LIMIT);
+		}
+		validateFilter(new FeedbackFilter(employeeId, deviceId, null, merchantId));
 
-		} else if (deviceId != null) {
-			logger.debug("Filtering feedbacks by device ID: " + deviceId);
+		List<FeedbackTextIndex.Hit> hits = feedbackSearchEngine.search(query, employeeId, deviceId, merchantId,
+				maxResults);
+		if (hits.isEmpty()) {
+			logger.info("No feedback matches the search.");
+			return new ArrayList<>();
+		}
 
-			// Check if device exists using DeviceService
-			if (!deviceService.existsById(deviceId)) {
-				logger.error("Device with ID " + deviceId + " not found.");
-				throw new ResourceNotFoundException("Device", "ID", String.valueOf(deviceId));
+		// Load the rows of the hits in one query and put them back in rank order
+		Map<Integer, FeedbackSummaryDto> rows = new HashMap<>();
+		for (FeedbackSummaryDto row : feedbackQueryRepository
+				.findByIds(hits.stream().map(FeedbackTextIndex.Hit::feedbackId).toList())) {
+			rows.put(row.getFeedbackId(), row);
+		}
+		List<FeedbackSearchHitDto> results = new ArrayList<>(hits.size());
+		for (FeedbackTextIndex.Hit hit : hits) {
+			FeedbackSummaryDto row = rows.get(hit.feedbackId());
+			if (row != null) { // deleted since it was indexed
+				results.add(new FeedbackSearchHitDto(hit.score(), row));
 			}
+		}
+		logger.info("Returning " + results.size() + " search result(s).");
+		return results;
+	}
 
-			Optional<Device> deviceFromDb = deviceRepository.findById(deviceId);
-			logger.debug("Device found: " + deviceFromDb.orElse(null));
-
-			List<Feedback> feedbacks = feedbackRepository.findByFeedbackDevice(deviceFromDb);
-			logger.info("Found " + feedbacks.size() + " feedback(s) for device ID " + deviceId);
-			return feedbacks;
-
-		} else if (rating != null) {
-			logger.debug("Filtering feedbacks by rating: " + rating);
-
-			List<Feedback> feedbacks = feedbackRepository.findByFeedbackRating(rating);
-			logger.info("Found " + feedbacks.size() + " feedback(s) for rating " + rating);
-			return feedbacks;
-
-		} else {
-			logger.debug("No specific filters provided, retrieving all feedbacks.");
+	/**
+	 * Streams every matching feedback, newest first, to the consumer without holding the
+	 * result in memory. Call {@link #validateFilter} first to report a bad filter
+	 * before the response is committed.
+	 *
+	 * @param filter   The criteria; unset criteria are ignored.
+	 * @param consumer Receives every row as it is read.
+	 * @return The number of feedbacks streamed.
+	 */
+	public long streamFeedbacks(FeedbackFilter filter, Consumer<FeedbackSummaryDto> consumer) {
+		long streamed = feedbackQueryRepository.stream(filter, consumer);
+		logger.info("Streamed " + streamed + " feedback(s).");
+		return streamed;
+	}
 
-			List<Feedback> feedbacks = feedbackRepository.findAll();
-			logger.info("Found " + feedbacks.size() + " feedback(s).");
-			return feedbacks;
+	/**
+	 * Checks that the employee, device and merchant used as filters exist and that
+	 * the rating and time ranges are not empty.
+	 *
+	 * @param filter The criteria, may be null.
+	 * @throws ResourceNotFoundException        If one of the referenced rows does not exist.
+	 * @throws InvalidRequestParameterException If a range is empty.
+	 */
+	public void validateFilter(FeedbackFilter filter)
+			throws ResourceNotFoundException, InvalidRequestParameterException {
+		if (filter == null) {
+			return;
+		}
+		if (filter.getMinRating() != null && filter.getMaxRating() != null
+				&& filter.getMinRating() > filter.getMaxRating()) {
+			throw new InvalidRequestParameterException("minRating", String.valueOf(filter.getMinRating()),
+					"greater than maxRating " + filter.getMaxRating());
+		}
+		if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+			throw new InvalidRequestParameterException("from", String.valueOf(filter.getFrom()),
+					"not before to " + filter.getTo());
+		}
+		Long merchantId = filter.getMerchantId();
+		if (merchantId != null && !merchantService.existsById(merchantId)) {
+			logger.error("Merchant with ID " + merchantId + " not found.");
+			throw new ResourceNotFoundException("Merchant", "ID", String.valueOf(merchantId));
+		}
+		Long employeeId = filter.getEmployeeId();
+		if (employeeId != null && !employeeService.existsById(employeeId)) {
+			logger.error("Employee with ID " + employeeId + " not found.");
+			throw new ResourceNotFoundException("Employee", "ID", String.valueOf(employeeId));
+		}
+		Long deviceId = filter.getDeviceId();
+		if (deviceId != null && !deviceService.existsById(deviceId)) {
+			logger.error("Device with ID " + deviceId + " not found.");
+			throw new ResourceNotFoundException("Device", "ID", String.valueOf(deviceId));
 		}
 	}
 
 	/**
-	 * Counts the number of feedbacks for all employees.
+	 * Counts the number of feedbacks for all employees, most feedbacks first.
+	 * <p>
+	 * The whole report is one aggregate query joined with the employee table, so
+	 * no Employee entity (and none of its roles) is loaded. Without a time window
+	 * it reads the pre-aggregated rollup rows; with one it groups the feedbacks
+	 * of the window.
+	 * </p>
 	 *
+	 * @param top  The number of employees to return, or null for all.
+	 * @param from Inclusive start of the creation-time window, or null.
+	 * @param to   Exclusive end of the creation-time window, or null.
 	 * @return A list of EmployeeFeedbackCountDto containing employee ID, email, and
 	 *         feedback count.
+	 * @throws InvalidRequestParameterException If top is not positive or the window is empty.
 	 */
-	public List<EmployeeFeedbackCountDto> countFeedbacksForAllEmployees() {
-		logger.info("Fetching feedback counts for all employees...");
+	public List<EmployeeFeedbackCountDto> countFeedbacksForAllEmployees(Integer top, LocalDateTime from,
+			LocalDateTime to) throws InvalidRequestParameterException {
+		logger.info("Fetching feedback counts for all employees, top: " + top + ", from: " + from + ", to: " + to);
+
+		if (top != null && top < 1) {
+			throw new InvalidRequestParameterException("top", String.valueOf(top), "must be at least 1");
+		}
+		if (from != null && to != null && !from.isBefore(to)) {
+			throw new InvalidRequestParameterException("from", String.valueOf(from), "must be before to");
+		}
+		Pageable limit = top == null ? Pageable.unpaged() : PageRequest.of(0, top);
 
-		// Retrieve feedback counts grouped by employee from the repository
-		List<Object[]> results = feedbackRepository.countFeedbacksByEmployee();
-		List<EmployeeFeedbackCountDto> feedbackCounts = new ArrayList<>();
+		// One statement: (employee ID, email, count) rows
+		List<Object[]> results = (from == null && to == null)
+				? feedbackRollupRepository.countFeedbacksByEmployee(limit)
+				: feedbackRepository.countFeedbacksByEmployeeBetween(from, to, limit);
+		List<EmployeeFeedbackCountDto> feedbackCounts = new ArrayList<>(results.size());
 
-		if (results == null || results.isEmpty()) {
+		if (results.isEmpty()) {
 			logger.warn("No feedback data found for any employees.");
-		} else {
-			logger.info("Successfully retrieved " + results.size() + " feedback count results from the repository.");
 		}
 
-		// Iterate over the results and map them to DTOs
+		// Map the rows to DTOs
 		for (Object[] result : results) {
-			try {
-				Long employeeId = (Long) result[0]; // Extract the employee ID from the result
-				Long feedbackCount = (Long) result[1]; // Extract the feedback count from the result
-
-				// Log the extracted data for debugging purposes
-				logger.debug("Employee ID: " + employeeId + ", Feedback Count: " + feedbackCount);
-
-				// Optionally retrieve the employee details for email
-				Employee employee = employeeRepository.findById(employeeId).orElse(null);
-				String employeeEmail = (employee != null) ? employee.getEmployeeEmail() : "Unknown"; // Default to
-																										// "Unknown" if
-																										// not found
-
-				// Log employee details, or lack thereof
-				if (employee != null) {
-					logger.debug("Employee found with email: " + employeeEmail);
-				} else {
-					logger.warn("Employee with ID " + employeeId + " not found. Defaulting email to 'Unknown'.");
-				}
-
-				// Create a new DTO and add it to the list
-				feedbackCounts.add(new EmployeeFeedbackCountDto(employeeId, employeeEmail, feedbackCount.longValue()));
-			} catch (Exception e) {
-				// Log any issues that occur during result mapping
-				logger.error("Error occurred while processing feedback count for employee: " + result[0], e);
-			}
+			Long employeeId = ((Number) result[0]).longValue(); // The employee ID
+			String employeeEmail = (String) result[1]; // The employee email
+			long feedbackCount = ((Number) result[2]).longValue(); // The feedback count of the employee
+			feedbackCounts.add(new EmployeeFeedbackCountDto(employeeId, employeeEmail, feedbackCount));
 		}
 
 		logger.info("Returning " + feedbackCounts.size() + " employee feedback counts.");
@@ -470,6 +803,8 @@ public class FeedbackService {
 
 	/**
 	 * Retrieves the average rating of feedback grouped by device.
+	 * Reads one pre-aggregated rollup row per device instead of grouping
+	 * the feedback table.
 	 *
 	 * @return A list of AverageRatingResponseDTO containing device ID and average
 	 *         rating.
@@ -477,21 +812,24 @@ public class FeedbackService {
 	public List<AverageRatingResponseDTO> getAverageRatingByDevice() {
 		logger.info("Fetching average ratings by device...");
 
-		// Retrieve average ratings grouped by device from the repository
-		List<Object[]> results = feedbackRepository.avgRatingByDevice();
+		// Read the pre-aggregated rating sums, one row per device
+		List<FeedbackRollup> results = feedbackRollupService.getRollups(FeedbackRollupScope.DEVICE);
 		List<AverageRatingResponseDTO> averageRatings = new ArrayList<>();
 
 		if (results == null || results.isEmpty()) {
 			logger.warn("No average ratings found for any devices.");
 		} else {
-			logger.info("Successfully retrieved " + results.size() + " results from the repository.");
+			logger.info("Successfully retrieved " + results.size() + " results from the rollups.");
 		}
 
 		// Iterate over the results and map them to DTOs
-		for (Object[] result : results) {
+		for (FeedbackRollup result : results) {
 			try {
-				Long deviceId = (Long) result[0]; // Extract the device ID from the result
-				Double averageRating = ((Number) result[1]).doubleValue(); // Cast to Number and then to Double
+				Long deviceId = result.getRollupKey(); // The device ID of the rollup
+				Double averageRating = result.getAverageRating(); // Rating sum over rated feedbacks
+				if (averageRating == null) {
+					continue; // no rated feedback for this device, AVG would have skipped it too
+				}
 
 				// Log the extracted data
 				logger.debug("Device ID: " + deviceId + ", Average Rating: " + averageRating);
@@ -510,6 +848,8 @@ public class FeedbackService {
 
 	/**
 	 * Counts the number of feedbacks for each device.
+	 * Reads one pre-aggregated rollup row per device instead of grouping
+	 * the feedback table.
 	 *
 	 * @return A list of DeviceFeedbackCountDTO containing device ID and feedback
 	 *         count.
@@ -520,14 +860,14 @@ public class FeedbackService {
 		List<DeviceFeedbackCountDTO> feedbackCounts = new ArrayList<>();
 
 		try {
-			// Retrieve feedback counts grouped by device from the repository
-			List<Object[]> results = feedbackRepository.countFeedbacksByDevice();
-			logger.info("Successfully retrieved feedback counts from repository. Results size: " + results.size());
+			// Read the pre-aggregated counts, one row per device
+			List<FeedbackRollup> results = feedbackRollupService.getRollups(FeedbackRollupScope.DEVICE);
+			logger.info("Successfully retrieved feedback counts from rollups. Results size: " + results.size());
 
 			// Iterate over the results and map them to DTOs
-			for (Object[] result : results) {
-				Long deviceId = (Long) result[0]; // Extract the device ID from the result
-				Long count = (Long) result[1]; // Extract the feedback count from the result
+			for (FeedbackRollup result : results) {
+				Long deviceId = result.getRollupKey(); // The device ID of the rollup
+				Long count = result.getFeedbackCount(); // The feedback count of the device
 
 				// Log each extracted value
 				logger.debug("Processing feedback count for deviceId: " + deviceId + ", count: " + count);
@@ -545,8 +885,56 @@ public class FeedbackService {
 		return feedbackCounts; // Return the list of feedback counts
 	}
 
+	/**
+	 * Checks that a feedback text is not copied from an earlier feedback. Texts are compared
+	 * by MinHash sketch through the in-memory index, so the check does not grow with the
+	 * history; texts with only a few words are always accepted.
+	 *
+	 * @param feedbackText The text to check.
+	 * @return true if no earlier feedback has nearly the same text, false if one does.
+	 */
 	public boolean checkFeedbackIntegrity(String feedbackText) {
-		// TODO Auto-generated method stub
-		return false;
+		Optional<FeedbackDuplicateDto> duplicate = feedbackDuplicateDetector.findDuplicate(feedbackText);
+		duplicate.ifPresent(match -> logger.info("Text near-duplicates feedback " + match.getDuplicateOfFeedbackId()));
+		return duplicate.isEmpty();
+	}
+
+	/**
+	 * Returns the feedbacks most recently flagged as near-duplicates at submission.
+	 *
+	 * @param limit The maximum number of flags, defaults to {@value #DEFAULT_DUPLICATE_LIMIT}.
+	 * @return The flags, newest first.
+	 * @throws InvalidRequestParameterException If the limit is invalid.
+	 */
+	public List<FeedbackDuplicateDto> getDuplicateFlags(Integer limit) throws InvalidRequestParameterException {
+		return feedbackDuplicateDetector.getFlags(duplicateLimit(limit));
+	}
+
+	/**
+	 * Compares the whole feedback history for near-duplicate texts, in parallel and in memory.
+	 *
+	 * @param minSimilarity The lowest estimated similarity of two texts, above 0 and at most 1;
+	 *                      defaults to {@code mfms.feedback.duplicates.min-similarity}.
+	 * @param limit         The maximum number of duplicates listed, defaults to {@value #DEFAULT_DUPLICATE_LIMIT}.
+	 * @return The counts and the first duplicates by feedback ID.
+	 * @throws InvalidRequestParameterException If the similarity or the limit is invalid.
+	 */
+	public FeedbackDuplicateAuditDto auditDuplicates(Double minSimilarity, Integer limit)
+			throws InvalidRequestParameterException {
+		double similarity = minSimilarity == null ? feedbackDuplicateDetector.getMinSimilarity() : minSimilarity;
+		if (!(similarity > 0 && similarity <= 1)) {
+			throw new InvalidRequestParameterException("minSimilarity", String.valueOf(minSimilarity),
+					"must be above 0 and at most 1");
+		}
+		return feedbackDuplicateDetector.audit(similarity, duplicateLimit(limit));
+	}
+
+	private static int duplicateLimit(Integer limit) throws InvalidRequestParameterException {
+		int maxResults = limit == null ? DEFAULT_DUPLICATE_LIMIT : limit;
+		if (maxResults < 1 || maxResults > MAX_DUPLICATE_LIMIT) {
+			throw new InvalidRequestParameterException("limit", String.valueOf(limit),
+					"must be between 1 and " + MAX_DUPLICATE_LIMIT);
+		}
+		return maxResults;
 	}
 }
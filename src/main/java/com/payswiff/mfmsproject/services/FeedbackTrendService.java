@@ -0,0 +1,309 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.dtos.FeedbackTrendDto;
+import com.payswiff.mfmsproject.dtos.FeedbackTrendPointDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackDailyRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.TrendInterval;
+import com.payswiff.mfmsproject.repositories.FeedbackDailyRollupRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.utils.CounterTable;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Maintains the per day employee, device and merchant feedback rollups behind the trend
+ * series.
+ * <p>
+ * {@link #record(Feedback)} adds a new feedback to the rows of its creation day inside the
+ * transaction that inserts it, exactly as {@link FeedbackRollupService} does for the
+ * all-time rollups, through a {@link CounterTable}. The rows are backfilled from
+ * {@code feedback_creation_time} on the first start, and the drift of the last
+ * {@code mfms.feedback.trend.reconcile-days} days is corrected nightly, without locking the
+ * rows. The backfill and the nightly run start on every instance, but only one at a time
+ * rebuilds the table; the others skip it.
+ * </p>
+ * <p>
+ * A series has one point per day or week of the requested range, periods without feedbacks
+ * included, and is read from at most one row per entity and day.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class FeedbackTrendService {
+
+	private static final Logger logger = LogManager.getLogger(FeedbackTrendService.class); // Logger initialization
+
+	static final int DEFAULT_RANGE_DAYS = 30; // range when the client gives no start
+	static final int MAX_RANGE_DAYS = 731; // two years of daily points
+	static final LocalDate BACKFILL_START = LocalDate.of(1970, 1, 1); // before any feedback
+
+	@Autowired
+	private FeedbackDailyRollupRepository feedbackDailyRollupRepository;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${mfms.feedback.trend.reconcile-days:7}")
+	private int reconcileDays; // days rebuilt by the nightly reconciliation
+
+	private CounterTable<Key> counters; // the feedback_daily_rollup rows
+
+	/**
+	 * The identity of one daily row.
+	 */
+	record Key(FeedbackRollupScope scope, long key, LocalDate day) implements Comparable<Key> {
+
+		private static final Comparator<Key> ORDER = Comparator.comparing(Key::scope).thenComparingLong(Key::key)
+				.thenComparing(Key::day);
+
+		@Override
+		public int compareTo(Key other) {
+			return ORDER.compare(this, other);
+		}
+	}
+
+	/**
+	 * Prepares the counter table.
+	 */
+	@PostConstruct
+	public void init() {
+		counters = new CounterTable<>(jdbcTemplate, transactionManager, "feedback_daily_rollup",
+				List.of("rollup_scope", "rollup_key", "rollup_day"), List.of("feedback_count"), List.of("rating_sum"),
+				null) {
+
+			@Override
+			protected Object[] keyParams(Key key) {
+				return new Object[] { key.scope().name(), key.key(), key.day() };
+			}
+
+			@Override
+			protected Key readKey(ResultSet rs) throws SQLException {
+				return new Key(FeedbackRollupScope.valueOf(rs.getString(1)), rs.getLong(2),
+						rs.getObject(3, LocalDate.class));
+			}
+		};
+	}
+
+	/**
+	 * Backfills the rows from source on the first start, when the table is still empty.
+	 * Instances starting together may all find it empty; the backfill runs under the
+	 * reconciliation lock, so the others skip it or find nothing left to correct.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void initializeIfEmpty() {
+		if (feedbackDailyRollupRepository.count() == 0) {
+			logger.info("Daily feedback rollups are empty, backfilling them from source.");
+			rebuild(BACKFILL_START);
+		}
+	}
+
+	/**
+	 * Adds a saved feedback to the rows of its employee, device and merchant for its creation
+	 * day. Must be called in the transaction that inserts the feedback.
+	 *
+	 * @param feedback The saved feedback.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(Feedback feedback) {
+		record(List.of(feedback));
+	}
+
+	/**
+	 * Adds a batch of saved feedbacks to the rows of their creation days, summed per row, with
+	 * one batched write. Must be called in the transaction that inserts the feedbacks.
+	 *
+	 * @param feedbacks The saved feedbacks.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(List<Feedback> feedbacks) {
+		CounterTable<Key>.Deltas deltas = counters.deltas();
+		for (Feedback feedback : feedbacks) {
+			Long employeeId = feedback.getFeedbackEmployee().getEmployeeId();
+			Long deviceId = feedback.getFeedbackDevice().getDeviceId();
+			Long merchantId = feedback.getFeedbackMerchant().getMerchantId();
+			LocalDateTime created = feedback.getFeedbackCreationTime();
+			LocalDate day = created == null ? LocalDate.now() : created.toLocalDate();
+
+			double rating = feedback.getFeedbackRating() == null ? 0 : feedback.getFeedbackRating();
+			deltas.add(new Key(FeedbackRollupScope.EMPLOYEE, employeeId, day), 1, rating)
+					.add(new Key(FeedbackRollupScope.DEVICE, deviceId, day), 1, rating)
+					.add(new Key(FeedbackRollupScope.MERCHANT, merchantId, day), 1, rating);
+		}
+		counters.apply(deltas);
+	}
+
+	/**
+	 * Returns the trend of one employee, device or merchant.
+	 *
+	 * @param scope    Employee, device or merchant.
+	 * @param id       Its ID.
+	 * @param from     Inclusive first day, or null for {@value #DEFAULT_RANGE_DAYS} days before {@code to}.
+	 * @param to       Exclusive last day, or null for tomorrow.
+	 * @param interval Day or week.
+	 * @return The series, with a point for every period of the range.
+	 * @throws InvalidRequestParameterException if the range is empty or too long.
+	 */
+	public FeedbackTrendDto getTrend(FeedbackRollupScope scope, Long id, LocalDate from, LocalDate to,
+			TrendInterval interval) throws InvalidRequestParameterException {
+		LocalDate end = to == null ? LocalDate.now().plusDays(1) : to;
+		LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS) : from;
+		validateRange(start, end);
+		logger.info("Fetching the " + interval + " trend of " + scope + " " + id + " from " + start + " to " + end);
+
+		List<FeedbackDailyRollup> rows = feedbackDailyRollupRepository.findRangeOfKey(scope, id, start, end);
+		return series(id, rows, start, end, interval);
+	}
+
+	/**
+	 * Returns the trends of every employee, device or merchant with feedbacks in the range.
+	 *
+	 * @param scope    Employee, device or merchant.
+	 * @param from     Inclusive first day, or null for {@value #DEFAULT_RANGE_DAYS} days before {@code to}.
+	 * @param to       Exclusive last day, or null for tomorrow.
+	 * @param interval Day or week.
+	 * @return One series per ID, ordered by ID.
+	 * @throws InvalidRequestParameterException if the range is empty or too long.
+	 */
+	public List<FeedbackTrendDto> getTrends(FeedbackRollupScope scope, LocalDate from, LocalDate to,
+			TrendInterval interval) throws InvalidRequestParameterException {
+		LocalDate end = to == null ? LocalDate.now().plusDays(1) : to;
+		LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS) : from;
+		validateRange(start, end);
+		logger.info("Fetching the " + interval + " trends of every " + scope + " from " + start + " to " + end);
+
+		// rows come ordered by key, so each key's rows are contiguous
+		List<FeedbackDailyRollup> rows = feedbackDailyRollupRepository.findRangeOfScope(scope, start, end);
+		List<FeedbackTrendDto> trends = new ArrayList<>();
+		int first = 0;
+		for (int i = 1; i <= rows.size(); i++) {
+			if (i == rows.size() || !rows.get(i).getRollupKey().equals(rows.get(first).getRollupKey())) {
+				trends.add(series(rows.get(first).getRollupKey(), rows.subList(first, i), start, end, interval));
+				first = i;
+			}
+		}
+		logger.info("Returning " + trends.size() + " " + scope + " trends.");
+		return trends;
+	}
+
+	/**
+	 * Corrects the rows of the last {@code mfms.feedback.trend.reconcile-days} days from the
+	 * {@code feedback} table.
+	 */
+	@Scheduled(cron = "${mfms.feedback.trend.reconcile-cron:0 20 3 * * *}")
+	public void reconcile() {
+		rebuild(LocalDate.now().minusDays(reconcileDays));
+	}
+
+	/**
+	 * Corrects every row from a day on, one scope per snapshot. Stops when another instance
+	 * is rebuilding the rows.
+	 *
+	 * @param since Inclusive first day.
+	 */
+	public void rebuild(LocalDate since) {
+		for (FeedbackRollupScope scope : FeedbackRollupScope.values()) {
+			int corrected = counters.reconcile(() -> dailySource(scope, since), "rollup_scope = ? AND rollup_day >= ?",
+					scope.name(), since);
+			if (corrected == CounterTable.SKIPPED) {
+				return; // another instance is rebuilding the daily rollups
+			}
+			logger.info("Rebuilt " + scope + " daily feedback rollups since " + since + ", " + corrected
+					+ " row(s) corrected.");
+		}
+	}
+
+	private Map<Key, double[]> dailySource(FeedbackRollupScope scope, LocalDate since) {
+		// (key, day, count, sum) per employee, device or merchant and day
+		LocalDateTime start = since.atStartOfDay();
+		List<Object[]> rows = switch (scope) {
+		case EMPLOYEE -> feedbackRepository.dailyRollupByEmployee(start);
+		case DEVICE -> feedbackRepository.dailyRollupByDevice(start);
+		case MERCHANT -> feedbackRepository.dailyRollupByMerchant(start);
+		};
+		Map<Key, double[]> source = new HashMap<>();
+		for (Object[] row : rows) {
+			source.put(new Key(scope, ((Number) row[0]).longValue(), (LocalDate) row[1]),
+					new double[] { ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue() });
+		}
+		return source;
+	}
+
+	/**
+	 * Spreads the daily rows of one ID over the periods of the range.
+	 */
+	private static FeedbackTrendDto series(Long id, List<FeedbackDailyRollup> rows, LocalDate start, LocalDate end,
+			TrendInterval interval) {
+		LocalDate first = periodStart(start, interval);
+		int periods = (int) (periodIndex(first, end.minusDays(1), interval) + 1);
+		long[] counts = new long[periods];
+		double[] sums = new double[periods];
+		for (FeedbackDailyRollup row : rows) {
+			int index = (int) periodIndex(first, row.getRollupDay(), interval);
+			counts[index] += row.getFeedbackCount();
+			sums[index] += row.getRatingSum();
+		}
+
+		List<FeedbackTrendPointDto> points = new ArrayList<>(periods);
+		for (int i = 0; i < periods; i++) {
+			LocalDate periodStart = interval == TrendInterval.WEEK ? first.plusWeeks(i) : first.plusDays(i);
+			points.add(new FeedbackTrendPointDto(periodStart, counts[i], counts[i] == 0 ? null : sums[i] / counts[i]));
+		}
+		return new FeedbackTrendDto(id, points);
+	}
+
+	private static LocalDate periodStart(LocalDate day, TrendInterval interval) {
+		return interval == TrendInterval.WEEK ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+	}
+
+	private static long periodIndex(LocalDate first, LocalDate day, TrendInterval interval) {
+		long days = ChronoUnit.DAYS.between(first, day);
+		return interval == TrendInterval.WEEK ? days / 7 : days;
+	}
+
+	private static void validateRange(LocalDate from, LocalDate to) throws InvalidRequestParameterException {
+		if (!from.isBefore(to)) {
+			throw new InvalidRequestParameterException("from", String.valueOf(from), "must be before to");
+		}
+		if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+			throw new InvalidRequestParameterException("from", String.valueOf(from),
+					"must be at most " + MAX_RANGE_DAYS + " days before to");
+		}
+	}
+}
@@ -1,11 +1,13 @@
 package com.payswiff.mfmsproject.services;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.payswiff.mfmsproject.dtos.MerchantDeviceCountDTO;
@@ -23,6 +25,9 @@ import com.payswiff.mfmsproject.repositories.MerchantRepository;
  * This class provides methods to associate devices with merchants,
  * retrieve devices by merchant, check device association status, and 
  * get counts of devices for each merchant.
+ * Membership checks are answered from the {@link MerchantDeviceIndex}, with a database
+ * re-check on a miss. Device lists and counts read the table, because the index only sees
+ * assignments made by other instances at its next rebuild.
  * @author Ruchitha Guttikonda
  * @version MFMS_0.0.1
  */
@@ -40,12 +45,16 @@ public class MerchantDeviceAssociationService {
     @Autowired
     private DeviceRepository deviceRepository; // Repository to manage device data
 
+    @Autowired
+    private MerchantDeviceIndex merchantDeviceIndex; // In-memory copy of the associations
+
     /**
      * Associates a device with a merchant.
      *
      * @param merchantId The ID of the merchant.
      * @param deviceId   The ID of the device.
-     * @return The created MerchantDeviceAssociation object.
+     * @return The created MerchantDeviceAssociation object, or the existing one if the device
+     *         is already assigned to the merchant.
      * @throws ResourceNotFoundException If the merchant or device is not found.
      * @throws ResourceUnableToCreate    If merchantId or deviceId is null or invalid.
      */
@@ -80,13 +89,31 @@ public class MerchantDeviceAssociationService {
                     return new ResourceNotFoundException("Device", "ID", deviceId.toString());
                 });
 
+        // An existing pair is skipped, as in the bulk assignment, and returned as it is
+        Optional<MerchantDeviceAssociation> existing = associationRepository
+                .findFirstByMerchantAndDeviceOrderByIdAsc(merchant, device);
+        if (existing.isPresent()) {
+            logger.info("Device with ID " + deviceId + " is already assigned to merchant with ID " + merchantId);
+            return existing.get();
+        }
+
         // Create a new association between merchant and device
         MerchantDeviceAssociation association = new MerchantDeviceAssociation();
         association.setMerchant(merchant);
         association.setDevice(device);
 
         // Save the association to the repository and return the saved object
-        MerchantDeviceAssociation savedAssociation = associationRepository.save(association);
+        MerchantDeviceAssociation savedAssociation;
+        try {
+            savedAssociation = associationRepository.save(association);
+        } catch (DataIntegrityViolationException e) {
+            // the unique key on the pair: a concurrent request assigned it first
+            logger.info("Device with ID " + deviceId + " was assigned to merchant with ID " + merchantId
+                    + " by a concurrent request");
+            return associationRepository.findFirstByMerchantAndDeviceOrderByIdAsc(merchant, device)
+                    .orElseThrow(() -> e);
+        }
+        merchantDeviceIndex.add(merchantId, deviceId); // the row is new, so the index lacks it
         logger.info("Device with ID " + deviceId + " successfully assigned to merchant with ID " + merchantId);
         
         return savedAssociation;
@@ -118,7 +145,7 @@ public class MerchantDeviceAssociationService {
                     return new ResourceNotFoundException("Merchant", "ID", merchantId.toString());
                 });
 
-        // Retrieve all device associations for the specified merchant
+        // Read the associations from the table: the index may lag assignments made by other instances
         List<MerchantDeviceAssociation> associations = associationRepository.findAllByMerchant(merchant);
         logger.info("Found " + associations.size() + " devices associated with merchant ID " + merchantId);
 
@@ -152,11 +179,20 @@ public class MerchantDeviceAssociationService {
             throw new ResourceUnableToCreate("MerchantDeviceAssociation", "Device ID cannot be null or negative", "Invalid Device ID");
         }
 
-        // Check association existence
+        // An indexed association implies both rows exist, so no query is needed
+        if (merchantDeviceIndex.contains(merchantId, deviceId)) {
+            logger.info("Association exists: true");
+            return true;
+        }
+
+        // Miss: keep the not-found errors and re-check in case another instance just assigned it
         boolean exists = associationRepository.existsByMerchantAndDevice(
                 merchantRepository.findById(merchantId).orElseThrow(() -> new ResourceNotFoundException("Merchant", "ID", merchantId.toString())),
                 deviceRepository.findById(deviceId).orElseThrow(() -> new ResourceNotFoundException("Device", "ID", deviceId.toString()))
         );
+        if (exists) {
+            merchantDeviceIndex.add(merchantId, deviceId);
+        }
         
         logger.info("Association exists: " + exists);
         return exists;
@@ -170,7 +206,7 @@ public class MerchantDeviceAssociationService {
     public List<MerchantDeviceCountDTO> getDeviceCountByMerchant() {
         logger.info("Retrieving device counts for all merchants");
         
-        // Retrieve count of devices associated with each merchant from repository
+        // Count from the table rather than the index, which may lag assignments of other instances
         List<Object[]> results = associationRepository.countDevicesByMerchant();
 
         // Map results to DTOs and collect into a list
@@ -0,0 +1,282 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payswiff.mfmsproject.dtos.MerchantDeviceAssignmentRejectionDto;
+import com.payswiff.mfmsproject.dtos.MerchantDeviceAssignmentSummaryDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.reuquests.MerchantDeviceAssociationRequest;
+import com.payswiff.mfmsproject.utils.BatchRetry;
+import com.payswiff.mfmsproject.utils.CsvReader;
+import com.payswiff.mfmsproject.utils.LongSetMultimap;
+
+/**
+ * Assigns many devices to merchants at once, for example when a new terminal model is rolled
+ * out.
+ * <p>
+ * Pairs come as a JSON list or as a CSV stream with the columns {@code merchant_id} and
+ * {@code device_id}, and are handled in batches of {@code mfms.merchant-device.bulk.batch-size}.
+ * For each batch, one query finds which of its merchants exist, one which of its devices exist,
+ * and one which associations its merchants already have. Pairs that already exist, or repeat
+ * within the request, are skipped, so assigning the same rollout twice does not create duplicate
+ * rows. The new pairs are inserted with a JDBC batch in one transaction and then added to the
+ * {@link MerchantDeviceIndex}.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+@Service
+public class MerchantDeviceBulkAssignService {
+
+	private static final Logger logger = LogManager.getLogger(MerchantDeviceBulkAssignService.class); // Logger initialization
+
+	private static final String INSERT_ASSOCIATION = "INSERT INTO merchant_device_association (merchant_id, device_id) "
+			+ "VALUES (?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MerchantDeviceIndex merchantDeviceIndex;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${mfms.merchant-device.bulk.batch-size:1000}")
+	private int batchSize; // pairs per set of lookups and per transaction
+
+	@Value("${mfms.merchant-device.bulk.max-pairs:50000}")
+	private int maxPairs; // largest accepted JSON request; CSV uploads are streamed
+
+	@Value("${mfms.merchant-device.bulk.max-line-length:256}")
+	private int maxLineLength; // longer CSV rows are rejected without being buffered
+
+	/**
+	 * A pair waiting for its batch to be checked and written.
+	 */
+	private record Pair(int position, long merchantId, long deviceId) {
+	}
+
+	/**
+	 * The progress of one request.
+	 */
+	private final class Assignment {
+		private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		private final LongSetMultimap seen = new LongSetMultimap(); // pairs of the request so far
+		private final List<Pair> batch = new ArrayList<>(batchSize);
+		private final List<MerchantDeviceAssignmentRejectionDto> rejected = new ArrayList<>();
+		private int requested;
+		private int assigned;
+		private int alreadyAssigned;
+
+		void add(int position, long merchantId, long deviceId) {
+			requested++;
+			if (!seen.put(merchantId, deviceId)) {
+				alreadyAssigned++;
+				return;
+			}
+			batch.add(new Pair(position, merchantId, deviceId));
+			if (batch.size() >= batchSize) {
+				flush();
+			}
+		}
+
+		void reject(int position, Long merchantId, Long deviceId, String reason) {
+			requested++;
+			rejected.add(new MerchantDeviceAssignmentRejectionDto(position, merchantId, deviceId, reason));
+		}
+
+		MerchantDeviceAssignmentSummaryDto finish() {
+			flush();
+			rejected.sort(Comparator.comparingInt(MerchantDeviceAssignmentRejectionDto::getPosition));
+			logger.info("Bulk device assignment: " + requested + " pairs, " + assigned + " assigned, "
+					+ alreadyAssigned + " already assigned, " + rejected.size() + " rejected.");
+			return new MerchantDeviceAssignmentSummaryDto(requested, assigned, alreadyAssigned, rejected);
+		}
+
+		/**
+		 * Checks the batch with three set queries and writes its new pairs.
+		 */
+		void flush() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			Set<Long> merchantIds = new LinkedHashSet<>();
+			Set<Long> deviceIds = new LinkedHashSet<>();
+			for (Pair pair : batch) {
+				merchantIds.add(pair.merchantId());
+				deviceIds.add(pair.deviceId());
+			}
+			Set<Long> merchants = new HashSet<>(jdbcTemplate.queryForList(
+					"SELECT merchant_id FROM merchant WHERE merchant_id IN (" + in(merchantIds) + ")", Long.class,
+					merchantIds.toArray()));
+			Set<Long> devices = new HashSet<>(jdbcTemplate.queryForList(
+					"SELECT device_id FROM device WHERE device_id IN (" + in(deviceIds) + ")", Long.class,
+					deviceIds.toArray()));
+			// read from the table rather than the index, which may lag assignments of other instances
+			LongSetMultimap existing = new LongSetMultimap();
+			jdbcTemplate.query("SELECT merchant_id, device_id FROM merchant_device_association WHERE merchant_id IN ("
+					+ in(merchantIds) + ")", (RowCallbackHandler) rs -> existing.put(rs.getLong(1), rs.getLong(2)),
+					merchantIds.toArray());
+
+			List<Pair> fresh = new ArrayList<>(batch.size());
+			for (Pair pair : batch) {
+				if (!merchants.contains(pair.merchantId())) {
+					rejected.add(rejection(pair, "Merchant not found with ID: " + pair.merchantId()));
+				} else if (!devices.contains(pair.deviceId())) {
+					rejected.add(rejection(pair, "Device not found with ID: " + pair.deviceId()));
+				} else if (existing.contains(pair.merchantId(), pair.deviceId())) {
+					alreadyAssigned++;
+				} else {
+					fresh.add(pair);
+				}
+			}
+			batch.clear();
+			assigned += write(fresh);
+		}
+
+		/**
+		 * Writes pairs in one transaction, or one by one if the batch is rejected, for instance
+		 * because a merchant was deleted meanwhile. A pair assigned by another request since the
+		 * batch was checked hits the unique key and counts as already assigned.
+		 *
+		 * @return the number of associations created
+		 */
+		private int write(List<Pair> pairs) {
+			return BatchRetry.writeAll("Bulk device assignment", pairs, batch -> {
+				transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ASSOCIATION,
+						batch.stream().map(p -> new Object[] { p.merchantId(), p.deviceId() }).toList()));
+				// only after the commit, so a rolled back batch leaves no pairs in the index
+				for (Pair pair : batch) {
+					merchantDeviceIndex.add(pair.merchantId(), pair.deviceId());
+				}
+			}, (pair, e) -> {
+				if (e instanceof DuplicateKeyException) {
+					alreadyAssigned++;
+					return;
+				}
+				logger.warn("Bulk device assignment at " + pair.position() + " rejected: " + e.getMessage());
+				rejected.add(rejection(pair, "Pair could not be assigned"));
+			});
+		}
+	}
+
+	/**
+	 * Assigns a list of pairs.
+	 *
+	 * @param requests The pairs to assign.
+	 * @return The number of pairs read, assigned and already assigned, and the pairs rejected;
+	 *         positions are 1-based indexes into the list.
+	 * @throws InvalidRequestParameterException If the list is empty or holds more than
+	 *                                          {@code mfms.merchant-device.bulk.max-pairs}.
+	 */
+	public MerchantDeviceAssignmentSummaryDto assign(List<MerchantDeviceAssociationRequest> requests)
+			throws InvalidRequestParameterException {
+		if (requests == null || requests.isEmpty() || requests.size() > maxPairs) {
+			throw new InvalidRequestParameterException("pairs",
+					requests == null ? null : String.valueOf(requests.size()),
+					"must hold between 1 and " + maxPairs + " pairs");
+		}
+		Assignment assignment = new Assignment();
+		for (int i = 0; i < requests.size(); i++) {
+			MerchantDeviceAssociationRequest request = requests.get(i);
+			Long merchantId = request == null ? null : request.getMerchantId();
+			Long deviceId = request == null ? null : request.getDeviceId();
+			if (merchantId == null || merchantId <= 0 || deviceId == null || deviceId <= 0) {
+				assignment.reject(i + 1, merchantId, deviceId, "Merchant and device IDs must be positive");
+			} else {
+				assignment.add(i + 1, merchantId, deviceId);
+			}
+		}
+		return assignment.finish();
+	}
+
+	/**
+	 * Assigns the pairs of a CSV stream, a header row naming {@code merchant_id} and
+	 * {@code device_id} followed by one pair per row. Blank lines are skipped.
+	 *
+	 * @param body The CSV stream.
+	 * @return The number of pairs read, assigned and already assigned, and the pairs rejected;
+	 *         positions are line numbers.
+	 * @throws IOException                      if the stream cannot be read.
+	 * @throws InvalidRequestParameterException if the stream is empty or its header lacks a column.
+	 */
+	public MerchantDeviceAssignmentSummaryDto assign(Reader body) throws IOException, InvalidRequestParameterException {
+		CsvReader csv = new CsvReader(body, maxLineLength);
+		List<String> header = csv.next();
+		while (header != null && CsvReader.isBlank(header)) {
+			header = csv.next();
+		}
+		if (header == null) {
+			throw new InvalidRequestParameterException("file", null, "must start with a header row");
+		}
+		List<String> names = header.stream().map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+				.toList();
+		int merchantColumn = names.indexOf("merchantid");
+		int deviceColumn = names.indexOf("deviceid");
+		if (merchantColumn < 0 || deviceColumn < 0) {
+			throw new InvalidRequestParameterException("header", String.join(",", header),
+					"must name the columns merchant_id, device_id");
+		}
+
+		Assignment assignment = new Assignment();
+		List<String> record;
+		while ((record = csv.next()) != null) {
+			if (CsvReader.isBlank(record)) {
+				continue;
+			}
+			int line = csv.getLine();
+			if (csv.isTruncated() || record.size() != header.size()) {
+				assignment.reject(line, null, null, "Expected " + header.size() + " columns");
+				continue;
+			}
+			Long merchantId = parseId(record.get(merchantColumn));
+			Long deviceId = parseId(record.get(deviceColumn));
+			if (merchantId == null || deviceId == null) {
+				assignment.reject(line, merchantId, deviceId, "Merchant and device IDs must be positive numbers");
+			} else {
+				assignment.add(line, merchantId, deviceId);
+			}
+		}
+		return assignment.finish();
+	}
+
+	private static Long parseId(String value) {
+		try {
+			long id = Long.parseLong(value.trim());
+			return id > 0 ? id : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static String in(Collection<?> values) {
+		return String.join(",", Collections.nCopies(values.size(), "?"));
+	}
+
+	private static MerchantDeviceAssignmentRejectionDto rejection(Pair pair, String reason) {
+		return new MerchantDeviceAssignmentRejectionDto(pair.position(), pair.merchantId(), pair.deviceId(), reason);
+	}
+}
@@ -0,0 +1,132 @@
+package com.payswiff.mfmsproject.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateDto;
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateReportDto;
+import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+
+/**
+ * Removes repeated merchant-device associations and adds the unique key on the pair, on
+ * databases created before the key existed.
+ * <p>
+ * Hibernate's schema update cannot add the key to a table that already holds the same pair
+ * twice, which the single-pair assignment used to allow. Removing the repeats is an admin
+ * operation, never part of startup: {@link #findDuplicates()} lists the rows that would be
+ * deleted, and {@link #removeDuplicatesAndAddKey()} copies exactly those rows to
+ * {@code merchant_device_association_removed}, deletes them in the same transaction and
+ * then adds the key. The oldest row of each pair is kept; nothing else refers to an
+ * association row.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+@Service
+public class MerchantDeviceDuplicateService {
+
+	private static final Logger logger = LogManager.getLogger(MerchantDeviceDuplicateService.class); // Logger initialization
+
+	/** Must match the name of the unique constraint of {@code MerchantDeviceAssociation}. */
+	static final String UNIQUE_KEY = "uk_merchant_device_association_pair";
+
+	private static final String KEY_EXISTS = "SELECT COUNT(*) FROM information_schema.table_constraints "
+			+ "WHERE table_schema = DATABASE() AND LOWER(table_name) = 'merchant_device_association' "
+			+ "AND LOWER(constraint_name) = ?";
+
+	// every row of a repeated pair but its oldest
+	private static final String FIND_DUPLICATES = "SELECT a.id, a.merchant_id, a.device_id, k.kept_id "
+			+ "FROM merchant_device_association a JOIN (SELECT merchant_id, device_id, MIN(id) AS kept_id "
+			+ "FROM merchant_device_association GROUP BY merchant_id, device_id HAVING COUNT(*) > 1) k "
+			+ "ON a.merchant_id = k.merchant_id AND a.device_id = k.device_id WHERE a.id <> k.kept_id ORDER BY a.id";
+
+	private static final String BACKUP = "INSERT INTO merchant_device_association_removed "
+			+ "(id, merchant_id, device_id, kept_id, removed_time) VALUES (?, ?, ?, ?, ?)";
+
+	private static final String DELETE = "DELETE FROM merchant_device_association WHERE id = ?";
+
+	private static final String ADD_KEY = "ALTER TABLE merchant_device_association ADD CONSTRAINT " + UNIQUE_KEY
+			+ " UNIQUE (merchant_id, device_id)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * Lists the repeated associations without changing anything.
+	 *
+	 * @return whether the key exists, and the rows that would be deleted
+	 */
+	public MerchantDeviceDuplicateReportDto findDuplicates() {
+		return new MerchantDeviceDuplicateReportDto(uniqueKeyExists(), false, duplicates());
+	}
+
+	/**
+	 * Backs up and deletes the repeated associations, then adds the unique key. Does nothing
+	 * once the key exists.
+	 *
+	 * @return the rows that were deleted
+	 * @throws ResourceUnableToCreate if the key cannot be added, e.g. because a pair was
+	 *                                assigned twice meanwhile; the deleted rows stay deleted
+	 *                                and backed up, and the operation can be repeated
+	 */
+	public MerchantDeviceDuplicateReportDto removeDuplicatesAndAddKey() throws ResourceUnableToCreate {
+		if (uniqueKeyExists()) {
+			logger.info("Unique key " + UNIQUE_KEY + " already exists, nothing to remove");
+			return new MerchantDeviceDuplicateReportDto(true, false, List.of());
+		}
+
+		List<MerchantDeviceDuplicateDto> duplicates = duplicates();
+		if (!duplicates.isEmpty()) {
+			for (MerchantDeviceDuplicateDto d : duplicates) {
+				logger.warn("Removing association " + d.getId() + " of merchant " + d.getMerchantId() + " and device "
+						+ d.getDeviceId() + ", a repeat of association " + d.getKeptId());
+			}
+			LocalDateTime now = LocalDateTime.now();
+			List<Object[]> backups = new ArrayList<>(duplicates.size());
+			List<Object[]> deletes = new ArrayList<>(duplicates.size());
+			for (MerchantDeviceDuplicateDto d : duplicates) {
+				backups.add(new Object[] { d.getId(), d.getMerchantId(), d.getDeviceId(), d.getKeptId(), now });
+				deletes.add(new Object[] { d.getId() });
+			}
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				jdbcTemplate.batchUpdate(BACKUP, backups);
+				jdbcTemplate.batchUpdate(DELETE, deletes);
+			});
+			logger.info(duplicates.size() + " repeated association(s) copied to merchant_device_association_removed "
+					+ "and deleted");
+		}
+
+		try {
+			jdbcTemplate.execute(ADD_KEY);
+		} catch (DataAccessException e) {
+			logger.error("Unable to add unique key " + UNIQUE_KEY + " to merchant_device_association", e);
+			throw new ResourceUnableToCreate("Unique key", UNIQUE_KEY, e.getMostSpecificCause().getMessage());
+		}
+		logger.info("Unique key " + UNIQUE_KEY + " added to merchant_device_association");
+		return new MerchantDeviceDuplicateReportDto(true, true, duplicates);
+	}
+
+	private boolean uniqueKeyExists() {
+		Integer keys = jdbcTemplate.queryForObject(KEY_EXISTS, Integer.class, UNIQUE_KEY);
+		return keys != null && keys > 0;
+	}
+
+	private List<MerchantDeviceDuplicateDto> duplicates() {
+		return jdbcTemplate.query(FIND_DUPLICATES, (rs, rowNum) -> new MerchantDeviceDuplicateDto(rs.getInt(1),
+				rs.getLong(2), rs.getLong(3), rs.getInt(4)));
+	}
+}
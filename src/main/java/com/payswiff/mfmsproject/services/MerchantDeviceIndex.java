@@ -0,0 +1,203 @@
+package com.payswiff.mfmsproject.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.utils.LongSetMultimap;
+
+/**
+ * In-memory index of the merchant-device associations.
+ * <p>
+ * Holds every row of {@code merchant_device_association} twice, merchant to devices and
+ * device to merchants, in two {@link LongSetMultimap}s, so membership and the number of
+ * devices of a merchant or merchants of a device are answered without boxing or a query.
+ * It is loaded once at startup
+ * with a plain JDBC scan and kept current by
+ * {@link MerchantDeviceAssociationService#assignDeviceToMerchant} and
+ * {@link MerchantDeviceBulkAssignService}. A periodic rebuild, every
+ * {@code mfms.merchant-device.index-refresh-ms}, picks up rows written by other instances,
+ * so until then a pair assigned elsewhere is missing here. Callers must treat a miss as
+ * "unknown" and re-check the table, as
+ * {@link MerchantDeviceAssociationService#isDeviceAssociatedWithMerchant} does; listings
+ * and counts read the table instead.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+@Component
+public class MerchantDeviceIndex {
+
+	private static final Logger logger = LogManager.getLogger(MerchantDeviceIndex.class); // Logger initialization
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private LongSetMultimap devicesByMerchant = new LongSetMultimap();
+	private LongSetMultimap merchantsByDevice = new LongSetMultimap();
+	private boolean loaded; // only set by rebuild, which holds both the monitor and the write lock
+	private List<long[]> addedDuringRebuild; // non-null while a rebuild is scanning the table
+
+	/**
+	 * Loads the index once the application has started.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the index from the database and swaps it in.
+	 */
+	@Scheduled(fixedDelayString = "${mfms.merchant-device.index-refresh-ms:300000}",
+			initialDelayString = "${mfms.merchant-device.index-refresh-ms:300000}")
+	public synchronized void rebuild() {
+		lock.writeLock().lock();
+		try {
+			addedDuringRebuild = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		LongSetMultimap byMerchant = new LongSetMultimap();
+		LongSetMultimap byDevice = new LongSetMultimap();
+		long[] rows = new long[1];
+		try {
+			jdbcTemplate.query("SELECT merchant_id, device_id FROM merchant_device_association", (RowCallbackHandler) rs -> {
+				byMerchant.put(rs.getLong(1), rs.getLong(2));
+				byDevice.put(rs.getLong(2), rs.getLong(1));
+				rows[0]++;
+			});
+		} catch (RuntimeException e) {
+			lock.writeLock().lock();
+			try {
+				addedDuringRebuild = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			throw e;
+		}
+
+		lock.writeLock().lock();
+		try {
+			// pairs assigned while we were scanning may be missing from the scan
+			for (long[] pair : addedDuringRebuild) {
+				byMerchant.put(pair[0], pair[1]);
+				byDevice.put(pair[1], pair[0]);
+			}
+			addedDuringRebuild = null;
+			devicesByMerchant = byMerchant;
+			merchantsByDevice = byDevice;
+			loaded = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Merchant-device index loaded: " + rows[0] + " associations.");
+	}
+
+	/**
+	 * Records a new association.
+	 *
+	 * @param merchantId the merchant ID
+	 * @param deviceId   the device ID
+	 */
+	public void add(long merchantId, long deviceId) {
+		lock.writeLock().lock();
+		try {
+			devicesByMerchant.put(merchantId, deviceId);
+			merchantsByDevice.put(deviceId, merchantId);
+			if (addedDuringRebuild != null) {
+				addedDuringRebuild.add(new long[] { merchantId, deviceId });
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @param merchantId the merchant ID
+	 * @param deviceId   the device ID
+	 * @return true if the device is assigned to the merchant
+	 */
+	public boolean contains(long merchantId, long deviceId) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return devicesByMerchant.contains(merchantId, deviceId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param merchantId the merchant ID
+	 * @return the number of devices assigned to the merchant
+	 */
+	public int deviceCount(long merchantId) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return devicesByMerchant.size(merchantId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param deviceId the device ID
+	 * @return the IDs of the merchants the device is assigned to, in ascending order
+	 */
+	public long[] merchantsOf(long deviceId) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return merchantsByDevice.values(deviceId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param deviceId the device ID
+	 * @return the number of merchants the device is assigned to
+	 */
+	public int merchantCount(long deviceId) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return merchantsByDevice.size(deviceId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void ensureLoaded() {
+		lock.readLock().lock();
+		try {
+			if (loaded) {
+				return;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		// first use before the startup load finished: one thread loads, the others wait for it
+		synchronized (this) {
+			if (!loaded) {
+				rebuild();
+			}
+		}
+	}
+}
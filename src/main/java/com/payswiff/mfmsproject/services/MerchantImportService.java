@@ -0,0 +1,244 @@
+package com.payswiff.mfmsproject.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payswiff.mfmsproject.dtos.MerchantImportRejectionDto;
+import com.payswiff.mfmsproject.dtos.MerchantImportReportDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.utils.BatchRetry;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+import com.payswiff.mfmsproject.utils.CsvReader;
+
+/**
+ * Imports merchants from a CSV file, for example the merchant list of a new acquiring partner.
+ * <p>
+ * The first row names the columns {@code merchant_name}, {@code merchant_email},
+ * {@code merchant_phone}, {@code merchant_business_name} and {@code merchant_business_type}, in
+ * any order. The file is read one row at a time. The emails and phone numbers of all existing
+ * merchants are loaded into hash sets once per import, so a row is checked against the database
+ * and against the earlier rows of the file without a query; emails are compared ignoring case,
+ * like the unique index does.
+ * </p>
+ * <p>
+ * Valid rows are inserted with JDBC batches of {@code mfms.merchant.import.batch-size}, one
+ * transaction each. If the database rejects a batch, for instance because a merchant with the
+ * same email was created meanwhile, its rows are written one by one so one conflict does not
+ * reject the others. Every row that is not imported is listed in the report with its line and
+ * the reason.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+@Service
+public class MerchantImportService {
+
+	private static final Logger logger = LogManager.getLogger(MerchantImportService.class); // Logger initialization
+
+	static final List<String> COLUMNS = List.of("merchant_name", "merchant_email", "merchant_phone",
+			"merchant_business_name", "merchant_business_type");
+
+	private static final String INSERT_MERCHANT = "INSERT INTO merchant (merchant_uuid, merchant_name, "
+			+ "merchant_email, merchant_phone, merchant_business_name, merchant_business_type, "
+			+ "merchant_creation_time, merchant_updation_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ReferenceCacheService referenceCacheService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${mfms.merchant.import.batch-size:1000}")
+	private int batchSize; // rows per transaction
+
+	@Value("${mfms.merchant.import.max-line-length:4096}")
+	private int maxLineLength; // longer rows are rejected without being buffered
+
+	/**
+	 * A valid row waiting for its batch to be written.
+	 */
+	private record Row(int line, String name, String email, String phone, String businessName,
+			String businessType) {
+	}
+
+	/**
+	 * Reads a CSV file to the end and creates the merchants of its valid rows.
+	 *
+	 * @param body The CSV file, a header row followed by one merchant per row. Blank lines are
+	 *             skipped.
+	 * @return The number of data rows read, which leaves out the header and blank lines, the
+	 *         number imported, and the rows not imported with their line in the file, which
+	 *         counts every physical line from 1.
+	 * @throws IOException                      if the file cannot be read.
+	 * @throws InvalidRequestParameterException if the file is empty or its header lacks a column.
+	 */
+	public MerchantImportReportDto importMerchants(Reader body) throws IOException, InvalidRequestParameterException {
+		CsvReader csv = new CsvReader(body, maxLineLength);
+		List<String> header = csv.next();
+		while (header != null && CsvReader.isBlank(header)) {
+			header = csv.next();
+		}
+		int[] columns = columnsOf(header);
+
+		// Emails and phones already taken; one scan instead of a query per row
+		Set<String> emails = new HashSet<>();
+		Set<String> phones = new HashSet<>();
+		jdbcTemplate.query("SELECT merchant_email, merchant_phone FROM merchant", (RowCallbackHandler) rs -> {
+			emails.add(emailKey(rs.getString(1)));
+			phones.add(rs.getString(2));
+		});
+		Map<String, Integer> fileEmails = new HashMap<>(); // line of the first row with each email
+		Map<String, Integer> filePhones = new HashMap<>();
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<MerchantImportRejectionDto> rejected = new ArrayList<>();
+		List<Row> batch = new ArrayList<>(batchSize);
+		int rows = 0;
+		int created = 0;
+		List<String> record;
+		while ((record = csv.next()) != null) {
+			if (CsvReader.isBlank(record)) {
+				continue;
+			}
+			rows++;
+			int line = csv.getLine();
+			if (csv.isTruncated()) {
+				rejected.add(new MerchantImportRejectionDto(line, null, "Row longer than " + maxLineLength
+						+ " characters"));
+				continue;
+			}
+			if (record.size() != header.size()) {
+				rejected.add(new MerchantImportRejectionDto(line, null, "Expected " + header.size()
+						+ " columns, found " + record.size()));
+				continue;
+			}
+			Row row = new Row(line, record.get(columns[0]).trim(), record.get(columns[1]).trim(),
+					record.get(columns[2]).trim(), record.get(columns[3]).trim(), record.get(columns[4]).trim());
+			String error = validate(row, emails, phones, fileEmails, filePhones);
+			if (error != null) {
+				rejected.add(new MerchantImportRejectionDto(line, row.email(), error));
+				continue;
+			}
+			fileEmails.put(emailKey(row.email()), line);
+			filePhones.put(row.phone(), line);
+			batch.add(row);
+			if (batch.size() >= batchSize) {
+				created += write(transaction, batch, rejected);
+				batch.clear();
+			}
+		}
+		created += write(transaction, batch, rejected);
+
+		if (created > 0) {
+			// the rows were inserted behind Hibernate's back, so cached lookups may miss them
+			referenceCacheService.evictLookups(CacheRegions.MERCHANT_QUERIES);
+		}
+		rejected.sort(Comparator.comparingInt(MerchantImportRejectionDto::getLine));
+		logger.info("Merchant import: " + rows + " rows, " + created + " created, " + rejected.size() + " rejected.");
+		return new MerchantImportReportDto(rows, created, rejected);
+	}
+
+	/**
+	 * Finds the required columns in the header, ignoring case and underscores.
+	 *
+	 * @return the position of each of {@link #COLUMNS} in a row
+	 */
+	private static int[] columnsOf(List<String> header) throws InvalidRequestParameterException {
+		if (header == null) {
+			throw new InvalidRequestParameterException("file", null, "must start with a header row");
+		}
+		List<String> names = header.stream().map(MerchantImportService::columnKey).toList();
+		int[] columns = new int[COLUMNS.size()];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = names.indexOf(columnKey(COLUMNS.get(i)));
+			if (columns[i] < 0) {
+				throw new InvalidRequestParameterException("header", String.join(",", header),
+						"must name the columns " + String.join(", ", COLUMNS));
+			}
+		}
+		return columns;
+	}
+
+	private static String validate(Row row, Set<String> emails, Set<String> phones, Map<String, Integer> fileEmails,
+			Map<String, Integer> filePhones) {
+		if (row.name().isEmpty() || row.email().isEmpty() || row.phone().isEmpty() || row.businessName().isEmpty()
+				|| row.businessType().isEmpty()) {
+			return "Name, email, phone, business name and business type cannot be empty";
+		}
+		String email = emailKey(row.email());
+		if (emails.contains(email)) {
+			return "Merchant with email " + row.email() + " already exists";
+		}
+		if (phones.contains(row.phone())) {
+			return "Merchant with phone " + row.phone() + " already exists";
+		}
+		if (fileEmails.containsKey(email)) {
+			return "Email " + row.email() + " repeated from line " + fileEmails.get(email);
+		}
+		if (filePhones.containsKey(row.phone())) {
+			return "Phone " + row.phone() + " repeated from line " + filePhones.get(row.phone());
+		}
+		return null;
+	}
+
+	private static String emailKey(String email) {
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static String columnKey(String name) {
+		return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Writes rows in one transaction, or one by one if the batch is rejected. A database outage
+	 * ends the import; the rows already written are reported as existing when the file is sent
+	 * again.
+	 *
+	 * @return the number of merchants created
+	 */
+	private int write(TransactionTemplate transaction, List<Row> rows, List<MerchantImportRejectionDto> rejected) {
+		return BatchRetry.writeAll("Merchant import", rows,
+				batch -> transaction.executeWithoutResult(status -> insert(batch)), (row, e) -> {
+					logger.warn("Merchant import row on line " + row.line() + " rejected: " + e.getMessage());
+					rejected.add(new MerchantImportRejectionDto(row.line(), row.email(),
+							e instanceof DuplicateKeyException ? "Merchant with the same email or phone already exists"
+									: "Merchant could not be created"));
+				});
+	}
+
+	private void insert(List<Row> batch) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>(batch.size());
+		for (Row row : batch) {
+			rows.add(new Object[] { UUID.randomUUID().toString(), row.name(), row.email(), row.phone(),
+					row.businessName(), row.businessType(), now, now });
+		}
+		jdbcTemplate.batchUpdate(INSERT_MERCHANT, rows);
+	}
+}
@@ -10,6 +10,7 @@ import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Merchant;
 import com.payswiff.mfmsproject.repositories.MerchantRepository;
+import com.payswiff.mfmsproject.utils.CacheRegions;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +34,9 @@ public class MerchantService {
     @Autowired
     private MerchantRepository merchantRepository;
 
+    @Autowired
+    private ReferenceCacheService referenceCacheService; // Second-level cache of reference data
+
     /**
      * Creates a new merchant if no existing merchant with the same email or phone exists.
      *
@@ -54,7 +58,9 @@ public class MerchantService {
                     "Email or Phone cannot be null or empty.");
         }
 
-        // Check if merchant with the same email or phone already exists
+        // Check if merchant with the same email or phone already exists, against the
+        // database rather than a cached result
+        referenceCacheService.evictLookups(CacheRegions.MERCHANT_QUERIES);
         Optional<Merchant> existingMerchant = Optional.ofNullable(merchantRepository.findByMerchantEmailOrMerchantPhone(
             merchant.getMerchantEmail(), merchant.getMerchantPhone()));
 
@@ -0,0 +1,123 @@
+package com.payswiff.mfmsproject.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.models.PasswordSetupToken;
+import com.payswiff.mfmsproject.repositories.PasswordSetupTokenRepository;
+
+/**
+ * Issues and redeems the single-use links with which new employees set their password.
+ * <p>
+ * Welcome mails are queued with {@link #LINK_PLACEHOLDER} in their body and never hold a
+ * password. When the {@link EmailOutboxDispatcher} sends such a mail it calls
+ * {@link #issueLink(String)}, which stores the hash of a fresh random token and returns the
+ * link; the token itself only exists in the mail that was sent. {@link #setPassword(String, String)}
+ * redeems a token once, before it expires.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+@Service
+public class PasswordSetupService {
+
+	private static final Logger logger = LogManager.getLogger(PasswordSetupService.class);
+
+	/**
+	 * Stands for the set-password link in a queued mail body.
+	 */
+	public static final String LINK_PLACEHOLDER = "{set-password-link}";
+
+	private static final int TOKEN_BYTES = 32;
+
+	@Autowired
+	private PasswordSetupTokenRepository passwordSetupTokenRepository;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Value("${mfms.employee.password-setup.url:http://localhost:5173/set-password?token=}")
+	private String linkPrefix; // the token is appended to this
+
+	@Value("${mfms.employee.password-setup.ttl-ms:259200000}")
+	private long ttlMs; // how long a link works after it was mailed
+
+	private final SecureRandom random = new SecureRandom();
+
+	/**
+	 * Creates a new set-password link for an employee, replacing any earlier one.
+	 *
+	 * @param email the email of the employee
+	 * @return the link, to be put into the mail and nowhere else
+	 */
+	@Transactional
+	public String issueLink(String email) {
+		byte[] raw = new byte[TOKEN_BYTES];
+		random.nextBytes(raw);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+		LocalDateTime expiry = LocalDateTime.now().plusNanos(ttlMs * 1_000_000L);
+		PasswordSetupToken row = passwordSetupTokenRepository.findByPasswordSetupEmail(email)
+				.orElseGet(() -> new PasswordSetupToken(email, null, null));
+		row.setPasswordSetupTokenHash(hash(token));
+		row.setPasswordSetupExpiryTime(expiry);
+		passwordSetupTokenRepository.save(row);
+		logger.info("Issued a set-password link for {} valid until {}", email, expiry);
+		return linkPrefix + token;
+	}
+
+	/**
+	 * Sets the password of the employee a link was issued for and uses the link up.
+	 *
+	 * @param token    the token from the link
+	 * @param password the new password
+	 * @return true once the password is set
+	 * @throws InvalidRequestParameterException if the token is unknown, used or expired
+	 * @throws ResourceNotFoundException        if the employee no longer exists
+	 */
+	@Transactional(rollbackFor = ResourceNotFoundException.class)
+	public boolean setPassword(String token, String password)
+			throws InvalidRequestParameterException, ResourceNotFoundException {
+		if (token == null || token.isEmpty()) {
+			throw new InvalidRequestParameterException("token", "", "missing");
+		}
+		if (password == null || password.isEmpty()) {
+			throw new InvalidRequestParameterException("password", "", "missing");
+		}
+		PasswordSetupToken row = passwordSetupTokenRepository.findByPasswordSetupTokenHash(hash(token))
+				.filter(t -> t.getPasswordSetupExpiryTime().isAfter(LocalDateTime.now()))
+				.orElse(null);
+		// the token is not echoed back: it is a credential
+		if (row == null || passwordSetupTokenRepository.consume(row.getPasswordSetupTokenId()) != 1) {
+			logger.warn("Rejected an unknown, used or expired set-password link");
+			throw new InvalidRequestParameterException("token", "(hidden)", "unknown, used or expired");
+		}
+		employeeService.updateEmployeePassword(row.getPasswordSetupEmail(), password);
+		logger.info("Password set through a set-password link for {}", row.getPasswordSetupEmail());
+		return true;
+	}
+
+	static String hash(String token) {
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e); // required of every JVM
+		}
+	}
+}
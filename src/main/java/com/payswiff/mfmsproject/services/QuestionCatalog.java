@@ -0,0 +1,206 @@
+package com.payswiff.mfmsproject.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.QuestionRepository;
+
+/**
+ * In-memory, versioned snapshot of the question catalog.
+ * <p>
+ * The catalog only changes when an admin adds a question, but it is read on every
+ * feedback submission and by the question endpoints. Readers take the current
+ * {@link Snapshot} without locking; a snapshot is immutable, so a reader always
+ * sees one consistent version of the catalog. Writers build a new snapshot and
+ * swap it in atomically.
+ * </p>
+ * <p>
+ * The snapshot holds detached copies of the {@link Question} rows. They are
+ * shared by all readers and must be treated as read-only.
+ * </p>
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+@Component
+public class QuestionCatalog {
+
+	private static final Logger logger = LogManager.getLogger(QuestionCatalog.class); // Logger initialization
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+	/**
+	 * Returns the current snapshot, loading it from the database on first use.
+	 *
+	 * @return the current catalog snapshot
+	 */
+	public Snapshot current() {
+		Snapshot snapshot = current.get();
+		return snapshot != null ? snapshot : reload();
+	}
+
+	/**
+	 * @param id the question ID
+	 * @return the question from the current snapshot, if present
+	 */
+	public Optional<Question> findById(Long id) {
+		return current().findById(id);
+	}
+
+	/**
+	 * @param description the exact question description
+	 * @return the question from the current snapshot, if present
+	 */
+	public Optional<Question> findByDescription(String description) {
+		return current().findByDescription(description);
+	}
+
+	/**
+	 * @return all questions of the current snapshot, ordered by ID (read-only)
+	 */
+	public List<Question> getAll() {
+		return current().getQuestions();
+	}
+
+	/**
+	 * Rebuilds the snapshot from the database. Also runs periodically so that
+	 * questions added through another instance show up here.
+	 *
+	 * @return the snapshot now in effect
+	 */
+	@Scheduled(fixedDelayString = "${mfms.questions.catalog-refresh-ms:60000}",
+			initialDelayString = "${mfms.questions.catalog-refresh-ms:60000}")
+	public synchronized Snapshot reload() {
+		Snapshot previous = current.get();
+		long version = previous == null ? 1 : previous.getVersion() + 1;
+		Snapshot reloaded = new Snapshot(version, questionRepository.findAll());
+		if (previous != null && previous.sameContentAs(reloaded)) {
+			return previous; // nothing changed, keep the version stable
+		}
+		current.set(reloaded);
+		logger.info("Question catalog loaded: version " + reloaded.getVersion() + " with "
+				+ reloaded.getQuestions().size() + " questions.");
+		return reloaded;
+	}
+
+	/**
+	 * Publishes a newly saved (or changed) question as a new catalog version.
+	 *
+	 * @param saved the question as persisted
+	 * @return the snapshot now in effect
+	 */
+	public synchronized Snapshot publish(Question saved) {
+		Snapshot previous = current();
+		List<Question> questions = new ArrayList<>(previous.getQuestions().size() + 1);
+		for (Question question : previous.getQuestions()) {
+			if (!Objects.equals(question.getQuestionId(), saved.getQuestionId())) {
+				questions.add(question);
+			}
+		}
+		questions.add(saved);
+		Snapshot next = new Snapshot(previous.getVersion() + 1, questions);
+		current.set(next);
+		logger.info("Question catalog moved to version " + next.getVersion() + " (question ID "
+				+ saved.getQuestionId() + ").");
+		return next;
+	}
+
+	/**
+	 * One immutable version of the question catalog.
+	 */
+	public static final class Snapshot {
+
+		private final long version;
+		private final List<Question> questions;
+		private final Map<Long, Question> byId;
+		private final Map<String, Question> byDescription;
+
+		Snapshot(long version, List<Question> source) {
+			List<Question> copies = new ArrayList<>(source.size());
+			Map<Long, Question> ids = new HashMap<>(source.size() * 2);
+			Map<String, Question> descriptions = new HashMap<>(source.size() * 2);
+			for (Question question : source) {
+				Question copy = new Question(question.getQuestionId(), question.getQuestionUuid(),
+						question.getQuestionDescription());
+				copies.add(copy);
+				ids.put(copy.getQuestionId(), copy);
+				descriptions.put(copy.getQuestionDescription(), copy);
+			}
+			copies.sort(Comparator.comparing(Question::getQuestionId, Comparator.nullsLast(Comparator.naturalOrder())));
+			this.version = version;
+			this.questions = Collections.unmodifiableList(copies);
+			this.byId = Collections.unmodifiableMap(ids);
+			this.byDescription = Collections.unmodifiableMap(descriptions);
+		}
+
+		/**
+		 * @return the version, incremented on every change
+		 */
+		public long getVersion() {
+			return version;
+		}
+
+		/**
+		 * @return all questions ordered by ID
+		 */
+		public List<Question> getQuestions() {
+			return questions;
+		}
+
+		/**
+		 * @param id the question ID
+		 * @return the question, if present
+		 */
+		public Optional<Question> findById(Long id) {
+			return Optional.ofNullable(id == null ? null : byId.get(id));
+		}
+
+		/**
+		 * @param description the exact description
+		 * @return the question, if present
+		 */
+		public Optional<Question> findByDescription(String description) {
+			return Optional.ofNullable(description == null ? null : byDescription.get(description));
+		}
+
+		/**
+		 * @param id the question ID
+		 * @return true if the question is part of this version
+		 */
+		public boolean contains(long id) {
+			return byId.containsKey(id);
+		}
+
+		private boolean sameContentAs(Snapshot other) {
+			if (questions.size() != other.questions.size()) {
+				return false;
+			}
+			for (int i = 0; i < questions.size(); i++) {
+				Question a = questions.get(i);
+				Question b = other.questions.get(i);
+				if (!Objects.equals(a.getQuestionId(), b.getQuestionId())
+						|| !Objects.equals(a.getQuestionDescription(), b.getQuestionDescription())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
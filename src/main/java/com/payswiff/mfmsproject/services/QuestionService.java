@@ -11,6 +11,7 @@ import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;  // Assumi
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Question;
 import com.payswiff.mfmsproject.repositories.QuestionRepository;
+import com.payswiff.mfmsproject.utils.CacheRegions;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +22,9 @@ import java.util.Optional;
  * and retrieving all questions from the repository. The service performs validations 
  * to ensure data integrity, such as checking for existing questions with the same description.</p>
  * 
+ * <p>Reads are served from the in-memory {@link QuestionCatalog}; every successful save
+ * publishes a new catalog version.</p>
+ * 
  * <p>It also logs important events and errors during the execution of these operations.</p>
  * 
  * @version MFMS_0.0.1
@@ -34,6 +38,12 @@ public class QuestionService {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private ReferenceCacheService referenceCacheService; // Second-level cache of reference data
+
+    @Autowired
+    private QuestionCatalog questionCatalog; // In-memory snapshot used for reads
+
     /**
      * Saves a question to the repository.
      *
@@ -56,7 +66,9 @@ public class QuestionService {
             throw new ResourceUnableToCreate("Question", "Description cannot be empty", "Empty Description");
         }
 
-        // Check for existing question with the same description
+        // Check for existing question with the same description, against the database
+        // rather than a cached result
+        referenceCacheService.evictLookups(CacheRegions.QUESTION_QUERIES);
         Optional<Question> existingQuestion = questionRepository.findByDescription(question.getQuestionDescription());
 
         if (existingQuestion.isPresent()) {
@@ -69,6 +81,7 @@ public class QuestionService {
             // Attempt to save the question and return the saved question
             Question savedQuestion = questionRepository.save(question);
             logger.info("Question saved successfully with ID: {}", savedQuestion.getQuestionId()); // Log success
+            questionCatalog.publish(savedQuestion); // Swap in the new catalog version
             return savedQuestion;
         } catch (Exception e) {
             // If any error occurs during saving, throw ResourceUnableToCreate
@@ -78,7 +91,9 @@ public class QuestionService {
     }
 
     /**
-     * Retrieves a Question by its ID.
+     * Retrieves a Question by its ID from the catalog. A catalog miss is checked
+     * against the database (the question may have been added by another instance)
+     * and published if found.
      * 
      * @param id The ID of the question to retrieve.
      * @return The found Question object.
@@ -86,11 +101,17 @@ public class QuestionService {
      */
     public Question getQuestionById(Long id) throws ResourceNotFoundException {
         logger.info("Attempting to retrieve question by ID: {}", id); // Log retrieval attempt by ID
-        return questionRepository.findById(id)
+        Optional<Question> cached = questionCatalog.findById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Question question = questionRepository.findById(id)
             .orElseThrow(() -> {
                 logger.error("No question found with ID: {}", id); // Log failure to find question
                 return new ResourceNotFoundException("Question", "ID", String.valueOf(id));
             });
+        questionCatalog.publish(question); // Catalog was behind, catch up
+        return question;
     }
 
     /**
@@ -102,21 +123,27 @@ public class QuestionService {
      */
     public Question getQuestionByDescription(String description) throws ResourceNotFoundException {
         logger.info("Attempting to retrieve question by description: {}", description); // Log retrieval attempt by description
-        return questionRepository.findByDescription(description)
+        Optional<Question> cached = questionCatalog.findByDescription(description);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Question question = questionRepository.findByDescription(description)
             .orElseThrow(() -> {
                 logger.error("No question found with description: {}", description); // Log failure to find question
                 return new ResourceNotFoundException("Question", "Description", description);
             });
+        questionCatalog.publish(question); // Catalog was behind, catch up
+        return question;
     }
 
     /**
-     * Retrieves all questions from the database.
+     * Retrieves all questions from the current catalog snapshot.
      *
-     * @return List of all Question entities.
+     * @return List of all Question entities, ordered by ID (read-only).
      */
     public List<Question> getAllQuestions() {
         logger.info("Attempting to retrieve all questions."); // Log the attempt to fetch all questions
-        List<Question> questions = questionRepository.findAll();
+        List<Question> questions = questionCatalog.getAll();
         logger.info("Successfully retrieved all questions. Total count: {}", questions.size()); // Log success with count
         return questions; // Returns all questions from the repository
     }
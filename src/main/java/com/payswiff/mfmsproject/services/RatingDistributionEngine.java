@@ -0,0 +1,195 @@
+package com.payswiff.mfmsproject.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.payswiff.mfmsproject.dtos.RatingDistributionDto;
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.utils.RatingHistograms;
+import com.payswiff.mfmsproject.utils.RebuiltIndex;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory rating distributions of every employee, device and merchant.
+ * <p>
+ * Holds one {@link RatingHistograms} per scope in a {@link RebuiltIndex}. They are loaded
+ * once at startup with a streaming JDBC scan of {@code feedback} and kept current by
+ * {@link #record(Feedback)}, which adds a feedback once its transaction commits. A periodic
+ * rebuild picks up feedbacks written by other instances. Reads take the read lock and
+ * compute the statistics from the primitive arrays, without touching the database; before
+ * the startup load has completed they fail with {@link IndexNotLoadedException}.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+@Component
+public class RatingDistributionEngine {
+
+	private static final Logger logger = LogManager.getLogger(RatingDistributionEngine.class); // Logger initialization
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${mfms.feedback.stream-fetch-size:-2147483648}")
+	private int streamFetchSize; // MySQL Connector/J only streams with Integer.MIN_VALUE
+
+	@Value("${mfms.feedback.ratings.low-threshold:2.0}")
+	private double lowRatingThreshold; // ratings at or below this count as low
+
+	private JdbcTemplate streamingJdbcTemplate;
+
+	private final RebuiltIndex<Map<FeedbackRollupScope, RatingHistograms>, Rating> histograms = new RebuiltIndex<>(
+			"Rating distributions") {
+
+		@Override
+		protected Map<FeedbackRollupScope, RatingHistograms> empty() {
+			Map<FeedbackRollupScope, RatingHistograms> empty = new EnumMap<>(FeedbackRollupScope.class);
+			for (FeedbackRollupScope scope : FeedbackRollupScope.values()) {
+				empty.put(scope, new RatingHistograms());
+			}
+			return empty;
+		}
+
+		@Override
+		protected void scan(RowCallbackHandler handler) {
+			streamingJdbcTemplate.query("SELECT feedback_id, feedback_employee_id, feedback_device_id, "
+					+ "feedback_merchant_id, feedback_rating, feedback_creation_time FROM feedback", handler);
+		}
+
+		@Override
+		protected Rating read(ResultSet rs) throws SQLException {
+			double rating = rs.getDouble(5);
+			return rs.wasNull() ? null : new Rating(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rating);
+		}
+
+		@Override
+		protected int feedbackId(Rating rating) {
+			return rating.feedbackId();
+		}
+
+		@Override
+		protected void add(Map<FeedbackRollupScope, RatingHistograms> target, Rating rating) {
+			target.get(FeedbackRollupScope.EMPLOYEE).add(rating.employeeId(), rating.rating());
+			target.get(FeedbackRollupScope.DEVICE).add(rating.deviceId(), rating.rating());
+			target.get(FeedbackRollupScope.MERCHANT).add(rating.merchantId(), rating.rating());
+		}
+	};
+
+	/**
+	 * One rating of a committed feedback.
+	 */
+	record Rating(int feedbackId, long employeeId, long deviceId, long merchantId, double rating) {
+	}
+
+	/**
+	 * Prepares the streaming template.
+	 */
+	@PostConstruct
+	public void init() {
+		streamingJdbcTemplate = new JdbcTemplate(dataSource);
+		streamingJdbcTemplate.setFetchSize(streamFetchSize);
+	}
+
+	/**
+	 * Loads the distributions once the application has started.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the distributions from the database and swaps them in.
+	 */
+	@Scheduled(fixedDelayString = "${mfms.feedback.ratings.refresh-ms:300000}",
+			initialDelayString = "${mfms.feedback.ratings.refresh-ms:300000}")
+	public void rebuild() {
+		Map<FeedbackRollupScope, RatingHistograms> scanned = histograms.rebuild();
+		logger.info("Rating distributions loaded: " + scanned.get(FeedbackRollupScope.EMPLOYEE).size()
+				+ " employees, " + scanned.get(FeedbackRollupScope.DEVICE).size() + " devices, "
+				+ scanned.get(FeedbackRollupScope.MERCHANT).size() + " merchants.");
+	}
+
+	/**
+	 * Adds a saved feedback to the distributions once its transaction commits, or at once
+	 * when there is no transaction.
+	 *
+	 * @param feedback The saved feedback.
+	 */
+	public void record(Feedback feedback) {
+		if (feedback.getFeedbackRating() == null) {
+			return;
+		}
+		histograms.addAfterCommit(new Rating(feedback.getFeedbackId(), feedback.getFeedbackEmployee().getEmployeeId(),
+				feedback.getFeedbackDevice().getDeviceId(), feedback.getFeedbackMerchant().getMerchantId(),
+				feedback.getFeedbackRating()));
+	}
+
+	/**
+	 * Returns the distribution of every employee, device or merchant with ratings.
+	 *
+	 * @param scope Employee, device or merchant.
+	 * @return The distributions, ordered by ID.
+	 * @throws IndexNotLoadedException if the distributions are still loading.
+	 */
+	public List<RatingDistributionDto> getDistributions(FeedbackRollupScope scope) {
+		return histograms.read(byScope -> {
+			RatingHistograms ratings = byScope.get(scope);
+			int[] indexes = ratings.indexesByKey();
+			List<RatingDistributionDto> distributions = new ArrayList<>(indexes.length);
+			for (int index : indexes) {
+				distributions.add(distribution(ratings, index));
+			}
+			return distributions;
+		});
+	}
+
+	/**
+	 * Returns the distribution of one employee, device or merchant.
+	 *
+	 * @param scope Employee, device or merchant.
+	 * @param id    Its ID.
+	 * @return The distribution.
+	 * @throws ResourceNotFoundException if it has no ratings.
+	 * @throws IndexNotLoadedException   if the distributions are still loading.
+	 */
+	public RatingDistributionDto getDistribution(FeedbackRollupScope scope, long id) throws ResourceNotFoundException {
+		RatingDistributionDto distribution = histograms.read(byScope -> {
+			RatingHistograms ratings = byScope.get(scope);
+			int index = ratings.indexOf(id);
+			return index < 0 ? null : distribution(ratings, index);
+		});
+		if (distribution == null) {
+			throw new ResourceNotFoundException("Ratings of " + scope.name().toLowerCase(), "ID", String.valueOf(id));
+		}
+		return distribution;
+	}
+
+	private RatingDistributionDto distribution(RatingHistograms ratings, int index) {
+		return new RatingDistributionDto(ratings.key(index), ratings.count(index), ratings.mean(index),
+				ratings.standardDeviation(index), ratings.percentile(index, 0.5), ratings.percentile(index, 0.1),
+				ratings.percentile(index, 0.9), ratings.shareAtOrBelow(index, lowRatingThreshold));
+	}
+}
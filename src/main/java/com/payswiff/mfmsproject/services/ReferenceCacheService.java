@@ -0,0 +1,79 @@
+package com.payswiff.mfmsproject.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.payswiff.mfmsproject.dtos.CacheRegionStatsDto;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Evicts and reports on the second-level cache regions of the reference entities
+ * (device, merchant, question and role).
+ * <p>
+ * The cache is local to each instance. Hibernate drops cached lookup results when this
+ * instance commits a change to their table, but not when another instance does, so a cached
+ * "not found" may be stale. The create paths therefore evict their lookup region before the
+ * duplicate check, which then always reads the database.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+@Service
+public class ReferenceCacheService {
+
+	private static final Logger logger = LogManager.getLogger(ReferenceCacheService.class); // Logger initialization
+
+	private static final List<String> REGIONS = List.of(CacheRegions.DEVICE, CacheRegions.DEVICE_QUERIES,
+			CacheRegions.MERCHANT, CacheRegions.MERCHANT_QUERIES, CacheRegions.QUESTION, CacheRegions.QUESTION_QUERIES,
+			CacheRegions.ROLE, CacheRegions.ROLE_QUERIES);
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Drops every cached result of a lookup region.
+	 *
+	 * @param queryRegion One of the {@code *_QUERIES} regions of {@link CacheRegions}.
+	 */
+	public void evictLookups(String queryRegion) {
+		sessionFactory().getCache().evictQueryRegion(queryRegion);
+		logger.debug("Evicted cache region {}", queryRegion);
+	}
+
+	/**
+	 * Returns the counters of every reference region. A region that has not been used yet
+	 * reports zeros, and so does every region when {@code hibernate.generate_statistics} is
+	 * off, as in the prod profile.
+	 *
+	 * @return One entry per region, entity regions before their lookup regions.
+	 */
+	public List<CacheRegionStatsDto> getStatistics() {
+		Statistics statistics = sessionFactory().getStatistics();
+		List<CacheRegionStatsDto> result = new ArrayList<>(REGIONS.size());
+		for (String region : REGIONS) {
+			CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+			if (stats == null) {
+				result.add(new CacheRegionStatsDto(region, 0, 0, 0, 0));
+			} else {
+				result.add(new CacheRegionStatsDto(region, stats.getHitCount(), stats.getMissCount(),
+						stats.getPutCount(), stats.getElementCountInMemory()));
+			}
+		}
+		return result;
+	}
+
+	private SessionFactory sessionFactory() {
+		return entityManagerFactory.unwrap(SessionFactory.class);
+	}
+}
@@ -0,0 +1,125 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * The answers of one feedback as (question ID, answer ID) pairs, and their compact binary form.
+ * <p>
+ * Encoded as a format byte, the number of pairs and then, per pair, the gap to the previous
+ * question ID and the answer ID, all as unsigned LEB128 varints. With question IDs in
+ * ascending order and a small answer dictionary, ten answers take about twenty bytes.
+ * Answer ID 0 stands for "No answer provided".
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public final class AnswerVector {
+
+	private static final int FORMAT = 1; // first byte of every encoded vector
+
+	private final long[] questionIds;
+	private final int[] answerIds;
+
+	/**
+	 * @param questionIds the question IDs, ascending
+	 * @param answerIds   the answer IDs, one per question
+	 * @throws IllegalArgumentException if the arrays differ in length or the questions are not ascending
+	 */
+	public AnswerVector(long[] questionIds, int[] answerIds) {
+		if (questionIds.length != answerIds.length) {
+			throw new IllegalArgumentException("One answer per question expected");
+		}
+		for (int i = 1; i < questionIds.length; i++) {
+			if (questionIds[i] <= questionIds[i - 1]) {
+				throw new IllegalArgumentException("Question IDs must be ascending");
+			}
+		}
+		this.questionIds = questionIds;
+		this.answerIds = answerIds;
+	}
+
+	/**
+	 * @return the number of questions
+	 */
+	public int size() {
+		return questionIds.length;
+	}
+
+	/**
+	 * @param index the position of the pair
+	 * @return the question ID at that position
+	 */
+	public long questionId(int index) {
+		return questionIds[index];
+	}
+
+	/**
+	 * @param index the position of the pair
+	 * @return the answer ID at that position, 0 for no answer
+	 */
+	public int answerId(int index) {
+		return answerIds[index];
+	}
+
+	/**
+	 * @return the binary form
+	 */
+	public byte[] encode() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(2 + questionIds.length * 3);
+		out.write(FORMAT);
+		writeVarint(out, questionIds.length);
+		long previous = 0;
+		for (int i = 0; i < questionIds.length; i++) {
+			writeVarint(out, questionIds[i] - previous);
+			writeVarint(out, answerIds[i]);
+			previous = questionIds[i];
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * @param data the binary form from {@link #encode()}
+	 * @return the vector
+	 * @throws IllegalArgumentException if the data is not an encoded vector
+	 */
+	public static AnswerVector decode(byte[] data) {
+		if (data == null || data.length == 0 || data[0] != FORMAT) {
+			throw new IllegalArgumentException("Unknown answer vector format");
+		}
+		int[] position = { 1 };
+		int size = (int) readVarint(data, position);
+		long[] questionIds = new long[size];
+		int[] answerIds = new int[size];
+		long previous = 0;
+		for (int i = 0; i < size; i++) {
+			previous += readVarint(data, position);
+			questionIds[i] = previous;
+			answerIds[i] = (int) readVarint(data, position);
+		}
+		return new AnswerVector(questionIds, answerIds);
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarint(byte[] data, int[] position) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (position[0] >= data.length) {
+				throw new IllegalArgumentException("Truncated answer vector");
+			}
+			byte b = data[position[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed answer vector");
+	}
+}
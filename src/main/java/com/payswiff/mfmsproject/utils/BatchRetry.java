@@ -0,0 +1,92 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Batch writes that fall back to one item at a time.
+ * <p>
+ * The bulk endpoints write their items in batches, one transaction each. When a batch is
+ * rejected, its items are written again one by one, so a bad item only costs itself and the
+ * caller can report exactly which items failed. A transient failure, such as a database
+ * outage, is not the fault of any item: it is rethrown instead, and ends the bulk request.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public final class BatchRetry {
+
+	private static final Logger logger = LogManager.getLogger(BatchRetry.class); // Logger initialization
+
+	/**
+	 * Writes a batch, in one transaction, and records the items as written once it commits.
+	 *
+	 * @param <T> the item type
+	 */
+	@FunctionalInterface
+	public interface BatchWriter<T> {
+
+		/**
+		 * @param batch the items, never empty
+		 * @throws Exception if the batch is rejected; nothing of it may stay written
+		 */
+		void write(List<T> batch) throws Exception;
+	}
+
+	private BatchRetry() {
+	}
+
+	/**
+	 * @param e a failed write
+	 * @return true if the failure says nothing about the data written, so the same write may
+	 *         succeed later
+	 */
+	public static boolean isTransient(Exception e) {
+		return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+				|| e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+	}
+
+	/**
+	 * Writes the items as one batch, or one by one if the batch is rejected.
+	 *
+	 * @param <T>      the item type
+	 * @param what     names the items in the log, e.g. "Merchant import"
+	 * @param items    the items
+	 * @param writer   writes a batch
+	 * @param rejected receives every item that cannot be written on its own, with the failure
+	 * @return the number of items written
+	 * @throws RuntimeException the failure itself if it is {@linkplain #isTransient transient}
+	 */
+	public static <T> int writeAll(String what, List<T> items, BatchWriter<T> writer,
+			BiConsumer<T, Exception> rejected) {
+		if (items.isEmpty()) {
+			return 0;
+		}
+		try {
+			writer.write(items);
+			return items.size();
+		} catch (Exception e) {
+			if (isTransient(e)) {
+				throw (RuntimeException) e; // every transient type is a DataAccessException or TransactionException
+			}
+			if (items.size() == 1) {
+				rejected.accept(items.get(0), e);
+				return 0;
+			}
+			logger.warn(what + " batch of " + items.size() + " rejected, writing one by one: " + e.getMessage());
+			int written = 0;
+			for (T item : items) {
+				written += writeAll(what, List.of(item), writer, rejected);
+			}
+			return written;
+		}
+	}
+}
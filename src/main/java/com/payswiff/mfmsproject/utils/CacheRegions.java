@@ -0,0 +1,27 @@
+package com.payswiff.mfmsproject.utils;
+
+/**
+ * Names of the Hibernate second-level cache regions of the reference entities.
+ * <p>
+ * Each cached entity has one region for its rows by ID and one for the results of its cached
+ * lookups. The names must match the caches declared in {@code ehcache.xml}.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public final class CacheRegions {
+
+	public static final String DEVICE = "device";
+	public static final String MERCHANT = "merchant";
+	public static final String QUESTION = "question";
+	public static final String ROLE = "role";
+
+	public static final String DEVICE_QUERIES = "device-queries";
+	public static final String MERCHANT_QUERIES = "merchant-queries";
+	public static final String QUESTION_QUERIES = "question-queries";
+	public static final String ROLE_QUERIES = "role-queries";
+
+	private CacheRegions() {
+	}
+}
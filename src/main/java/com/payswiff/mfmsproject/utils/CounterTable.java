@@ -0,0 +1,313 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A table of counter rows that feedback writes only ever add to.
+ * <p>
+ * A row has a unique key and a few count and sum columns. {@link #apply(Deltas)} adds the
+ * deltas of one feedback or of a whole batch with one batch of relative UPDATEs, in key
+ * order, so two writers lock the rows they share in the same order and cannot deadlock on
+ * them. A row that does not exist yet is inserted in the caller's transaction; if another
+ * transaction inserted it first, the delta is added to that row instead. The counters
+ * therefore commit or roll back with the feedbacks they count.
+ * </p>
+ * <p>
+ * {@link #reconcile(Supplier, String, Object...)} corrects the rows from source. It reads
+ * the source aggregate and the rows in one snapshot without locking them, and then only
+ * adds the difference to the rows that drifted. Since a feedback and its increments commit
+ * together, both reads agree on which feedbacks exist, and feedbacks committed meanwhile
+ * keep their increments.
+ * </p>
+ * <p>
+ * Two reconciliations of the same table would both add the same drift, so only one
+ * instance reconciles a table at a time: the run first takes the table's
+ * {@code reconcile_lock} row, and is skipped if another instance holds it. The lock is
+ * taken before the first read, so a run that starts after another one committed sees the
+ * corrected rows and finds no drift.
+ * </p>
+ *
+ * @param <K> the key of a row; its order is the order in which rows are locked
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public abstract class CounterTable<K extends Comparable<K>> {
+
+	private static final Logger logger = LogManager.getLogger(CounterTable.class); // Logger initialization
+
+	/**
+	 * Returned by {@link #reconcile(Supplier, String, Object...)} when another instance is
+	 * reconciling the table.
+	 */
+	public static final int SKIPPED = -1;
+
+	private static final String LOCK = "SELECT lock_name FROM reconcile_lock WHERE lock_name = ? FOR UPDATE SKIP LOCKED";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate snapshotTransaction; // one consistent read view per reconciliation
+
+	private final String table;
+
+	private final int keyWidth;
+
+	private final int countWidth;
+
+	private final int width; // counts first, then sums
+
+	private final boolean timed;
+
+	private final String add;
+
+	private final String insert;
+
+	private final String select;
+
+	private volatile boolean lockRowExists;
+
+	/**
+	 * What to add to the rows of a table, summed per key.
+	 */
+	public final class Deltas {
+
+		private final SortedMap<K, double[]> byKey = new TreeMap<>();
+
+		private Deltas() {
+		}
+
+		/**
+		 * Adds to the delta of a row.
+		 *
+		 * @param key    the row
+		 * @param values one value per count column, then one per sum column
+		 * @return this
+		 */
+		public Deltas add(K key, double... values) {
+			double[] sum = byKey.computeIfAbsent(key, k -> new double[width]);
+			for (int i = 0; i < width; i++) {
+				sum[i] += values[i];
+			}
+			return this;
+		}
+
+		/**
+		 * @return the number of rows with a delta
+		 */
+		public int size() {
+			return byKey.size();
+		}
+	}
+
+	/**
+	 * @param jdbcTemplate       runs the statements, on the caller's connection
+	 * @param transactionManager opens the reconciliation snapshots
+	 * @param table              the table
+	 * @param keyColumns         the columns of the unique key
+	 * @param countColumns       the whole number counters
+	 * @param sumColumns         the decimal counters
+	 * @param timeColumn         set to the time of every write, or null
+	 */
+	protected CounterTable(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String table,
+			List<String> keyColumns, List<String> countColumns, List<String> sumColumns, String timeColumn) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.table = table;
+		this.keyWidth = keyColumns.size();
+		this.countWidth = countColumns.size();
+		this.width = countWidth + sumColumns.size();
+		this.timed = timeColumn != null;
+
+		List<String> valueColumns = new ArrayList<>(countColumns);
+		valueColumns.addAll(sumColumns);
+		List<String> sets = new ArrayList<>();
+		for (String column : valueColumns) {
+			sets.add(column + " = " + column + " + ?");
+		}
+		List<String> written = new ArrayList<>(valueColumns);
+		if (timed) {
+			sets.add(timeColumn + " = ?");
+			written.add(timeColumn);
+		}
+		written.addAll(keyColumns);
+		// both statements take the values, the time and the key, in this order
+		this.add = "UPDATE " + table + " SET " + String.join(", ", sets) + " WHERE "
+				+ String.join(" = ? AND ", keyColumns) + " = ?";
+		this.insert = "INSERT INTO " + table + " (" + String.join(", ", written) + ") VALUES ("
+				+ String.join(", ", Collections.nCopies(written.size(), "?")) + ")";
+		List<String> read = new ArrayList<>(keyColumns);
+		read.addAll(valueColumns);
+		this.select = "SELECT " + String.join(", ", read) + " FROM " + table;
+
+		snapshotTransaction = new TransactionTemplate(transactionManager);
+		snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+	}
+
+	/**
+	 * @param key a row
+	 * @return the values of its key columns, in their order
+	 */
+	protected abstract Object[] keyParams(K key);
+
+	/**
+	 * @param rs a row, with the key columns first
+	 * @return its key
+	 * @throws SQLException if a column cannot be read
+	 */
+	protected abstract K readKey(ResultSet rs) throws SQLException;
+
+	/**
+	 * @return an empty set of deltas for this table
+	 */
+	public Deltas deltas() {
+		return new Deltas();
+	}
+
+	/**
+	 * Adds the deltas to their rows, creating the missing ones. Must be called in the
+	 * transaction that writes what is counted.
+	 *
+	 * @param deltas the deltas
+	 */
+	public void apply(Deltas deltas) {
+		if (deltas.byKey.isEmpty()) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> rows = new ArrayList<>(deltas.byKey.size());
+		for (Map.Entry<K, double[]> entry : deltas.byKey.entrySet()) {
+			rows.add(params(entry.getKey(), entry.getValue(), now));
+		}
+
+		// one round trip; rows are locked in key order
+		int[] updated = jdbcTemplate.batchUpdate(add, rows);
+		for (int i = 0; i < updated.length; i++) {
+			if (updated[i] == 0) {
+				insertOrAdd(rows.get(i)); // first write to this row
+			}
+		}
+	}
+
+	/**
+	 * Corrects the rows from source, in a transaction of its own.
+	 *
+	 * @param source      reads the correct values per key; runs in the same snapshot as the rows
+	 * @param where       restricts the rows to those the source covers, or null for all
+	 * @param whereParams the parameters of {@code where}
+	 * @return the number of rows corrected, or {@link #SKIPPED} if another instance is
+	 *         reconciling the table
+	 */
+	public int reconcile(Supplier<Map<K, double[]>> source, String where, Object... whereParams) {
+		createLockRow();
+		return snapshotTransaction.execute(status -> {
+			// held until this transaction ends; a locking read does not start the snapshot
+			if (jdbcTemplate.queryForList(LOCK, String.class, table).isEmpty()) {
+				logger.info("Another instance is reconciling " + table + ", skipped.");
+				return SKIPPED;
+			}
+			// both reads see the same snapshot, so the difference is the drift, whatever commits meanwhile
+			Map<K, double[]> expected = source.get();
+			Map<K, double[]> existing = new HashMap<>();
+			jdbcTemplate.query(where == null ? select : select + " WHERE " + where, (RowCallbackHandler) rs -> {
+				double[] values = new double[width];
+				for (int i = 0; i < width; i++) {
+					values[i] = rs.getDouble(keyWidth + 1 + i);
+				}
+				existing.put(readKey(rs), values);
+			}, whereParams);
+
+			Deltas drift = new Deltas();
+			for (Map.Entry<K, double[]> entry : expected.entrySet()) {
+				double[] row = existing.remove(entry.getKey());
+				addDrift(drift, entry.getKey(), entry.getValue(), row == null ? new double[width] : row);
+			}
+			// rows whose sources are all gone
+			for (Map.Entry<K, double[]> entry : existing.entrySet()) {
+				addDrift(drift, entry.getKey(), new double[width], entry.getValue());
+			}
+			apply(drift);
+			return drift.size();
+		});
+	}
+
+	private void createLockRow() {
+		if (lockRowExists) {
+			return;
+		}
+		if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reconcile_lock WHERE lock_name = ?", Integer.class,
+				table) == 0) {
+			try {
+				jdbcTemplate.update("INSERT INTO reconcile_lock (lock_name) VALUES (?)", table);
+			} catch (DuplicateKeyException e) {
+				// created by another instance
+			}
+		}
+		lockRowExists = true;
+	}
+
+	private void addDrift(Deltas drift, K key, double[] expected, double[] actual) {
+		double[] difference = new double[width];
+		boolean zero = true;
+		for (int i = 0; i < width; i++) {
+			difference[i] = expected[i] - actual[i];
+			zero &= Math.abs(difference[i]) <= (i < countWidth ? 0 : 1e-6);
+		}
+		if (!zero) {
+			drift.add(key, difference);
+		}
+	}
+
+	/**
+	 * @return the parameters of the UPDATE and the INSERT
+	 */
+	private Object[] params(K key, double[] values, LocalDateTime now) {
+		Object[] keyParams = keyParams(key);
+		Object[] params = new Object[width + (timed ? 1 : 0) + keyWidth];
+		int p = 0;
+		for (int i = 0; i < width; i++) {
+			params[p++] = i < countWidth ? (Object) Math.round(values[i]) : (Object) values[i];
+		}
+		if (timed) {
+			params[p++] = now;
+		}
+		System.arraycopy(keyParams, 0, params, p, keyWidth);
+		return params;
+	}
+
+	/**
+	 * Inserts a row holding the delta, or adds the delta to the row if another transaction
+	 * created it first.
+	 */
+	private void insertOrAdd(Object[] params) {
+		try {
+			jdbcTemplate.update(insert, params);
+			logger.debug("Created " + table + " row " + Arrays.toString(keyParamsOf(params)));
+		} catch (DuplicateKeyException e) {
+			// only this statement is rolled back; the caller's transaction goes on
+			jdbcTemplate.update(add, params);
+		}
+	}
+
+	private Object[] keyParamsOf(Object[] params) {
+		return Arrays.copyOfRange(params, params.length - keyWidth, params.length);
+	}
+}
@@ -0,0 +1,130 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads comma-separated records one at a time, for imports too large to hold in memory.
+ * <p>
+ * Fields may be quoted with {@code "}, in which case they can hold commas, line breaks and
+ * doubled quotes. Lines end with LF or CRLF, and a byte order mark before the first record is
+ * skipped. At most {@code maxRecordLength} characters of a record are kept; the rest of a longer
+ * record is read and dropped, and {@link #isTruncated()} tells the caller to reject it.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+public final class CsvReader {
+
+	private final Reader reader;
+	private final int maxRecordLength;
+	private final StringBuilder field = new StringBuilder();
+
+	private int line = 1; // line the next record starts on
+	private int recordLine; // line the last record started on
+	private boolean truncated;
+	private boolean started;
+
+	/**
+	 * @param reader          the CSV text
+	 * @param maxRecordLength characters kept per record
+	 */
+	public CsvReader(Reader reader, int maxRecordLength) {
+		this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 16 * 1024);
+		this.maxRecordLength = maxRecordLength;
+	}
+
+	/**
+	 * Reads the next record. A blank line is a record with one empty field.
+	 *
+	 * @return the fields of the record, or null at the end of the input
+	 * @throws IOException if the input cannot be read
+	 */
+	public List<String> next() throws IOException {
+		List<String> fields = new ArrayList<>();
+		field.setLength(0);
+		truncated = false;
+		recordLine = line;
+		int length = 0;
+		boolean quoted = false;
+		boolean fieldStart = true;
+
+		int c = reader.read();
+		if (!started) {
+			started = true;
+			if (c == '\uFEFF') {
+				c = reader.read();
+			}
+		}
+		if (c == -1) {
+			return null;
+		}
+		while (c != -1) {
+			if (quoted) {
+				if (c == '"') {
+					c = reader.read();
+					if (c != '"') {
+						quoted = false; // closing quote, c is the character after it
+						continue;
+					}
+				} else if (c == '\n') {
+					line++;
+				}
+			} else if (c == '"' && fieldStart) {
+				quoted = true;
+				fieldStart = false;
+				c = reader.read();
+				continue;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+				fieldStart = true;
+				c = reader.read();
+				continue;
+			} else if (c == '\n') {
+				line++;
+				break;
+			} else if (c == '\r') {
+				c = reader.read();
+				continue;
+			}
+			if (length++ < maxRecordLength) {
+				field.append((char) c);
+			} else {
+				truncated = true;
+			}
+			fieldStart = false;
+			c = reader.read();
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * @return the 1-based line the last record started on
+	 */
+	public int getLine() {
+		return recordLine;
+	}
+
+	/**
+	 * @return true if the last record was longer than {@code maxRecordLength} and lost its end
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	/**
+	 * Tells whether a record is a blank line.
+	 *
+	 * @param fields the fields of a record
+	 * @return true if the record has a single empty field
+	 */
+	public static boolean isBlank(List<String> fields) {
+		return fields.size() == 1 && fields.get(0).isBlank();
+	}
+}
@@ -0,0 +1,82 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+
+/**
+ * Position in the feedback listing, which is ordered by creation time and then feedback ID,
+ * both descending.
+ * <p>
+ * Clients only ever see the encoded form: a URL-safe Base64 string that they pass back
+ * unchanged. The next page starts strictly after the encoded (time, id) pair, so rows inserted
+ * meanwhile never shift or repeat the pages already read.
+ * </p>
+ *
+ * @author Chatla Sarika
+ * @version MFMS_0.0.1
+ */
+public final class FeedbackCursor {
+
+	private static final String VERSION = "v1"; // bump if the encoded layout changes
+
+	private final LocalDateTime creationTime;
+	private final int feedbackId;
+
+	/**
+	 * @param creationTime creation time of the last row returned
+	 * @param feedbackId   ID of the last row returned
+	 */
+	public FeedbackCursor(LocalDateTime creationTime, int feedbackId) {
+		this.creationTime = creationTime;
+		this.feedbackId = feedbackId;
+	}
+
+	/**
+	 * @return the creation time of the last row returned
+	 */
+	public LocalDateTime getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * @return the ID of the last row returned
+	 */
+	public int getFeedbackId() {
+		return feedbackId;
+	}
+
+	/**
+	 * @return the opaque token handed to clients
+	 */
+	public String encode() {
+		String raw = VERSION + "|" + creationTime + "|" + feedbackId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a token produced by {@link #encode()}.
+	 *
+	 * @param token the token, may be null or blank for the first page
+	 * @return the cursor, or null for the first page
+	 * @throws InvalidRequestParameterException if the token was not produced by this class
+	 */
+	public static FeedbackCursor decode(String token) throws InvalidRequestParameterException {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|");
+			if (parts.length != 3 || !VERSION.equals(parts[0])) {
+				throw new InvalidRequestParameterException("cursor", token, "unknown cursor format");
+			}
+			return new FeedbackCursor(LocalDateTime.parse(parts[1]), Integer.parseInt(parts[2]));
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new InvalidRequestParameterException("cursor", token, "malformed cursor");
+		}
+	}
+}
@@ -0,0 +1,375 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the free text of feedbacks, ranked with BM25.
+ * <p>
+ * Every added feedback gets a dense document index in insertion order. Per term the index
+ * keeps one posting list: (document gap, term frequency) pairs as variable-length integers
+ * in a growing {@code byte[]}, so a posting usually takes two bytes. Per document it keeps
+ * the feedback, employee, device and merchant IDs and the number of terms in parallel
+ * primitive arrays, which is what the filters and the length normalization read. The text
+ * itself is not stored.
+ * </p>
+ * <p>
+ * A search walks the posting lists of the query terms side by side, document at a time,
+ * and keeps the best {@code k} documents in a primitive min-heap, so it allocates nothing
+ * per matching document. Feedbacks are never edited, so documents are only ever appended.
+ * </p>
+ * <p>
+ * This class is not thread-safe; callers guard it themselves.
+ * </p>
+ *
+ * @author Gopi Bapanapalli
+ * @version MFMS_0.0.1
+ */
+public class FeedbackTextIndex {
+
+	static final double K1 = 1.2; // BM25 term frequency saturation
+	static final double B = 0.75; // BM25 length normalization
+
+	private static final int MIN_DOCUMENTS = 16; // documents before the arrays first grow
+	private static final int MIN_POSTING_BYTES = 8; // first allocation of a posting list
+	private static final int MIN_TERM_LENGTH = 2; // shorter tokens are not indexed
+	private static final int EXHAUSTED = Integer.MAX_VALUE; // cursor past its last posting
+
+	// too common in feedback text to rank anything; negations are kept on purpose
+	private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "been", "but",
+			"by", "for", "from", "had", "has", "have", "he", "her", "his", "i", "if", "in", "into", "is", "it", "its",
+			"me", "my", "of", "on", "or", "our", "she", "so", "that", "the", "their", "them", "then", "there",
+			"these", "they", "this", "to", "was", "we", "were", "which", "with", "you", "your");
+
+	private final Map<String, Integer> termIds = new HashMap<>();
+	private byte[][] postings = new byte[MIN_DOCUMENTS][];
+	private int[] postingLengths = new int[MIN_DOCUMENTS]; // bytes used per term
+	private int[] lastDocuments = new int[MIN_DOCUMENTS]; // last document per term, for the gaps
+	private int[] documentFrequencies = new int[MIN_DOCUMENTS];
+
+	private int[] feedbackIds = new int[MIN_DOCUMENTS];
+	private long[] employeeIds = new long[MIN_DOCUMENTS];
+	private long[] deviceIds = new long[MIN_DOCUMENTS];
+	private long[] merchantIds = new long[MIN_DOCUMENTS];
+	private int[] lengths = new int[MIN_DOCUMENTS]; // indexed terms per document
+	private int size;
+	private long totalLength;
+
+	/**
+	 * One ranked result.
+	 *
+	 * @param feedbackId the feedback
+	 * @param score      its BM25 score, higher is better
+	 */
+	public record Hit(int feedbackId, double score) {
+	}
+
+	/**
+	 * Adds a feedback.
+	 *
+	 * @param feedbackId the feedback ID
+	 * @param employeeId its employee
+	 * @param deviceId   its device
+	 * @param merchantId its merchant
+	 * @param text       its free text, may be null
+	 */
+	public void add(int feedbackId, long employeeId, long deviceId, long merchantId, String text) {
+		if (size == feedbackIds.length) {
+			int capacity = size << 1;
+			feedbackIds = Arrays.copyOf(feedbackIds, capacity);
+			employeeIds = Arrays.copyOf(employeeIds, capacity);
+			deviceIds = Arrays.copyOf(deviceIds, capacity);
+			merchantIds = Arrays.copyOf(merchantIds, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+		}
+		int document = size++;
+		feedbackIds[document] = feedbackId;
+		employeeIds[document] = employeeId;
+		deviceIds[document] = deviceId;
+		merchantIds[document] = merchantId;
+
+		Map<String, Integer> frequencies = new LinkedHashMap<>();
+		for (String term : tokenize(text)) {
+			frequencies.merge(term, 1, Integer::sum);
+		}
+		int length = 0;
+		for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+			int termId = termIdOf(entry.getKey());
+			int gap = document - lastDocuments[termId];
+			lastDocuments[termId] = document;
+			documentFrequencies[termId]++;
+			append(termId, gap);
+			append(termId, entry.getValue());
+			length += entry.getValue();
+		}
+		lengths[document] = length;
+		totalLength += length;
+	}
+
+	/**
+	 * @return the number of feedbacks
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of distinct terms
+	 */
+	public int terms() {
+		return termIds.size();
+	}
+
+	/**
+	 * Finds the feedbacks that best match a query.
+	 *
+	 * @param query      free text; a feedback matches if it contains any of its terms
+	 * @param employeeId only feedbacks of this employee, 0 for any
+	 * @param deviceId   only feedbacks about this device, 0 for any
+	 * @param merchantId only feedbacks about this merchant, 0 for any
+	 * @param k          the maximum number of results
+	 * @return the best matches, best first; newer feedbacks win ties
+	 */
+	public List<Hit> search(String query, long employeeId, long deviceId, long merchantId, int k) {
+		List<String> terms = tokenize(query).stream().distinct().filter(termIds::containsKey).toList();
+		if (terms.isEmpty() || k < 1 || size == 0) {
+			return List.of();
+		}
+
+		int count = terms.size();
+		int[] termOf = new int[count];
+		double[] idf = new double[count];
+		int[] positions = new int[count]; // byte offset of the next posting
+		int[] documents = new int[count]; // current document, EXHAUSTED at the end
+		int[] frequencies = new int[count];
+		for (int t = 0; t < count; t++) {
+			termOf[t] = termIds.get(terms.get(t));
+			double df = documentFrequencies[termOf[t]];
+			idf[t] = Math.log(1 + (size - df + 0.5) / (df + 0.5));
+			documents[t] = -1;
+			advance(t, termOf, positions, documents, frequencies);
+		}
+
+		double averageLength = Math.max(1.0, (double) totalLength / size);
+		int[] heapDocuments = new int[Math.min(k, size)];
+		double[] heapScores = new double[heapDocuments.length];
+		int heapSize = 0;
+		while (true) {
+			int document = EXHAUSTED;
+			for (int t = 0; t < count; t++) {
+				document = Math.min(document, documents[t]);
+			}
+			if (document == EXHAUSTED) {
+				break;
+			}
+			boolean matches = (employeeId == 0 || employeeIds[document] == employeeId)
+					&& (deviceId == 0 || deviceIds[document] == deviceId)
+					&& (merchantId == 0 || merchantIds[document] == merchantId);
+			double score = 0;
+			double norm = K1 * (1 - B + B * lengths[document] / averageLength);
+			for (int t = 0; t < count; t++) {
+				if (documents[t] == document) {
+					if (matches) {
+						score += idf[t] * frequencies[t] * (K1 + 1) / (frequencies[t] + norm);
+					}
+					advance(t, termOf, positions, documents, frequencies);
+				}
+			}
+			if (!matches) {
+				continue;
+			}
+			if (heapSize < heapDocuments.length) {
+				heapDocuments[heapSize] = document;
+				heapScores[heapSize] = score;
+				siftUp(heapDocuments, heapScores, heapSize++);
+			} else if (worse(heapDocuments[0], heapScores[0], document, score)) {
+				heapDocuments[0] = document;
+				heapScores[0] = score;
+				siftDown(heapDocuments, heapScores, heapSize);
+			}
+		}
+
+		// pop the worst first and fill the result from the back
+		Hit[] hits = new Hit[heapSize];
+		for (int remaining = heapSize; remaining > 0; remaining--) {
+			hits[remaining - 1] = new Hit(feedbackIds[heapDocuments[0]], heapScores[0]);
+			heapDocuments[0] = heapDocuments[remaining - 1];
+			heapScores[0] = heapScores[remaining - 1];
+			siftDown(heapDocuments, heapScores, remaining - 1);
+		}
+		return Arrays.asList(hits);
+	}
+
+	/**
+	 * Splits text into index terms: lower-cased runs of letters and digits, without stop
+	 * words, with the common English suffixes removed so that "charging", "charged" and
+	 * "charge" meet on one term.
+	 *
+	 * @param text the text, may be null
+	 * @return the terms in order, with repetitions
+	 */
+	public static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (word && start < 0) {
+				start = i;
+			} else if (!word && start >= 0) {
+				String token = text.substring(start, i).toLowerCase();
+				start = -1;
+				if (token.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+					terms.add(stem(token));
+				}
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * Light suffix stripping: plurals, then -ing, -ed and -ly, then a final e. Stems keep at
+	 * least three letters.
+	 */
+	static String stem(String token) {
+		String stem = token;
+		if (stem.endsWith("ies") && stem.length() > 4) {
+			stem = stem.substring(0, stem.length() - 3) + "y";
+		} else if (stem.endsWith("sses")) {
+			stem = stem.substring(0, stem.length() - 2);
+		} else if (stem.endsWith("s") && !stem.endsWith("ss") && stem.length() > 3) {
+			stem = stem.substring(0, stem.length() - 1);
+		}
+		if (stem.endsWith("ing") && stem.length() >= 6) {
+			stem = stem.substring(0, stem.length() - 3);
+		} else if ((stem.endsWith("ed") || stem.endsWith("ly")) && stem.length() >= 5) {
+			stem = stem.substring(0, stem.length() - 2);
+		}
+		if (stem.endsWith("e") && stem.length() > 4) {
+			stem = stem.substring(0, stem.length() - 1);
+		}
+		return stem;
+	}
+
+	private int termIdOf(String term) {
+		Integer termId = termIds.get(term);
+		if (termId != null) {
+			return termId;
+		}
+		int id = termIds.size();
+		if (id == postings.length) {
+			int capacity = id << 1;
+			postings = Arrays.copyOf(postings, capacity);
+			postingLengths = Arrays.copyOf(postingLengths, capacity);
+			lastDocuments = Arrays.copyOf(lastDocuments, capacity);
+			documentFrequencies = Arrays.copyOf(documentFrequencies, capacity);
+		}
+		postings[id] = new byte[MIN_POSTING_BYTES];
+		termIds.put(term, id);
+		return id;
+	}
+
+	/**
+	 * Appends a variable-length integer: seven bits per byte, high bit set on all but the last.
+	 */
+	private void append(int termId, int value) {
+		byte[] bytes = postings[termId];
+		int length = postingLengths[termId];
+		if (length + 5 > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, length + 5));
+			postings[termId] = bytes;
+		}
+		while ((value & ~0x7F) != 0) {
+			bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[length++] = (byte) value;
+		postingLengths[termId] = length;
+	}
+
+	/**
+	 * Moves cursor {@code t} to its next posting.
+	 */
+	private void advance(int t, int[] termOf, int[] positions, int[] documents, int[] frequencies) {
+		int termId = termOf[t];
+		if (positions[t] >= postingLengths[termId]) {
+			documents[t] = EXHAUSTED;
+			return;
+		}
+		byte[] bytes = postings[termId];
+		int position = positions[t];
+		int gap = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = bytes[position++];
+			gap |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				break;
+			}
+		}
+		int frequency = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = bytes[position++];
+			frequency |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				break;
+			}
+		}
+		positions[t] = position;
+		documents[t] = documents[t] < 0 ? gap : documents[t] + gap;
+		frequencies[t] = frequency;
+	}
+
+	/**
+	 * @return whether the first result ranks below the second
+	 */
+	private static boolean worse(int document, double score, int otherDocument, double otherScore) {
+		return score < otherScore || (score == otherScore && document < otherDocument);
+	}
+
+	private static void siftUp(int[] documents, double[] scores, int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!worse(documents[i], scores[i], documents[parent], scores[parent])) {
+				return;
+			}
+			swap(documents, scores, i, parent);
+			i = parent;
+		}
+	}
+
+	private static void siftDown(int[] documents, double[] scores, int size) {
+		int i = 0;
+		while (true) {
+			int smallest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if (left < size && worse(documents[left], scores[left], documents[smallest], scores[smallest])) {
+				smallest = left;
+			}
+			if (right < size && worse(documents[right], scores[right], documents[smallest], scores[smallest])) {
+				smallest = right;
+			}
+			if (smallest == i) {
+				return;
+			}
+			swap(documents, scores, i, smallest);
+			i = smallest;
+		}
+	}
+
+	private static void swap(int[] documents, double[] scores, int i, int j) {
+		int document = documents[i];
+		documents[i] = documents[j];
+		documents[j] = document;
+		double score = scores[i];
+		scores[i] = scores[j];
+		scores[j] = score;
+	}
+}
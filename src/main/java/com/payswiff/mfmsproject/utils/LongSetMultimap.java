@@ -0,0 +1,159 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.util.Arrays;
+
+/**
+ * A map from a {@code long} key to a set of {@code long} values, stored without boxing.
+ * <p>
+ * Keys live in an open-addressing table (linear probing); each key owns a sorted
+ * {@code long[]} that grows on demand, so a membership check is one hash probe plus a
+ * binary search. Keys must be positive: 0 marks a free slot, which is fine for database
+ * ids. Entries are never removed.
+ * </p>
+ * <p>
+ * This class is not thread-safe; callers guard it themselves.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+public class LongSetMultimap {
+
+	private static final int MIN_CAPACITY = 16; // table slots, always a power of two
+	private static final int INITIAL_SET_SIZE = 4; // values per key before the first grow
+
+	private long[] keys;
+	private long[][] sets;
+	private int[] setSizes;
+	private int keyCount;
+
+	/**
+	 * Creates an empty map.
+	 */
+	public LongSetMultimap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty map sized for the given number of keys.
+	 *
+	 * @param expectedKeys the number of keys expected
+	 */
+	public LongSetMultimap(int expectedKeys) {
+		int capacity = MIN_CAPACITY;
+		while (capacity * 3 < expectedKeys * 4) { // keep the load factor at or below 0.75
+			capacity <<= 1;
+		}
+		keys = new long[capacity];
+		sets = new long[capacity][];
+		setSizes = new int[capacity];
+	}
+
+	/**
+	 * Adds a value to the set of a key.
+	 *
+	 * @param key   the key (positive)
+	 * @param value the value
+	 * @return true if the value was not already present
+	 */
+	public boolean put(long key, long value) {
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive: " + key);
+		}
+		if ((keyCount + 1) * 4 > keys.length * 3) {
+			resize(keys.length << 1);
+		}
+		int slot = slotOf(key);
+		if (keys[slot] == 0) {
+			keys[slot] = key;
+			sets[slot] = new long[INITIAL_SET_SIZE];
+			keyCount++;
+		}
+
+		long[] set = sets[slot];
+		int size = setSizes[slot];
+		int index = Arrays.binarySearch(set, 0, size, value);
+		if (index >= 0) {
+			return false; // already present
+		}
+		int insertAt = -index - 1;
+		if (size == set.length) {
+			set = Arrays.copyOf(set, size << 1);
+			sets[slot] = set;
+		}
+		System.arraycopy(set, insertAt, set, insertAt + 1, size - insertAt);
+		set[insertAt] = value;
+		setSizes[slot] = size + 1;
+		return true;
+	}
+
+	/**
+	 * @param key   the key
+	 * @param value the value
+	 * @return true if the value is in the set of the key
+	 */
+	public boolean contains(long key, long value) {
+		int slot = find(key);
+		return slot >= 0 && Arrays.binarySearch(sets[slot], 0, setSizes[slot], value) >= 0;
+	}
+
+	/**
+	 * @param key the key
+	 * @return the number of values in the set of the key
+	 */
+	public int size(long key) {
+		int slot = find(key);
+		return slot >= 0 ? setSizes[slot] : 0;
+	}
+
+	/**
+	 * @param key the key
+	 * @return a copy of the set of the key, in ascending order; empty for an unknown key
+	 */
+	public long[] values(long key) {
+		int slot = find(key);
+		return slot >= 0 ? Arrays.copyOf(sets[slot], setSizes[slot]) : new long[0];
+	}
+
+	private int find(long key) {
+		if (key <= 0) {
+			return -1;
+		}
+		int slot = slotOf(key);
+		return keys[slot] == key ? slot : -1;
+	}
+
+	/**
+	 * @return the slot holding the key, or the free slot where it would go
+	 */
+	private int slotOf(long key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (keys[slot] != 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		long[][] oldSets = sets;
+		int[] oldSizes = setSizes;
+		keys = new long[capacity];
+		sets = new long[capacity][];
+		setSizes = new int[capacity];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				int slot = slotOf(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				sets[slot] = oldSets[i];
+				setSizes[slot] = oldSizes[i];
+			}
+		}
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L; // spread sequential ids across the table
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,276 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MinHash sketches of feedback texts, indexed with locality-sensitive hashing (LSH) for
+ * near-duplicate lookups.
+ * <p>
+ * The features of a text are its terms and each pair of adjacent terms. A sketch keeps, for
+ * each of {@value #HASHES} hash functions, the smallest hash of any feature; two texts agree
+ * on a sketch position with a probability equal to the Jaccard similarity of their features.
+ * Per document the index stores only the lowest byte of every position ("b-bit MinHash",
+ * {@value #HASHES} bytes in {@code long}s), from which the similarity is estimated.
+ * </p>
+ * <p>
+ * The sketch is cut into {@value #BANDS} bands of {@value #ROWS} positions. Each band value
+ * is hashed to a bucket, and documents are chained per band and bucket through primitive
+ * {@code int} arrays. A lookup only estimates the similarity with the documents sharing a
+ * bucket with the query in some band, so its cost does not grow with the history: a pair
+ * with a similarity of 0.7 shares a band with a probability above 0.99, a pair at 0.5 with
+ * 0.88 and a pair at 0.3 with 0.36. Documents get dense indexes in insertion order;
+ * "earlier" below means a lower index.
+ * </p>
+ * <p>
+ * This class is not thread-safe; callers guard it themselves.
+ * </p>
+ *
+ * @author Revanth K
+ * @version MFMS_0.0.1
+ */
+public class MinHashIndex {
+
+	/** Positions of a sketch. */
+	public static final int HASHES = 48;
+
+	/** LSH bands of a sketch. */
+	public static final int BANDS = 16;
+
+	/** Sketch positions per band. */
+	public static final int ROWS = HASHES / BANDS;
+
+	private static final int SIGNATURE_LONGS = HASHES / Long.BYTES; // one byte per position
+	private static final int BUCKET_BITS = 17; // buckets per band: 128K, eight documents each at a million
+	private static final int MIN_DOCUMENTS = 16; // documents before the arrays first grow
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+	private int[] feedbackIds = new int[MIN_DOCUMENTS];
+	private long[] signatures = new long[MIN_DOCUMENTS * SIGNATURE_LONGS]; // SIGNATURE_LONGS per document
+	private int[] documentBuckets = new int[MIN_DOCUMENTS * BANDS]; // bucket per document and band
+	private int[] next = new int[MIN_DOCUMENTS * BANDS]; // previous document of the same chain, -1 at the end
+	private int size;
+
+	private final int[][] heads = new int[BANDS][1 << BUCKET_BITS]; // latest document per bucket, -1 if none
+
+	/**
+	 * Creates an empty instance.
+	 */
+	public MinHashIndex() {
+		for (int[] band : heads) {
+			Arrays.fill(band, -1);
+		}
+	}
+
+	/**
+	 * Adds a sketch.
+	 *
+	 * @param feedbackId the feedback
+	 * @param sketch     its sketch, see {@link #sketch(List)}
+	 */
+	public void add(int feedbackId, long[] sketch) {
+		if (size == feedbackIds.length) {
+			int capacity = size << 1;
+			feedbackIds = Arrays.copyOf(feedbackIds, capacity);
+			signatures = Arrays.copyOf(signatures, capacity * SIGNATURE_LONGS);
+			documentBuckets = Arrays.copyOf(documentBuckets, capacity * BANDS);
+			next = Arrays.copyOf(next, capacity * BANDS);
+		}
+		int document = size++;
+		feedbackIds[document] = feedbackId;
+		signature(sketch, signatures, document * SIGNATURE_LONGS);
+		buckets(sketch, documentBuckets, document * BANDS);
+		for (int band = 0; band < BANDS; band++) {
+			int bucket = documentBuckets[document * BANDS + band];
+			next[document * BANDS + band] = heads[band][bucket];
+			heads[band][bucket] = document;
+		}
+	}
+
+	/**
+	 * Finds the most similar earlier document to a sketch.
+	 *
+	 * @param sketch        the sketch to look up
+	 * @param before        only documents with a lower index are considered; {@link #size()} for all
+	 * @param minSimilarity the lowest estimated Jaccard similarity to report
+	 * @return the index of the most similar document, the earliest on ties, or -1 if none is similar enough
+	 */
+	public int nearest(long[] sketch, int before, double minSimilarity) {
+		long[] signature = new long[SIGNATURE_LONGS];
+		int[] buckets = new int[BANDS];
+		signature(sketch, signature, 0);
+		buckets(sketch, buckets, 0);
+		return nearest(signature, 0, buckets, 0, before, minSimilarity);
+	}
+
+	/**
+	 * Finds the most similar earlier document to a document of the index.
+	 *
+	 * @param document      a document index
+	 * @param minSimilarity the lowest estimated Jaccard similarity to report
+	 * @return the index of the most similar earlier document, or -1 if none is similar enough
+	 */
+	public int nearestEarlier(int document, double minSimilarity) {
+		return nearest(signatures, document * SIGNATURE_LONGS, documentBuckets, document * BANDS, document,
+				minSimilarity);
+	}
+
+	/**
+	 * @param a a document index
+	 * @param b another document index
+	 * @return the estimated Jaccard similarity of their features
+	 */
+	public double similarity(int a, int b) {
+		return similarity(signatures, a * SIGNATURE_LONGS, b);
+	}
+
+	/**
+	 * @param sketch   a sketch
+	 * @param document a document index
+	 * @return the estimated Jaccard similarity of their features
+	 */
+	public double similarity(long[] sketch, int document) {
+		long[] signature = new long[SIGNATURE_LONGS];
+		signature(sketch, signature, 0);
+		return similarity(signature, 0, document);
+	}
+
+	/**
+	 * @return the number of documents
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param document a document index
+	 * @return its feedback
+	 */
+	public int feedbackId(int document) {
+		return feedbackIds[document];
+	}
+
+	/**
+	 * @return a copy that later additions to this index do not affect
+	 */
+	public MinHashIndex copy() {
+		MinHashIndex copy = new MinHashIndex();
+		copy.feedbackIds = Arrays.copyOf(feedbackIds, size);
+		copy.signatures = Arrays.copyOf(signatures, size * SIGNATURE_LONGS);
+		copy.documentBuckets = Arrays.copyOf(documentBuckets, size * BANDS);
+		copy.next = Arrays.copyOf(next, size * BANDS);
+		copy.size = size;
+		for (int band = 0; band < BANDS; band++) {
+			System.arraycopy(heads[band], 0, copy.heads[band], 0, heads[band].length);
+		}
+		return copy;
+	}
+
+	/**
+	 * Computes the sketch of a text from its terms and its pairs of adjacent terms.
+	 *
+	 * @param terms the terms of the text, in order, as {@link FeedbackTextIndex#tokenize} returns them
+	 * @return the sketch, {@value #HASHES} minimum hashes
+	 */
+	public static long[] sketch(List<String> terms) {
+		long[] sketch = new long[HASHES];
+		Arrays.fill(sketch, Long.MAX_VALUE);
+		for (int i = 0; i < terms.size(); i++) {
+			addFeature(sketch, hash(terms.get(i)));
+			if (i > 0) {
+				addFeature(sketch, hash(terms.get(i - 1) + ' ' + terms.get(i)));
+			}
+		}
+		return sketch;
+	}
+
+	private static void addFeature(long[] sketch, long feature) {
+		for (int i = 0; i < HASHES; i++) {
+			long h = mix(feature + 0x9E3779B97F4A7C15L * (i + 1)) >>> 1; // one hash function per position
+			if (h < sketch[i]) {
+				sketch[i] = h;
+			}
+		}
+	}
+
+	private int nearest(long[] signature, int signatureOffset, int[] buckets, int bucketOffset, int before,
+			double minSimilarity) {
+		int best = -1;
+		double bestSimilarity = minSimilarity;
+		for (int band = 0; band < BANDS; band++) {
+			// chains run from the latest document back, so later documents are skipped first
+			for (int document = heads[band][buckets[bucketOffset + band]]; document >= 0;
+					document = next[document * BANDS + band]) {
+				if (document >= before) {
+					continue;
+				}
+				double similarity = similarity(signature, signatureOffset, document);
+				if (similarity > bestSimilarity || (similarity == bestSimilarity && (best < 0 || document < best))) {
+					best = document;
+					bestSimilarity = similarity;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Counts the equal signature bytes and corrects for the 1 in 256 chance that the lowest
+	 * bytes of two different minimums are equal.
+	 */
+	private double similarity(long[] signature, int offset, int document) {
+		int equal = 0;
+		for (int i = 0; i < SIGNATURE_LONGS; i++) {
+			long x = signature[offset + i] ^ signatures[document * SIGNATURE_LONGS + i];
+			long zeroBytes = ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS); // high bit set per zero byte
+			equal += Long.bitCount(zeroBytes);
+		}
+		double collision = 1.0 / 256;
+		return Math.max(0, ((double) equal / HASHES - collision) / (1 - collision));
+	}
+
+	private static void signature(long[] sketch, long[] target, int offset) {
+		for (int i = 0; i < SIGNATURE_LONGS; i++) {
+			long packed = 0;
+			for (int b = 0; b < Long.BYTES; b++) {
+				packed |= (sketch[i * Long.BYTES + b] & 0xFF) << (b * Byte.SIZE);
+			}
+			target[offset + i] = packed;
+		}
+	}
+
+	private static void buckets(long[] sketch, int[] target, int offset) {
+		for (int band = 0; band < BANDS; band++) {
+			long h = 0;
+			for (int row = 0; row < ROWS; row++) {
+				h = mix(h ^ sketch[band * ROWS + row]);
+			}
+			target[offset + band] = (int) (h >>> (Long.SIZE - BUCKET_BITS));
+		}
+	}
+
+	/**
+	 * 64-bit FNV-1a over the UTF-8 bytes, finished with {@link #mix(long)}.
+	 */
+	static long hash(String feature) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b & 0xff;
+			h *= 0x100000001b3L;
+		}
+		return mix(h);
+	}
+
+	/**
+	 * Avalanche step of MurmurHash3: every output bit depends on every input bit.
+	 */
+	private static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -0,0 +1,235 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.util.Arrays;
+
+/**
+ * Rating statistics of many keys (employees, devices or merchants), stored without boxing.
+ * <p>
+ * Each key gets a dense index on first use, through an open-addressing table (linear
+ * probing) from key to index. Per index the class keeps the count, sum and sum of squares
+ * of the ratings in parallel primitive arrays, plus a fixed-size histogram in one flat
+ * {@code long[]}: ratings from 0 to {@value #MAX_RATING} in steps of 0.1, so percentiles
+ * are exact to one decimal. Ratings outside that range are clamped for the histogram only.
+ * Keys must be positive: 0 marks a free slot, which is fine for database ids.
+ * </p>
+ * <p>
+ * This class is not thread-safe; callers guard it themselves.
+ * </p>
+ *
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+public class RatingHistograms {
+
+	/** Highest rating with its own bucket. */
+	public static final double MAX_RATING = 5.0;
+
+	/** Buckets per key: one per tenth of a star from 0 to {@link #MAX_RATING}. */
+	public static final int BUCKETS = (int) Math.round(MAX_RATING * 10) + 1;
+
+	private static final int MIN_CAPACITY = 16; // table slots, always a power of two
+	private static final int MIN_INDEXES = 16; // keys before the arrays first grow
+
+	private long[] slots; // key of each table slot, 0 if free
+	private int[] slotIndexes; // dense index of each occupied slot
+
+	private long[] keysByIndex;
+	private long[] counts;
+	private double[] sums;
+	private double[] sumsOfSquares;
+	private long[] histograms; // BUCKETS per index
+	private int size;
+
+	/**
+	 * Creates an empty instance.
+	 */
+	public RatingHistograms() {
+		slots = new long[MIN_CAPACITY];
+		slotIndexes = new int[MIN_CAPACITY];
+		keysByIndex = new long[MIN_INDEXES];
+		counts = new long[MIN_INDEXES];
+		sums = new double[MIN_INDEXES];
+		sumsOfSquares = new double[MIN_INDEXES];
+		histograms = new long[MIN_INDEXES * BUCKETS];
+	}
+
+	/**
+	 * Adds a rating to a key.
+	 *
+	 * @param key    the key (positive)
+	 * @param rating the rating
+	 */
+	public void add(long key, double rating) {
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive: " + key);
+		}
+		int index = indexOf(key);
+		if (index < 0) {
+			index = insert(key);
+		}
+		counts[index]++;
+		sums[index] += rating;
+		sumsOfSquares[index] += rating * rating;
+		histograms[index * BUCKETS + bucketOf(rating)]++;
+	}
+
+	/**
+	 * @param key the key
+	 * @return the dense index of the key, -1 if it has no ratings
+	 */
+	public int indexOf(long key) {
+		if (key <= 0) {
+			return -1;
+		}
+		int slot = slotOf(key);
+		return slots[slot] == key ? slotIndexes[slot] : -1;
+	}
+
+	/**
+	 * @return the number of keys
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param index a dense index
+	 * @return its key
+	 */
+	public long key(int index) {
+		return keysByIndex[index];
+	}
+
+	/**
+	 * @param index a dense index
+	 * @return the number of ratings
+	 */
+	public long count(int index) {
+		return counts[index];
+	}
+
+	/**
+	 * @param index a dense index
+	 * @return the mean rating
+	 */
+	public double mean(int index) {
+		return sums[index] / counts[index];
+	}
+
+	/**
+	 * @param index a dense index
+	 * @return the population standard deviation of the ratings
+	 */
+	public double standardDeviation(int index) {
+		double mean = mean(index);
+		double variance = sumsOfSquares[index] / counts[index] - mean * mean;
+		return variance <= 0 ? 0 : Math.sqrt(variance); // rounding can make it slightly negative
+	}
+
+	/**
+	 * Nearest-rank percentile, read from the histogram.
+	 *
+	 * @param index    a dense index
+	 * @param fraction the percentile as a fraction, for example 0.9 for p90
+	 * @return the lowest rating, to one decimal, that at least that fraction of ratings do not exceed
+	 */
+	public double percentile(int index, double fraction) {
+		long rank = Math.max(1, (long) Math.ceil(fraction * counts[index]));
+		int offset = index * BUCKETS;
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += histograms[offset + bucket];
+			if (seen >= rank) {
+				return bucket / 10.0;
+			}
+		}
+		return MAX_RATING;
+	}
+
+	/**
+	 * @param index     a dense index
+	 * @param threshold the highest rating counted as low
+	 * @return the fraction of ratings at or below the threshold
+	 */
+	public double shareAtOrBelow(int index, double threshold) {
+		int last = bucketOf(threshold);
+		int offset = index * BUCKETS;
+		long low = 0;
+		for (int bucket = 0; bucket <= last; bucket++) {
+			low += histograms[offset + bucket];
+		}
+		return (double) low / counts[index];
+	}
+
+	/**
+	 * @return the dense indexes ordered by key
+	 */
+	public int[] indexesByKey() {
+		int[] indexes = new int[size];
+		long[] sorted = Arrays.copyOf(keysByIndex, size);
+		Arrays.sort(sorted);
+		for (int i = 0; i < size; i++) {
+			indexes[i] = indexOf(sorted[i]);
+		}
+		return indexes;
+	}
+
+	/**
+	 * @param rating a rating
+	 * @return its histogram bucket, clamped to the histogram
+	 */
+	static int bucketOf(double rating) {
+		return (int) Math.max(0, Math.min(BUCKETS - 1, Math.round(rating * 10)));
+	}
+
+	private int insert(long key) {
+		if ((size + 1) * 4 > slots.length * 3) { // keep the load factor at or below 0.75
+			resize(slots.length << 1);
+		}
+		if (size == keysByIndex.length) {
+			int capacity = size << 1;
+			keysByIndex = Arrays.copyOf(keysByIndex, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			sums = Arrays.copyOf(sums, capacity);
+			sumsOfSquares = Arrays.copyOf(sumsOfSquares, capacity);
+			histograms = Arrays.copyOf(histograms, capacity * BUCKETS);
+		}
+		int index = size++;
+		int slot = slotOf(key);
+		slots[slot] = key;
+		slotIndexes[slot] = index;
+		keysByIndex[index] = key;
+		return index;
+	}
+
+	/**
+	 * @return the slot holding the key, or the free slot where it would go
+	 */
+	private int slotOf(long key) {
+		int mask = slots.length - 1;
+		int slot = mix(key) & mask;
+		while (slots[slot] != 0 && slots[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void resize(int capacity) {
+		long[] oldSlots = slots;
+		int[] oldIndexes = slotIndexes;
+		slots = new long[capacity];
+		slotIndexes = new int[capacity];
+		for (int i = 0; i < oldSlots.length; i++) {
+			if (oldSlots[i] != 0) {
+				int slot = slotOf(oldSlots[i]);
+				slots[slot] = oldSlots[i];
+				slotIndexes[slot] = oldIndexes[i];
+			}
+		}
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L; // spread sequential ids across the table
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,204 @@
+package com.payswiff.mfmsproject.utils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+
+/**
+ * An in-memory index over the {@code feedback} table, rebuilt by a full scan and kept
+ * current between scans.
+ * <p>
+ * {@link #rebuild()} scans the table into a fresh index and swaps it in. Between rebuilds,
+ * {@link #addAfterCommit(Object)} adds a saved feedback once its transaction commits. A
+ * feedback committed while a rebuild is scanning may or may not be in the scan, so the
+ * rebuild remembers the IDs of the recent feedbacks it read and replays only the others.
+ * </p>
+ * <p>
+ * Until the first rebuild completes, {@link #read(Function)} throws
+ * {@link IndexNotLoadedException} rather than scanning the table on the caller's thread;
+ * callers that can do without the index check {@link #isLoaded()} first.
+ * </p>
+ *
+ * @param <I> the index
+ * @param <E> one entry of the index, read from a row or from a saved feedback
+ * @author Ruchitha Guttikonda
+ * @version MFMS_0.0.1
+ */
+public abstract class RebuiltIndex<I, E> {
+
+	// longer than any feedback transaction: a feedback committed during a rebuild was created after this
+	static final Duration REBUILD_OVERLAP = Duration.ofMinutes(5);
+
+	private final String name;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private I index;
+	private volatile boolean loaded; // only set by rebuild, under the write lock
+	private List<E> addedDuringRebuild; // non-null while a rebuild is scanning the table
+
+	/**
+	 * @param name what the index holds, for messages
+	 */
+	protected RebuiltIndex(String name) {
+		this.name = name;
+		this.index = empty();
+	}
+
+	/**
+	 * @return a new empty index
+	 */
+	protected abstract I empty();
+
+	/**
+	 * Streams the {@code feedback} table, including {@code feedback_creation_time}, to the
+	 * handler.
+	 *
+	 * @param handler reads each row
+	 */
+	protected abstract void scan(RowCallbackHandler handler);
+
+	/**
+	 * @param rs a scanned row
+	 * @return its entry, or null if it is not indexed
+	 * @throws SQLException if a column cannot be read
+	 */
+	protected abstract E read(ResultSet rs) throws SQLException;
+
+	/**
+	 * @param entry an entry
+	 * @return the ID of its feedback
+	 */
+	protected abstract int feedbackId(E entry);
+
+	/**
+	 * @param target the index
+	 * @param entry  the entry to add to it
+	 */
+	protected abstract void add(I target, E entry);
+
+	/**
+	 * Rebuilds the index from the database and swaps it in.
+	 *
+	 * @return the new index, to be read only by the caller for logging
+	 */
+	public synchronized I rebuild() {
+		lock.writeLock().lock();
+		try {
+			addedDuringRebuild = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		Timestamp recent = Timestamp.valueOf(LocalDateTime.now().minus(REBUILD_OVERLAP));
+		I scanned = empty();
+		Set<Integer> recentIds = new HashSet<>(); // feedbacks that may also be replayed
+		try {
+			scan(rs -> {
+				E entry = read(rs);
+				if (entry == null) {
+					return;
+				}
+				add(scanned, entry);
+				Timestamp created = rs.getTimestamp("feedback_creation_time");
+				if (created == null || !created.before(recent)) {
+					recentIds.add(feedbackId(entry));
+				}
+			});
+		} catch (RuntimeException e) {
+			lock.writeLock().lock();
+			try {
+				addedDuringRebuild = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			throw e;
+		}
+
+		lock.writeLock().lock();
+		try {
+			// feedbacks committed while we were scanning may be missing from the scan
+			for (E entry : addedDuringRebuild) {
+				if (!recentIds.contains(feedbackId(entry))) {
+					add(scanned, entry);
+				}
+			}
+			addedDuringRebuild = null;
+			index = scanned;
+			loaded = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return scanned;
+	}
+
+	/**
+	 * Adds an entry once the current transaction commits, or at once when there is none.
+	 *
+	 * @param entry the entry of a saved feedback
+	 */
+	public void addAfterCommit(E entry) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					add(entry);
+				}
+			});
+		} else {
+			add(entry);
+		}
+	}
+
+	/**
+	 * Reads the index under the read lock.
+	 *
+	 * @param reader reads the index; must not keep a reference to it
+	 * @return what the reader returned
+	 * @throws IndexNotLoadedException if the index has not been loaded yet
+	 */
+	public <T> T read(Function<I, T> reader) {
+		lock.readLock().lock();
+		try {
+			if (!loaded) {
+				throw new IndexNotLoadedException(name);
+			}
+			return reader.apply(index);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return true once the first rebuild has completed
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	private void add(E entry) {
+		lock.writeLock().lock();
+		try {
+			add(index, entry);
+			if (addedDuringRebuild != null) {
+				addedDuringRebuild.add(entry);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+}
@@ -3,10 +3,12 @@ package com.payswiff.mfmsproject.controllers;
 import com.payswiff.mfmsproject.dtos.ForgotPasswordDto;
 import com.payswiff.mfmsproject.dtos.LoginDto;
 import com.payswiff.mfmsproject.dtos.LoginResponseDto;
+import com.payswiff.mfmsproject.dtos.SetPasswordDto;
 import com.payswiff.mfmsproject.exceptions.EmployeePasswordUpdationFailedException;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.services.AuthService;
+import com.payswiff.mfmsproject.services.PasswordSetupService;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -25,6 +27,9 @@ class AuthControllerTest {
     @Mock // Mocking AuthService to isolate tests
     private AuthService authService;
 
+    @Mock // Mocking PasswordSetupService, which redeems set-password links
+    private PasswordSetupService passwordSetupService;
+
     @InjectMocks // Injecting the mocked service into the AuthController
     private AuthController authController;
 
@@ -160,4 +165,23 @@ class AuthControllerTest {
             authController.forgotPassword(null); // Expect exception when passing null
         });
     }
+
+    /**
+     * Test method for setting a password through a set-password link.
+     */
+    @Test
+    void testSetPassword_Success() throws Exception {
+        when(passwordSetupService.setPassword("token123", "newPassword")).thenReturn(true);
+
+        assertTrue(authController.setPassword(new SetPasswordDto("token123", "newPassword")));
+        verify(passwordSetupService).setPassword("token123", "newPassword");
+    }
+
+    /**
+     * Test method for a missing set-password body.
+     */
+    @Test
+    void testSetPassword_NullBody() {
+        assertThrows(ResourceUnableToCreate.class, () -> authController.setPassword(null));
+    }
 }
@@ -0,0 +1,52 @@
+/**
+ * CacheControllerTest performs unit tests on the CacheController class.
+ */
+
+package com.payswiff.mfmsproject.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.payswiff.mfmsproject.dtos.CacheRegionStatsDto;
+import com.payswiff.mfmsproject.services.ReferenceCacheService;
+
+class CacheControllerTest {
+
+    @Mock
+    private ReferenceCacheService referenceCacheService; // Mocking ReferenceCacheService for dependency injection
+
+    @InjectMocks
+    private CacheController cacheController; // CacheController instance to test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this); // Initialize mocks before each test
+    }
+
+    /**
+     * Positive test case for getStatistics: returns the counters of the service.
+     */
+    @Test
+    void testGetStatistics_Success() {
+        // Arrange
+        List<CacheRegionStatsDto> stats = List.of(new CacheRegionStatsDto("role", 3, 1, 1, 2));
+        when(referenceCacheService.getStatistics()).thenReturn(stats);
+
+        // Act
+        ResponseEntity<List<CacheRegionStatsDto>> response = cacheController.getStatistics();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Status should be OK");
+        assertEquals(stats, response.getBody(), "Body should be the service's statistics");
+    }
+}
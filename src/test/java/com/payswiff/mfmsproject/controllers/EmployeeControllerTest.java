@@ -1,12 +1,16 @@
 package com.payswiff.mfmsproject.controllers;
 
+import com.payswiff.mfmsproject.dtos.EmployeeOnboardingResultDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.exceptions.UnableSentEmail;
 import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeOnboardingStatus;
 import com.payswiff.mfmsproject.models.EmployeeType;
 import com.payswiff.mfmsproject.reuquests.CreateEmployeeRequest;
+import com.payswiff.mfmsproject.services.EmployeeOnboardingService;
 import com.payswiff.mfmsproject.services.EmployeeService;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
@@ -32,6 +36,9 @@ class EmployeeControllerTest {
     @Mock // Mocking the EmployeeService
     private EmployeeService employeeService;
 
+    @Mock // Mocking the EmployeeOnboardingService
+    private EmployeeOnboardingService employeeOnboardingService;
+
     @InjectMocks // Injecting the mocked EmployeeService into EmployeeController
     private EmployeeController employeeController;
 
@@ -308,4 +315,21 @@ class EmployeeControllerTest {
         assertNotNull(response.getBody());
     }
 
+    /**
+     * Test method for onboarding many employees.
+     * Verifies that the controller returns the results of the service with a 200 OK response.
+     */
+    @Test
+    void testOnboardEmployees() throws InvalidRequestParameterException, ResourceNotFoundException {
+        List<CreateEmployeeRequest> requests = List.of(
+                new CreateEmployeeRequest(12345, "John Doe", "john@example.com", "password", "1234567890", "Dev", "employee"));
+        List<EmployeeOnboardingResultDto> results = List.of(
+                new EmployeeOnboardingResultDto(0, EmployeeOnboardingStatus.CREATED, "12345", 1L, null));
+        when(employeeOnboardingService.onboard(requests)).thenReturn(results);
+
+        ResponseEntity<List<EmployeeOnboardingResultDto>> response = employeeController.onboardEmployees(requests);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
 }
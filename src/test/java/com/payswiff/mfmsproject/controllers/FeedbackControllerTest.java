@@ -5,23 +5,62 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.dtos.AnswerDistributionDto;
+import com.payswiff.mfmsproject.dtos.AnswerFrequencyDto;
 import com.payswiff.mfmsproject.dtos.AverageRatingResponseDTO;
 import com.payswiff.mfmsproject.dtos.DeviceFeedbackCountDTO;
 import com.payswiff.mfmsproject.dtos.EmployeeFeedbackCountDto;
+import com.payswiff.mfmsproject.dtos.FeedbackFilter;
+import com.payswiff.mfmsproject.dtos.FeedbackIngestionStatusDto;
+import com.payswiff.mfmsproject.dtos.FeedbackPageDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSummaryDto;
+import com.payswiff.mfmsproject.dtos.FeedbackUploadResultDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateAuditDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSearchHitDto;
+import com.payswiff.mfmsproject.dtos.FeedbackTrendDto;
+import com.payswiff.mfmsproject.dtos.FeedbackTrendPointDto;
+import com.payswiff.mfmsproject.dtos.RatingDistributionDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+import com.payswiff.mfmsproject.models.FeedbackExportFormat;
+import com.payswiff.mfmsproject.models.FeedbackIngestionState;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.TrendInterval;
+import com.payswiff.mfmsproject.models.FeedbackUploadStatus;
 import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
 import com.payswiff.mfmsproject.reuquests.FeedbackRequestWrapper;
+import com.payswiff.mfmsproject.services.AnswerDistributionService;
+import com.payswiff.mfmsproject.services.FeedbackBulkUploadService;
+import com.payswiff.mfmsproject.services.FeedbackExportService;
+import com.payswiff.mfmsproject.services.FeedbackIdempotencyService;
+import com.payswiff.mfmsproject.services.FeedbackIngestionService;
 import com.payswiff.mfmsproject.services.FeedbackService;
+import com.payswiff.mfmsproject.services.FeedbackTrendService;
+import com.payswiff.mfmsproject.services.RatingDistributionEngine;
 
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -36,12 +75,44 @@ class FeedbackControllerTest {
     @Mock
     private FeedbackService feedbackService; // Mock service for feedback business logic
 
+    @Mock
+    private FeedbackIngestionService feedbackIngestionService; // Queued ingestion, disabled unless stubbed
+
+    @Mock
+    private FeedbackBulkUploadService feedbackBulkUploadService; // Mock bulk upload
+
+    @Mock
+    private FeedbackExportService feedbackExportService; // Mock compressed export
+
+    @Mock
+    private FeedbackIdempotencyService feedbackIdempotencyService; // Mock dedupe of keyed submissions
+
+    @Mock
+    private AnswerDistributionService answerDistributionService; // Mock answer counters
+
+    @Mock
+    private RatingDistributionEngine ratingDistributionEngine; // Mock in-memory rating histograms
+
+    @Mock
+    private FeedbackTrendService feedbackTrendService; // Mock daily rollups
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper(); // Real serialization of streamed results
+
     @InjectMocks
     private FeedbackController feedbackController; // Controller being tested
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this); // Initializes mocks and injects them into @InjectMocks
+        // The caller, as the JWT filter would set it
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("employee@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
 
@@ -58,12 +129,80 @@ class FeedbackControllerTest {
         when(feedbackService.createFeedback(any(), any())).thenReturn(true); // Mock feedback creation to return success (true)
 
         // Act: Call the feedback controller's createFeedback method with the mock request
-        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper);
+        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper, null);
 
         // Assert: Verify that the response status is CREATED (201) indicating successful creation
         assertEquals(HttpStatus.CREATED, response.getStatusCode(), "Expected HTTP status 201 CREATED for successful feedback creation.");
     }
 
+    /**
+     * Unit test for the queued ingestion mode: the feedback is queued, not written, and the
+     * response is 202 with the UUID and the status location.
+     *
+     * @throws Exception if any error occurs during the submission.
+     */
+    @Test
+    void testCreateFeedback_Queued() throws Exception {
+        // Arrange: enable the queue and let it accept the submission
+        FeedbackRequestWrapper requestWrapper = mockFeedbackRequestWrapper();
+        when(feedbackIngestionService.isEnabled()).thenReturn(true);
+        when(feedbackIngestionService.submit(any(), any())).thenReturn("queued-uuid");
+
+        // Act
+        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper, null);
+
+        // Assert: accepted with the UUID, and nothing written synchronously
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("queued-uuid", response.getHeaders().getFirst(FeedbackController.FEEDBACK_UUID_HEADER));
+        assertEquals("/api/feedback/ingest/queued-uuid", response.getHeaders().getLocation().toString());
+        verify(feedbackService, never()).createFeedback(any(), any());
+    }
+
+    /**
+     * Unit test for a keyed submission: the feedback is created once with the UUID derived from
+     * the key and the logged-in user, and the response carries that UUID.
+     *
+     * @throws Exception if any error occurs during the submission.
+     */
+    @Test
+    void testCreateFeedback_WithIdempotencyKey() throws Exception {
+        FeedbackRequestWrapper requestWrapper = mockFeedbackRequestWrapper();
+        when(feedbackIdempotencyService.feedbackUuidFor("employee@example.com", "retry-key")).thenReturn("keyed-uuid");
+        String requestHash = FeedbackIdempotencyService.requestHash(objectMapper.writeValueAsBytes(requestWrapper));
+        when(feedbackIdempotencyService.execute(eq("keyed-uuid"), eq(requestHash), any())).thenAnswer(invocation ->
+                new FeedbackIdempotencyService.Outcome(
+                        invocation.<FeedbackIdempotencyService.Attempt>getArgument(2).run(), false));
+        when(feedbackService.createFeedback(any(), any(), eq("keyed-uuid"))).thenReturn(42);
+
+        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper, "retry-key");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("keyed-uuid", response.getHeaders().getFirst(FeedbackController.FEEDBACK_UUID_HEADER));
+        assertNull(response.getHeaders().getFirst(FeedbackController.IDEMPOTENT_REPLAYED_HEADER));
+        verify(feedbackService, times(1)).createFeedback(any(), any(), eq("keyed-uuid"));
+    }
+
+    /**
+     * Unit test for a repeated key: the earlier outcome is returned and nothing is created.
+     *
+     * @throws Exception if any error occurs during the submission.
+     */
+    @Test
+    void testCreateFeedback_ReplayedIdempotencyKey() throws Exception {
+        FeedbackRequestWrapper requestWrapper = mockFeedbackRequestWrapper();
+        when(feedbackIdempotencyService.feedbackUuidFor(any(), eq("retry-key"))).thenReturn("keyed-uuid");
+        when(feedbackIdempotencyService.execute(eq("keyed-uuid"), any(), any())).thenReturn(
+                new FeedbackIdempotencyService.Outcome(new FeedbackIngestionStatusDto("keyed-uuid",
+                        FeedbackIngestionState.WRITTEN, 42, null), true));
+
+        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper, "retry-key");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(FeedbackController.IDEMPOTENT_REPLAYED_HEADER));
+        verify(feedbackService, never()).createFeedback(any(), any(), any());
+        verify(feedbackService, never()).createFeedback(any(), any());
+    }
+
 
     /**
      * Unit test for verifying that feedback creation fails with a null request wrapper.
@@ -74,7 +213,7 @@ class FeedbackControllerTest {
     void testCreateFeedback_NullRequest() {
         // Act & Assert: Call createFeedback with a null argument and expect a ResourceUnableToCreate exception
         assertThrows(ResourceUnableToCreate.class, 
-            () -> feedbackController.createFeedback(null), 
+            () -> feedbackController.createFeedback(null, null), 
             "Expected ResourceUnableToCreate exception when request wrapper is null."
         );
     }
@@ -92,13 +231,14 @@ class FeedbackControllerTest {
         mutableQuestionAnswers.remove(0); // Remove a question to make it 9
 
         // Update the request wrapper to use the modified list
-        when(requestWrapper.getQuestionAnswers()).thenReturn(mutableQuestionAnswers);
+        requestWrapper.setQuestionAnswers(mutableQuestionAnswers);
 
         // Act: Attempt to create feedback with an insufficient number of questions
-        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper);
+        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper, null);
 
         // Assert: Verify that the response status is BAD_REQUEST due to insufficient questions
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(feedbackService, never()).createFeedback(any(), any());
     }
 
 
@@ -114,7 +254,7 @@ class FeedbackControllerTest {
         when(feedbackService.createFeedback(any(), any())).thenReturn(false);  // Simulate failure
 
         // Act: Call the createFeedback method on the controller
-        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper);
+        ResponseEntity<HttpStatus> response = feedbackController.createFeedback(requestWrapper, null);
 
         // Assert: Verify that the response status is 500 (Internal Server Error) when the service fails
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode(), 
@@ -141,13 +281,14 @@ class FeedbackControllerTest {
      * The response status should be HTTP 200 OK when feedback is found for the given employeeId.
      */
     @Test
-    void testGetFeedbacksByFilters_OnlyEmployeeId() throws ResourceNotFoundException {
+    void testGetFeedbacksByFilters_OnlyEmployeeId() throws ResourceNotFoundException, InvalidRequestParameterException {
         // Arrange: Mock the feedbackService to return a list with one feedback when the employeeId filter is provided
-        when(feedbackService.getFeedbacksByFilters(1L, null, null, null))
-                .thenReturn(List.of(new Feedback()));  // Mocked response from service
+        FeedbackFilter filter = new FeedbackFilter(1L, null, null, null);
+        when(feedbackService.getFeedbacksByFilters(filter))
+                .thenReturn(new FeedbackPageDto(List.of(new FeedbackSummaryDto()), null, 500));  // Mocked response from service
 
         // Act: Call the controller method with employeeId as the only filter
-        ResponseEntity<List<Feedback>> response = feedbackController.getFeedbacksByFilters(1L, null, null, null);
+        ResponseEntity<List<FeedbackSummaryDto>> response = feedbackController.getFeedbacksByFilters(filter);
 
         // Assert: Verify that the response status is OK (HTTP 200) and feedback is returned
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP 200 OK when feedback is found for employeeId.");
@@ -161,13 +302,14 @@ class FeedbackControllerTest {
      * when feedback is found based on the provided filters.
      */
     @Test
-    void testGetFeedbacksByFilters_MultipleParameters() throws ResourceNotFoundException {
+    void testGetFeedbacksByFilters_MultipleParameters() throws ResourceNotFoundException, InvalidRequestParameterException {
         // Arrange: Mock the feedbackService to return a list with one feedback when multiple parameters are provided
-        when(feedbackService.getFeedbacksByFilters(1L, 2L, 4, 3L))
-                .thenReturn(List.of(new Feedback()));  // Mocked response from service
+        FeedbackFilter filter = new FeedbackFilter(1L, 2L, 4, 3L);
+        when(feedbackService.getFeedbacksByFilters(filter))
+                .thenReturn(new FeedbackPageDto(List.of(new FeedbackSummaryDto()), null, 500));  // Mocked response from service
 
         // Act: Call the controller method with multiple parameters (employeeId, deviceId, rating, and merchantId)
-        ResponseEntity<List<Feedback>> response = feedbackController.getFeedbacksByFilters(1L, 2L, 4, 3L);
+        ResponseEntity<List<FeedbackSummaryDto>> response = feedbackController.getFeedbacksByFilters(filter);
 
         // Assert: Verify that the response status is OK (HTTP 200) and feedback is returned
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP 200 OK when feedback is found with multiple parameters.");
@@ -177,19 +319,19 @@ class FeedbackControllerTest {
     /**
      * Unit test for verifying the retrieval of all feedback counts successfully.
      * This test ensures that the controller can correctly retrieve the feedback count for all employees
-     * by calling the `countFeedbacksForAllEmployees()` method of the service layer.
+     * by calling the `countFeedbacksForAllEmployees(top, from, to)` method of the service layer.
      * The response should have a status of HTTP 200 OK when the counts are successfully returned.
      */
     @Test
-    void testGetAllFeedbacksCount_Success() {
+    void testGetAllFeedbacksCount_Success() throws InvalidRequestParameterException {
         // Arrange: Create a mock list of feedback count DTOs to return from the service
         List<EmployeeFeedbackCountDto> mockCounts = List.of(new EmployeeFeedbackCountDto());
         
         // Mock the service method to return the mockCounts when called
-        when(feedbackService.countFeedbacksForAllEmployees()).thenReturn(mockCounts);
+        when(feedbackService.countFeedbacksForAllEmployees(null, null, null)).thenReturn(mockCounts);
 
         // Act: Call the controller method to retrieve all feedback counts
-        ResponseEntity<List<EmployeeFeedbackCountDto>> response = feedbackController.getAllFeedbacksCount();
+        ResponseEntity<List<EmployeeFeedbackCountDto>> response = feedbackController.getAllFeedbacksCount(null, null, null);
 
         // Assert: Verify that the response status is HTTP 200 OK and that the list of counts is returned
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP 200 OK when feedback counts are successfully retrieved.");
@@ -243,12 +385,12 @@ class FeedbackControllerTest {
      * Test for retrieving all feedback counts, ensuring the response is an empty list when no feedback exists.
      */
     @Test
-    void testGetAllFeedbacksCount_EmptyList() {
+    void testGetAllFeedbacksCount_EmptyList() throws InvalidRequestParameterException {
         // Arrange: Mock the service to return an empty list of feedback counts for all employees
-        when(feedbackService.countFeedbacksForAllEmployees()).thenReturn(Collections.emptyList());
+        when(feedbackService.countFeedbacksForAllEmployees(null, null, null)).thenReturn(Collections.emptyList());
 
         // Act: Call the controller method to retrieve all feedback counts
-        ResponseEntity<List<EmployeeFeedbackCountDto>> response = feedbackController.getAllFeedbacksCount();
+        ResponseEntity<List<EmployeeFeedbackCountDto>> response = feedbackController.getAllFeedbacksCount(null, null, null);
 
         // Assert: Ensure the response body is empty when no feedback counts are present
         assertTrue(response.getBody().isEmpty(), "Expected an empty list of feedback counts.");
@@ -289,17 +431,36 @@ class FeedbackControllerTest {
      * Verifies that feedbacks can be retrieved when only the deviceId filter is applied.
      */
     @Test
-    void testGetFeedbacksByFilters_OnlyDeviceId() throws ResourceNotFoundException {
+    void testGetFeedbacksByFilters_OnlyDeviceId() throws ResourceNotFoundException, InvalidRequestParameterException {
         // Arrange: Mock the service to return feedbacks when deviceId is 2 and other parameters are null
-        when(feedbackService.getFeedbacksByFilters(null, 2L, null, null)).thenReturn(List.of(new Feedback()));
+        FeedbackFilter filter = new FeedbackFilter(null, 2L, null, null);
+        when(feedbackService.getFeedbacksByFilters(filter))
+                .thenReturn(new FeedbackPageDto(List.of(new FeedbackSummaryDto()), null, 500));
 
         // Act: Call the controller method with deviceId filter
-        ResponseEntity<List<Feedback>> response = feedbackController.getFeedbacksByFilters(null, 2L, null, null);
+        ResponseEntity<List<FeedbackSummaryDto>> response = feedbackController.getFeedbacksByFilters(filter);
 
         // Assert: Verify that the response status is HTTP 200 OK
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP 200 OK when only deviceId is provided.");
     }
 
+    /**
+     * Test for a listing with more rows than the cap.
+     * Verifies that the first page is returned with the cursor that continues it.
+     */
+    @Test
+    void testGetFeedbacksByFilters_Capped() throws ResourceNotFoundException, InvalidRequestParameterException {
+        FeedbackFilter filter = new FeedbackFilter();
+        when(feedbackService.getFeedbacksByFilters(filter))
+                .thenReturn(new FeedbackPageDto(List.of(new FeedbackSummaryDto()), "next", 500));
+
+        ResponseEntity<List<FeedbackSummaryDto>> response = feedbackController.getFeedbacksByFilters(filter);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("next", response.getHeaders().getFirst(FeedbackController.NEXT_CURSOR_HEADER));
+    }
+
     /**
      * Test for feedback creation where the question list is null.
      * Verifies that a NullPointerException is thrown when question answers are null in the request.
@@ -311,7 +472,7 @@ class FeedbackControllerTest {
         requestWrapper.setQuestionAnswers(null); // Set question answers to null
 
         // Act & Assert: Expect a NullPointerException to be thrown when attempting to create feedback
-        assertThrows(NullPointerException.class, () -> feedbackController.createFeedback(requestWrapper), "Expected NullPointerException when question answers are null.");
+        assertThrows(NullPointerException.class, () -> feedbackController.createFeedback(requestWrapper, null), "Expected NullPointerException when question answers are null.");
     }
 
     /**
@@ -319,16 +480,189 @@ class FeedbackControllerTest {
      * Verifies that feedbacks can be retrieved when only the rating filter is applied.
      */
     @Test
-    void testGetFeedbacksByFilters_OnlyRating() throws ResourceNotFoundException {
+    void testGetFeedbacksByFilters_OnlyRating() throws ResourceNotFoundException, InvalidRequestParameterException {
         // Arrange: Mock the service to return feedbacks when rating is 5 and other parameters are null
-        when(feedbackService.getFeedbacksByFilters(null, null, 5, null)).thenReturn(List.of(new Feedback()));
+        FeedbackFilter filter = new FeedbackFilter(null, null, 5, null);
+        when(feedbackService.getFeedbacksByFilters(filter))
+                .thenReturn(new FeedbackPageDto(List.of(new FeedbackSummaryDto()), null, 500));
 
         // Act: Call the controller method with rating filter
-        ResponseEntity<List<Feedback>> response = feedbackController.getFeedbacksByFilters(null, null, 5, null);
+        ResponseEntity<List<FeedbackSummaryDto>> response = feedbackController.getFeedbacksByFilters(filter);
 
         // Assert: Verify that the response status is HTTP 200 OK
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP 200 OK when only rating is provided.");
     }
+    /**
+     * Test for retrieving one feedback by ID.
+     * Verifies that the full feedback returned by the service is passed through.
+     */
+    @Test
+    void testGetFeedbackById() throws ResourceNotFoundException {
+        Feedback feedback = new Feedback();
+        when(feedbackService.getFeedbackById(7)).thenReturn(feedback);
+
+        ResponseEntity<Feedback> response = feedbackController.getFeedbackById(7);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(feedback, response.getBody());
+    }
+
+    /**
+     * Test for retrieving an unknown feedback.
+     * Verifies that ResourceNotFoundException is propagated.
+     */
+    @Test
+    void testGetFeedbackById_NotFound() throws ResourceNotFoundException {
+        when(feedbackService.getFeedbackById(7)).thenThrow(new ResourceNotFoundException("Feedback", "ID", "7"));
+
+        assertThrows(ResourceNotFoundException.class, () -> feedbackController.getFeedbackById(7));
+    }
+
+    /**
+     * Test for the bulk upload: the results handed out by the service are written as
+     * newline-delimited JSON.
+     *
+     * @throws Exception if the upload cannot be read.
+     */
+    @Test
+    void testUploadFeedbacks_StreamsResults() throws Exception {
+        when(feedbackBulkUploadService.upload(any(), any())).thenAnswer(invocation -> {
+            java.util.function.Consumer<List<FeedbackUploadResultDto>> results = invocation.getArgument(1);
+            results.accept(List.of(new FeedbackUploadResultDto(1, FeedbackUploadStatus.CREATED, "u1", 100, null),
+                    new FeedbackUploadResultDto(2, FeedbackUploadStatus.REJECTED, null, null, "Malformed record")));
+            return 1;
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        feedbackController.uploadFeedbacks(new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8)), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"status\":\"CREATED\"") && lines[0].contains("\"feedbackId\":100"));
+        assertTrue(lines[1].contains("\"message\":\"Malformed record\""));
+    }
+
+    /**
+     * Test for the answer distribution: the filters are handed to the service and its
+     * distributions returned with 200.
+     *
+     * @throws InvalidRequestParameterException if the window is empty.
+     */
+    @Test
+    void testGetAnswerDistribution() throws InvalidRequestParameterException {
+        LocalDate from = LocalDate.of(2024, 10, 1);
+        List<AnswerDistributionDto> distributions = List.of(new AnswerDistributionDto(1L, "Question 1", 3,
+                List.of(new AnswerFrequencyDto(5, "Yes", 3))));
+        when(answerDistributionService.getDistributions("Grocery", null, from, null)).thenReturn(distributions);
+
+        ResponseEntity<List<AnswerDistributionDto>> response = feedbackController.getAnswerDistribution("Grocery",
+                null, from, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(distributions, response.getBody());
+    }
+
+    /**
+     * Test for the rating distributions: the scope is case-insensitive and an unknown scope
+     * is refused.
+     *
+     * @throws Exception if the scope is refused.
+     */
+    @Test
+    void testGetRatingDistributions() throws Exception {
+        List<RatingDistributionDto> distributions = List.of(new RatingDistributionDto(7L, 2, 4.0, 0.5, 3.5, 3.5, 4.5, 0));
+        when(ratingDistributionEngine.getDistributions(FeedbackRollupScope.DEVICE)).thenReturn(distributions);
+
+        ResponseEntity<List<RatingDistributionDto>> response = feedbackController.getRatingDistributions("device");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(distributions, response.getBody());
+        assertThrows(InvalidRequestParameterException.class, () -> feedbackController.getRatingDistributions("region"));
+    }
+
+    /**
+     * Test for the search: the query, filters and limit reach the service and the ranked
+     * results are returned as they are.
+     *
+     * @throws Exception if the search is refused.
+     */
+    @Test
+    void testSearchFeedbacks() throws Exception {
+        List<FeedbackSearchHitDto> hits = List.of(new FeedbackSearchHitDto(1.5, new FeedbackSummaryDto()));
+        when(feedbackService.searchFeedbacks("battery", 1L, null, null, 5)).thenReturn(hits);
+
+        ResponseEntity<List<FeedbackSearchHitDto>> response = feedbackController.searchFeedbacks("battery", 1L, null,
+                null, 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(hits, response.getBody());
+    }
+
+    /**
+     * Test for the export: the format is case-insensitive, the watermark is returned in a
+     * header and the body writes the export of the window ending at it; an unknown format
+     * is refused.
+     *
+     * @throws Exception if the export is refused.
+     */
+    @Test
+    void testExportFeedbacks() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2024, 10, 1, 0, 0);
+        LocalDateTime until = LocalDateTime.of(2024, 10, 8, 0, 0);
+        when(feedbackExportService.watermark(since)).thenReturn(until);
+
+        ResponseEntity<StreamingResponseBody> response = feedbackController.exportFeedbacks("NDJSON", since);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("2024-10-08T00:00", response.getHeaders().getFirst(FeedbackController.EXPORT_WATERMARK_HEADER));
+        assertTrue(response.getHeaders().getContentDisposition().getFilename().endsWith(".ndjson.gz"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(feedbackExportService).export(FeedbackExportFormat.NDJSON, since, until, out);
+        assertThrows(InvalidRequestParameterException.class, () -> feedbackController.exportFeedbacks("xml", null));
+    }
+
+    /**
+     * Test for the duplicate audit: the similarity and limit reach the service and its
+     * result is returned as it is.
+     *
+     * @throws Exception if the parameters are refused.
+     */
+    @Test
+    void testAuditDuplicates() throws Exception {
+        FeedbackDuplicateAuditDto audit = new FeedbackDuplicateAuditDto(20, 1,
+                List.of(new FeedbackDuplicateDto(9, 4, 0.8)));
+        when(feedbackService.auditDuplicates(0.8, 10)).thenReturn(audit);
+
+        ResponseEntity<FeedbackDuplicateAuditDto> response = feedbackController.auditDuplicates(0.8, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(audit, response.getBody());
+    }
+
+    /**
+     * Test for the trend of one device: the interval is case-insensitive and an unknown
+     * interval is refused.
+     *
+     * @throws Exception if the interval is refused.
+     */
+    @Test
+    void testGetTrend() throws Exception {
+        LocalDate from = LocalDate.of(2024, 10, 7);
+        FeedbackTrendDto trend = new FeedbackTrendDto(7L, List.of(new FeedbackTrendPointDto(from, 3, 4.0)));
+        when(feedbackTrendService.getTrend(FeedbackRollupScope.DEVICE, 7L, from, null, TrendInterval.WEEK))
+                .thenReturn(trend);
+
+        ResponseEntity<FeedbackTrendDto> response = feedbackController.getTrend("device", 7L, from, null, "Week");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(trend, response.getBody());
+        assertThrows(InvalidRequestParameterException.class,
+                () -> feedbackController.getTrend("device", 7L, from, null, "month"));
+    }
+
     /**
      * Helper method to create a mock FeedbackRequestWrapper with valid data.
      * This method is used to generate a valid mock request object that can be used in unit tests for the FeedbackController.
@@ -3,9 +3,12 @@ package com.payswiff.mfmsproject.controllers;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.payswiff.mfmsproject.dtos.FeedbackAnswersDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionDTO;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+import com.payswiff.mfmsproject.services.FeedbackAnswerMigrationService;
 import com.payswiff.mfmsproject.services.FeedbackQuestionsAssociationService;
 import org.junit.jupiter.api.*;
 
@@ -29,6 +32,9 @@ class FeedbackQuestionsAssociationControllerTest {
     @Mock
     private FeedbackQuestionsAssociationService feedbackQuestionsAssociationService; // Mocked service
 
+    @Mock
+    private FeedbackAnswerMigrationService feedbackAnswerMigrationService; // Mocked migration service
+
     @InjectMocks
     private FeedbackQuestionsAssociationController feedbackQuestionsAssociationController; // Controller under test
 
@@ -167,6 +173,22 @@ class FeedbackQuestionsAssociationControllerTest {
         verify(feedbackQuestionsAssociationService, times(1)).getFeedbackQuestionsByFeedbackId(feedbackId); // Verify service method was called once
     }
 
+    /**
+     * Test method for the answer migration, which returns the number of feedbacks converted.
+     */
+    @Test
+    void testMigrateAnswers() {
+        // Arrange
+        when(feedbackAnswerMigrationService.migrate()).thenReturn(3);
+
+        // Act
+        ResponseEntity<Integer> response = feedbackQuestionsAssociationController.migrateAnswers();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody());
+    }
+
     /**
      * Cleanup method after all tests have been run.
      */
@@ -174,4 +196,21 @@ class FeedbackQuestionsAssociationControllerTest {
     static void tearDownAfterClass() {
         // Clean up resources if needed
     }
+
+    /**
+     * Test method for the batch retrieval: the IDs reach the service and its grouped answers
+     * are returned as they are.
+     */
+    @Test
+    void testGetFeedbackQuestionsByFeedbackIds() throws InvalidRequestParameterException {
+        List<FeedbackAnswersDto> answers = List.of(new FeedbackAnswersDto(2,
+                List.of(new FeedbackQuestionDTO(1L, "Question 1", "Yes"))));
+        when(feedbackQuestionsAssociationService.getFeedbackQuestionsByFeedbackIds(List.of(2, 5))).thenReturn(answers);
+
+        ResponseEntity<List<FeedbackAnswersDto>> response = feedbackQuestionsAssociationController
+                .getFeedbackQuestionsByFeedbackIds(List.of(2, 5));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(answers, response.getBody());
+    }
 }
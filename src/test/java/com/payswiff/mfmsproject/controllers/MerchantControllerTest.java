@@ -8,6 +8,9 @@ package com.payswiff.mfmsproject.controllers;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -20,11 +23,14 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.payswiff.mfmsproject.dtos.MerchantImportRejectionDto;
+import com.payswiff.mfmsproject.dtos.MerchantImportReportDto;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Merchant;
 import com.payswiff.mfmsproject.reuquests.CreateMerchantRequest;
+import com.payswiff.mfmsproject.services.MerchantImportService;
 import com.payswiff.mfmsproject.services.MerchantService;
 
 class MerchantControllerTest {
@@ -32,6 +38,9 @@ class MerchantControllerTest {
     @Mock
     private MerchantService merchantService; // Mocking MerchantService
 
+    @Mock
+    private MerchantImportService merchantImportService; // Mocking MerchantImportService
+
     @InjectMocks
     private MerchantController merchantController; // Controller under test
 
@@ -157,4 +166,23 @@ class MerchantControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Status should be 200 OK");
         assertTrue(response.getBody().isEmpty(), "Response body should be an empty list");
     }
+
+    /**
+     * Positive test case for importMerchants: verifies that the report of the import is returned.
+     */
+    @Test
+    void testImportMerchants() throws Exception {
+        // Arrange
+        MerchantImportReportDto report = new MerchantImportReportDto(2, 1,
+                List.of(new MerchantImportRejectionDto(3, "john@example.com", "Merchant with email john@example.com already exists")));
+        when(merchantImportService.importMerchants(any(Reader.class))).thenReturn(report);
+
+        // Act
+        ResponseEntity<MerchantImportReportDto> response = merchantController.importMerchants(
+                new ByteArrayInputStream("merchant_email\n".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Status should be 200 OK");
+        assertEquals(report, response.getBody(), "Response body should be the import report");
+    }
 }
@@ -14,7 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.payswiff.mfmsproject.dtos.MerchantDeviceAssignmentSummaryDto;
 import com.payswiff.mfmsproject.dtos.MerchantDeviceCountDTO;
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateDto;
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateReportDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Device;
@@ -22,6 +26,8 @@ import com.payswiff.mfmsproject.models.MerchantDeviceAssociation;
 import com.payswiff.mfmsproject.repositories.DeviceRepository;
 import com.payswiff.mfmsproject.reuquests.MerchantDeviceAssociationRequest;
 import com.payswiff.mfmsproject.services.MerchantDeviceAssociationService;
+import com.payswiff.mfmsproject.services.MerchantDeviceBulkAssignService;
+import com.payswiff.mfmsproject.services.MerchantDeviceDuplicateService;
 
 /**
  * Unit test class for the MerchantDeviceAssociationController.
@@ -33,6 +39,12 @@ class MerchantDeviceAssociationControllerTest {
     @Mock
     private MerchantDeviceAssociationService associationService; // Mock the service layer
 
+    @Mock
+    private MerchantDeviceBulkAssignService bulkAssignService; // Mock the bulk assignment service
+
+    @Mock
+    private MerchantDeviceDuplicateService duplicateService; // Mock the repeated association service
+
     @InjectMocks
     private MerchantDeviceAssociationController controller; // Inject the mock service into the controller
 
@@ -166,4 +178,51 @@ class MerchantDeviceAssociationControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(counts, response.getBody());
     }
+
+    /**
+     * Test case for assigning many devices to merchants.
+     * This test ensures that the summary of the service is returned with a 200 response.
+     */
+    @Test
+    void testAssignDevicesToMerchants() throws InvalidRequestParameterException {
+        List<MerchantDeviceAssociationRequest> requests = List.of(new MerchantDeviceAssociationRequest(1L, 1L),
+                new MerchantDeviceAssociationRequest(1L, 2L));
+        MerchantDeviceAssignmentSummaryDto summary = new MerchantDeviceAssignmentSummaryDto(2, 1, 1, List.of());
+        when(bulkAssignService.assign(requests)).thenReturn(summary);
+
+        ResponseEntity<MerchantDeviceAssignmentSummaryDto> response = controller.assignDevicesToMerchants(requests);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summary, response.getBody());
+    }
+
+    /**
+     * Test case for listing repeated associations without removing them.
+     */
+    @Test
+    void testGetDuplicates() {
+        MerchantDeviceDuplicateReportDto report = new MerchantDeviceDuplicateReportDto(false, false,
+                List.of(new MerchantDeviceDuplicateDto(7, 1L, 2L, 3)));
+        when(duplicateService.findDuplicates()).thenReturn(report);
+
+        ResponseEntity<MerchantDeviceDuplicateReportDto> response = controller.getDuplicates();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+    }
+
+    /**
+     * Test case for removing repeated associations and adding the unique key.
+     */
+    @Test
+    void testRemoveDuplicates() throws ResourceUnableToCreate {
+        MerchantDeviceDuplicateReportDto report = new MerchantDeviceDuplicateReportDto(true, true,
+                List.of(new MerchantDeviceDuplicateDto(7, 1L, 2L, 3)));
+        when(duplicateService.removeDuplicatesAndAddKey()).thenReturn(report);
+
+        ResponseEntity<MerchantDeviceDuplicateReportDto> response = controller.removeDuplicates();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isRemoved());
+    }
 }
@@ -0,0 +1,101 @@
+package com.payswiff.mfmsproject.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.payswiff.mfmsproject.models.AnswerCount;
+
+/**
+ * Test class for {@link AnswerCountRepository}.
+ * Runs the key lookup and the filtered sums against the in-memory database.
+ */
+@DataJpaTest
+class AnswerCountRepositoryTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 10, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2024, 10, 2);
+
+    @Autowired
+    private AnswerCountRepository answerCountRepository;
+
+    /**
+     * Saves counters of question 1 for two business types, two manufacturers and two days.
+     */
+    @BeforeEach
+    void setUp() {
+        save(1L, 5, "Grocery", "NEWLAND", DAY_1, 3);
+        save(1L, 6, "Grocery", "NEWLAND", DAY_1, 1);
+        save(1L, 6, "Pharmacy", "NEWLAND", DAY_2, 4);
+        save(1L, 5, "Grocery", "PAX", DAY_2, 2);
+        save(2L, 5, "Grocery", "PAX", DAY_2, 0);
+    }
+
+    /**
+     * Verifies that a row is found by its full key only.
+     */
+    @Test
+    void testFindByKey() {
+        assertTrue(answerCountRepository.findByKey(1L, 5, "Grocery", "NEWLAND", DAY_1).isPresent());
+        assertTrue(answerCountRepository.findByKey(1L, 5, "Grocery", "NEWLAND", DAY_2).isEmpty());
+    }
+
+    /**
+     * Verifies that the same key cannot be saved twice.
+     */
+    @Test
+    void testDuplicateKey() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> answerCountRepository.saveAndFlush(new AnswerCount(1L, 5, "Grocery", "NEWLAND", DAY_1)));
+    }
+
+    /**
+     * Verifies the sums without filters: most given answer first, empty counters left out.
+     */
+    @Test
+    void testSum_NoFilters() {
+        List<Object[]> rows = answerCountRepository.sumByQuestionAndAnswer(null, null, null, null);
+
+        assertEquals(2, rows.size());
+        assertEquals(5, ((Number) rows.get(0)[1]).intValue());
+        assertEquals(5L, ((Number) rows.get(0)[2]).longValue());
+        assertEquals(6, ((Number) rows.get(1)[1]).intValue());
+        assertEquals(5L, ((Number) rows.get(1)[2]).longValue());
+    }
+
+    /**
+     * Verifies the sums with each filter.
+     */
+    @Test
+    void testSum_Filters() {
+        List<Object[]> grocery = answerCountRepository.sumByQuestionAndAnswer("Grocery", null, null, null);
+        assertEquals(5L, ((Number) grocery.get(0)[2]).longValue());
+        assertEquals(1L, ((Number) grocery.get(1)[2]).longValue());
+
+        List<Object[]> pax = answerCountRepository.sumByQuestionAndAnswer(null, "PAX", null, null);
+        assertEquals(1, pax.size());
+        assertEquals(2L, ((Number) pax.get(0)[2]).longValue());
+
+        List<Object[]> firstDay = answerCountRepository.sumByQuestionAndAnswer(null, null, DAY_1, DAY_2);
+        assertEquals(2, firstDay.size());
+        assertEquals(3L, ((Number) firstDay.get(0)[2]).longValue());
+
+        List<Object[]> secondDay = answerCountRepository.sumByQuestionAndAnswer("Pharmacy", "NEWLAND", DAY_2, null);
+        assertEquals(1, secondDay.size());
+        assertEquals(6, ((Number) secondDay.get(0)[1]).intValue());
+    }
+
+    private void save(Long questionId, int answerId, String businessType, String manufacturer, LocalDate day,
+            long count) {
+        AnswerCount row = new AnswerCount(questionId, answerId, businessType, manufacturer, day);
+        row.setAnswerCount(count);
+        answerCountRepository.saveAndFlush(row);
+    }
+}
@@ -354,4 +354,18 @@ class EmployeeRepositoryTest {
         // Assert: Verify that no employee exists with a non-existent Payswiff ID
         assertFalse(exists, "No employee should exist with a non-existent Payswiff ID");
     }
+
+    /**
+     * Test for the set-based existence checks used by bulk onboarding.
+     * Only the values that belong to an employee are returned.
+     */
+    @Test
+    void testFindExistingValues() {
+        // Act & Assert: Each lookup returns the stored value and drops the unknown one
+        assertEquals(List.of("PW12345"), employeeRepository.findExistingPayswiffIds(List.of("PW12345", "PW99999")));
+        assertEquals(List.of("test@example.com"),
+                employeeRepository.findExistingEmails(List.of("test@example.com", "new@example.com")));
+        assertEquals(List.of("1234567890"),
+                employeeRepository.findExistingPhoneNumbers(List.of("1234567890", "9999999999")));
+    }
 }
@@ -0,0 +1,164 @@
+package com.payswiff.mfmsproject.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackDailyRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.Merchant;
+
+/**
+ * Test class for {@link FeedbackDailyRollupRepository}.
+ * Runs the relative updates, the range reads and the daily source query against the in-memory database.
+ */
+@DataJpaTest
+class FeedbackDailyRollupRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 9);
+
+    @Autowired
+    private FeedbackDailyRollupRepository feedbackDailyRollupRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Saves empty rows for device 7 on two days.
+     */
+    @BeforeEach
+    void setUp() {
+        feedbackDailyRollupRepository.saveAndFlush(new FeedbackDailyRollup(FeedbackRollupScope.DEVICE, 7L, DAY));
+        feedbackDailyRollupRepository
+                .saveAndFlush(new FeedbackDailyRollup(FeedbackRollupScope.DEVICE, 7L, DAY.plusDays(1)));
+    }
+
+    /**
+     * Verifies that increment adds to the row of the given day only.
+     */
+    @Test
+    void testIncrement() {
+        assertEquals(1, feedbackDailyRollupRepository.increment(FeedbackRollupScope.DEVICE, 7L, DAY, 4.0));
+        assertEquals(1, feedbackDailyRollupRepository.increment(FeedbackRollupScope.DEVICE, 7L, DAY, 2.5));
+        assertEquals(0, feedbackDailyRollupRepository.increment(FeedbackRollupScope.DEVICE, 7L, DAY.plusDays(2), 1.0));
+        entityManager.clear(); // the bulk updates bypass the persistence context
+
+        FeedbackDailyRollup rollup = feedbackDailyRollupRepository
+                .findByRollupScopeAndRollupKeyAndRollupDay(FeedbackRollupScope.DEVICE, 7L, DAY).get();
+        assertEquals(2, rollup.getFeedbackCount());
+        assertEquals(6.5, rollup.getRatingSum());
+    }
+
+    /**
+     * Verifies that the range reads skip empty rows and respect the exclusive end.
+     */
+    @Test
+    void testFindRange() {
+        feedbackDailyRollupRepository.saveAndFlush(new FeedbackDailyRollup(FeedbackRollupScope.DEVICE, 8L, DAY));
+        feedbackDailyRollupRepository.increment(FeedbackRollupScope.DEVICE, 8L, DAY, 5.0);
+        feedbackDailyRollupRepository.increment(FeedbackRollupScope.DEVICE, 7L, DAY.plusDays(1), 3.0);
+        entityManager.clear();
+
+        List<FeedbackDailyRollup> ofKey = feedbackDailyRollupRepository.findRangeOfKey(FeedbackRollupScope.DEVICE, 7L,
+                DAY, DAY.plusDays(2));
+        assertEquals(1, ofKey.size());
+        assertEquals(DAY.plusDays(1), ofKey.get(0).getRollupDay());
+
+        List<FeedbackDailyRollup> ofScope = feedbackDailyRollupRepository.findRangeOfScope(FeedbackRollupScope.DEVICE,
+                DAY, DAY.plusDays(1));
+        assertEquals(1, ofScope.size());
+        assertEquals(8L, ofScope.get(0).getRollupKey());
+    }
+
+    /**
+     * Verifies that the daily source query groups feedbacks per device and creation day.
+     */
+    @Test
+    void testDailyRollupByDevice() {
+        Employee employee = saveEmployee();
+        Device device = saveDevice();
+        Merchant merchant = saveMerchant();
+        saveFeedback(employee, device, merchant, 4.0);
+        saveFeedback(employee, device, merchant, 2.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> rows = feedbackRepository.dailyRollupByDevice(LocalDateTime.now().minusDays(1));
+
+        assertEquals(1, rows.size());
+        assertEquals(device.getDeviceId(), ((Number) rows.get(0)[0]).longValue());
+        assertEquals(LocalDate.now(), rows.get(0)[1]);
+        assertEquals(2L, ((Number) rows.get(0)[2]).longValue());
+        assertEquals(6.0, ((Number) rows.get(0)[3]).doubleValue());
+        assertTrue(feedbackRepository.dailyRollupByDevice(LocalDateTime.now().plusDays(1)).isEmpty());
+    }
+
+    private Employee saveEmployee() {
+        Employee employee = new Employee();
+        employee.setEmployeeName("Employee");
+        employee.setEmployeeEmail("employee@example.com");
+        employee.setEmployeePhoneNumber("9000000001");
+        employee.setEmployeeType(EmployeeType.employee);
+        employee.setEmployeeUuid(UUID.randomUUID().toString());
+        employee.setEmployeePayswiffId("PS1");
+        employee.setEmployeeDesignation("dev");
+        employee.setEmployeePassword("1234pgduytuw222@");
+        return employeeRepository.save(employee);
+    }
+
+    private Device saveDevice() {
+        Device device = new Device();
+        device.setDeviceUuid(UUID.randomUUID().toString());
+        device.setDeviceModel("Model X");
+        device.setDeviceManufacturer("Manufacturer Y");
+        return deviceRepository.save(device);
+    }
+
+    private Merchant saveMerchant() {
+        Merchant merchant = new Merchant();
+        merchant.setMerchantBusinessName("gopi shopi");
+        merchant.setMerchantBusinessType("retail");
+        merchant.setMerchantEmail("merchnat123@gmail.com");
+        merchant.setmerchantName("gopi");
+        merchant.setMerchantUuid(UUID.randomUUID().toString());
+        merchant.setMerchantPhone("1234567890");
+        return merchantRepository.save(merchant);
+    }
+
+    private void saveFeedback(Employee employee, Device device, Merchant merchant, double rating) {
+        Feedback feedback = new Feedback();
+        feedback.setFeedback("Feedback");
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackImage1("url");
+        feedback.setFeedbackRating(rating);
+        feedback.setFeedbackUuid(UUID.randomUUID().toString());
+        feedbackRepository.save(feedback);
+    }
+}
@@ -0,0 +1,273 @@
+package com.payswiff.mfmsproject.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.payswiff.mfmsproject.dtos.FeedbackFilter;
+import com.payswiff.mfmsproject.dtos.FeedbackSummaryDto;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.utils.FeedbackCursor;
+
+/**
+ * Test class for {@link FeedbackQueryRepository}.
+ * Runs the keyset paging and streaming queries against the in-memory database.
+ */
+@DataJpaTest
+@Import(FeedbackQueryRepository.class)
+@TestPropertySource(properties = "mfms.feedback.stream-fetch-size=100") // H2 rejects MySQL's streaming fetch size
+class FeedbackQueryRepositoryTest {
+
+    @Autowired
+    private FeedbackQueryRepository feedbackQueryRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    private Employee testEmployee;
+    private Device testDevice;
+    private Merchant testMerchant;
+
+    /**
+     * Saves an employee, a device, a merchant and 7 feedbacks, 4 of them rated 4.
+     */
+    @BeforeEach
+    void setUp() {
+        testEmployee = new Employee();
+        testEmployee.setEmployeeName("John Doe");
+        testEmployee.setEmployeeEmail("john.doe@example.com");
+        testEmployee.setEmployeePhoneNumber("123-456-7890");
+        testEmployee.setEmployeeType(EmployeeType.employee);
+        testEmployee.setEmployeeUuid(UUID.randomUUID().toString());
+        testEmployee.setEmployeePayswiffId("12345");
+        testEmployee.setEmployeeDesignation("dev");
+        testEmployee.setEmployeePassword("1234pgduytuw222@");
+        testEmployee = employeeRepository.save(testEmployee);
+
+        testDevice = new Device();
+        testDevice.setDeviceUuid("device-uuid-123");
+        testDevice.setDeviceModel("Model X");
+        testDevice.setDeviceManufacturer("Manufacturer Y");
+        testDevice = deviceRepository.save(testDevice);
+
+        testMerchant = new Merchant();
+        testMerchant.setMerchantBusinessName("gopi shopi");
+        testMerchant.setMerchantBusinessType("retail");
+        testMerchant.setMerchantEmail("merchnat123@gmail.com");
+        testMerchant.setmerchantName("gopi");
+        testMerchant.setMerchantUuid(UUID.randomUUID().toString());
+        testMerchant.setMerchantPhone("1234567890");
+        testMerchant = merchantRepository.save(testMerchant);
+
+        for (int i = 0; i < 7; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setFeedback("Feedback " + i);
+            feedback.setFeedbackEmployee(testEmployee);
+            feedback.setFeedbackDevice(testDevice);
+            feedback.setFeedbackMerchant(testMerchant);
+            feedback.setFeedbackImage1("url");
+            feedback.setFeedbackRating(i % 2 == 0 ? 4.0 : 3.0);
+            feedback.setFeedbackUuid(UUID.randomUUID().toString());
+            feedbackRepository.save(feedback);
+        }
+        feedbackRepository.flush(); // make the rows visible to the JDBC queries
+    }
+
+    /**
+     * Walks all pages with the cursor and verifies that every feedback is returned exactly once,
+     * in descending (creation time, ID) order.
+     */
+    @Test
+    void testFindPage_WalksAllRowsOnce() {
+        List<FeedbackSummaryDto> all = new ArrayList<>();
+        FeedbackCursor cursor = null;
+        for (int pages = 0; pages < 10; pages++) {
+            List<FeedbackSummaryDto> page = feedbackQueryRepository.findPage(null, cursor, 3);
+            all.addAll(page);
+            if (page.size() < 3) {
+                break;
+            }
+            FeedbackSummaryDto last = page.get(page.size() - 1);
+            cursor = new FeedbackCursor(last.getFeedbackCreationTime(), last.getFeedbackId());
+        }
+
+        assertEquals(7, all.size());
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            assertTrue(ids.add(all.get(i).getFeedbackId()), "No feedback should be returned twice");
+            if (i > 0) {
+                FeedbackSummaryDto previous = all.get(i - 1);
+                FeedbackSummaryDto current = all.get(i);
+                int byTime = previous.getFeedbackCreationTime().compareTo(current.getFeedbackCreationTime());
+                assertTrue(byTime > 0 || (byTime == 0 && previous.getFeedbackId() > current.getFeedbackId()));
+            }
+        }
+        assertEquals(testMerchant.getMerchantId(), all.get(0).getMerchantId());
+    }
+
+    /**
+     * Verifies that the listing carries the merchant business name and device model from the join.
+     */
+    @Test
+    void testFindPage_JoinsMerchantAndDevice() {
+        List<FeedbackSummaryDto> all = feedbackQueryRepository.findPage(new FeedbackFilter(null, null, 4, null), null, 50);
+
+        assertEquals(4, all.size());
+        all.forEach(summary -> {
+            assertEquals("gopi shopi", summary.getMerchantBusinessName());
+            assertEquals("Model X", summary.getDeviceModel());
+            assertNotNull(summary.getFeedbackCreationTime());
+        });
+    }
+
+    /**
+     * Verifies that the filters are combined.
+     */
+    @Test
+    void testFindPage_CombinedFilters() {
+        FeedbackFilter filter = new FeedbackFilter(testEmployee.getEmployeeId(), testDevice.getDeviceId(), 4,
+                testMerchant.getMerchantId());
+        List<FeedbackSummaryDto> page = feedbackQueryRepository.findPage(filter, null, 50);
+
+        assertEquals(4, page.size());
+        page.forEach(summary -> assertEquals(4.0, summary.getFeedbackRating()));
+    }
+
+    /**
+     * Verifies that streaming hands every matching row to the consumer.
+     */
+    @Test
+    void testStream() {
+        List<FeedbackSummaryDto> streamed = new ArrayList<>();
+
+        FeedbackFilter filter = new FeedbackFilter(null, null, 3, testMerchant.getMerchantId());
+        long count = feedbackQueryRepository.stream(filter, streamed::add);
+
+        assertEquals(3, count);
+        assertEquals(3, streamed.size());
+    }
+
+    /**
+     * Verifies that the rows of the given IDs are read, unknown IDs skipped.
+     */
+    @Test
+    void testFindByIds() {
+        List<FeedbackSummaryDto> all = feedbackQueryRepository.findPage(null, null, 50);
+        List<Integer> ids = List.of(all.get(0).getFeedbackId(), all.get(2).getFeedbackId(), Integer.MAX_VALUE);
+
+        List<FeedbackSummaryDto> rows = feedbackQueryRepository.findByIds(ids);
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(row -> ids.contains(row.getFeedbackId())));
+        assertEquals("gopi shopi", rows.get(0).getMerchantBusinessName());
+    }
+
+    /**
+     * Reads the answers of a feedback with a compact row and of one without answers in one
+     * query; an unknown ID has no row.
+     */
+    @Test
+    void testFindAnswerRows() {
+        List<FeedbackSummaryDto> all = feedbackQueryRepository.findPage(null, null, 50);
+        int compact = all.get(0).getFeedbackId();
+        int empty = all.get(1).getFeedbackId();
+        byte[] answers = { 1, 2, 3 };
+        namedParameterJdbcTemplate.update("INSERT INTO feedback_answers (feedback_id, answers) VALUES (:id, :answers)",
+                Map.of("id", compact, "answers", answers));
+
+        List<FeedbackQueryRepository.AnswerRow> rows = feedbackQueryRepository.findAnswerRows(
+                List.of(compact, empty, Integer.MAX_VALUE));
+
+        assertEquals(2, rows.size());
+        Map<Integer, FeedbackQueryRepository.AnswerRow> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.feedbackId(), row));
+        assertArrayEquals(answers, byId.get(compact).answers());
+        assertNull(byId.get(compact).questionId());
+        assertNull(byId.get(empty).answers());
+        assertNull(byId.get(empty).questionId());
+    }
+
+    /**
+     * Runs EXPLAIN for every combination of filters, with and without a cursor, and verifies
+     * that each plan reads {@code feedback} through an index instead of a table scan.
+     */
+    @Test
+    void testEveryFilterCombinationUsesAnIndex() {
+        FeedbackCursor cursor = new FeedbackCursor(LocalDateTime.now(), Integer.MAX_VALUE);
+        for (int combination = 0; combination < 64; combination++) {
+            FeedbackFilter filter = new FeedbackFilter();
+            if ((combination & 1) != 0) {
+                filter.setEmployeeId(testEmployee.getEmployeeId());
+            }
+            if ((combination & 2) != 0) {
+                filter.setMerchantId(testMerchant.getMerchantId());
+            }
+            if ((combination & 4) != 0) {
+                filter.setDeviceId(testDevice.getDeviceId());
+            }
+            if ((combination & 8) != 0) {
+                filter.setRating(4);
+            }
+            if ((combination & 16) != 0) {
+                filter.setMinRating(2.0);
+                filter.setMaxRating(4.5);
+            }
+            if ((combination & 32) != 0) {
+                filter.setFrom(LocalDateTime.now().minusDays(7));
+                filter.setTo(LocalDateTime.now().plusDays(1));
+            }
+            for (FeedbackCursor after : new FeedbackCursor[] { null, cursor }) {
+                Map<String, Object> params = new HashMap<>();
+                String sql = FeedbackQueryRepository.pageSql(filter, after, 50, params);
+                assertFeedbackReadByIndex(sql, params, filter + " (page, cursor: " + (after != null) + ")");
+            }
+            Map<String, Object> params = new HashMap<>();
+            assertFeedbackReadByIndex(FeedbackQueryRepository.streamSql(filter, params), params, filter + " (stream)");
+        }
+    }
+
+    /**
+     * Explains the query exactly as the repository issues it and fails if {@code feedback} is
+     * read by a table scan.
+     */
+    private void assertFeedbackReadByIndex(String sql, Map<String, Object> params, String description) {
+        String plan = namedParameterJdbcTemplate.queryForObject("EXPLAIN " + sql, params, String.class);
+
+        // H2 prints each table of the join followed by the comment naming how it is read
+        int table = plan.indexOf("\"PUBLIC\".\"FEEDBACK\" \"F\"");
+        assertTrue(table >= 0, description + " does not read feedback:\n" + plan);
+        String access = plan.substring(table, plan.indexOf("*/", table));
+        assertFalse(access.contains("tableScan"), description + " scans feedback:\n" + plan);
+    }
+}
@@ -2,6 +2,7 @@ package com.payswiff.mfmsproject.repositories;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -251,4 +252,35 @@ class FeedbackRepositoryTest {
 
         assertNotNull(savedFeedback.getFeedbackId(), "Should save feedback related to different devices");
     }
+
+    /**
+     * Test case for the rollup source query.
+     * Verifies the count, rating sum and histogram per device, with the histogram bucketed by
+     * the nearest whole star.
+     */
+    @Test
+    void testRollupByDevice() {
+        for (double rating : new double[] { 4.6, 1.0 }) {
+            Feedback feedback = new Feedback();
+            feedback.setFeedback("Rated " + rating);
+            feedback.setFeedbackEmployee(testEmployee);
+            feedback.setFeedbackDevice(testDevice);
+            feedback.setFeedbackMerchant(testMerchant);
+            feedback.setFeedbackImage1("url");
+            feedback.setFeedbackRating(rating);
+            feedback.setFeedbackUuid(UUID.randomUUID().toString());
+            feedbackRepository.save(feedback);
+        }
+
+        List<Object[]> rows = feedbackRepository.rollupByDevice();
+
+        assertEquals(1, rows.size());
+        Object[] row = rows.get(0);
+        assertEquals(testDevice.getDeviceId(), ((Number) row[0]).longValue());
+        assertEquals(3L, ((Number) row[1]).longValue());
+        assertEquals(8.1, ((Number) row[2]).doubleValue(), 1e-9);
+        assertEquals(1L, ((Number) row[3]).longValue()); // 1.0
+        assertEquals(1L, ((Number) row[5]).longValue()); // 2.5 rounds up to 3
+        assertEquals(1L, ((Number) row[7]).longValue()); // 4.6
+    }
 }
@@ -0,0 +1,172 @@
+package com.payswiff.mfmsproject.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.Merchant;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Test class for {@link FeedbackRollupRepository}.
+ * Runs the rollup reads and the employee report against the in-memory database.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FeedbackRollupRepositoryTest {
+
+    @Autowired
+    private FeedbackRollupRepository feedbackRollupRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Saves an empty rollup row for device 7.
+     */
+    @BeforeEach
+    void setUp() {
+        feedbackRollupRepository.saveAndFlush(new FeedbackRollup(FeedbackRollupScope.DEVICE, 7L));
+    }
+
+    /**
+     * Verifies that the read query skips rows without feedbacks.
+     */
+    @Test
+    void testFindNonEmptyRows() {
+        FeedbackRollup rated = new FeedbackRollup(FeedbackRollupScope.DEVICE, 8L);
+        rated.setFeedbackCount(1);
+        feedbackRollupRepository.saveAndFlush(rated);
+        entityManager.clear();
+
+        List<FeedbackRollup> rows = feedbackRollupRepository
+                .findByRollupScopeAndFeedbackCountGreaterThanOrderByRollupKey(FeedbackRollupScope.DEVICE, 0);
+
+        assertEquals(1, rows.size());
+        assertEquals(8L, rows.get(0).getRollupKey());
+    }
+
+    /**
+     * Verifies that the rows of one scope are read, empty or not.
+     */
+    @Test
+    void testFindByRollupScope() {
+        feedbackRollupRepository.saveAndFlush(new FeedbackRollup(FeedbackRollupScope.EMPLOYEE, 7L));
+
+        List<FeedbackRollup> rows = feedbackRollupRepository.findByRollupScope(FeedbackRollupScope.DEVICE);
+
+        assertEquals(1, rows.size());
+        assertEquals(7L, rows.get(0).getRollupKey());
+    }
+
+    /**
+     * Verifies that the employee report, with and without a time window, is one statement
+     * no matter how many employees have feedbacks.
+     */
+    @Test
+    void testEmployeeReport_ConstantStatementCount() {
+        Device device = new Device();
+        device.setDeviceUuid(UUID.randomUUID().toString());
+        device.setDeviceModel("Model X");
+        device.setDeviceManufacturer("Manufacturer Y");
+        device = deviceRepository.save(device);
+        Merchant merchant = new Merchant();
+        merchant.setMerchantBusinessName("gopi shopi");
+        merchant.setMerchantBusinessType("retail");
+        merchant.setMerchantEmail("merchnat123@gmail.com");
+        merchant.setmerchantName("gopi");
+        merchant.setMerchantUuid(UUID.randomUUID().toString());
+        merchant.setMerchantPhone("1234567890");
+        merchant = merchantRepository.save(merchant);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        int employees = 0;
+        for (int total : new int[] { 3, 30 }) {
+            for (; employees < total; employees++) {
+                Employee employee = saveEmployee(employees);
+                for (int f = 0; f <= employees % 3; f++) {
+                    saveFeedback(employee, device, merchant);
+                }
+                FeedbackRollup rollup = new FeedbackRollup(FeedbackRollupScope.EMPLOYEE, employee.getEmployeeId());
+                rollup.setFeedbackCount(employees % 3 + 1);
+                feedbackRollupRepository.save(rollup);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            statistics.clear();
+            List<Object[]> all = feedbackRollupRepository.countFeedbacksByEmployee(Pageable.unpaged());
+            assertEquals(total, all.size());
+            assertEquals(1, statistics.getPrepareStatementCount(), "rollup report with " + total + " employees");
+
+            statistics.clear();
+            List<Object[]> window = feedbackRepository.countFeedbacksByEmployeeBetween(
+                    LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), PageRequest.of(0, 5));
+            assertEquals(Math.min(5, total), window.size());
+            assertEquals(3L, ((Number) window.get(0)[2]).longValue());
+            assertNotNull(window.get(0)[1]);
+            assertEquals(1, statistics.getPrepareStatementCount(), "window report with " + total + " employees");
+        }
+    }
+
+    private Employee saveEmployee(int i) {
+        Employee employee = new Employee();
+        employee.setEmployeeName("Employee " + i);
+        employee.setEmployeeEmail("employee" + i + "@example.com");
+        employee.setEmployeePhoneNumber(String.format("90000%05d", i));
+        employee.setEmployeeType(EmployeeType.employee);
+        employee.setEmployeeUuid(UUID.randomUUID().toString());
+        employee.setEmployeePayswiffId("PS" + i);
+        employee.setEmployeeDesignation("dev");
+        employee.setEmployeePassword("1234pgduytuw222@");
+        return employeeRepository.save(employee);
+    }
+
+    private void saveFeedback(Employee employee, Device device, Merchant merchant) {
+        Feedback feedback = new Feedback();
+        feedback.setFeedback("Feedback");
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackImage1("url");
+        feedback.setFeedbackRating(4.0);
+        feedback.setFeedbackUuid(UUID.randomUUID().toString());
+        feedbackRepository.save(feedback);
+    }
+}
@@ -1,13 +1,20 @@
 package com.payswiff.mfmsproject.repositories;
 
 import com.payswiff.mfmsproject.models.Role;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -20,11 +27,15 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class RoleRepositoryTest {
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     /**
      * Sets up the test environment before each test case.
      * Clears any existing data in the repository to prevent interference
@@ -124,4 +135,32 @@ class RoleRepositoryTest {
         // Assert: Verify that no role was found due to case mismatch
         assertFalse(foundRole.isPresent(), "The repository should be case-sensitive unless specified otherwise.");
     }
+
+    /**
+     * Second-level cache test with the configuration of application.properties and ehcache.xml.
+     * Runs without the test transaction, so every call commits in its own persistence context:
+     * a repeated lookup by name must come from the role lookup region, and the role itself
+     * from the role region.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testFindServedFromSecondLevelCache() {
+        Role role = new Role();
+        role.setName("ROLE_admin");
+        Long id = roleRepository.save(role).getId();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled(), "Second-level cache should be on.");
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        roleRepository.findByName("ROLE_admin");
+        roleRepository.findByName("ROLE_admin");
+        roleRepository.findById(id);
+
+        assertEquals(1, statistics.getCacheRegionStatistics(CacheRegions.ROLE_QUERIES).getHitCount(),
+                "The second lookup by name should hit the query cache.");
+        assertTrue(statistics.getCacheRegionStatistics(CacheRegions.ROLE).getHitCount() > 0,
+                "Roles should be read from the entity cache.");
+    }
 }
@@ -0,0 +1,135 @@
+package com.payswiff.mfmsproject.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Unit tests for the JwtAuthenticationFilter with a real JwtTokenProvider.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "fce7fbe483de127a0821f3959ac122c365d26726f9663b9749b70e7a6e88d816";
+
+    @Mock
+    private UserDetailsService userDetailsService; // Must not be needed for tokens with roles
+
+    @Mock
+    private TokenRevocationCache tokenRevocationCache; // Revocation record
+
+    @InjectMocks
+    private JwtAuthenticationFilter jwtAuthenticationFilter; // The filter under test
+
+    private JwtTokenProvider jwtTokenProvider; // Real provider, set on the filter in setUp
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 60000L);
+        jwtTokenProvider.init();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "jwtTokenProvider", jwtTokenProvider);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Tests that the authentication is built from the roles claim without loading the user.
+     */
+    @Test
+    void testAuthenticatesFromClaims() throws Exception {
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("john@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_admin"))));
+
+        MockFilterChain chain = new MockFilterChain();
+        jwtAuthenticationFilter.doFilter(request(token), new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("john@example.com", authentication.getName());
+        Set<String> roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("ROLE_admin"), roles);
+        assertNotNull(chain.getRequest(), "the request should continue down the chain");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    /**
+     * Tests that a revoked token does not authenticate.
+     */
+    @Test
+    void testRejectsRevokedToken() throws Exception {
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("john@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_employee"))));
+        when(tokenRevocationCache.isRevoked(eq("john@example.com"), anyLong())).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Tests that revocation is checked against the issue time in milliseconds, not the
+     * second of the iat claim.
+     */
+    @Test
+    void testChecksRevocationInMilliseconds() throws Exception {
+        long before = System.currentTimeMillis();
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("john@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_employee"))));
+        long after = System.currentTimeMillis();
+
+        jwtAuthenticationFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(tokenRevocationCache).isRevoked(eq("john@example.com"), longThat(t -> t >= before && t <= after));
+    }
+
+    /**
+     * Tests that a token issued before the roles claim existed still works through the user lookup.
+     */
+    @Test
+    void testTokenWithoutRolesFallsBackToUserLookup() throws Exception {
+        String token = Jwts.builder().subject("john@example.com").issuedAt(new java.util.Date())
+                .expiration(new java.util.Date(System.currentTimeMillis() + 60000)).signWith(jwtTokenProvider.key())
+                .compact();
+        when(userDetailsService.loadUserByUsername("john@example.com"))
+                .thenReturn(new org.springframework.security.core.userdetails.User("john@example.com", "x",
+                        List.of(new SimpleGrantedAuthority("ROLE_employee"))));
+
+        jwtAuthenticationFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("john@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService, times(1)).loadUserByUsername("john@example.com");
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/feedback/page");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
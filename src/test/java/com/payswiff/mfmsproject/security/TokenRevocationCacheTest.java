@@ -0,0 +1,55 @@
+package com.payswiff.mfmsproject.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the TokenRevocationCache class.
+ */
+class TokenRevocationCacheTest {
+
+    private TokenRevocationCache tokenRevocationCache; // The cache under test
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationCache = new TokenRevocationCache();
+        ReflectionTestUtils.setField(tokenRevocationCache, "jwtExpiration", 60000L);
+    }
+
+    /**
+     * Tests that tokens issued just before a revocation are revoked and tokens issued just
+     * after it are not, even within the same second.
+     */
+    @Test
+    void testRevokesByMillisecond() throws Exception {
+        long issuedBefore = System.currentTimeMillis();
+        Thread.sleep(2);
+        tokenRevocationCache.revokeTokensIssuedBefore("john@example.com");
+        Thread.sleep(2);
+        long issuedAfter = System.currentTimeMillis();
+
+        assertTrue(tokenRevocationCache.isRevoked("john@example.com", issuedBefore));
+        assertFalse(tokenRevocationCache.isRevoked("john@example.com", issuedAfter));
+        assertFalse(tokenRevocationCache.isRevoked("jane@example.com", issuedBefore));
+    }
+
+    /**
+     * Tests that an entry is dropped once every token it covers has expired.
+     */
+    @Test
+    void testEvictExpired() throws Exception {
+        long issuedBefore = System.currentTimeMillis();
+        Thread.sleep(2);
+        tokenRevocationCache.revokeTokensIssuedBefore("john@example.com");
+
+        tokenRevocationCache.evictExpired();
+        assertTrue(tokenRevocationCache.isRevoked("john@example.com", issuedBefore));
+
+        ReflectionTestUtils.setField(tokenRevocationCache, "jwtExpiration", 0L);
+        Thread.sleep(2);
+        tokenRevocationCache.evictExpired();
+        assertFalse(tokenRevocationCache.isRevoked("john@example.com", issuedBefore));
+    }
+}
@@ -0,0 +1,163 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.payswiff.mfmsproject.dtos.AnswerDistributionDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.AnswerCountRepository;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+
+/**
+ * Unit tests for the AnswerDistributionService class.
+ */
+class AnswerDistributionServiceTest {
+
+    @Mock
+    private AnswerCountRepository answerCountRepository; // Mocked counter table
+
+    @Mock
+    private JdbcTemplate jdbcTemplate; // Mocked batched increments
+
+    @Mock
+    private AnswerDictionary answerDictionary; // Mocked answer texts
+
+    @Mock
+    private QuestionCatalog questionCatalog; // Mocked question texts
+
+    @Mock
+    private PlatformTransactionManager transactionManager; // Transactions are not under test
+
+    @InjectMocks
+    private AnswerDistributionService answerDistributionService; // The service under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        answerDistributionService.init();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1, 1 });
+    }
+
+    /**
+     * Tests that a feedback adds to one row per answer in one batch, in key order.
+     */
+    @Test
+    void testRecord_IncrementsOneRowPerAnswer() {
+        AnswerVector answers = new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, AnswerDictionary.NO_ANSWER_ID });
+
+        answerDistributionService.record(feedback(), answers);
+        answerDistributionService.record(feedback(), answers);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> increments = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), increments.capture());
+        Object[] first = increments.getValue().get(0);
+        assertEquals(1L, first[0]); // one more feedback
+        assertEquals(1L, first[1]);
+        assertEquals(5, first[2]);
+        assertEquals("Grocery", first[3]);
+        assertEquals("NEWLAND", first[4]);
+        assertEquals(LocalDate.of(2024, 10, 1), first[5]);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class)); // every row existed
+    }
+
+    /**
+     * Tests that a missing row is inserted in the transaction of the feedback.
+     */
+    @Test
+    void testRecord_InsertsMissingRow() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 0, 1 });
+        AnswerVector answers = new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, AnswerDictionary.NO_ANSWER_ID });
+
+        answerDistributionService.record(feedback(), answers);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO answer_count"), any(Object[].class));
+    }
+
+    /**
+     * Tests that the summed rows are grouped per question with their texts and totals.
+     */
+    @Test
+    void testGetDistributions_GroupsByQuestion() throws InvalidRequestParameterException {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, 5, 7L });
+        rows.add(new Object[] { 1L, AnswerDictionary.NO_ANSWER_ID, 2L });
+        rows.add(new Object[] { 2L, 6, 4L });
+        when(answerCountRepository.sumByQuestionAndAnswer("Grocery", null, null, null)).thenReturn(rows);
+        when(answerDictionary.textsOf(any())).thenReturn(Map.of(5, "Yes", 6, "No",
+                AnswerDictionary.NO_ANSWER_ID, AnswerDictionary.NO_ANSWER));
+        when(questionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1L,
+                List.of(new Question(1L, "q1", "Question 1"), new Question(2L, "q2", "Question 2"))));
+
+        List<AnswerDistributionDto> distributions = answerDistributionService.getDistributions(" Grocery ", "",
+                null, null);
+
+        assertEquals(2, distributions.size());
+        assertEquals("Question 1", distributions.get(0).getQuestionDescription());
+        assertEquals(9, distributions.get(0).getTotalCount());
+        assertEquals("Yes", distributions.get(0).getAnswers().get(0).getAnswer());
+        assertEquals(AnswerDictionary.NO_ANSWER, distributions.get(0).getAnswers().get(1).getAnswer());
+        assertEquals(6, distributions.get(1).getAnswers().get(0).getAnswerCode());
+    }
+
+    /**
+     * Tests that an empty time window is refused.
+     */
+    @Test
+    void testGetDistributions_EmptyWindow() {
+        LocalDate day = LocalDate.of(2024, 10, 1);
+
+        assertThrows(InvalidRequestParameterException.class,
+                () -> answerDistributionService.getDistributions(null, null, day, day));
+        verify(answerCountRepository, never()).sumByQuestionAndAnswer(any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that the initial build is skipped, without reading the answers, while another
+     * instance holds the reconciliation lock.
+     */
+    @Test
+    void testInitializeIfEmpty_SkippedWhileLocked() {
+        when(answerCountRepository.count()).thenReturn(0L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("answer_count"))).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("answer_count"))).thenReturn(List.of());
+
+        answerDistributionService.initializeIfEmpty();
+
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private Feedback feedback() {
+        Merchant merchant = new Merchant();
+        merchant.setMerchantBusinessType("Grocery");
+        Device device = new Device();
+        device.setDeviceManufacturer("NEWLAND");
+
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackCreationTime(LocalDateTime.of(2024, 10, 1, 9, 30));
+        return feedback;
+    }
+}
@@ -15,6 +15,7 @@ import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Device;
 import com.payswiff.mfmsproject.repositories.DeviceRepository;
+import com.payswiff.mfmsproject.utils.CacheRegions;
 
 import java.util.Collections;
 import java.util.List;
@@ -51,6 +52,9 @@ class DeviceServiceTest {
     @Mock
     private DeviceRepository deviceRepository; // Mocked repository for devices
 
+    @Mock
+    private ReferenceCacheService referenceCacheService; // Mocked second-level cache
+
     private Device device; // Device object used for testing
 
     @BeforeEach
@@ -82,6 +86,7 @@ class DeviceServiceTest {
         // Assert: Check that the saved device is the same as the input device
         assertEquals(device, savedDevice);
         verify(deviceRepository).save(device); // Verify that save was called
+        verify(referenceCacheService).evictLookups(CacheRegions.DEVICE_QUERIES); // Duplicate check bypassed the cache
     }
     /**
      * Tests handling of an already existing device.
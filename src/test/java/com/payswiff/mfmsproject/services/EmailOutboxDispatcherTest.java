@@ -0,0 +1,224 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.payswiff.mfmsproject.models.EmailOutbox;
+import com.payswiff.mfmsproject.repositories.EmailOutboxRepository;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Unit tests for the EmailOutboxDispatcher class.
+ * The real EmailService is wired to an in-process GreenMail SMTP server, so these
+ * tests exercise actual SMTP delivery while the outbox table itself is mocked.
+ */
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP); // In-process SMTP stand-in
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository; // Mocked outbox table
+
+    @Mock
+    private PasswordSetupService passwordSetupService; // Issues the set-password links
+
+    @Spy
+    private EmailService emailService = new EmailService(); // Real service, pointed at GreenMail
+
+    @InjectMocks
+    private EmailOutboxDispatcher dispatcher; // The dispatcher under test
+
+    private AutoCloseable closeable;
+
+    /**
+     * Wires the mail sender to GreenMail and starts the worker pool.
+     */
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.getJavaMailProperties().setProperty("mail.smtp.from", "mfms@localhost");
+        ReflectionTestUtils.setField(emailService, "emailSender", mailSender);
+
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "workers", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffInitialMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 60000L);
+        dispatcher.init();
+    }
+
+    /**
+     * Stops the worker pool and closes the mocks.
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        dispatcher.shutdown();
+        closeable.close();
+    }
+
+    private EmailOutbox dueRow(long id, int attempts) {
+        EmailOutbox row = new EmailOutbox("employee@example.com", "Merchant Feedback Management System", "Body " + id);
+        row.setEmailOutboxId(id);
+        row.setEmailAttempts(attempts);
+        row.setEmailClaimVersion(attempts);
+        return row;
+    }
+
+    /**
+     * Tests that a due row is claimed, delivered over SMTP and marked sent.
+     */
+    @Test
+    void testDispatchDue_DeliversAndMarksSent() throws Exception {
+        EmailOutbox row = dueRow(1L, 0);
+        when(emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(any(), any(), any()))
+                .thenReturn(List.of(row));
+        when(emailOutboxRepository.claim(eq(1L), eq(0), any(LocalDateTime.class))).thenReturn(1);
+
+        int delivered = dispatcher.dispatchDue();
+
+        assertEquals(1, delivered);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length); // GreenMail got exactly one mail
+        assertEquals("Merchant Feedback Management System", received[0].getSubject());
+        verify(emailOutboxRepository).markSent(eq(1L), eq(1), any(LocalDateTime.class));
+    }
+
+    /**
+     * Tests that a row queued with a set-password link gets a freshly issued link in the sent
+     * mail, while the stored body keeps only the placeholder.
+     */
+    @Test
+    void testDispatchDue_FillsInPasswordLink() throws Exception {
+        EmailOutbox row = new EmailOutbox("new@example.com", "Welcome",
+                "Set your password here: " + PasswordSetupService.LINK_PLACEHOLDER);
+        row.setEmailOutboxId(5L);
+        row.setEmailPasswordLink(true);
+        when(emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(any(), any(), any()))
+                .thenReturn(List.of(row));
+        when(emailOutboxRepository.claim(eq(5L), eq(0), any(LocalDateTime.class))).thenReturn(1);
+        when(passwordSetupService.issueLink("new@example.com")).thenReturn("https://mfms/set-password?token=abc");
+        doReturn(true).when(emailService).sendEmail(anyString(), anyString(), anyString());
+
+        assertEquals(1, dispatcher.dispatchDue());
+
+        verify(emailService).sendEmail("new@example.com", "Welcome",
+                "Set your password here: https://mfms/set-password?token=abc");
+        assertEquals("Set your password here: " + PasswordSetupService.LINK_PLACEHOLDER, row.getEmailBody());
+    }
+
+    /**
+     * Tests that a row whose link cannot be issued is retried like a failed send.
+     */
+    @Test
+    void testDispatchDue_LinkFailureSchedulesRetry() {
+        EmailOutbox row = dueRow(6L, 0);
+        row.setEmailPasswordLink(true);
+        when(emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(any(), any(), any()))
+                .thenReturn(List.of(row));
+        when(emailOutboxRepository.claim(eq(6L), eq(0), any(LocalDateTime.class))).thenReturn(1);
+        when(passwordSetupService.issueLink(anyString())).thenThrow(new IllegalStateException("database down"));
+
+        assertEquals(0, dispatcher.dispatchDue());
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+        verify(emailOutboxRepository).markFailedAttempt(eq(6L), eq(1), any(LocalDateTime.class), anyString());
+    }
+
+    /**
+     * Tests that a row claimed by another instance in the meantime is not sent.
+     */
+    @Test
+    void testDispatchDue_SkipsRowClaimedElsewhere() {
+        EmailOutbox row = dueRow(2L, 0);
+        when(emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(any(), any(), any()))
+                .thenReturn(List.of(row));
+        when(emailOutboxRepository.claim(eq(2L), eq(0), any(LocalDateTime.class))).thenReturn(0);
+
+        assertEquals(0, dispatcher.dispatchDue());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Tests that a failed send is put back as PENDING with a backoff.
+     */
+    @Test
+    void testDispatchDue_FailureSchedulesRetry() {
+        EmailOutbox row = dueRow(3L, 0);
+        when(emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(any(), any(), any()))
+                .thenReturn(List.of(row));
+        when(emailOutboxRepository.claim(eq(3L), eq(0), any(LocalDateTime.class))).thenReturn(1);
+        doReturn(false).when(emailService).sendEmail(anyString(), anyString(), anyString());
+
+        assertEquals(0, dispatcher.dispatchDue());
+        verify(emailOutboxRepository).markFailedAttempt(eq(3L), eq(1), any(LocalDateTime.class), anyString());
+        verify(emailOutboxRepository, never()).markFailed(anyLong(), anyInt(), any(), anyString());
+        verify(emailOutboxRepository, never()).markSent(anyLong(), anyInt(), any());
+    }
+
+    /**
+     * Tests that a row is marked FAILED, which drops its body, once it has used up its attempts.
+     */
+    @Test
+    void testDispatchDue_GivesUpAfterMaxAttempts() {
+        EmailOutbox row = dueRow(4L, 2); // third attempt is the last one
+        when(emailOutboxRepository.findByEmailStatusInAndEmailNextAttemptTimeLessThanEqual(any(), any(), any()))
+                .thenReturn(List.of(row));
+        when(emailOutboxRepository.claim(eq(4L), eq(2), any(LocalDateTime.class))).thenReturn(1);
+        doReturn(false).when(emailService).sendEmail(anyString(), anyString(), anyString());
+
+        dispatcher.dispatchDue();
+
+        verify(emailOutboxRepository).markFailed(eq(4L), eq(3), any(LocalDateTime.class), anyString());
+        verify(emailOutboxRepository, never()).markFailedAttempt(anyLong(), anyInt(), any(), anyString());
+    }
+
+    /**
+     * Tests that finished rows are purged with a cutoff one retention period back.
+     */
+    @Test
+    void testPurgeFinished() {
+        ReflectionTestUtils.setField(dispatcher, "retentionMs", 86_400_000L);
+        when(emailOutboxRepository.deleteFinishedBefore(any(LocalDateTime.class))).thenReturn(5);
+
+        LocalDateTime before = LocalDateTime.now().minusDays(1);
+        assertEquals(5, dispatcher.purgeFinished());
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).deleteFinishedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    /**
+     * Tests the exponential backoff and its cap.
+     */
+    @Test
+    void testBackoffDelay() {
+        assertEquals(1000L, dispatcher.backoffDelayMs(1));
+        assertEquals(2000L, dispatcher.backoffDelayMs(2));
+        assertEquals(4000L, dispatcher.backoffDelayMs(3));
+        assertEquals(5000L, dispatcher.backoffDelayMs(4)); // capped
+    }
+}
@@ -0,0 +1,75 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.payswiff.mfmsproject.models.EmailOutbox;
+import com.payswiff.mfmsproject.models.EmailOutboxStatus;
+import com.payswiff.mfmsproject.repositories.EmailOutboxRepository;
+
+/**
+ * Unit tests for the EmailOutboxService class.
+ */
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository; // Mocked outbox table
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService; // The service under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(emailOutboxRepository.save(any(EmailOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Tests that enqueue writes a pending row that is due immediately and never talks to SMTP.
+     */
+    @Test
+    void testEnqueue_WritesPendingRow() {
+        emailOutboxService.enqueue("test@example.com", "Subject", "Body");
+
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        EmailOutbox saved = captor.getValue();
+        assertEquals("test@example.com", saved.getEmailRecipient());
+        assertEquals("Subject", saved.getEmailSubject());
+        assertEquals("Body", saved.getEmailBody());
+        assertEquals(EmailOutboxStatus.PENDING, saved.getEmailStatus());
+        assertEquals(0, saved.getEmailAttempts());
+        assertNotNull(saved.getEmailNextAttemptTime());
+        assertFalse(saved.isEmailPasswordLink());
+    }
+
+    /**
+     * Tests that enqueueWithPasswordLink flags the row for a link and keeps the body as given.
+     */
+    @Test
+    void testEnqueueWithPasswordLink_FlagsRow() {
+        EmailOutbox saved = emailOutboxService.enqueueWithPasswordLink("new@example.com", "Welcome",
+                "Set your password here: " + PasswordSetupService.LINK_PLACEHOLDER);
+
+        assertTrue(saved.isEmailPasswordLink());
+        assertEquals("Set your password here: " + PasswordSetupService.LINK_PLACEHOLDER, saved.getEmailBody());
+        assertEquals(EmailOutboxStatus.PENDING, saved.getEmailStatus());
+    }
+
+    /**
+     * Tests that enqueueIndependently writes the same kind of row.
+     */
+    @Test
+    void testEnqueueIndependently_WritesPendingRow() {
+        EmailOutbox saved = emailOutboxService.enqueueIndependently("admin@example.com", "Feedback Creation Failed", "Details");
+
+        assertEquals(EmailOutboxStatus.PENDING, saved.getEmailStatus());
+        verify(emailOutboxRepository, times(1)).save(any(EmailOutbox.class));
+    }
+}
@@ -0,0 +1,124 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.payswiff.mfmsproject.dtos.EmployeeOnboardingResultDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeOnboardingStatus;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Role;
+import com.payswiff.mfmsproject.repositories.EmployeeRepository;
+import com.payswiff.mfmsproject.reuquests.CreateEmployeeRequest;
+
+/**
+ * Test class for {@link EmployeeOnboardingService}.
+ * Onboards employees against the in-memory database, in batches of two.
+ */
+@DataJpaTest
+@Import({ EmployeeOnboardingService.class, EmailOutboxService.class, BCryptPasswordEncoder.class })
+@TestPropertySource(properties = { "mfms.employee.onboarding.batch-size=2",
+        "mfms.employee.onboarding.hash-parallelism=2" })
+class EmployeeOnboardingServiceTest {
+
+    @Autowired
+    private EmployeeOnboardingService onboardingService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Saves the two roles and an employee already onboarded.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new Role(null, "ROLE_admin"));
+        entityManager.persist(new Role(null, "ROLE_employee"));
+
+        Employee existing = new Employee();
+        existing.setEmployeeUuid(UUID.randomUUID().toString());
+        existing.setEmployeePayswiffId("900");
+        existing.setEmployeeName("gopi");
+        existing.setEmployeeEmail("existing@example.com");
+        existing.setEmployeePhoneNumber("9000000000");
+        existing.setEmployeeDesignation("dev");
+        existing.setEmployeeType(EmployeeType.employee);
+        existing.setEmployeePassword("secret");
+        entityManager.persistAndFlush(existing);
+    }
+
+    /**
+     * Tests that valid employees are created with a hashed password, their role and a queued
+     * welcome email, while repeated, taken and invalid ones are reported in request order.
+     */
+    @Test
+    void testOnboard() throws Exception {
+        List<CreateEmployeeRequest> requests = List.of(
+                request(101, "sarika@example.com", "9100000001", "admin"),
+                request(102, "revanth@example.com", "9100000002", "employee"),
+                request(103, "sarika@example.com", "9100000003", "employee"), // email repeated
+                request(104, "existing@example.com", "9100000004", "employee"), // email taken
+                request(105, "ruchitha@example.com", "9100000005", "manager"), // unknown type
+                request(106, "gopi@example.com", "9100000006", "Employee"));
+
+        List<EmployeeOnboardingResultDto> results = onboardingService.onboard(requests);
+
+        assertEquals(List.of(EmployeeOnboardingStatus.CREATED, EmployeeOnboardingStatus.CREATED,
+                EmployeeOnboardingStatus.DUPLICATE, EmployeeOnboardingStatus.DUPLICATE,
+                EmployeeOnboardingStatus.REJECTED, EmployeeOnboardingStatus.CREATED),
+                results.stream().map(EmployeeOnboardingResultDto::getStatus).toList());
+        assertEquals("Email repeated in the request", results.get(2).getMessage());
+        assertEquals("Employee with Email existing@example.com already exists", results.get(3).getMessage());
+        assertEquals(5, results.get(5).getIndex());
+
+        Employee admin = employeeRepository.findByEmployeePayswiffId("101").orElseThrow();
+        assertEquals(results.get(0).getEmployeeId(), admin.getEmployeeId());
+        assertTrue(passwordEncoder.matches("password", admin.getEmployeePassword()));
+        assertEquals("ROLE_admin", admin.getRoles().iterator().next().getName());
+        assertEquals("ROLE_employee", employeeRepository.findByEmployeePayswiffId("106").orElseThrow().getRoles()
+                .iterator().next().getName());
+        assertFalse(employeeRepository.existsByEmployeePayswiffId("104"));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox", Integer.class));
+        // the welcome mails get a set-password link when sent and never hold the password
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE email_password_link = TRUE",
+                Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM email_outbox WHERE email_body LIKE '%Password: %'", Integer.class));
+    }
+
+    /**
+     * Tests that an empty request is rejected.
+     */
+    @Test
+    void testOnboard_Empty() {
+        assertThrows(InvalidRequestParameterException.class, () -> onboardingService.onboard(List.of()));
+    }
+
+    private static CreateEmployeeRequest request(long payswiffId, String email, String phoneNumber, String type) {
+        return new CreateEmployeeRequest(payswiffId, "Agent " + payswiffId, email, "password", phoneNumber,
+                "Field Agent", type);
+    }
+}
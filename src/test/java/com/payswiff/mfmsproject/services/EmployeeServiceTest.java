@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -18,6 +19,7 @@ import com.payswiff.mfmsproject.models.Employee;
 import com.payswiff.mfmsproject.models.Role;
 import com.payswiff.mfmsproject.repositories.EmployeeRepository;
 import com.payswiff.mfmsproject.repositories.RoleRepository;
+import com.payswiff.mfmsproject.security.TokenRevocationCache;
 
 import java.util.*;
 
@@ -36,11 +38,14 @@ class EmployeeServiceTest {
     private RoleRepository roleRepository; // Mock for role repository dependency.
 
     @Mock
-    private EmailService emailService; // Mock for email service dependency.
+    private EmailOutboxService emailOutboxService; // Mock for email outbox dependency.
 
     @Mock
     private PasswordEncoder passwordEncoder; // Mock for password encoder dependency.
 
+    @Mock
+    private TokenRevocationCache tokenRevocationCache; // Mock for the JWT revocation record.
+
     @InjectMocks
     private EmployeeService employeeService; // The service under test, with mocked dependencies injected.
 
@@ -64,12 +69,12 @@ class EmployeeServiceTest {
 
     /**
      * Tests the successful creation of an employee.
-     * Verifies that the employee is saved correctly and an email is sent.
+     * Verifies that the employee is saved correctly and the welcome email is queued.
      */
     @Test
     void testSaveEmployee_Success() throws Exception {
         // Create a sample employee object for testing
-        Employee employee = new Employee("12345", "test@example.com", "password", "admin", null);
+        Employee employee = new Employee("12345", "test@example.com", "S3cret!pw", "admin", null);
         
         // Set up mock behavior for repository calls
         when(employeeRepository.findByEmployeePayswiffId(employee.getEmployeePayswiffId())).thenReturn(Optional.empty());
@@ -80,7 +85,6 @@ class EmployeeServiceTest {
         // Set up password encoding and saving behavior
         when(passwordEncoder.encode(employee.getEmployeePassword())).thenReturn("encodedPassword");
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee); // Mock save behavior
-        when(emailService.sendEmail(anyString(), anyString(), anyString())).thenReturn(true); // Mock email sending
         
         // Call the method under test
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -89,9 +93,14 @@ class EmployeeServiceTest {
         assertNotNull(savedEmployee); 
         assertEquals(employee.getEmployeeEmail(), savedEmployee.getEmployeeEmail());
         
-        // Verify that the save and email send methods were called
+        // Verify that the save and email queue methods were called
         verify(employeeRepository).save(any(Employee.class)); 
-        verify(emailService).sendEmail(anyString(), anyString(), anyString()); 
+        ArgumentCaptor<String> text = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxService).enqueueWithPasswordLink(eq(employee.getEmployeeEmail()), anyString(), text.capture());
+        verify(emailOutboxService, never()).enqueue(anyString(), anyString(), anyString());
+        // the queued body holds the link placeholder and never the password
+        assertTrue(text.getValue().contains(PasswordSetupService.LINK_PLACEHOLDER));
+        assertFalse(text.getValue().contains("S3cret!pw"));
     }
 
     /**
@@ -366,6 +375,7 @@ class EmployeeServiceTest {
         // Assert that the employee's password was updated correctly
         assertEquals("encodedNewPassword", employee.getEmployeePassword());
         verify(employeeRepository).save(employee); // Verify that the employee was saved
+        verify(tokenRevocationCache).revokeTokensIssuedBefore(employee.getEmployeeEmail()); // Old tokens are revoked
     }
 
     /**
@@ -0,0 +1,142 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackQuestionsAssociation;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+
+/**
+ * Test class for {@link FeedbackAnswerMigrationService}.
+ * Converts association rows written the old way against the in-memory database.
+ */
+@DataJpaTest
+@Import({ FeedbackAnswerMigrationService.class, AnswerDictionary.class })
+@TestPropertySource(properties = "mfms.feedback.answers.migration-batch-size=1")
+class FeedbackAnswerMigrationServiceTest {
+
+    @Autowired
+    private FeedbackAnswerMigrationService migrationService;
+
+    @Autowired
+    private AnswerDictionary answerDictionary;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Feedback first;
+    private Feedback second;
+    private Question question1;
+    private Question question2;
+
+    /**
+     * Saves two feedbacks with their answers in the old association rows.
+     */
+    @BeforeEach
+    void setUp() {
+        Employee employee = new Employee();
+        employee.setEmployeeName("gopi");
+        employee.setEmployeeEmail("gopi.migration@example.com");
+        employee.setEmployeePhoneNumber("9191956789");
+        employee.setEmployeeType(EmployeeType.employee);
+        employee.setEmployeeUuid(UUID.randomUUID().toString());
+        employee.setEmployeePayswiffId("12345");
+        employee.setEmployeeDesignation("dev");
+        employee.setEmployeePassword("gopi1234@");
+        employee = entityManager.persist(employee);
+
+        Device device = new Device();
+        device.setDeviceUuid(UUID.randomUUID().toString());
+        device.setDeviceModel("POS");
+        device.setDeviceManufacturer("NEWLAND");
+        device = entityManager.persist(device);
+
+        Merchant merchant = new Merchant();
+        merchant.setmerchantName("Mfms");
+        merchant.setMerchantUuid(UUID.randomUUID().toString());
+        merchant.setMerchantEmail("merchant.migration@example.com");
+        merchant.setMerchantPhone("1234567890");
+        merchant.setMerchantBusinessName("merchantBusinessName");
+        merchant.setMerchantBusinessType("Grocery");
+        merchant = entityManager.persist(merchant);
+
+        question1 = entityManager.persist(new Question(null, UUID.randomUUID().toString(), "Was the device delivered?"));
+        question2 = entityManager.persist(new Question(null, UUID.randomUUID().toString(), "Was the training given?"));
+
+        first = entityManager.persist(feedback(employee, device, merchant));
+        second = entityManager.persist(feedback(employee, device, merchant));
+        entityManager.persist(new FeedbackQuestionsAssociation(null, first, question2, AnswerDictionary.NO_ANSWER));
+        entityManager.persist(new FeedbackQuestionsAssociation(null, first, question1, "Yes"));
+        entityManager.persist(new FeedbackQuestionsAssociation(null, second, question1, "yes"));
+        entityManager.persist(new FeedbackQuestionsAssociation(null, second, question2, "Yes"));
+        entityManager.flush();
+    }
+
+    /**
+     * Verifies that every feedback gets one compact row decoding to its answers, that the old
+     * rows are deleted and that answers differing only in case stay apart.
+     */
+    @Test
+    void testMigrate() {
+        assertEquals(2, migrationService.migrate());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM feedback_questions_association", Integer.class));
+        AnswerVector firstAnswers = answersOf(first);
+        assertEquals(2, firstAnswers.size());
+        assertEquals(question1.getQuestionId(), firstAnswers.questionId(0));
+        assertEquals("Yes", answerDictionary.textOf(firstAnswers.answerId(0)));
+        assertEquals(AnswerDictionary.NO_ANSWER_ID, firstAnswers.answerId(1));
+
+        AnswerVector secondAnswers = answersOf(second);
+        assertEquals("yes", answerDictionary.textOf(secondAnswers.answerId(0)));
+        assertEquals(firstAnswers.answerId(0), secondAnswers.answerId(1));
+        assertNotEquals(secondAnswers.answerId(0), secondAnswers.answerId(1));
+    }
+
+    /**
+     * Verifies that running the migration again finds nothing left to convert.
+     */
+    @Test
+    void testMigrate_SecondRunConvertsNothing() {
+        migrationService.migrate();
+
+        assertEquals(0, migrationService.migrate());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM feedback_answers", Integer.class));
+    }
+
+    private AnswerVector answersOf(Feedback feedback) {
+        return AnswerVector.decode(jdbcTemplate.queryForObject(
+                "SELECT answers FROM feedback_answers WHERE feedback_id = ?", byte[].class, feedback.getFeedbackId()));
+    }
+
+    private static Feedback feedback(Employee employee, Device device, Merchant merchant) {
+        Feedback feedback = new Feedback();
+        feedback.setFeedback("Sample feedback");
+        feedback.setFeedbackUuid(UUID.randomUUID().toString());
+        feedback.setFeedbackImage1("https://www.google.com");
+        feedback.setFeedbackRating(4.0);
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        return feedback;
+    }
+}
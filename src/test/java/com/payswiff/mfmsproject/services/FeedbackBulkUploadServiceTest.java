@@ -0,0 +1,211 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.dtos.FeedbackUploadResultDto;
+import com.payswiff.mfmsproject.exceptions.MerchantDeviceNotAssignedException;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.FeedbackUploadStatus;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.DeviceRepository;
+import com.payswiff.mfmsproject.repositories.EmployeeRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.repositories.MerchantRepository;
+
+/**
+ * Unit tests for the FeedbackBulkUploadService class.
+ */
+class FeedbackBulkUploadServiceTest {
+
+    private static final String UUID_1 = "0b7e2a7c-3f7b-4c43-9a55-8b5d0f1d9a01";
+
+    @Mock
+    private FeedbackService feedbackService; // Mocked batch insert
+
+    @Mock
+    private FeedbackRepository feedbackRepository; // Mocked UUID lookups
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private DeviceRepository deviceRepository;
+
+    @Mock
+    private MerchantDeviceAssociationService merchantDeviceAssociationService;
+
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper(); // Real record parsing
+
+    @InjectMocks
+    private FeedbackBulkUploadService feedbackBulkUploadService; // The service under test
+
+    private final List<List<FeedbackUploadResultDto>> groups = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedbackBulkUploadService, "batchSize", 2);
+        ReflectionTestUtils.setField(feedbackBulkUploadService, "maxLineLength", 4096);
+        ReflectionTestUtils.setField(feedbackBulkUploadService, "lookupCacheSize", 16);
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(new Employee()));
+        when(merchantRepository.findById(1L)).thenReturn(Optional.of(new Merchant()));
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(new Device()));
+        when(deviceRepository.findById(2L)).thenReturn(Optional.of(new Device()));
+        when(merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(1L, 1L)).thenReturn(true);
+        when(questionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1L,
+                List.of(new Question(1L, "q1", "Question 1"))));
+        when(feedbackRepository.findExistingFeedbackUuids(any())).thenReturn(Collections.emptyList());
+        when(feedbackService.createCheckedFeedbacks(any())).thenAnswer(invocation -> idsFor(invocation.getArgument(0)));
+    }
+
+    /**
+     * Tests that valid records are written in batches and reported in line order, one group per batch.
+     */
+    @Test
+    void testUpload_WritesInBatches() throws Exception {
+        String body = record(null, 1L) + "\n" + record(null, 1L) + "\n\n" + record(null, 1L) + "\r\n";
+
+        int created = feedbackBulkUploadService.upload(new StringReader(body), groups::add);
+
+        assertEquals(3, created);
+        verify(feedbackService, times(2)).createCheckedFeedbacks(any());
+        assertEquals(2, groups.size());
+        List<FeedbackUploadResultDto> results = flatten();
+        assertEquals(List.of(1, 2, 4), results.stream().map(FeedbackUploadResultDto::getLine).toList());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == FeedbackUploadStatus.CREATED));
+        assertNotNull(results.get(0).getFeedbackUuid());
+        assertEquals(100, results.get(0).getFeedbackId());
+        verify(employeeRepository, times(1)).findById(1L); // the batches reuse the validated entities
+    }
+
+    /**
+     * Tests that invalid records are rejected with a reason, without being written, and that the
+     * reference lookups are made once per upload.
+     */
+    @Test
+    void testUpload_RejectsInvalidRecords() throws Exception {
+        String body = "{not json\n" + record(null, 2L) + "\n" + record(null, 1L).replace("\"questionId\":1,",
+                "\"questionId\":9,") + "\n" + record(null, 1L) + "\n";
+
+        int created = feedbackBulkUploadService.upload(new StringReader(body), groups::add);
+
+        assertEquals(1, created);
+        List<FeedbackUploadResultDto> results = flatten();
+        assertEquals(4, results.size());
+        assertEquals(FeedbackUploadStatus.REJECTED, results.get(0).getStatus());
+        assertTrue(results.get(0).getMessage().startsWith("Malformed record"));
+        assertEquals("Device with ID 2 is not associated with Merchant ID 1", results.get(1).getMessage());
+        assertEquals("Question not found with ID: 9", results.get(2).getMessage());
+        assertEquals(FeedbackUploadStatus.CREATED, results.get(3).getStatus());
+        verify(employeeRepository, times(1)).findById(1L);
+        verify(merchantRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Tests that a record whose UUID is already stored is reported as a duplicate and not written again.
+     */
+    @Test
+    void testUpload_SkipsDuplicates() throws Exception {
+        when(feedbackRepository.findExistingFeedbackUuids(any())).thenReturn(List.of(UUID_1));
+
+        int created = feedbackBulkUploadService.upload(new StringReader(record(UUID_1.toUpperCase(), 1L)),
+                groups::add);
+
+        assertEquals(0, created);
+        FeedbackUploadResultDto result = flatten().get(0);
+        assertEquals(FeedbackUploadStatus.DUPLICATE, result.getStatus());
+        assertEquals(UUID_1, result.getFeedbackUuid());
+        verify(feedbackService, never()).createCheckedFeedbacks(any());
+    }
+
+    /**
+     * Tests that a UUID repeated within one upload is written once and reported as a duplicate
+     * after that, whether it repeats within a batch or in a later one.
+     */
+    @Test
+    void testUpload_SkipsRepeatsWithinUpload() throws Exception {
+        when(feedbackRepository.findExistingFeedbackUuids(any())).thenReturn(Collections.emptyList(),
+                List.of(UUID_1));
+        String body = record(UUID_1, 1L) + "\n" + record(UUID_1, 1L) + "\n" + record(UUID_1, 1L) + "\n";
+
+        int created = feedbackBulkUploadService.upload(new StringReader(body), groups::add);
+
+        assertEquals(1, created);
+        List<FeedbackUploadResultDto> results = flatten();
+        assertEquals(List.of(FeedbackUploadStatus.CREATED, FeedbackUploadStatus.DUPLICATE,
+                FeedbackUploadStatus.DUPLICATE), results.stream().map(FeedbackUploadResultDto::getStatus).toList());
+        verify(feedbackService, times(1)).createCheckedFeedbacks(any());
+    }
+
+    /**
+     * Tests that a rejected batch is written one by one, so only the failing record is rejected.
+     */
+    @Test
+    void testUpload_FallsBackToSingleRecords() throws Exception {
+        // doAnswer, so the stub of setUp is not called while stubbing again
+        doAnswer(invocation -> {
+            List<FeedbackService.CheckedSubmission> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(s -> "Broken".equals(s.submission().getFeedback()))) {
+                throw new MerchantDeviceNotAssignedException("Device", "ID", "1", "Merchant", "ID", "1");
+            }
+            return idsFor(batch);
+        }).when(feedbackService).createCheckedFeedbacks(any());
+        String body = record(null, 1L) + "\n" + record(null, 1L).replace("Excellent service!", "Broken") + "\n";
+
+        int created = feedbackBulkUploadService.upload(new StringReader(body), groups::add);
+
+        assertEquals(1, created);
+        List<FeedbackUploadResultDto> results = flatten();
+        assertEquals(FeedbackUploadStatus.CREATED, results.get(0).getStatus());
+        assertEquals(FeedbackUploadStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Feedback could not be written", results.get(1).getMessage());
+        verify(feedbackService, times(3)).createCheckedFeedbacks(any());
+    }
+
+    private List<FeedbackUploadResultDto> flatten() {
+        return groups.stream().flatMap(List::stream).toList();
+    }
+
+    private static String record(String uuid, long deviceId) {
+        StringBuilder answers = new StringBuilder();
+        for (int i = 0; i < FeedbackBulkUploadService.REQUIRED_ANSWERS; i++) {
+            answers.append(i == 0 ? "" : ",").append("{\"questionId\":1,\"questionAnswer\":\"Yes\"}");
+        }
+        return "{" + (uuid == null ? "" : "\"feedbackUuid\":\"" + uuid + "\",")
+                + "\"feedbackEmployeeId\":1,\"feedbackMerchantId\":1,\"feedbackDeviceId\":" + deviceId
+                + ",\"feedbackRating\":5.0,\"feedback\":\"Excellent service!\",\"questionAnswers\":[" + answers + "]}";
+    }
+
+    private static List<Integer> idsFor(List<FeedbackService.CheckedSubmission> batch) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ids.add(100 + i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,165 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateAuditDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateDto;
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackDuplicate;
+import com.payswiff.mfmsproject.repositories.FeedbackDuplicateRepository;
+
+/**
+ * Unit tests for the FeedbackDuplicateDetector class and its MinHashIndex.
+ */
+class FeedbackDuplicateDetectorTest {
+
+    private static final String ORIGINAL = "The card reader keeps disconnecting from the bluetooth printer during payments";
+    private static final String OTHER = "Merchant asked for a training session on refunds and the settlement reports";
+
+    @Mock
+    private JdbcTemplate streamingJdbcTemplate; // Mocked feedback scan
+
+    @Mock
+    private FeedbackDuplicateRepository feedbackDuplicateRepository; // Mocked flag storage
+
+    @InjectMocks
+    private FeedbackDuplicateDetector feedbackDuplicateDetector; // The detector under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedbackDuplicateDetector, "streamingJdbcTemplate", streamingJdbcTemplate);
+        ReflectionTestUtils.setField(feedbackDuplicateDetector, "minTerms", 6);
+        ReflectionTestUtils.setField(feedbackDuplicateDetector, "minSimilarity", 0.7);
+        when(feedbackDuplicateRepository.save(any(FeedbackDuplicate.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Tests that a text differing only in case and punctuation, or by one extra word, is
+     * found, while an unrelated text and a text too short to compare are not.
+     */
+    @Test
+    void testFindDuplicate() {
+        scan(1, ORIGINAL, 2, OTHER);
+
+        Optional<FeedbackDuplicateDto> exact = feedbackDuplicateDetector
+                .findDuplicate("the CARD reader keeps disconnecting from the Bluetooth printer, during payments!");
+        assertTrue(exact.isPresent());
+        assertEquals(1, exact.get().getDuplicateOfFeedbackId());
+        assertEquals(0, exact.get().getFeedbackId());
+        assertEquals(Double.valueOf(1.0), Double.valueOf(exact.get().getSimilarity()));
+
+        Optional<FeedbackDuplicateDto> extended = feedbackDuplicateDetector.findDuplicate(ORIGINAL + " again");
+        assertTrue(extended.isPresent());
+        assertEquals(1, extended.get().getDuplicateOfFeedbackId());
+        assertTrue(extended.get().getSimilarity() >= 0.7 && extended.get().getSimilarity() < 1);
+
+        assertTrue(feedbackDuplicateDetector
+                .findDuplicate("Printer paper jams every morning before the shop opens for customers").isEmpty());
+        assertTrue(feedbackDuplicateDetector.findDuplicate("Good service").isEmpty());
+    }
+
+    /**
+     * Tests that a recorded near-copy is flagged against the earlier feedback, is itself
+     * compared with later submissions and that short texts are never flagged.
+     */
+    @Test
+    void testRecord_FlagsNearCopy() {
+        scan(1, ORIGINAL);
+
+        Optional<FeedbackDuplicate> flag = feedbackDuplicateDetector.record(feedback(2, ORIGINAL.toUpperCase()));
+        assertTrue(flag.isPresent());
+        assertEquals(2, flag.get().getFeedbackId());
+        assertEquals(1, flag.get().getDuplicateOfFeedbackId());
+        verify(feedbackDuplicateRepository).save(flag.get());
+
+        assertTrue(feedbackDuplicateDetector.record(feedback(3, OTHER)).isEmpty());
+        Optional<FeedbackDuplicate> later = feedbackDuplicateDetector.record(feedback(4, OTHER + " again"));
+        assertTrue(later.isPresent());
+        assertEquals(3, later.get().getDuplicateOfFeedbackId());
+
+        feedbackDuplicateDetector.record(feedback(5, "Good service"));
+        assertTrue(feedbackDuplicateDetector.record(feedback(6, "Good service")).isEmpty());
+        verify(feedbackDuplicateRepository, times(2)).save(any(FeedbackDuplicate.class));
+    }
+
+    /**
+     * Tests that the audit pairs every near-copy with its earliest original and counts all
+     * of them while listing at most the limit.
+     */
+    @Test
+    void testAudit() {
+        scan(1, ORIGINAL, 2, OTHER, 3, ORIGINAL, 4, OTHER + " again", 5, "Good service");
+
+        FeedbackDuplicateAuditDto audit = feedbackDuplicateDetector.audit(0.7, 10);
+
+        assertEquals(4, audit.getScanned());
+        assertEquals(2, audit.getFlagged());
+        assertEquals(List.of(3, 4), audit.getDuplicates().stream().map(FeedbackDuplicateDto::getFeedbackId).toList());
+        assertEquals(List.of(1, 2),
+                audit.getDuplicates().stream().map(FeedbackDuplicateDto::getDuplicateOfFeedbackId).toList());
+        assertEquals(1, feedbackDuplicateDetector.audit(0.7, 1).getDuplicates().size());
+        assertEquals(1, feedbackDuplicateDetector.audit(1.0, 10).getFlagged());
+    }
+
+    /**
+     * Tests that a submission recorded before the first load is not checked, so the insert
+     * transaction never scans the table, while lookups and audits fail fast.
+     */
+    @Test
+    void testRecord_BeforeLoad() {
+        assertTrue(feedbackDuplicateDetector.record(feedback(1, ORIGINAL)).isEmpty());
+
+        assertThrows(IndexNotLoadedException.class, () -> feedbackDuplicateDetector.findDuplicate(ORIGINAL));
+        assertThrows(IndexNotLoadedException.class, () -> feedbackDuplicateDetector.audit(0.7, 10));
+        verifyNoInteractions(streamingJdbcTemplate);
+        verify(feedbackDuplicateRepository, never()).save(any(FeedbackDuplicate.class));
+    }
+
+    /**
+     * Simulates a feedback table with the given (feedback ID, text) pairs and loads it.
+     */
+    private void scan(Object... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < rows.length; i += 2) {
+                handler.processRow(row((Integer) rows[i], (String) rows[i + 1]));
+            }
+            return null;
+        }).when(streamingJdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        feedbackDuplicateDetector.rebuild();
+    }
+
+    private static ResultSet row(int feedbackId, String text) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(feedbackId);
+        when(rs.getString(2)).thenReturn(text);
+        when(rs.getTimestamp("feedback_creation_time")).thenReturn(Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        return rs;
+    }
+
+    private static Feedback feedback(int feedbackId, String text) {
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackId(feedbackId);
+        feedback.setFeedback(text);
+        return feedback;
+    }
+}
@@ -0,0 +1,203 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.FeedbackExportFormat;
+import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.QuestionRepository;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+
+/**
+ * Unit tests for the FeedbackExportService class.
+ */
+class FeedbackExportServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 10, 7, 9, 30);
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2024, 10, 8, 0, 0);
+
+    @Mock
+    private JdbcTemplate streamingJdbcTemplate; // Mocked feedback scan
+
+    @Mock
+    private AnswerDictionary answerDictionary; // Mocked answer texts
+
+    @Mock
+    private QuestionCatalog questionCatalog; // Mocked question catalog
+
+    @Mock
+    private QuestionRepository questionRepository; // Mocked fallback for removed questions
+
+    @InjectMocks
+    private FeedbackExportService feedbackExportService; // The service under test
+
+    private final ObjectMapper objectMapper = new ObjectMapper(); // Real JSON output
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedbackExportService, "streamingJdbcTemplate", streamingJdbcTemplate);
+        ReflectionTestUtils.setField(feedbackExportService, "objectMapper", objectMapper);
+        when(questionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1L,
+                List.of(new Question(1L, "q-1", "Was the device delivered?"), new Question(2L, "q-2", "Any issues?"))));
+        when(questionRepository.findById(3L)).thenReturn(Optional.of(new Question(3L, "q-3", "Removed question")));
+        when(answerDictionary.textsOf(List.of(5, 0))).thenReturn(Map.of(5, "Yes", 0, AnswerDictionary.NO_ANSWER));
+
+        // feedback 1 has a compact row, 2 is not migrated yet, 3 has no answers
+        byte[] compact = new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, 0 }).encode();
+        List<ResultSet> rows = List.of(
+                row(1, "Quick setup", compact, null, null),
+                row(2, "Printer \"jams\", twice", null, 1L, "Fast, reliable"),
+                row(2, "Printer \"jams\", twice", null, 3L, "No"),
+                row(3, "Good", null, null, null));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (ResultSet rs : rows) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(streamingJdbcTemplate).query(anyString(), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+    }
+
+    /**
+     * Tests the CSV export: one line per answer with the feedback columns repeated, compact
+     * and not yet migrated answers alike, quoting of commas and quotes, and one line with
+     * empty answer columns for a feedback without answers.
+     */
+    @Test
+    void testExport_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = feedbackExportService.export(FeedbackExportFormat.CSV, null, UNTIL, out);
+
+        assertEquals(3, exported);
+        assertEquals(List.of(FeedbackExportService.CSV_HEADER,
+                "1,uuid-1,10,30,20,4.0,Quick setup,2024-10-07T09:30,1,Was the device delivered?,Yes",
+                "1,uuid-1,10,30,20,4.0,Quick setup,2024-10-07T09:30,2,Any issues?,No answer provided",
+                "2,uuid-2,10,30,20,4.0,\"Printer \"\"jams\"\", twice\",2024-10-07T09:30,1,Was the device delivered?,"
+                        + "\"Fast, reliable\"",
+                "2,uuid-2,10,30,20,4.0,\"Printer \"\"jams\"\", twice\",2024-10-07T09:30,3,Removed question,No",
+                "3,uuid-3,10,30,20,4.0,Good,2024-10-07T09:30,,,"), List.of(gunzip(out).split("\r\n")));
+    }
+
+    /**
+     * Tests the NDJSON export: one object per line with its answers, and that a window with
+     * a start binds both of its bounds.
+     */
+    @Test
+    void testExport_NdjsonSince() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LocalDateTime since = LocalDateTime.of(2024, 10, 7, 0, 0);
+
+        feedbackExportService.export(FeedbackExportFormat.NDJSON, since, UNTIL, out);
+
+        String[] lines = gunzip(out).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(2, second.get("feedbackId").asInt());
+        assertEquals("Printer \"jams\", twice", second.get("feedback").asText());
+        assertEquals(2, second.get("answers").size());
+        assertEquals("Removed question", second.get("answers").get(1).get("question").asText());
+        assertEquals(0, objectMapper.readTree(lines[2]).get("answers").size());
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(streamingJdbcTemplate).query(contains("f.feedback_creation_time >= ?"), setter.capture(),
+                any(RowCallbackHandler.class));
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps);
+        verify(ps).setTimestamp(1, Timestamp.valueOf(since));
+        verify(ps).setTimestamp(2, Timestamp.valueOf(UNTIL));
+    }
+
+    /**
+     * Tests that the answer texts of a group of feedbacks are read with one dictionary lookup
+     * and that a feedback without a rating is exported with an empty rating, not 0.0.
+     */
+    @Test
+    void testExport_OneLookupPerGroup() throws Exception {
+        when(answerDictionary.textsOf(List.of(5, 0, 6)))
+                .thenReturn(Map.of(5, "Yes", 0, AnswerDictionary.NO_ANSWER, 6, "Once"));
+        List<ResultSet> rows = List.of(
+                row(1, "Quick setup", new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, 0 }).encode(), null, null),
+                row(4, "Unrated", new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, 6 }).encode(), null, null));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (ResultSet rs : rows) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(streamingJdbcTemplate).query(anyString(), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        feedbackExportService.export(FeedbackExportFormat.CSV, null, UNTIL, out);
+
+        verify(answerDictionary, times(1)).textsOf(anyCollection());
+        assertEquals("4,uuid-4,10,30,20,,Unrated,2024-10-07T09:30,2,Any issues?,Once",
+                gunzip(out).split("\r\n")[4]);
+    }
+
+    /**
+     * Tests that the watermark lags the clock and that a start after it is rejected.
+     */
+    @Test
+    void testWatermark() throws Exception {
+        LocalDateTime watermark = feedbackExportService.watermark(null);
+
+        assertTrue(watermark.isBefore(LocalDateTime.now().minus(FeedbackExportService.COMMIT_LAG).plusSeconds(1)));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> feedbackExportService.watermark(LocalDateTime.now()));
+    }
+
+    private static ResultSet row(int feedbackId, String text, byte[] answers, Long questionId, String answer)
+            throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(feedbackId);
+        when(rs.getString(2)).thenReturn("uuid-" + feedbackId);
+        when(rs.getLong(3)).thenReturn(10L);
+        when(rs.getLong(4)).thenReturn(30L);
+        when(rs.getLong(5)).thenReturn(20L);
+        when(rs.getObject(6, Double.class)).thenReturn(feedbackId == 4 ? null : 4.0);
+        when(rs.getString(7)).thenReturn(text);
+        when(rs.getTimestamp(8)).thenReturn(Timestamp.valueOf(CREATED));
+        when(rs.getBytes(9)).thenReturn(answers);
+        when(rs.getLong(10)).thenReturn(questionId == null ? 0L : questionId);
+        when(rs.wasNull()).thenReturn(questionId == null);
+        when(rs.getString(11)).thenReturn(answer);
+        return rs;
+    }
+
+    private static String gunzip(ByteArrayOutputStream out) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.payswiff.mfmsproject.dtos.FeedbackIngestionStatusDto;
+import com.payswiff.mfmsproject.exceptions.IdempotencyKeyReusedException;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.models.FeedbackIngestionState;
+import com.payswiff.mfmsproject.repositories.FeedbackIdempotencyKeyRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+
+/**
+ * Unit tests for the FeedbackIdempotencyService class.
+ */
+class FeedbackIdempotencyServiceTest {
+
+    private static final String UUID_1 = "0b7e2a7c-3f7b-4c43-9a55-8b5d0f1d9a01";
+    private static final String HASH_1 = FeedbackIdempotencyService.requestHash("{\"rating\":4}".getBytes(StandardCharsets.UTF_8));
+    private static final String HASH_2 = FeedbackIdempotencyService.requestHash("{\"rating\":5}".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private FeedbackRepository feedbackRepository; // Mocked feedback_uuid lookups
+
+    @Mock
+    private FeedbackIdempotencyKeyRepository feedbackIdempotencyKeyRepository; // Mocked body hashes of keys
+
+    @InjectMocks
+    private FeedbackIdempotencyService feedbackIdempotencyService; // The service under test
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedbackIdempotencyService, "maxEntries", 100);
+        ReflectionTestUtils.setField(feedbackIdempotencyService, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(feedbackIdempotencyService, "waitMs", 5000L);
+        when(feedbackRepository.findFeedbackIdByFeedbackUuid(any())).thenReturn(Optional.empty());
+    }
+
+    /**
+     * Tests that every key, a UUID or not, is hashed with the employee ID, so the same key
+     * of two employees gives two feedback UUIDs.
+     */
+    @Test
+    void testFeedbackUuidFor() throws Exception {
+        String fromUuid = feedbackIdempotencyService.feedbackUuidFor("employee@example.com", UUID_1);
+        assertNotEquals(UUID_1, fromUuid);
+        assertEquals(fromUuid, feedbackIdempotencyService.feedbackUuidFor("employee@example.com", UUID_1.toUpperCase()));
+        assertNotEquals(fromUuid, feedbackIdempotencyService.feedbackUuidFor("other@example.com", UUID_1));
+
+        String hashed = feedbackIdempotencyService.feedbackUuidFor("employee@example.com", "retry-key");
+        assertEquals(hashed, feedbackIdempotencyService.feedbackUuidFor("employee@example.com", "retry-key"));
+        assertNotEquals(hashed, feedbackIdempotencyService.feedbackUuidFor("other@example.com", "retry-key"));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> feedbackIdempotencyService.feedbackUuidFor("employee@example.com", "k".repeat(256)));
+    }
+
+    /**
+     * Tests that a repeated UUID gets the first outcome from memory, without running again or
+     * reading the database.
+     */
+    @Test
+    void testExecute_ReplaysFromMemory() throws Exception {
+        FeedbackIdempotencyService.Outcome first = feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+        FeedbackIdempotencyService.Outcome second = feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(100, second.status().getFeedbackId());
+        assertEquals(1, runs.get());
+        verify(feedbackRepository, times(1)).findFeedbackIdByFeedbackUuid(UUID_1);
+    }
+
+    /**
+     * Tests that a UUID unknown to memory but present in the feedback table is replayed from the table.
+     */
+    @Test
+    void testExecute_ReplaysFromDatabase() throws Exception {
+        when(feedbackRepository.findFeedbackIdByFeedbackUuid(UUID_1)).thenReturn(Optional.of(7));
+
+        FeedbackIdempotencyService.Outcome outcome = feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+
+        assertTrue(outcome.replayed());
+        assertEquals(7, outcome.status().getFeedbackId());
+        assertEquals(0, runs.get());
+    }
+
+    /**
+     * Tests that the key is recorded with the hash of its body.
+     */
+    @Test
+    void testExecute_RecordsRequestHash() throws Exception {
+        feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+
+        verify(feedbackIdempotencyKeyRepository).insert(UUID_1, HASH_1);
+    }
+
+    /**
+     * Tests that a key repeated with a different body is refused instead of replayed.
+     */
+    @Test
+    void testExecute_DifferentBodyInMemory() throws Exception {
+        feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> feedbackIdempotencyService.execute(UUID_1, HASH_2, this::write));
+        assertEquals(1, runs.get());
+        assertTrue(feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write).replayed());
+    }
+
+    /**
+     * Tests that a key recorded with a different body, by another instance or before a
+     * restart, is refused without reading or writing the feedback.
+     */
+    @Test
+    void testExecute_DifferentBodyInDatabase() throws Exception {
+        when(feedbackIdempotencyKeyRepository.insert(UUID_1, HASH_2)).thenThrow(new DataIntegrityViolationException("dup"));
+        when(feedbackIdempotencyKeyRepository.findRequestHash(UUID_1)).thenReturn(Optional.of(HASH_1));
+        when(feedbackRepository.findFeedbackIdByFeedbackUuid(UUID_1)).thenReturn(Optional.of(7));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> feedbackIdempotencyService.execute(UUID_1, HASH_2, this::write));
+        assertEquals(0, runs.get());
+        verify(feedbackRepository, never()).findFeedbackIdByFeedbackUuid(any());
+        verify(feedbackIdempotencyKeyRepository, never()).release(any(), any());
+    }
+
+    /**
+     * Tests that a key recorded with the same body is replayed from the feedback table.
+     */
+    @Test
+    void testExecute_SameBodyInDatabase() throws Exception {
+        when(feedbackIdempotencyKeyRepository.insert(UUID_1, HASH_1)).thenThrow(new DataIntegrityViolationException("dup"));
+        when(feedbackIdempotencyKeyRepository.findRequestHash(UUID_1)).thenReturn(Optional.of(HASH_1));
+        when(feedbackRepository.findFeedbackIdByFeedbackUuid(UUID_1)).thenReturn(Optional.of(7));
+
+        FeedbackIdempotencyService.Outcome outcome = feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+
+        assertTrue(outcome.replayed());
+        assertEquals(7, outcome.status().getFeedbackId());
+    }
+
+    /**
+     * Tests that a failed attempt is not remembered, in memory or in the key table, so the
+     * next one runs, even with a corrected body.
+     */
+    @Test
+    void testExecute_FailureIsNotRemembered() throws Exception {
+        assertThrows(ResourceNotFoundException.class, () -> feedbackIdempotencyService.execute(UUID_1, HASH_2, () -> {
+            throw new ResourceNotFoundException("Device", "ID", "9");
+        }));
+        verify(feedbackIdempotencyKeyRepository).release(UUID_1, HASH_2);
+
+        FeedbackIdempotencyService.Outcome outcome = feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+
+        assertFalse(outcome.replayed());
+        assertEquals(1, runs.get());
+    }
+
+    /**
+     * Tests that releasing a queued feedback lets its key be submitted again, also forgetting
+     * its body hash, and that a written feedback is not released.
+     */
+    @Test
+    void testRelease_QueuedOnly() throws Exception {
+        feedbackIdempotencyService.execute(UUID_1, HASH_1, () -> new FeedbackIngestionStatusDto(UUID_1,
+                FeedbackIngestionState.QUEUED, null, null));
+        feedbackIdempotencyService.release(UUID_1);
+        assertFalse(feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write).replayed());
+
+        feedbackIdempotencyService.release(UUID_1);
+        assertTrue(feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write).replayed());
+        assertEquals(1, runs.get());
+        verify(feedbackIdempotencyKeyRepository, times(1)).release(UUID_1, HASH_1);
+    }
+
+    /**
+     * Tests that a retry arriving while the first attempt runs waits for it and gets its outcome.
+     */
+    @Test
+    void testExecute_RetryWaitsForAttemptInProgress() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<FeedbackIdempotencyService.Outcome> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feedbackIdempotencyService.execute(UUID_1, HASH_1, () -> {
+                    started.countDown();
+                    release.await();
+                    return write();
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<FeedbackIdempotencyService.Outcome> retry = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feedbackIdempotencyService.execute(UUID_1, HASH_1, this::write);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertTrue(retry.get(5, TimeUnit.SECONDS).replayed());
+        assertEquals(1, runs.get());
+    }
+
+    private FeedbackIngestionStatusDto write() {
+        runs.incrementAndGet();
+        return new FeedbackIngestionStatusDto(UUID_1, FeedbackIngestionState.WRITTEN, 100, null);
+    }
+}
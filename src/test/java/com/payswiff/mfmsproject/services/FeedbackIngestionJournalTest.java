@@ -0,0 +1,100 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
+
+/**
+ * Unit tests for the FeedbackIngestionJournal class, on a temporary file.
+ */
+class FeedbackIngestionJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path path;
+    private FeedbackIngestionJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        path = tempDir.resolve("ingest/feedback-ingest.journal");
+        journal = new FeedbackIngestionJournal(path, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    /**
+     * Tests that only submissions without a done line are pending, in acceptance order, and
+     * that they survive reopening the file.
+     */
+    @Test
+    void testReadPending_SkipsDone() throws Exception {
+        journal.appendAccepted(submission("a"));
+        journal.appendAccepted(submission("b"));
+        journal.appendAccepted(submission("c"));
+        journal.appendDone(List.of("b"));
+        journal.close();
+
+        journal = new FeedbackIngestionJournal(path, new ObjectMapper());
+        List<FeedbackSubmission> pending = journal.readPending();
+
+        assertEquals(List.of("a", "c"), pending.stream().map(FeedbackSubmission::getFeedbackUuid).toList());
+        assertEquals(2, pending.get(0).getQuestionAnswers().size());
+        assertEquals(4.0, pending.get(0).getFeedbackRating());
+    }
+
+    /**
+     * Tests that a line torn by a crash is skipped and dropped by the rewrite.
+     */
+    @Test
+    void testReadPending_SkipsTornLine() throws Exception {
+        journal.appendAccepted(submission("a"));
+        Files.writeString(path, "A {\"feedbackUuid\":\"b\",\"feedbackEmp", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        List<FeedbackSubmission> pending = journal.readPending();
+        assertEquals(1, pending.size());
+
+        journal.rewrite(pending);
+        journal.appendAccepted(submission("c"));
+        assertEquals(List.of("a", "c"),
+                journal.readPending().stream().map(FeedbackSubmission::getFeedbackUuid).toList());
+    }
+
+    /**
+     * Tests that the journal is only emptied when nothing is in flight.
+     */
+    @Test
+    void testTruncateIfIdle() throws Exception {
+        journal.appendAccepted(submission("a"));
+
+        assertFalse(journal.truncateIfIdle(() -> false));
+        assertFalse(journal.isEmpty());
+
+        journal.appendDone(List.of("a"));
+        assertTrue(journal.truncateIfIdle(() -> true));
+        assertTrue(journal.isEmpty());
+        assertEquals(0, Files.size(path));
+    }
+
+    private static FeedbackSubmission submission(String uuid) {
+        CreateFeedbackRequest request = new CreateFeedbackRequest(1L, 2L, 3L, null, 4.0, "Good");
+        return new FeedbackSubmission(uuid, request, List.of(new FeedbackQuestionAnswerAssignDto(1L, "Yes"),
+                new FeedbackQuestionAnswerAssignDto(2L, "No")));
+    }
+}
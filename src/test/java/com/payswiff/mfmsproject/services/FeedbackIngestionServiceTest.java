@@ -0,0 +1,179 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+import com.payswiff.mfmsproject.exceptions.IngestionQueueFullException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.models.FeedbackIngestionState;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
+
+/**
+ * Unit tests for the FeedbackIngestionService class, with a real journal and writer thread.
+ */
+class FeedbackIngestionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private FeedbackService feedbackService; // Mocked validation and batch insert
+
+    @Mock
+    private FeedbackRepository feedbackRepository; // Mocked UUID lookups
+
+    @Mock
+    private FeedbackIdempotencyService feedbackIdempotencyService; // Mocked release of failed keys
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper(); // Real journal serialization
+
+    @InjectMocks
+    private FeedbackIngestionService feedbackIngestionService; // The service under test
+
+    private Path journalPath;
+    private CreateFeedbackRequest request;
+    private List<FeedbackQuestionAnswerAssignDto> answers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        journalPath = tempDir.resolve("feedback-ingest.journal");
+        ReflectionTestUtils.setField(feedbackIngestionService, "queued", true);
+        ReflectionTestUtils.setField(feedbackIngestionService, "capacity", 2);
+        ReflectionTestUtils.setField(feedbackIngestionService, "batchSize", 10);
+        ReflectionTestUtils.setField(feedbackIngestionService, "offerTimeoutMs", 50L);
+        ReflectionTestUtils.setField(feedbackIngestionService, "retryDelayMs", 10L);
+        ReflectionTestUtils.setField(feedbackIngestionService, "journalPath", journalPath.toString());
+        ReflectionTestUtils.setField(feedbackIngestionService, "statusRetentionMs", 60000L);
+        when(feedbackRepository.findExistingFeedbackUuids(any())).thenReturn(Collections.emptyList());
+
+        request = new CreateFeedbackRequest(1L, 1L, 1L, null, 5.0, "Excellent service!");
+        answers = List.of(new FeedbackQuestionAnswerAssignDto(1L, "Yes"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedbackIngestionService.stop();
+    }
+
+    /**
+     * Tests that a submission is written by the writer with its UUID, reported as written,
+     * and that the journal is emptied afterwards.
+     */
+    @Test
+    void testSubmit_WrittenInBackground() throws Exception {
+        when(feedbackService.createFeedbacks(any())).thenAnswer(invocation -> idsFor(invocation.getArgument(0)));
+        feedbackIngestionService.start();
+
+        String uuid = feedbackIngestionService.submit(request, answers);
+
+        awaitState(uuid, FeedbackIngestionState.WRITTEN);
+        assertEquals(100, feedbackIngestionService.getStatus(uuid).getFeedbackId());
+        verify(feedbackService).validateFeedback(request, answers);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(journalPath) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10); // the journal is emptied just after the status is set
+        }
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    /**
+     * Tests that a full buffer refuses the submission instead of queuing it.
+     */
+    @Test
+    void testSubmit_FullQueueRefused() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(feedbackService.createFeedbacks(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS); // hold the slots while the test fills the buffer
+            return idsFor(invocation.getArgument(0));
+        });
+        feedbackIngestionService.start();
+
+        feedbackIngestionService.submit(request, answers);
+        feedbackIngestionService.submit(request, answers);
+        IngestionQueueFullException e = assertThrows(IngestionQueueFullException.class,
+                () -> feedbackIngestionService.submit(request, answers));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        release.countDown();
+    }
+
+    /**
+     * Tests that a submission the writer rejects is reported as failed, releases its
+     * idempotency key and does not block the queue.
+     */
+    @Test
+    void testSubmit_RejectedSubmissionFails() throws Exception {
+        when(feedbackService.createFeedbacks(any()))
+                .thenThrow(new ResourceNotFoundException("Device", "ID", "1"));
+        feedbackIngestionService.start();
+
+        String uuid = feedbackIngestionService.submit(request, answers);
+
+        awaitState(uuid, FeedbackIngestionState.FAILED);
+        assertNotNull(feedbackIngestionService.getStatus(uuid).getMessage());
+        verify(feedbackIdempotencyService, timeout(5000)).release(uuid);
+    }
+
+    /**
+     * Tests that the journal is replayed on start, skipping submissions already in the database.
+     */
+    @Test
+    void testStart_ReplaysJournal() throws Exception {
+        FeedbackIngestionJournal journal = new FeedbackIngestionJournal(journalPath, objectMapper);
+        journal.appendAccepted(new FeedbackSubmission("written", request, answers));
+        journal.appendAccepted(new FeedbackSubmission("pending", request, answers));
+        journal.close();
+        when(feedbackRepository.findExistingFeedbackUuids(any())).thenReturn(List.of("written"));
+        // The writer reuses its batch list, so the UUIDs are read while the batch is written
+        List<String> written = new CopyOnWriteArrayList<>();
+        when(feedbackService.createFeedbacks(any())).thenAnswer(invocation -> {
+            List<FeedbackSubmission> batch = invocation.getArgument(0);
+            batch.forEach(submission -> written.add(submission.getFeedbackUuid()));
+            return idsFor(batch);
+        });
+
+        feedbackIngestionService.start();
+
+        awaitState("pending", FeedbackIngestionState.WRITTEN);
+        verify(feedbackService, times(1)).createFeedbacks(any());
+        assertEquals(List.of("pending"), written);
+    }
+
+    private static List<Integer> idsFor(List<FeedbackSubmission> batch) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ids.add(100 + i);
+        }
+        return ids;
+    }
+
+    private void awaitState(String uuid, FeedbackIngestionState state) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (feedbackIngestionService.getStatus(uuid).getStatus() != state) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for " + state);
+            Thread.sleep(10);
+        }
+    }
+}
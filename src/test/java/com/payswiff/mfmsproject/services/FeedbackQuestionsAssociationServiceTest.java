@@ -1,22 +1,31 @@
 package com.payswiff.mfmsproject.services;
 
+import com.payswiff.mfmsproject.dtos.FeedbackAnswersDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionDTO;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
 import com.payswiff.mfmsproject.exceptions.ResourceAlreadyExists;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
 import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
 import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackAnswers;
 import com.payswiff.mfmsproject.models.FeedbackQuestionsAssociation;
 import com.payswiff.mfmsproject.models.Question;
+import com.payswiff.mfmsproject.repositories.FeedbackAnswersRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackQueryRepository;
 import com.payswiff.mfmsproject.repositories.FeedbackQuestionsAssociationRepository;
 import com.payswiff.mfmsproject.repositories.FeedbackRepository;
 import com.payswiff.mfmsproject.repositories.QuestionRepository;
+import com.payswiff.mfmsproject.utils.AnswerVector;
 import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +46,18 @@ class FeedbackQuestionsAssociationServiceTest {
     @Mock
     private QuestionRepository questionRepository; // Mocked repository for questions
 
+    @Mock
+    private FeedbackAnswersRepository feedbackAnswersRepository; // Mocked repository for compact answer rows
+
+    @Mock
+    private AnswerDictionary answerDictionary; // Mocked answer dictionary
+
+    @Mock
+    private QuestionCatalog questionCatalog; // Mocked question catalog
+
+    @Mock
+    private FeedbackQueryRepository feedbackQueryRepository; // Mocked batch answer query
+
     @InjectMocks
     private FeedbackQuestionsAssociationService service; // Service under test
 
@@ -415,4 +436,111 @@ class FeedbackQuestionsAssociationServiceTest {
         assertNotNull(result); // Ensure result is not null
         assertEquals(1, result.size()); // Ensure one DTO is returned
     }
+
+    /**
+     * Test method for storing the answers of a feedback as one compact row, with the missing
+     * answer stored as "No answer provided".
+     */
+    @Test
+    void testSaveAnswers_CompactRow() throws ResourceUnableToCreate {
+        // Arrange
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackId(1);
+        List<Question> questions = List.of(new Question(1L, "q1", "Question 1"), new Question(2L, "q2", "Question 2"));
+        when(answerDictionary.idOf("Yes")).thenReturn(5);
+        when(answerDictionary.idOf(AnswerDictionary.NO_ANSWER)).thenReturn(AnswerDictionary.NO_ANSWER_ID);
+        when(feedbackAnswersRepository.save(any(FeedbackAnswers.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        service.saveAnswers(feedback, questions, Map.of(1L, "Yes"));
+
+        // Assert: one row, decoding to both questions
+        ArgumentCaptor<FeedbackAnswers> saved = ArgumentCaptor.forClass(FeedbackAnswers.class);
+        verify(feedbackAnswersRepository, times(1)).save(saved.capture());
+        assertSame(feedback, saved.getValue().getFeedback());
+        AnswerVector vector = AnswerVector.decode(saved.getValue().getAnswers());
+        assertEquals(2, vector.size());
+        assertEquals(2L, vector.questionId(1));
+        assertEquals(5, vector.answerId(0));
+        assertEquals(AnswerDictionary.NO_ANSWER_ID, vector.answerId(1));
+        verify(associationRepository, never()).saveAllAndFlush(any());
+    }
+
+    /**
+     * Test method for rebuilding the DTOs of a feedback from its compact row.
+     */
+    @Test
+    void testGetFeedbackQuestionsByFeedbackId_CompactRow() throws ResourceNotFoundException, ResourceUnableToCreate {
+        // Arrange
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackId(1);
+        byte[] answers = new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, AnswerDictionary.NO_ANSWER_ID }).encode();
+        when(feedbackRepository.findById(1)).thenReturn(Optional.of(feedback));
+        when(feedbackAnswersRepository.findById(1)).thenReturn(Optional.of(new FeedbackAnswers(feedback, answers)));
+        when(answerDictionary.textsOf(any())).thenReturn(Map.of(5, "Yes", AnswerDictionary.NO_ANSWER_ID,
+                AnswerDictionary.NO_ANSWER));
+        when(questionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1L,
+                List.of(new Question(1L, "q1", "Question 1"), new Question(2L, "q2", "Question 2"))));
+
+        // Act
+        List<FeedbackQuestionDTO> result = service.getFeedbackQuestionsByFeedbackId(1);
+
+        // Assert: same DTOs as the old rows gave
+        assertEquals(2, result.size());
+        assertEquals("Question 1", result.get(0).getQuestionDescription());
+        assertEquals("Yes", result.get(0).getAnswer());
+        assertEquals(2L, result.get(1).getQuestionId());
+        assertEquals(AnswerDictionary.NO_ANSWER, result.get(1).getAnswer());
+        verify(associationRepository, never()).findByFeedback(any());
+    }
+
+    /**
+     * Test method for the batch lookup: compact and not yet migrated feedbacks come from one
+     * query, answer texts from one dictionary lookup, results follow the order of the IDs and
+     * unknown feedbacks are left out.
+     */
+    @Test
+    void testGetFeedbackQuestionsByFeedbackIds() throws InvalidRequestParameterException {
+        // Arrange
+        byte[] answers = new AnswerVector(new long[] { 1L, 2L }, new int[] { 5, AnswerDictionary.NO_ANSWER_ID }).encode();
+        when(feedbackQueryRepository.findAnswerRows(any())).thenReturn(List.of(
+                new FeedbackQueryRepository.AnswerRow(1, answers, null, null),
+                new FeedbackQueryRepository.AnswerRow(2, null, 1L, "No"),
+                new FeedbackQueryRepository.AnswerRow(2, null, 2L, "Slow"),
+                new FeedbackQueryRepository.AnswerRow(3, null, null, null)));
+        when(answerDictionary.textsOf(any())).thenReturn(Map.of(5, "Yes", AnswerDictionary.NO_ANSWER_ID,
+                AnswerDictionary.NO_ANSWER));
+        when(questionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1L,
+                List.of(new Question(1L, "q1", "Question 1"), new Question(2L, "q2", "Question 2"))));
+
+        // Act
+        List<FeedbackAnswersDto> result = service.getFeedbackQuestionsByFeedbackIds(List.of(3, 2, 99, 1, 2));
+
+        // Assert
+        assertEquals(List.of(3, 2, 1), result.stream().map(FeedbackAnswersDto::getFeedbackId).toList());
+        assertTrue(result.get(0).getAnswers().isEmpty());
+        assertEquals("Slow", result.get(1).getAnswers().get(1).getAnswer());
+        assertEquals("Question 2", result.get(1).getAnswers().get(1).getQuestionDescription());
+        assertEquals("Yes", result.get(2).getAnswers().get(0).getAnswer());
+        assertEquals(AnswerDictionary.NO_ANSWER, result.get(2).getAnswers().get(1).getAnswer());
+        verify(feedbackQueryRepository, times(1)).findAnswerRows(any());
+        verify(answerDictionary, times(1)).textsOf(any());
+        verifyNoInteractions(feedbackRepository, associationRepository, feedbackAnswersRepository);
+    }
+
+    /**
+     * Test method for invalid batch lookups: no ID, a null ID or too many IDs.
+     */
+    @Test
+    void testGetFeedbackQuestionsByFeedbackIds_InvalidIds() {
+        List<Integer> tooMany = new ArrayList<>();
+        for (int i = 1; i <= FeedbackQuestionsAssociationService.MAX_BATCH_SIZE + 1; i++) {
+            tooMany.add(i);
+        }
+        assertThrows(InvalidRequestParameterException.class, () -> service.getFeedbackQuestionsByFeedbackIds(List.of()));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> service.getFeedbackQuestionsByFeedbackIds(Arrays.asList(1, null)));
+        assertThrows(InvalidRequestParameterException.class, () -> service.getFeedbackQuestionsByFeedbackIds(tooMany));
+        verifyNoInteractions(feedbackQueryRepository);
+    }
 }
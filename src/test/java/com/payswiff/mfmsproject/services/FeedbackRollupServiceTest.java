@@ -0,0 +1,265 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.EmployeeType;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.repositories.DeviceRepository;
+import com.payswiff.mfmsproject.repositories.EmployeeRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRollupRepository;
+import com.payswiff.mfmsproject.repositories.MerchantRepository;
+
+/**
+ * Test class for {@link FeedbackRollupService}.
+ * Runs without the test transaction, since reconciliation reads in transactions of its own,
+ * so every test commits its rows and removes them afterwards.
+ */
+@DataJpaTest
+@Import(FeedbackRollupService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FeedbackRollupServiceTest {
+
+    @Autowired
+    private FeedbackRollupService feedbackRollupService; // The service under test
+
+    @Autowired
+    private FeedbackRollupRepository feedbackRollupRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Removes the committed rows.
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM feedback_rollup");
+        jdbcTemplate.update("DELETE FROM feedback");
+        jdbcTemplate.update("DELETE FROM employee");
+        jdbcTemplate.update("DELETE FROM device");
+        jdbcTemplate.update("DELETE FROM merchant");
+    }
+
+    /**
+     * Tests that ratings are bucketed by their nearest whole star.
+     */
+    @Test
+    void testBucketOf() {
+        assertEquals(0, FeedbackRollupService.bucketOf(null));
+        assertEquals(1, FeedbackRollupService.bucketOf(0.0));
+        assertEquals(1, FeedbackRollupService.bucketOf(1.49));
+        assertEquals(2, FeedbackRollupService.bucketOf(1.5));
+        assertEquals(4, FeedbackRollupService.bucketOf(4.49));
+        assertEquals(5, FeedbackRollupService.bucketOf(4.5));
+        assertEquals(5, FeedbackRollupService.bucketOf(7.0));
+    }
+
+    /**
+     * Tests that a feedback adds to its employee, device and merchant rows, creating the
+     * missing ones in the same transaction.
+     */
+    @Test
+    void testRecord_AddsToAllScopes() {
+        feedbackRollupRepository.save(new FeedbackRollup(FeedbackRollupScope.DEVICE, 2L));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> feedbackRollupService.record(feedback(1L, 2L, 3L, 4.0)));
+        transaction.executeWithoutResult(status -> feedbackRollupService.record(feedback(1L, 2L, 3L, 2.0)));
+        transaction.executeWithoutResult(status -> feedbackRollupService.record(feedback(1L, 2L, 3L, null)));
+
+        FeedbackRollup device = rollup(FeedbackRollupScope.DEVICE, 2L);
+        assertEquals(3, device.getFeedbackCount());
+        assertEquals(6.0, device.getRatingSum());
+        assertEquals(1, device.getRating2Count());
+        assertEquals(1, device.getRating4Count());
+        assertEquals(0, device.getRating5Count());
+        assertEquals(3.0, device.getAverageRating());
+        assertEquals(3, rollup(FeedbackRollupScope.EMPLOYEE, 1L).getFeedbackCount());
+        assertEquals(6.0, rollup(FeedbackRollupScope.MERCHANT, 3L).getRatingSum());
+        assertEquals(3, feedbackRollupRepository.count());
+    }
+
+    /**
+     * Tests that record refuses to run outside the transaction of the feedback.
+     */
+    @Test
+    void testRecord_RequiresTransaction() {
+        assertThrows(Exception.class, () -> feedbackRollupService.record(feedback(1L, 2L, 3L, 4.0)));
+        assertEquals(0, feedbackRollupRepository.count());
+    }
+
+    /**
+     * Tests that reconciliation leaves correct rows alone, adds the drift to the others,
+     * creates missing rows and empties rows whose feedbacks are gone.
+     */
+    @Test
+    void testReconcile_AddsOnlyDrift() {
+        Employee employee = saveEmployee();
+        Device device = saveDevice();
+        Merchant merchant = saveMerchant();
+        saveFeedback(employee, device, merchant, 4.0);
+        saveFeedback(employee, device, merchant, 5.0);
+
+        FeedbackRollup correct = new FeedbackRollup(FeedbackRollupScope.EMPLOYEE, employee.getEmployeeId());
+        correct.setFeedbackCount(2);
+        correct.setRatingSum(9.0);
+        correct.setRating4Count(1);
+        correct.setRating5Count(1);
+        feedbackRollupRepository.save(correct);
+        FeedbackRollup drifted = new FeedbackRollup(FeedbackRollupScope.DEVICE, device.getDeviceId());
+        drifted.setFeedbackCount(1);
+        drifted.setRatingSum(4.0);
+        drifted.setRating4Count(1);
+        feedbackRollupRepository.save(drifted);
+        FeedbackRollup orphan = new FeedbackRollup(FeedbackRollupScope.DEVICE, 999L);
+        orphan.setFeedbackCount(5);
+        orphan.setRatingSum(10.0);
+        orphan.setRating2Count(5);
+        feedbackRollupRepository.save(orphan);
+
+        feedbackRollupService.reconcile();
+
+        FeedbackRollup employeeRow = rollup(FeedbackRollupScope.EMPLOYEE, employee.getEmployeeId());
+        assertEquals(2, employeeRow.getFeedbackCount());
+        assertNull(employeeRow.getRollupUpdationTime(), "A correct row should not be written.");
+        FeedbackRollup deviceRow = rollup(FeedbackRollupScope.DEVICE, device.getDeviceId());
+        assertEquals(2, deviceRow.getFeedbackCount());
+        assertEquals(9.0, deviceRow.getRatingSum());
+        assertEquals(1, deviceRow.getRating5Count());
+        assertNotNull(deviceRow.getRollupUpdationTime());
+        FeedbackRollup merchantRow = rollup(FeedbackRollupScope.MERCHANT, merchant.getMerchantId());
+        assertEquals(2, merchantRow.getFeedbackCount());
+        assertEquals(1, merchantRow.getRating4Count());
+        FeedbackRollup orphanRow = rollup(FeedbackRollupScope.DEVICE, 999L);
+        assertEquals(0, orphanRow.getFeedbackCount());
+        assertEquals(0.0, orphanRow.getRatingSum());
+        assertEquals(0, orphanRow.getRating2Count());
+    }
+
+    /**
+     * Tests that reconciliation is skipped while another instance holds the lock of the
+     * table, so the drift is not added twice, and runs once the lock is released.
+     */
+    @Test
+    void testReconcile_SkippedWhileLocked() {
+        feedbackRollupService.reconcile(); // creates the lock row
+        Employee employee = saveEmployee();
+        Device device = saveDevice();
+        Merchant merchant = saveMerchant();
+        saveFeedback(employee, device, merchant, 4.0);
+
+        TransactionTemplate otherInstance = new TransactionTemplate(transactionManager);
+        otherInstance.executeWithoutResult(status -> {
+            assertEquals(1, jdbcTemplate.queryForList(
+                    "SELECT lock_name FROM reconcile_lock WHERE lock_name = 'feedback_rollup' FOR UPDATE", String.class)
+                    .size());
+            feedbackRollupService.reconcile(); // own transaction, cannot take the lock
+        });
+        assertEquals(0, feedbackRollupRepository.count());
+
+        feedbackRollupService.initializeIfEmpty();
+        assertEquals(1, rollup(FeedbackRollupScope.EMPLOYEE, employee.getEmployeeId()).getFeedbackCount());
+        assertEquals(3, feedbackRollupRepository.count());
+
+        feedbackRollupService.reconcile(); // nothing left to correct
+        assertEquals(1, rollup(FeedbackRollupScope.DEVICE, device.getDeviceId()).getFeedbackCount());
+    }
+
+    private FeedbackRollup rollup(FeedbackRollupScope scope, Long key) {
+        return feedbackRollupRepository.findByRollupScopeAndRollupKey(scope, key).get();
+    }
+
+    private Feedback feedback(Long employeeId, Long deviceId, Long merchantId, Double rating) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        Device device = new Device();
+        device.setDeviceId(deviceId);
+        Merchant merchant = new Merchant();
+        merchant.setMerchantId(merchantId);
+
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackRating(rating);
+        return feedback;
+    }
+
+    private Employee saveEmployee() {
+        Employee employee = new Employee();
+        employee.setEmployeeName("Employee");
+        employee.setEmployeeEmail("employee@example.com");
+        employee.setEmployeePhoneNumber("9000000000");
+        employee.setEmployeeType(EmployeeType.employee);
+        employee.setEmployeeUuid(UUID.randomUUID().toString());
+        employee.setEmployeePayswiffId("PS1");
+        employee.setEmployeeDesignation("dev");
+        employee.setEmployeePassword("1234pgduytuw222@");
+        return employeeRepository.save(employee);
+    }
+
+    private Device saveDevice() {
+        Device device = new Device();
+        device.setDeviceUuid(UUID.randomUUID().toString());
+        device.setDeviceModel("Model X");
+        device.setDeviceManufacturer("Manufacturer Y");
+        return deviceRepository.save(device);
+    }
+
+    private Merchant saveMerchant() {
+        Merchant merchant = new Merchant();
+        merchant.setMerchantBusinessName("gopi shopi");
+        merchant.setMerchantBusinessType("retail");
+        merchant.setMerchantEmail("merchant@example.com");
+        merchant.setmerchantName("gopi");
+        merchant.setMerchantUuid(UUID.randomUUID().toString());
+        merchant.setMerchantPhone("1234567890");
+        return merchantRepository.save(merchant);
+    }
+
+    private void saveFeedback(Employee employee, Device device, Merchant merchant, double rating) {
+        Feedback feedback = new Feedback();
+        feedback.setFeedback("Feedback");
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackImage1("url");
+        feedback.setFeedbackRating(rating);
+        feedback.setFeedbackUuid(UUID.randomUUID().toString());
+        feedbackRepository.save(feedback);
+    }
+}
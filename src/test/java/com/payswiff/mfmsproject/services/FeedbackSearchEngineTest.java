@@ -0,0 +1,147 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.utils.FeedbackTextIndex;
+
+/**
+ * Unit tests for the FeedbackSearchEngine class and its FeedbackTextIndex.
+ */
+class FeedbackSearchEngineTest {
+
+    @Mock
+    private JdbcTemplate streamingJdbcTemplate; // Mocked feedback scan
+
+    @InjectMocks
+    private FeedbackSearchEngine feedbackSearchEngine; // The engine under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedbackSearchEngine, "streamingJdbcTemplate", streamingJdbcTemplate);
+    }
+
+    /**
+     * Tests that tokens are lower-cased, stop words dropped and common suffixes stripped so
+     * that inflections meet on one term.
+     */
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("charg", "devic", "slow", "not", "work"),
+                FeedbackTextIndex.tokenize("The Charging of this device is SLOWLY not working!"));
+        assertEquals(FeedbackTextIndex.tokenize("batteries charged devices"),
+                FeedbackTextIndex.tokenize("battery charge device"));
+        assertTrue(FeedbackTextIndex.tokenize(null).isEmpty());
+    }
+
+    /**
+     * Tests that only feedbacks containing a query term match and that the one repeating it
+     * in a shorter text ranks first.
+     */
+    @Test
+    void testSearch_Ranking() {
+        scan(1, "Battery drains fast, battery needs replacing",
+                2, "Printer is slow",
+                3, "Slow charging and battery problems with the printer and the screen",
+                4, "Great service");
+
+        List<FeedbackTextIndex.Hit> hits = feedbackSearchEngine.search("batteries", null, null, null, 10);
+
+        assertEquals(List.of(1, 3), hits.stream().map(FeedbackTextIndex.Hit::feedbackId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals(List.of(3, 2), feedbackSearchEngine.search("slow printer charged", null, null, null, 10).stream()
+                .map(FeedbackTextIndex.Hit::feedbackId).toList());
+        assertEquals(1, feedbackSearchEngine.search("printer", null, null, null, 1).size());
+        assertTrue(feedbackSearchEngine.search("the unknown", null, null, null, 10).isEmpty());
+    }
+
+    /**
+     * Tests that a feedback recorded outside a transaction is searchable at once and that the
+     * employee filter is applied.
+     */
+    @Test
+    void testRecord_SearchableWithFilters() {
+        scan(1, "Screen cracked");
+
+        feedbackSearchEngine.record(feedback(2, 11L, "Cracked screen again"));
+
+        assertEquals(2, feedbackSearchEngine.search("cracked", null, null, null, 10).size());
+        List<FeedbackTextIndex.Hit> hits = feedbackSearchEngine.search("cracked", 11L, 20L, 30L, 10);
+        assertEquals(1, hits.size());
+        assertEquals(2, hits.get(0).feedbackId());
+        assertTrue(feedbackSearchEngine.search("cracked", 11L, 99L, null, 10).isEmpty());
+    }
+
+    /**
+     * Tests that a search fails fast until the first load completes instead of scanning the
+     * table on the caller's thread.
+     */
+    @Test
+    void testSearch_BeforeLoad() {
+        assertThrows(IndexNotLoadedException.class, () -> feedbackSearchEngine.search("cracked", null, null, null, 10));
+        verifyNoInteractions(streamingJdbcTemplate);
+    }
+
+    /**
+     * Simulates a feedback table with the given (feedback ID, text) pairs, all of employee 10,
+     * device 20 and merchant 30, and loads it.
+     */
+    private void scan(Object... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < rows.length; i += 2) {
+                handler.processRow(row((Integer) rows[i], (String) rows[i + 1]));
+            }
+            return null;
+        }).when(streamingJdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        feedbackSearchEngine.rebuild();
+    }
+
+    private static ResultSet row(int feedbackId, String text) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(feedbackId);
+        when(rs.getLong(2)).thenReturn(10L);
+        when(rs.getLong(3)).thenReturn(20L);
+        when(rs.getLong(4)).thenReturn(30L);
+        when(rs.getString(5)).thenReturn(text);
+        when(rs.getTimestamp("feedback_creation_time")).thenReturn(Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        return rs;
+    }
+
+    private static Feedback feedback(int feedbackId, long employeeId, String text) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        Device device = new Device();
+        device.setDeviceId(20L);
+        Merchant merchant = new Merchant();
+        merchant.setMerchantId(30L);
+
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackId(feedbackId);
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedback(text);
+        return feedback;
+    }
+}
@@ -6,15 +6,33 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.payswiff.mfmsproject.models.*;
 import com.payswiff.mfmsproject.repositories.DeviceRepository;
 import com.payswiff.mfmsproject.repositories.EmployeeRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackQueryRepository;
 import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRollupRepository;
 import com.payswiff.mfmsproject.repositories.MerchantRepository;
 import com.payswiff.mfmsproject.repositories.QuestionRepository;
+import com.payswiff.mfmsproject.dtos.AverageRatingResponseDTO;
+import com.payswiff.mfmsproject.dtos.DeviceFeedbackCountDTO;
+import com.payswiff.mfmsproject.dtos.EmployeeFeedbackCountDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateAuditDto;
+import com.payswiff.mfmsproject.dtos.FeedbackDuplicateDto;
+import com.payswiff.mfmsproject.dtos.FeedbackFilter;
+import com.payswiff.mfmsproject.dtos.FeedbackPageDto;
 import com.payswiff.mfmsproject.dtos.FeedbackQuestionAnswerAssignDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSearchHitDto;
+import com.payswiff.mfmsproject.dtos.FeedbackSubmission;
+import com.payswiff.mfmsproject.dtos.FeedbackSummaryDto;
+import com.payswiff.mfmsproject.utils.AnswerVector;
+import com.payswiff.mfmsproject.utils.FeedbackCursor;
+import com.payswiff.mfmsproject.utils.FeedbackTextIndex;
 import com.payswiff.mfmsproject.reuquests.CreateFeedbackRequest;
 import com.payswiff.mfmsproject.exceptions.*;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 class FeedbackServiceTest {
@@ -35,7 +53,43 @@ class FeedbackServiceTest {
 	private QuestionRepository questionRepository;
 
 	@Mock
-	private EmailService emailService;
+	private QuestionCatalog questionCatalog;
+
+	@Mock
+	private FeedbackQueryRepository feedbackQueryRepository;
+
+	@Mock
+	private FeedbackRollupService feedbackRollupService;
+
+	@Mock
+	private FeedbackRollupRepository feedbackRollupRepository;
+
+	@Mock
+	private FeedbackTrendService feedbackTrendService;
+
+	@Mock
+	private AnswerDistributionService answerDistributionService;
+
+	@Mock
+	private RatingDistributionEngine ratingDistributionEngine;
+
+	@Mock
+	private FeedbackSearchEngine feedbackSearchEngine;
+
+	@Mock
+	private FeedbackDuplicateDetector feedbackDuplicateDetector;
+
+	@Mock
+	private MerchantService merchantService;
+
+	@Mock
+	private EmployeeService employeeService;
+
+	@Mock
+	private DeviceService deviceService;
+
+	@Mock
+	private EmailOutboxService emailOutboxService;
 
 	@Mock
 	private MerchantDeviceAssociationService merchantDeviceAssociationService;
@@ -82,12 +136,17 @@ class FeedbackServiceTest {
 		when(merchantRepository.findById(1L)).thenReturn(Optional.of(merchant));
 		when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
 		when(merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(1L, 1L)).thenReturn(true);
+		when(questionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1L,
+				Arrays.asList(new Question(1L, "q1", "Question 1"), new Question(2L, "q2", "Question 2"))));
+		when(feedbackQuestionsAssociationService.saveAnswers(any(Feedback.class), anyList(), anyMap()))
+				.thenAnswer(invocation -> new FeedbackAnswers(invocation.getArgument(0),
+						new AnswerVector(new long[] { 1L, 2L }, new int[] { 1, 2 }).encode()));
 	}
 
 	@AfterEach
 	void tearDown() {
 		// Reset mocks after each test
-		reset(feedbackRepository, employeeRepository, deviceRepository, merchantRepository, emailService,
+		reset(feedbackRepository, employeeRepository, deviceRepository, merchantRepository, emailOutboxService,
 				merchantDeviceAssociationService);
 	}
 
@@ -202,6 +261,99 @@ class FeedbackServiceTest {
 		});
 	}
 
+	/**
+	 * Test case for the failure notification. Verifies that it is queued in its
+	 * own transaction (so it survives the rollback) and nothing is written to the
+	 * outbox as part of the failed feedback transaction.
+	 */
+	@Test
+	void testCreateFeedback_FailureEmailQueuedIndependently() throws Exception {
+		// Simulate that the device is not associated with the merchant
+		when(merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(1L, 1L)).thenReturn(false);
+
+		assertThrows(MerchantDeviceNotAssignedException.class, () -> {
+			feedbackService.createFeedback(feedbackRequest, questionAnswers);
+		});
+
+		verify(emailOutboxService, times(1)).enqueueIndependently(eq(employee.getEmployeeEmail()),
+				eq("Feedback Creation Failed"), anyString());
+		verify(emailOutboxService, never()).enqueue(anyString(), anyString(), anyString());
+		verify(feedbackRepository, never()).save(any(Feedback.class));
+	}
+
+	/**
+	 * Test case for an answer to a question that is not part of the catalog.
+	 * Verifies that it is rejected before anything is written.
+	 */
+	@Test
+	void testCreateFeedback_UnknownQuestion() {
+		questionAnswers = Arrays.asList(new FeedbackQuestionAnswerAssignDto(1L, "Yes"),
+				new FeedbackQuestionAnswerAssignDto(99L, "No"));
+
+		assertThrows(ResourceNotFoundException.class, () -> {
+			feedbackService.createFeedback(feedbackRequest, questionAnswers);
+		});
+
+		verify(feedbackRepository, never()).save(any(Feedback.class));
+		verify(questionRepository, never()).findAll();
+	}
+
+	/**
+	 * Test case for an answer sent without a question ID. The ID is a primitive, so it arrives
+	 * as 0, which is never a catalog question; the answer is rejected like an unknown question.
+	 */
+	@Test
+	void testCreateFeedback_MissingQuestionId() {
+		questionAnswers = Arrays.asList(new FeedbackQuestionAnswerAssignDto(1L, "Yes"),
+				new FeedbackQuestionAnswerAssignDto());
+
+		ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> {
+			feedbackService.createFeedback(feedbackRequest, questionAnswers);
+		});
+
+		assertTrue(e.getMessage().contains("Question"));
+		verify(feedbackRepository, never()).save(any(Feedback.class));
+	}
+
+	/**
+	 * Test case for writing queued submissions. Verifies that every feedback keeps the
+	 * UUID it was accepted under and that a rejected submission queues no failure email.
+	 */
+	@Test
+	void testCreateFeedbacks_KeepAcceptedUuids() throws Exception {
+		when(feedbackRepository.save(any(Feedback.class))).thenAnswer(invocation -> {
+			Feedback saved = invocation.getArgument(0);
+			saved.setFeedbackId(7);
+			return saved;
+		});
+		when(employeeRepository.findAllById(Set.of(1L))).thenReturn(List.of(employee));
+		when(merchantRepository.findAllById(Set.of(1L))).thenReturn(List.of(merchant));
+		when(deviceRepository.findAllById(Set.of(1L))).thenReturn(List.of(device));
+		FeedbackSubmission submission = new FeedbackSubmission("accepted-uuid", feedbackRequest, questionAnswers);
+
+		List<Integer> ids = feedbackService.createFeedbacks(List.of(submission));
+
+		assertEquals(List.of(7), ids);
+		ArgumentCaptor<Feedback> saved = ArgumentCaptor.forClass(Feedback.class);
+		verify(feedbackRepository).save(saved.capture());
+		assertEquals("accepted-uuid", saved.getValue().getFeedbackUuid());
+		verify(employeeRepository, never()).findById(anyLong()); // one query per entity type for the batch
+		verify(feedbackRollupService).record(List.of(saved.getValue()));
+		verify(feedbackTrendService).record(List.of(saved.getValue()));
+		verify(ratingDistributionEngine).record(saved.getValue());
+		verify(feedbackSearchEngine).record(saved.getValue());
+		verify(feedbackDuplicateDetector).record(saved.getValue());
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<AnswerVector>> answers = ArgumentCaptor.forClass(List.class);
+		verify(answerDistributionService).record(eq(List.of(saved.getValue())), answers.capture());
+		assertEquals(2, answers.getValue().get(0).size());
+
+		when(merchantDeviceAssociationService.isDeviceAssociatedWithMerchant(1L, 1L)).thenReturn(false);
+		assertThrows(MerchantDeviceNotAssignedException.class,
+				() -> feedbackService.createFeedbacks(List.of(submission)));
+		verify(emailOutboxService, never()).enqueueIndependently(anyString(), anyString(), anyString());
+	}
+
 	/**
 	 * Test case for creating feedback when email sending fails. Verifies that the
 	 * failure email is sent and the exception is thrown.
@@ -218,4 +370,247 @@ class FeedbackServiceTest {
 //		});
 //	}
 
+
+	/**
+	 * Test case for a page that is followed by more rows. Verifies that one extra
+	 * row is requested, dropped from the page and turned into the next cursor.
+	 */
+	@Test
+	void testGetFeedbackPage_ReturnsNextCursor() throws Exception {
+		List<FeedbackSummaryDto> rows = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.of(2024, 10, 1, 12, 0);
+		for (int id = 3; id >= 1; id--) {
+			FeedbackSummaryDto row = new FeedbackSummaryDto();
+			row.setFeedbackId(id);
+			row.setFeedbackCreationTime(now);
+			rows.add(row);
+		}
+		when(feedbackQueryRepository.findPage(null, null, 3)).thenReturn(rows);
+
+		FeedbackPageDto page = feedbackService.getFeedbackPage(null, null, 2);
+
+		assertEquals(2, page.getFeedbacks().size());
+		FeedbackCursor next = FeedbackCursor.decode(page.getNextCursor());
+		assertEquals(2, next.getFeedbackId());
+		assertEquals(now, next.getCreationTime());
+	}
+
+	/**
+	 * Test case for the last page. Verifies that no cursor is returned.
+	 */
+	@Test
+	void testGetFeedbackPage_LastPage() throws Exception {
+		when(feedbackQueryRepository.findPage(null, null, FeedbackService.DEFAULT_PAGE_SIZE + 1))
+				.thenReturn(new ArrayList<>(List.of(new FeedbackSummaryDto())));
+
+		FeedbackPageDto page = feedbackService.getFeedbackPage(null, null, null);
+
+		assertEquals(1, page.getFeedbacks().size());
+		assertNull(page.getNextCursor());
+		assertEquals(FeedbackService.DEFAULT_PAGE_SIZE, page.getSize());
+	}
+
+	/**
+	 * Test case for invalid paging parameters. Verifies that an oversized page and
+	 * a tampered cursor are rejected before any query runs.
+	 */
+	@Test
+	void testGetFeedbackPage_InvalidParameters() {
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.getFeedbackPage(null, null, FeedbackService.MAX_PAGE_SIZE + 1);
+		});
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.getFeedbackPage(null, "not-a-cursor", 10);
+		});
+		verifyNoInteractions(feedbackQueryRepository);
+	}
+
+	/**
+	 * Test case for a search. Verifies that the rows are returned in the rank order of the
+	 * index, with the filters passed through, and that feedbacks gone since they were
+	 * indexed are dropped.
+	 */
+	@Test
+	void testSearchFeedbacks_RankOrder() throws Exception {
+		when(merchantService.existsById(3L)).thenReturn(true);
+		when(feedbackSearchEngine.search("slow printer", null, null, 3L, FeedbackService.DEFAULT_SEARCH_LIMIT))
+				.thenReturn(List.of(new FeedbackTextIndex.Hit(9, 2.5), new FeedbackTextIndex.Hit(4, 1.0),
+						new FeedbackTextIndex.Hit(5, 0.5)));
+		List<FeedbackSummaryDto> rows = new ArrayList<>();
+		for (int id : new int[] { 4, 9 }) {
+			FeedbackSummaryDto row = new FeedbackSummaryDto();
+			row.setFeedbackId(id);
+			rows.add(row);
+		}
+		when(feedbackQueryRepository.findByIds(List.of(9, 4, 5))).thenReturn(rows);
+
+		List<FeedbackSearchHitDto> hits = feedbackService.searchFeedbacks("slow printer", null, null, 3L, null);
+
+		assertEquals(List.of(9, 4), hits.stream().map(hit -> hit.getFeedback().getFeedbackId()).toList());
+		assertEquals(2.5, hits.get(0).getScore());
+	}
+
+	/**
+	 * Test case for invalid search parameters. Verifies that a blank query and an
+	 * oversized limit are rejected before the index is read.
+	 */
+	@Test
+	void testSearchFeedbacks_InvalidParameters() {
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.searchFeedbacks(" ", null, null, null, null);
+		});
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.searchFeedbacks("printer", null, null, null, FeedbackService.MAX_SEARCH_LIMIT + 1);
+		});
+		verifyNoInteractions(feedbackSearchEngine);
+	}
+
+	/**
+	 * Test case for the integrity check. Verifies that a text is accepted unless the
+	 * detector finds an earlier feedback with nearly the same text.
+	 */
+	@Test
+	void testCheckFeedbackIntegrity() {
+		when(feedbackDuplicateDetector.findDuplicate("copied text")).thenReturn(
+				Optional.of(new FeedbackDuplicateDto(0, 12, 0.9)));
+		when(feedbackDuplicateDetector.findDuplicate("original text")).thenReturn(Optional.empty());
+
+		assertFalse(feedbackService.checkFeedbackIntegrity("copied text"));
+		assertTrue(feedbackService.checkFeedbackIntegrity("original text"));
+	}
+
+	/**
+	 * Test case for the duplicate audit. Verifies that the configured similarity is the
+	 * default and that a similarity outside (0, 1] or an oversized limit is rejected.
+	 */
+	@Test
+	void testAuditDuplicates() throws Exception {
+		FeedbackDuplicateAuditDto audit = new FeedbackDuplicateAuditDto(10, 0, List.of());
+		when(feedbackDuplicateDetector.getMinSimilarity()).thenReturn(0.7);
+		when(feedbackDuplicateDetector.audit(0.7, FeedbackService.DEFAULT_DUPLICATE_LIMIT)).thenReturn(audit);
+
+		assertSame(audit, feedbackService.auditDuplicates(null, null));
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.auditDuplicates(0.0, null);
+		});
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.auditDuplicates(1.5, null);
+		});
+		assertThrows(InvalidRequestParameterException.class, () -> {
+			feedbackService.auditDuplicates(0.8, FeedbackService.MAX_DUPLICATE_LIMIT + 1);
+		});
+		verify(feedbackDuplicateDetector, times(1)).audit(anyDouble(), anyInt());
+	}
+
+	/**
+	 * Test case for a combined filter. Verifies that every criterion reaches the
+	 * query instead of the first one winning.
+	 */
+	@Test
+	void testGetFeedbacksByFilters_CombinedFilters() throws Exception {
+		when(merchantService.existsById(3L)).thenReturn(true);
+		when(employeeService.existsById(1L)).thenReturn(true);
+		when(deviceService.existsById(2L)).thenReturn(true);
+
+		FeedbackFilter filter = new FeedbackFilter(1L, 2L, null, 3L);
+		filter.setMinRating(3.0);
+		filter.setFrom(LocalDateTime.of(2024, 10, 1, 0, 0));
+		when(feedbackQueryRepository.findPage(filter, null, FeedbackService.MAX_PAGE_SIZE + 1))
+				.thenReturn(List.of(new FeedbackSummaryDto()));
+
+		FeedbackPageDto page = feedbackService.getFeedbacksByFilters(filter);
+		assertEquals(1, page.getFeedbacks().size());
+		assertNull(page.getNextCursor());
+		verify(feedbackQueryRepository, times(1)).findPage(filter, null, FeedbackService.MAX_PAGE_SIZE + 1);
+	}
+
+	/**
+	 * Test case for reading one feedback. Verifies that an unknown ID is reported.
+	 */
+	@Test
+	void testGetFeedbackById_NotFound() {
+		when(feedbackRepository.findById(9)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> feedbackService.getFeedbackById(9));
+	}
+
+	/**
+	 * Test case for empty ranges. Verifies that they are rejected.
+	 */
+	@Test
+	void testGetFeedbacksByFilters_EmptyRanges() {
+		FeedbackFilter ratings = new FeedbackFilter();
+		ratings.setMinRating(4.0);
+		ratings.setMaxRating(2.0);
+		assertThrows(InvalidRequestParameterException.class, () -> feedbackService.getFeedbacksByFilters(ratings));
+
+		FeedbackFilter times = new FeedbackFilter();
+		times.setFrom(LocalDateTime.of(2024, 10, 2, 0, 0));
+		times.setTo(LocalDateTime.of(2024, 10, 1, 0, 0));
+		assertThrows(InvalidRequestParameterException.class, () -> feedbackService.getFeedbacksByFilters(times));
+
+		verifyNoInteractions(feedbackQueryRepository);
+	}
+
+	/**
+	 * Test case for the device analytics. Verifies that they are read from the
+	 * rollups and that a device without rated feedbacks has a count but no average.
+	 */
+	@Test
+	void testDeviceAnalytics_ReadFromRollups() {
+		FeedbackRollup rated = new FeedbackRollup(FeedbackRollupScope.DEVICE, 1L);
+		rated.setFeedbackCount(3);
+		rated.setRatingSum(12.0);
+		rated.setRating4Count(3);
+		FeedbackRollup unrated = new FeedbackRollup(FeedbackRollupScope.DEVICE, 2L);
+		unrated.setFeedbackCount(1);
+		when(feedbackRollupService.getRollups(FeedbackRollupScope.DEVICE)).thenReturn(List.of(rated, unrated));
+
+		List<AverageRatingResponseDTO> averages = feedbackService.getAverageRatingByDevice();
+		assertEquals(1, averages.size());
+		assertEquals(4.0, averages.get(0).getAverageRating());
+
+		List<DeviceFeedbackCountDTO> counts = feedbackService.getFeedbackCountByDevice();
+		assertEquals(2, counts.size());
+		assertEquals(3L, counts.get(0).getFeedbackCount());
+		verifyNoInteractions(feedbackRepository);
+	}
+
+	/**
+	 * Test case for the employee report. Verifies that it is one query, that the
+	 * rollups serve the all-time report and that no employee is loaded.
+	 */
+	@Test
+	void testCountFeedbacksForAllEmployees_SingleQuery() throws Exception {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { 1L, "john@example.com", 7L });
+		when(feedbackRollupRepository.countFeedbacksByEmployee(PageRequest.of(0, 2))).thenReturn(rows);
+
+		List<EmployeeFeedbackCountDto> counts = feedbackService.countFeedbacksForAllEmployees(2, null, null);
+
+		assertEquals(1, counts.size());
+		assertEquals("john@example.com", counts.get(0).getEmployeeName());
+		assertEquals(7, counts.get(0).getFeedbackCount());
+		verify(employeeRepository, never()).findById(anyLong());
+		verify(feedbackRepository, never()).countFeedbacksByEmployeeBetween(any(), any(), any());
+	}
+
+	/**
+	 * Test case for the employee report over a time window. Verifies that the
+	 * feedbacks of the window are counted and that bad parameters are rejected.
+	 */
+	@Test
+	void testCountFeedbacksForAllEmployees_Window() throws Exception {
+		LocalDateTime from = LocalDateTime.of(2024, 10, 1, 0, 0);
+		when(feedbackRepository.countFeedbacksByEmployeeBetween(from, null, Pageable.unpaged()))
+				.thenReturn(new ArrayList<>());
+
+		assertTrue(feedbackService.countFeedbacksForAllEmployees(null, from, null).isEmpty());
+		verifyNoInteractions(feedbackRollupRepository);
+
+		assertThrows(InvalidRequestParameterException.class,
+				() -> feedbackService.countFeedbacksForAllEmployees(0, null, null));
+		assertThrows(InvalidRequestParameterException.class,
+				() -> feedbackService.countFeedbacksForAllEmployees(null, from, from));
+	}
 }
@@ -0,0 +1,224 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.payswiff.mfmsproject.dtos.FeedbackTrendDto;
+import com.payswiff.mfmsproject.dtos.FeedbackTrendPointDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackDailyRollup;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.models.TrendInterval;
+import com.payswiff.mfmsproject.repositories.FeedbackDailyRollupRepository;
+import com.payswiff.mfmsproject.repositories.FeedbackRepository;
+
+/**
+ * Unit tests for the FeedbackTrendService class.
+ */
+class FeedbackTrendServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 9); // a Wednesday
+
+    @Mock
+    private FeedbackDailyRollupRepository feedbackDailyRollupRepository; // Mocked rollup table
+
+    @Mock
+    private FeedbackRepository feedbackRepository; // Mocked source of the reconciliation
+
+    @Mock
+    private JdbcTemplate jdbcTemplate; // Mocked batched increments and reconciliation reads
+
+    @Mock
+    private PlatformTransactionManager transactionManager; // Transactions are not under test
+
+    @InjectMocks
+    private FeedbackTrendService feedbackTrendService; // The service under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedbackTrendService, "reconcileDays", 7);
+        feedbackTrendService.init();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1, 1, 1 });
+        // the reconciliation lock row exists and is free
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("feedback_daily_rollup"))).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("feedback_daily_rollup")))
+                .thenReturn(List.of("feedback_daily_rollup"));
+    }
+
+    /**
+     * Tests that a feedback adds to the rows of its creation day in one batch, in key order.
+     */
+    @Test
+    void testRecord_IncrementsAllScopes() {
+        feedbackTrendService.record(feedback(4.0));
+        feedbackTrendService.record(feedback(2.0));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> increments = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), increments.capture());
+        List<Object[]> first = increments.getAllValues().get(0);
+        assertArrayEquals(new Object[] { 1L, 4.0, "EMPLOYEE", 1L, DAY }, first.get(0));
+        assertArrayEquals(new Object[] { 1L, 4.0, "DEVICE", 2L, DAY }, first.get(1));
+        assertArrayEquals(new Object[] { 1L, 4.0, "MERCHANT", 3L, DAY }, first.get(2));
+        assertEquals(2.0, increments.getValue().get(1)[1]);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class)); // every row existed
+    }
+
+    /**
+     * Tests that a daily series has a point for every day of the range, empty days included.
+     */
+    @Test
+    void testGetTrend_DenseDailySeries() throws InvalidRequestParameterException {
+        when(feedbackDailyRollupRepository.findRangeOfKey(FeedbackRollupScope.DEVICE, 2L, DAY, DAY.plusDays(4)))
+                .thenReturn(List.of(row(2L, DAY, 2, 7.0), row(2L, DAY.plusDays(2), 1, 3.0)));
+
+        FeedbackTrendDto trend = feedbackTrendService.getTrend(FeedbackRollupScope.DEVICE, 2L, DAY, DAY.plusDays(4),
+                TrendInterval.DAY);
+
+        assertEquals(2L, trend.getId());
+        List<FeedbackTrendPointDto> points = trend.getPoints();
+        assertEquals(4, points.size());
+        assertEquals(DAY, points.get(0).getPeriodStart());
+        assertEquals(2, points.get(0).getFeedbackCount());
+        assertEquals(Double.valueOf(3.5), points.get(0).getAverageRating());
+        assertEquals(0, points.get(1).getFeedbackCount());
+        assertNull(points.get(1).getAverageRating());
+        assertEquals(Double.valueOf(3.0), points.get(2).getAverageRating());
+        assertEquals(DAY.plusDays(3), points.get(3).getPeriodStart());
+    }
+
+    /**
+     * Tests that weekly points start on Mondays and that every ID with feedbacks gets its own
+     * series.
+     */
+    @Test
+    void testGetTrends_WeeklySeries() throws InvalidRequestParameterException {
+        LocalDate to = DAY.plusDays(14);
+        when(feedbackDailyRollupRepository.findRangeOfScope(FeedbackRollupScope.MERCHANT, DAY, to)).thenReturn(List.of(
+                row(3L, DAY, 1, 4.0), row(3L, DAY.plusDays(5), 1, 2.0), row(5L, DAY.plusDays(13), 2, 10.0)));
+
+        List<FeedbackTrendDto> trends = feedbackTrendService.getTrends(FeedbackRollupScope.MERCHANT, DAY, to,
+                TrendInterval.WEEK);
+
+        assertEquals(2, trends.size());
+        List<FeedbackTrendPointDto> first = trends.get(0).getPoints();
+        assertEquals(3, first.size());
+        assertEquals(LocalDate.of(2024, 10, 7), first.get(0).getPeriodStart());
+        assertEquals(1, first.get(0).getFeedbackCount());
+        assertEquals(1, first.get(1).getFeedbackCount());
+        assertEquals(0, first.get(2).getFeedbackCount());
+        assertEquals(5L, trends.get(1).getId());
+        assertEquals(2, trends.get(1).getPoints().get(2).getFeedbackCount());
+        assertEquals(Double.valueOf(5.0), trends.get(1).getPoints().get(2).getAverageRating());
+    }
+
+    /**
+     * Tests that empty and overlong ranges are rejected.
+     */
+    @Test
+    void testGetTrend_InvalidRange() {
+        assertThrows(InvalidRequestParameterException.class, () -> feedbackTrendService
+                .getTrend(FeedbackRollupScope.DEVICE, 2L, DAY, DAY, TrendInterval.DAY));
+        assertThrows(InvalidRequestParameterException.class, () -> feedbackTrendService
+                .getTrend(FeedbackRollupScope.DEVICE, 2L, DAY.minusYears(3), DAY, TrendInterval.DAY));
+    }
+
+    /**
+     * Tests that reconciliation adds only the drift: to drifted rows, to missing ones and to
+     * rows whose feedbacks are gone.
+     */
+    @Test
+    void testRebuild_AddsOnlyDrift() throws Exception {
+        // existing device rows: (2, DAY) with 1 feedback, 4.0 and (9, DAY) with 5 feedbacks, 20.0
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("DEVICE");
+        when(rs.getLong(2)).thenReturn(2L, 9L);
+        when(rs.getObject(3, LocalDate.class)).thenReturn(DAY);
+        when(rs.getDouble(4)).thenReturn(1.0, 5.0);
+        when(rs.getDouble(5)).thenReturn(4.0, 20.0);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("DEVICE"), eq(DAY));
+
+        List<Object[]> source = new ArrayList<>();
+        source.add(new Object[] { 2L, DAY, 2L, 9.0 });
+        source.add(new Object[] { 4L, DAY.plusDays(1), 1L, 3.0 });
+        when(feedbackRepository.dailyRollupByDevice(DAY.atStartOfDay())).thenReturn(source);
+
+        feedbackTrendService.rebuild(DAY);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> drift = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), drift.capture()); // nothing to correct elsewhere
+        assertArrayEquals(new Object[] { 1L, 5.0, "DEVICE", 2L, DAY }, drift.getValue().get(0));
+        assertArrayEquals(new Object[] { 1L, 3.0, "DEVICE", 4L, DAY.plusDays(1) }, drift.getValue().get(1));
+        assertArrayEquals(new Object[] { -5L, -20.0, "DEVICE", 9L, DAY }, drift.getValue().get(2));
+        verify(feedbackDailyRollupRepository, never()).save(any(FeedbackDailyRollup.class));
+        verify(feedbackRepository).dailyRollupByEmployee(DAY.atStartOfDay());
+        verify(feedbackRepository).dailyRollupByMerchant(DAY.atStartOfDay());
+    }
+
+    /**
+     * Tests that the backfill is skipped, without reading the feedbacks, while another
+     * instance holds the reconciliation lock.
+     */
+    @Test
+    void testInitializeIfEmpty_SkippedWhileLocked() {
+        when(feedbackDailyRollupRepository.count()).thenReturn(0L);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("feedback_daily_rollup"))).thenReturn(List.of());
+
+        feedbackTrendService.initializeIfEmpty();
+
+        verifyNoInteractions(feedbackRepository);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static FeedbackDailyRollup row(Long key, LocalDate day, long count, double sum) {
+        FeedbackDailyRollup rollup = new FeedbackDailyRollup(FeedbackRollupScope.DEVICE, key, day);
+        rollup.setFeedbackCount(count);
+        rollup.setRatingSum(sum);
+        return rollup;
+    }
+
+    private static Feedback feedback(double rating) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(1L);
+        Device device = new Device();
+        device.setDeviceId(2L);
+        Merchant merchant = new Merchant();
+        merchant.setMerchantId(3L);
+
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackRating(rating);
+        feedback.setFeedbackCreationTime(LocalDateTime.of(DAY, LocalTime.NOON));
+        return feedback;
+    }
+}
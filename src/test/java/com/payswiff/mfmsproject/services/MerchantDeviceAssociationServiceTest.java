@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.payswiff.mfmsproject.dtos.MerchantDeviceCountDTO;
 import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
@@ -42,10 +44,15 @@ class MerchantDeviceAssociationServiceTest {
     @Mock
     private DeviceRepository deviceRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     // Injecting mocks into the service
     @InjectMocks
     private MerchantDeviceAssociationService service;
 
+    private MerchantDeviceIndex merchantDeviceIndex;
+
     private AutoCloseable closeable;
 
     /**
@@ -55,6 +62,12 @@ class MerchantDeviceAssociationServiceTest {
     void setUp() {
         // Initializing Mockito's annotations
         closeable = MockitoAnnotations.openMocks(this);
+
+        // Real index loaded from an empty table; tests add the associations they need
+        merchantDeviceIndex = new MerchantDeviceIndex();
+        ReflectionTestUtils.setField(merchantDeviceIndex, "jdbcTemplate", jdbcTemplate);
+        merchantDeviceIndex.rebuild();
+        ReflectionTestUtils.setField(service, "merchantDeviceIndex", merchantDeviceIndex);
     }
 
     /**
@@ -99,11 +112,35 @@ class MerchantDeviceAssociationServiceTest {
 
         assertEquals(merchant, result.getMerchant());
         assertEquals(device, result.getDevice());
+        assertTrue(merchantDeviceIndex.contains(merchantId, deviceId));
         
         deviceRepository.deleteById(deviceId);
         merchantRepository.deleteById(merchantId);
     }
 
+    /**
+     * Tests that assigning a pair that already exists returns the stored association without
+     * saving it again.
+     */
+    @Test
+    void testAssignDeviceToMerchant_AlreadyAssigned() throws ResourceNotFoundException, ResourceUnableToCreate {
+        Merchant merchant = new Merchant();
+        merchant.setMerchantId(1L);
+        Device device = new Device();
+        device.setDeviceId(2L);
+        MerchantDeviceAssociation existing = new MerchantDeviceAssociation(7, merchant, device);
+
+        when(merchantRepository.findById(1L)).thenReturn(Optional.of(merchant));
+        when(deviceRepository.findById(2L)).thenReturn(Optional.of(device));
+        when(associationRepository.findFirstByMerchantAndDeviceOrderByIdAsc(merchant, device))
+                .thenReturn(Optional.of(existing));
+
+        MerchantDeviceAssociation result = service.assignDeviceToMerchant(1L, 2L);
+
+        assertSame(existing, result);
+        verify(associationRepository, never()).save(any(MerchantDeviceAssociation.class));
+    }
+
     /**
      * Tests if assignDeviceToMerchant throws ResourceUnableToCreate when merchantId is null.
      */
@@ -247,6 +284,29 @@ class MerchantDeviceAssociationServiceTest {
         assertTrue(service.isDeviceAssociatedWithMerchant(merchantId, deviceId));
     }
 
+    /**
+     * Tests that an association held by the index is answered without any query.
+     */
+    @Test
+    void testIsDeviceAssociatedWithMerchant_FromIndex() throws ResourceNotFoundException, ResourceUnableToCreate {
+        merchantDeviceIndex.add(1L, 2L);
+
+        assertTrue(service.isDeviceAssociatedWithMerchant(1L, 2L));
+        verifyNoInteractions(merchantRepository, deviceRepository, associationRepository);
+    }
+
+    /**
+     * Tests if isDeviceAssociatedWithMerchant still reports a missing merchant when the index has no entry.
+     */
+    @Test
+    void testIsDeviceAssociatedWithMerchant_MerchantNotFound() {
+        when(merchantRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            service.isDeviceAssociatedWithMerchant(1L, 2L);
+        });
+    }
+
     /**
      * Tests if isDeviceAssociatedWithMerchant returns false when association does not exist.
      */
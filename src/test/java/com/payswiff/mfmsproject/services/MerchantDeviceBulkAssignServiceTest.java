@@ -0,0 +1,135 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.payswiff.mfmsproject.dtos.MerchantDeviceAssignmentRejectionDto;
+import com.payswiff.mfmsproject.dtos.MerchantDeviceAssignmentSummaryDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.models.MerchantDeviceAssociation;
+import com.payswiff.mfmsproject.reuquests.MerchantDeviceAssociationRequest;
+
+/**
+ * Test class for {@link MerchantDeviceBulkAssignService}.
+ * Assigns pairs against the in-memory database, in batches of two.
+ */
+@DataJpaTest
+@Import({ MerchantDeviceBulkAssignService.class, MerchantDeviceIndex.class })
+@TestPropertySource(properties = "mfms.merchant-device.bulk.batch-size=2")
+class MerchantDeviceBulkAssignServiceTest {
+
+    @Autowired
+    private MerchantDeviceBulkAssignService bulkAssignService;
+
+    @Autowired
+    private MerchantDeviceIndex merchantDeviceIndex;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long merchant1;
+    private long merchant2;
+    private long device1;
+    private long device2;
+
+    /**
+     * Saves two merchants, two devices and one association between the first of each.
+     */
+    @BeforeEach
+    void setUp() {
+        Merchant m1 = entityManager.persist(new Merchant(null, UUID.randomUUID().toString(), "Anil",
+                "anil@shop.com", "9000000001", "Anil Stores", "retail", null, null));
+        Merchant m2 = entityManager.persist(new Merchant(null, UUID.randomUUID().toString(), "Bala",
+                "bala@shop.com", "9000000002", "Bala Mart", "retail", null, null));
+        Device d1 = entityManager.persist(new Device(null, UUID.randomUUID().toString(), "P1", "Payswiff", null, null));
+        Device d2 = entityManager.persist(new Device(null, UUID.randomUUID().toString(), "P2", "Payswiff", null, null));
+        entityManager.persistAndFlush(new MerchantDeviceAssociation(null, m1, d1));
+        merchant1 = m1.getMerchantId();
+        merchant2 = m2.getMerchantId();
+        device1 = d1.getDeviceId();
+        device2 = d2.getDeviceId();
+    }
+
+    /**
+     * Tests that new pairs are assigned and indexed, existing and repeated pairs are skipped,
+     * and pairs with an unknown merchant or device or a missing ID are reported by position.
+     */
+    @Test
+    void testAssign() throws Exception {
+        List<MerchantDeviceAssociationRequest> requests = List.of(
+                new MerchantDeviceAssociationRequest(merchant1, device1), // already assigned
+                new MerchantDeviceAssociationRequest(merchant1, device2),
+                new MerchantDeviceAssociationRequest(merchant1, device2), // repeated
+                new MerchantDeviceAssociationRequest(merchant2, device1),
+                new MerchantDeviceAssociationRequest(99999L, device1),
+                new MerchantDeviceAssociationRequest(merchant2, 99999L),
+                new MerchantDeviceAssociationRequest(merchant2, null));
+
+        MerchantDeviceAssignmentSummaryDto summary = bulkAssignService.assign(requests);
+
+        assertEquals(7, summary.getRequested());
+        assertEquals(2, summary.getAssigned());
+        assertEquals(2, summary.getAlreadyAssigned());
+        assertEquals(List.of(5, 6, 7),
+                summary.getRejected().stream().map(MerchantDeviceAssignmentRejectionDto::getPosition).toList());
+        assertEquals("Merchant not found with ID: 99999", summary.getRejected().get(0).getReason());
+        assertEquals("Device not found with ID: 99999", summary.getRejected().get(1).getReason());
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM merchant_device_association", Integer.class));
+        assertTrue(merchantDeviceIndex.contains(merchant1, device2));
+        assertTrue(merchantDeviceIndex.contains(merchant2, device1));
+        // the pair saved by setUp is only in the index once it is rebuilt; then both directions agree
+        merchantDeviceIndex.rebuild();
+        assertEquals(2, merchantDeviceIndex.deviceCount(merchant1));
+        assertEquals(1, merchantDeviceIndex.deviceCount(merchant2));
+        assertEquals(2, merchantDeviceIndex.merchantCount(device1));
+        assertArrayEquals(new long[] { merchant1, merchant2 }, merchantDeviceIndex.merchantsOf(device1));
+        assertArrayEquals(new long[] { merchant1 }, merchantDeviceIndex.merchantsOf(device2));
+        assertEquals(0, merchantDeviceIndex.merchantCount(99999L));
+    }
+
+    /**
+     * Tests a CSV upload: a second upload of the same pair is skipped, and a row that is not a
+     * pair of IDs is reported by line.
+     */
+    @Test
+    void testAssign_Csv() throws Exception {
+        String csv = "device_id,merchant_id\r\n" + device2 + "," + merchant2 + "\r\n" + device1 + "," + merchant1
+                + "\r\n\r\nP1," + merchant2 + "\r\n";
+
+        MerchantDeviceAssignmentSummaryDto summary = bulkAssignService.assign(new StringReader(csv));
+
+        assertEquals(3, summary.getRequested());
+        assertEquals(1, summary.getAssigned());
+        assertEquals(1, summary.getAlreadyAssigned());
+        assertEquals(1, summary.getRejected().size());
+        assertEquals(5, summary.getRejected().get(0).getPosition());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM merchant_device_association", Integer.class));
+    }
+
+    /**
+     * Tests that an empty list is rejected.
+     */
+    @Test
+    void testAssign_Empty() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> bulkAssignService.assign(List.<MerchantDeviceAssociationRequest>of()));
+    }
+}
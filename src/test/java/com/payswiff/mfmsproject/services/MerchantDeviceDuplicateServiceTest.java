@@ -0,0 +1,146 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateDto;
+import com.payswiff.mfmsproject.dtos.MerchantDeviceDuplicateReportDto;
+import com.payswiff.mfmsproject.exceptions.ResourceUnableToCreate;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Merchant;
+import com.payswiff.mfmsproject.repositories.DeviceRepository;
+import com.payswiff.mfmsproject.repositories.MerchantRepository;
+
+/**
+ * Test class for {@link MerchantDeviceDuplicateService}.
+ * Drops the unique key of the in-memory table to recreate a database from before it existed.
+ * Runs without the test transaction, since the key is added outside of one, so every test
+ * commits its rows and removes them afterwards.
+ */
+@DataJpaTest
+@Import(MerchantDeviceDuplicateService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MerchantDeviceDuplicateServiceTest {
+
+    @Autowired
+    private MerchantDeviceDuplicateService duplicateService; // The service under test
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long merchantId;
+    private Long deviceId;
+    private Long otherDeviceId;
+
+    /**
+     * Saves a merchant and two devices, and drops the unique key on the pair.
+     */
+    @BeforeEach
+    void setUp() {
+        merchantId = saveMerchant().getMerchantId();
+        deviceId = saveDevice("Model X").getDeviceId();
+        otherDeviceId = saveDevice("Model Y").getDeviceId();
+        jdbcTemplate.execute("ALTER TABLE merchant_device_association DROP CONSTRAINT IF EXISTS "
+                + MerchantDeviceDuplicateService.UNIQUE_KEY);
+    }
+
+    /**
+     * Removes the committed rows and restores the key.
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM merchant_device_association_removed");
+        jdbcTemplate.update("DELETE FROM merchant_device_association");
+        jdbcTemplate.update("DELETE FROM device");
+        jdbcTemplate.update("DELETE FROM merchant");
+        jdbcTemplate.execute("ALTER TABLE merchant_device_association DROP CONSTRAINT IF EXISTS "
+                + MerchantDeviceDuplicateService.UNIQUE_KEY);
+        jdbcTemplate.execute("ALTER TABLE merchant_device_association ADD CONSTRAINT "
+                + MerchantDeviceDuplicateService.UNIQUE_KEY + " UNIQUE (merchant_id, device_id)");
+    }
+
+    /**
+     * Tests that the report lists every repeat but the oldest row of its pair and deletes nothing.
+     */
+    @Test
+    void testFindDuplicates_ReportsWithoutDeleting() {
+        int kept = associate(merchantId, deviceId);
+        int repeat = associate(merchantId, deviceId);
+        associate(merchantId, otherDeviceId);
+
+        MerchantDeviceDuplicateReportDto report = duplicateService.findDuplicates();
+
+        assertFalse(report.isRemoved());
+        assertEquals(1, report.getDuplicates().size());
+        MerchantDeviceDuplicateDto duplicate = report.getDuplicates().get(0);
+        assertEquals(repeat, duplicate.getId());
+        assertEquals(kept, duplicate.getKeptId());
+        assertEquals(deviceId, duplicate.getDeviceId());
+        assertEquals(3, count("merchant_device_association"));
+    }
+
+    /**
+     * Tests that the repeats are backed up and deleted, and that the key then rejects a new repeat.
+     */
+    @Test
+    void testRemoveDuplicatesAndAddKey() throws ResourceUnableToCreate {
+        int kept = associate(merchantId, deviceId);
+        int repeat = associate(merchantId, deviceId);
+        int again = associate(merchantId, deviceId);
+        associate(merchantId, otherDeviceId);
+
+        MerchantDeviceDuplicateReportDto report = duplicateService.removeDuplicatesAndAddKey();
+
+        assertTrue(report.isRemoved());
+        assertEquals(List.of(repeat, again), report.getDuplicates().stream().map(MerchantDeviceDuplicateDto::getId).toList());
+        assertEquals(2, count("merchant_device_association"));
+        assertEquals(List.of(repeat, again), jdbcTemplate.queryForList(
+                "SELECT id FROM merchant_device_association_removed WHERE kept_id = ? ORDER BY id", Integer.class, kept));
+        assertThrows(Exception.class, () -> associate(merchantId, deviceId));
+    }
+
+    private int associate(Long merchant, Long device) {
+        jdbcTemplate.update("INSERT INTO merchant_device_association (merchant_id, device_id) VALUES (?, ?)", merchant,
+                device);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM merchant_device_association", Integer.class);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private Device saveDevice(String model) {
+        Device device = new Device();
+        device.setDeviceUuid(UUID.randomUUID().toString());
+        device.setDeviceModel(model);
+        device.setDeviceManufacturer("Manufacturer Y");
+        return deviceRepository.save(device);
+    }
+
+    private Merchant saveMerchant() {
+        Merchant merchant = new Merchant();
+        merchant.setMerchantBusinessName("gopi shopi");
+        merchant.setMerchantBusinessType("retail");
+        merchant.setMerchantEmail("merchant@example.com");
+        merchant.setmerchantName("gopi");
+        merchant.setMerchantUuid(UUID.randomUUID().toString());
+        merchant.setMerchantPhone("1234567890");
+        return merchantRepository.save(merchant);
+    }
+}
@@ -0,0 +1,92 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.payswiff.mfmsproject.dtos.MerchantImportRejectionDto;
+import com.payswiff.mfmsproject.dtos.MerchantImportReportDto;
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.Merchant;
+
+/**
+ * Test class for {@link MerchantImportService}.
+ * Imports CSV files against the in-memory database, in batches of two rows.
+ */
+@DataJpaTest
+@Import({ MerchantImportService.class, ReferenceCacheService.class })
+@TestPropertySource(properties = "mfms.merchant.import.batch-size=2")
+class MerchantImportServiceTest {
+
+    @Autowired
+    private MerchantImportService merchantImportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Saves a merchant that already exists before the import.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManager.persistAndFlush(new Merchant(null, UUID.randomUUID().toString(), "Existing",
+                "Existing@shop.com", "9000000000", "Existing Shop", "retail", null, null));
+    }
+
+    /**
+     * Tests that valid rows are created, quoted fields keep their commas, and rows that are
+     * taken, repeated, short of a column or empty are reported by their line in the file.
+     */
+    @Test
+    void testImportMerchants() throws Exception {
+        String csv = "Merchant_Email,merchant_name,merchant_phone,merchant_business_name,merchant_business_type\r\n"
+                + "a@shop.com,Anil,9000000001,\"Anil Stores, Hyderabad\",retail\r\n"
+                + "\r\n"
+                + "B@Shop.com,Bala,9000000002,Bala Mart,retail\n"
+                + "b@shop.com,Bala Two,9000000003,Bala Mart,retail\n"
+                + "existing@shop.com,Someone,9000000004,Shop,retail\n"
+                + "c@shop.com,Chand,9000000005,Chand Foods\n"
+                + "d@shop.com,,9000000006,Dev Stores,retail\n"
+                + "e@shop.com,Esha,9000000007,Esha Foods,food";
+
+        MerchantImportReportDto report = merchantImportService.importMerchants(new StringReader(csv));
+
+        assertEquals(7, report.getRows()); // data rows; the blank line 3 still counts for line numbers
+        assertEquals(3, report.getCreated());
+        assertEquals(List.of(5, 6, 7, 8),
+                report.getRejected().stream().map(MerchantImportRejectionDto::getLine).toList());
+        assertEquals("Email b@shop.com repeated from line 4", report.getRejected().get(0).getReason());
+        assertEquals("Merchant with email existing@shop.com already exists", report.getRejected().get(1).getReason());
+        assertEquals("Expected 5 columns, found 4", report.getRejected().get(2).getReason());
+
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM merchant", Integer.class));
+        assertEquals("Anil Stores, Hyderabad", jdbcTemplate.queryForObject(
+                "SELECT merchant_business_name FROM merchant WHERE merchant_email = 'a@shop.com'", String.class));
+    }
+
+    /**
+     * Tests that a file whose header lacks a column is rejected before any row is read.
+     */
+    @Test
+    void testImportMerchants_MissingColumn() {
+        String csv = "merchant_name,merchant_email,merchant_phone\nAnil,a@shop.com,9000000001\n";
+
+        assertThrows(InvalidRequestParameterException.class,
+                () -> merchantImportService.importMerchants(new StringReader(csv)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM merchant", Integer.class));
+    }
+}
@@ -50,6 +50,9 @@ class MerchantServiceTest {
     @Mock
     private MerchantRepository merchantRepository; // Mock the MerchantRepository dependency
 
+    @Mock
+    private ReferenceCacheService referenceCacheService; // Mocked second-level cache
+
     @InjectMocks
     private MerchantService merchantService; // Inject mocks into MerchantService
 
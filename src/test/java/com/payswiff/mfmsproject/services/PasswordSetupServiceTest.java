@@ -0,0 +1,149 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.payswiff.mfmsproject.exceptions.InvalidRequestParameterException;
+import com.payswiff.mfmsproject.models.PasswordSetupToken;
+import com.payswiff.mfmsproject.repositories.PasswordSetupTokenRepository;
+
+/**
+ * Unit tests for the PasswordSetupService class.
+ */
+class PasswordSetupServiceTest {
+
+    private static final String PREFIX = "https://mfms/set-password?token=";
+
+    @Mock
+    private PasswordSetupTokenRepository passwordSetupTokenRepository; // Mocked token table
+
+    @Mock
+    private EmployeeService employeeService; // Sets the password
+
+    @InjectMocks
+    private PasswordSetupService passwordSetupService; // The service under test
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(passwordSetupService, "linkPrefix", PREFIX);
+        ReflectionTestUtils.setField(passwordSetupService, "ttlMs", 3_600_000L);
+        when(passwordSetupTokenRepository.save(any(PasswordSetupToken.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    /**
+     * Tests that a link carries a random token and only its hash is stored.
+     */
+    @Test
+    void testIssueLink_StoresOnlyTheHash() {
+        when(passwordSetupTokenRepository.findByPasswordSetupEmail("new@example.com")).thenReturn(Optional.empty());
+
+        String link = passwordSetupService.issueLink("new@example.com");
+
+        assertTrue(link.startsWith(PREFIX));
+        String token = link.substring(PREFIX.length());
+        ArgumentCaptor<PasswordSetupToken> captor = ArgumentCaptor.forClass(PasswordSetupToken.class);
+        verify(passwordSetupTokenRepository).save(captor.capture());
+        PasswordSetupToken saved = captor.getValue();
+        assertEquals("new@example.com", saved.getPasswordSetupEmail());
+        assertEquals(PasswordSetupService.hash(token), saved.getPasswordSetupTokenHash());
+        assertNotEquals(token, saved.getPasswordSetupTokenHash());
+        assertTrue(saved.getPasswordSetupExpiryTime().isAfter(LocalDateTime.now().plusMinutes(59)));
+    }
+
+    /**
+     * Tests that a new link replaces the employee's earlier one.
+     */
+    @Test
+    void testIssueLink_ReplacesEarlierLink() {
+        PasswordSetupToken earlier = new PasswordSetupToken("new@example.com", "old-hash", LocalDateTime.now());
+        earlier.setPasswordSetupTokenId(7L);
+        when(passwordSetupTokenRepository.findByPasswordSetupEmail("new@example.com")).thenReturn(Optional.of(earlier));
+
+        String first = passwordSetupService.issueLink("new@example.com");
+        String second = passwordSetupService.issueLink("new@example.com");
+
+        assertNotEquals(first, second);
+        assertEquals(7L, earlier.getPasswordSetupTokenId());
+        assertEquals(PasswordSetupService.hash(second.substring(PREFIX.length())), earlier.getPasswordSetupTokenHash());
+    }
+
+    /**
+     * Tests that a valid token sets the password and is used up.
+     */
+    @Test
+    void testSetPassword_ValidToken() throws Exception {
+        PasswordSetupToken row = new PasswordSetupToken("new@example.com", PasswordSetupService.hash("tok"),
+                LocalDateTime.now().plusHours(1));
+        row.setPasswordSetupTokenId(3L);
+        when(passwordSetupTokenRepository.findByPasswordSetupTokenHash(PasswordSetupService.hash("tok")))
+                .thenReturn(Optional.of(row));
+        when(passwordSetupTokenRepository.consume(3L)).thenReturn(1);
+
+        assertTrue(passwordSetupService.setPassword("tok", "n3w-Password"));
+        verify(employeeService).updateEmployeePassword("new@example.com", "n3w-Password");
+    }
+
+    /**
+     * Tests that an expired token is rejected without touching the password.
+     */
+    @Test
+    void testSetPassword_ExpiredToken() throws Exception {
+        PasswordSetupToken row = new PasswordSetupToken("new@example.com", PasswordSetupService.hash("tok"),
+                LocalDateTime.now().minusMinutes(1));
+        row.setPasswordSetupTokenId(3L);
+        when(passwordSetupTokenRepository.findByPasswordSetupTokenHash(PasswordSetupService.hash("tok")))
+                .thenReturn(Optional.of(row));
+
+        assertThrows(InvalidRequestParameterException.class, () -> passwordSetupService.setPassword("tok", "pw"));
+        verify(passwordSetupTokenRepository, never()).consume(anyLong());
+        verify(employeeService, never()).updateEmployeePassword(anyString(), anyString());
+    }
+
+    /**
+     * Tests that a token used up by a concurrent request is rejected.
+     */
+    @Test
+    void testSetPassword_AlreadyUsedToken() throws Exception {
+        PasswordSetupToken row = new PasswordSetupToken("new@example.com", PasswordSetupService.hash("tok"),
+                LocalDateTime.now().plusHours(1));
+        row.setPasswordSetupTokenId(3L);
+        when(passwordSetupTokenRepository.findByPasswordSetupTokenHash(PasswordSetupService.hash("tok")))
+                .thenReturn(Optional.of(row));
+        when(passwordSetupTokenRepository.consume(3L)).thenReturn(0);
+
+        assertThrows(InvalidRequestParameterException.class, () -> passwordSetupService.setPassword("tok", "pw"));
+        verify(employeeService, never()).updateEmployeePassword(anyString(), anyString());
+    }
+
+    /**
+     * Tests that an unknown token is rejected and not echoed in the message.
+     */
+    @Test
+    void testSetPassword_UnknownToken() throws Exception {
+        when(passwordSetupTokenRepository.findByPasswordSetupTokenHash(anyString())).thenReturn(Optional.empty());
+
+        InvalidRequestParameterException e = assertThrows(InvalidRequestParameterException.class,
+                () -> passwordSetupService.setPassword("guessed-token", "pw"));
+        assertFalse(e.getMessage().contains("guessed-token"));
+        verify(employeeService, never()).updateEmployeePassword(anyString(), anyString());
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.List;
@@ -46,16 +47,24 @@ import static org.mockito.Mockito.*;
  *    - testGetAllQuestions_ReturnsEmptyList: Tests retrieval of all questions when none exist.
  *    - testGetAllQuestions_MultipleEntries: Tests retrieval of multiple questions.
  *
+ * 5. Catalog behaviour: reads are served from {@link QuestionCatalog} and saves publish a new version.
+ *
  * This test suite ensures that the QuestionService is robust and handles various scenarios appropriately.
+ * A real QuestionCatalog is used, backed by the same mocked repository.
  */
 class QuestionServiceTest {
 
     @Mock
     private QuestionRepository questionRepository; // Mock the QuestionRepository dependency
 
+    @Mock
+    private ReferenceCacheService referenceCacheService; // Mocked second-level cache
+
     @InjectMocks
     private QuestionService questionService; // Inject mocks into QuestionService
 
+    private QuestionCatalog questionCatalog; // Real catalog over the mocked repository
+
     /**
      * Initializes the Mockito annotations before each test.
      */
@@ -63,6 +72,9 @@ class QuestionServiceTest {
     void setUp() {
         // Initialize mocks before each test
         MockitoAnnotations.openMocks(this);
+        questionCatalog = new QuestionCatalog();
+        ReflectionTestUtils.setField(questionCatalog, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(questionService, "questionCatalog", questionCatalog);
     }
 
     /**
@@ -313,4 +325,54 @@ class QuestionServiceTest {
         assertEquals("Question 2", questions.get(1).getQuestionDescription());
         verify(questionRepository, times(1)).findAll();
     }
+
+    /**
+     * Tests that once the catalog is loaded, lookups by ID and description and the full
+     * list are served without touching the repository again.
+     */
+    @Test
+    void testReads_ServedFromCatalog() throws ResourceNotFoundException {
+        // Arrange: the catalog is loaded once from the repository
+        when(questionRepository.findAll()).thenReturn(List.of(new Question(1L, "uuid-1", "Question 1"),
+                new Question(2L, "uuid-2", "Question 2")));
+        questionService.getAllQuestions();
+
+        // Act: read the same data several times
+        Question byId = questionService.getQuestionById(2L);
+        Question byDescription = questionService.getQuestionByDescription("Question 1");
+        List<Question> all = questionService.getAllQuestions();
+
+        // Assert: results come from the snapshot and the repository was only hit by the initial load
+        assertEquals("Question 2", byId.getQuestionDescription());
+        assertEquals(1L, byDescription.getQuestionId());
+        assertEquals(2, all.size());
+        verify(questionRepository, times(1)).findAll();
+        verify(questionRepository, never()).findById(anyLong());
+        verify(questionRepository, never()).findByDescription(anyString());
+    }
+
+    /**
+     * Tests that saving a question swaps in a new catalog version containing it,
+     * while a snapshot taken before the save stays unchanged.
+     */
+    @Test
+    void testSaveQuestion_PublishesNewCatalogVersion() throws ResourceAlreadyExists, ResourceUnableToCreate {
+        // Arrange
+        when(questionRepository.findAll()).thenReturn(List.of(new Question(1L, "uuid-1", "Question 1")));
+        QuestionCatalog.Snapshot before = questionCatalog.current();
+
+        Question question = new Question(null, "uuid-2", "Question 2");
+        when(questionRepository.findByDescription("Question 2")).thenReturn(Optional.empty());
+        when(questionRepository.save(any(Question.class))).thenReturn(new Question(2L, "uuid-2", "Question 2"));
+
+        // Act
+        questionService.saveQuestion(question);
+        QuestionCatalog.Snapshot after = questionCatalog.current();
+
+        // Assert
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(1, before.getQuestions().size()); // Old snapshot is immutable
+        assertEquals(2, after.getQuestions().size());
+        assertTrue(after.contains(2L));
+    }
 }
@@ -0,0 +1,141 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.payswiff.mfmsproject.dtos.RatingDistributionDto;
+import com.payswiff.mfmsproject.exceptions.IndexNotLoadedException;
+import com.payswiff.mfmsproject.exceptions.ResourceNotFoundException;
+import com.payswiff.mfmsproject.models.Device;
+import com.payswiff.mfmsproject.models.Employee;
+import com.payswiff.mfmsproject.models.Feedback;
+import com.payswiff.mfmsproject.models.FeedbackRollupScope;
+import com.payswiff.mfmsproject.models.Merchant;
+
+/**
+ * Unit tests for the RatingDistributionEngine class.
+ */
+class RatingDistributionEngineTest {
+
+    @Mock
+    private JdbcTemplate streamingJdbcTemplate; // Mocked feedback scan
+
+    @InjectMocks
+    private RatingDistributionEngine ratingDistributionEngine; // The engine under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(ratingDistributionEngine, "streamingJdbcTemplate", streamingJdbcTemplate);
+        ReflectionTestUtils.setField(ratingDistributionEngine, "lowRatingThreshold", 2.0);
+    }
+
+    /**
+     * Tests the statistics of a device loaded by the scan: mean, standard deviation,
+     * percentiles to one decimal and share of low ratings.
+     */
+    @Test
+    void testRebuild_Statistics() throws ResourceNotFoundException {
+        scan(1, 2.0, 2, 4.5, 3, 3.0, 4, 5.0, 5, 0.5);
+
+        RatingDistributionDto device = ratingDistributionEngine.getDistribution(FeedbackRollupScope.DEVICE, 20L);
+
+        assertEquals(5, device.getCount());
+        assertEquals(3.0, device.getMean(), 1e-9);
+        assertEquals(Math.sqrt(2.7), device.getStandardDeviation(), 1e-9);
+        assertEquals(3.0, device.getMedian());
+        assertEquals(0.5, device.getP10());
+        assertEquals(5.0, device.getP90());
+        assertEquals(0.4, device.getLowRatingShare(), 1e-9);
+    }
+
+    /**
+     * Tests that a feedback recorded outside a transaction is counted at once, and that an
+     * ID without ratings is reported as not found.
+     */
+    @Test
+    void testRecord_AddsToAllScopes() throws ResourceNotFoundException {
+        scan(1, 4.0);
+
+        ratingDistributionEngine.record(feedback(2, 11L, 4.6));
+
+        assertEquals(2, ratingDistributionEngine.getDistribution(FeedbackRollupScope.DEVICE, 20L).getCount());
+        assertEquals(2, ratingDistributionEngine.getDistribution(FeedbackRollupScope.MERCHANT, 30L).getCount());
+        List<RatingDistributionDto> employees = ratingDistributionEngine.getDistributions(FeedbackRollupScope.EMPLOYEE);
+        assertEquals(List.of(10L, 11L), employees.stream().map(RatingDistributionDto::getId).toList());
+        assertEquals(4.6, employees.get(1).getMedian());
+        assertThrows(ResourceNotFoundException.class,
+                () -> ratingDistributionEngine.getDistribution(FeedbackRollupScope.DEVICE, 99L));
+    }
+
+    /**
+     * Tests that reads fail fast until the first load completes instead of scanning the
+     * table on the caller's thread.
+     */
+    @Test
+    void testRead_BeforeLoad() throws ResourceNotFoundException {
+        assertThrows(IndexNotLoadedException.class,
+                () -> ratingDistributionEngine.getDistributions(FeedbackRollupScope.EMPLOYEE));
+        verifyNoInteractions(streamingJdbcTemplate);
+
+        scan(1, 4.0);
+        assertEquals(1, ratingDistributionEngine.getDistribution(FeedbackRollupScope.EMPLOYEE, 10L).getCount());
+    }
+
+    /**
+     * Simulates a feedback table with the given (feedback ID, rating) pairs, all of employee
+     * 10, device 20 and merchant 30, and loads it.
+     */
+    private void scan(Object... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < rows.length; i += 2) {
+                handler.processRow(row((Integer) rows[i], (Double) rows[i + 1]));
+            }
+            return null;
+        }).when(streamingJdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        ratingDistributionEngine.rebuild();
+    }
+
+    private static ResultSet row(int feedbackId, double rating) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(feedbackId);
+        when(rs.getLong(2)).thenReturn(10L);
+        when(rs.getLong(3)).thenReturn(20L);
+        when(rs.getLong(4)).thenReturn(30L);
+        when(rs.getDouble(5)).thenReturn(rating);
+        when(rs.getTimestamp("feedback_creation_time")).thenReturn(Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        return rs;
+    }
+
+    private static Feedback feedback(int feedbackId, long employeeId, double rating) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        Device device = new Device();
+        device.setDeviceId(20L);
+        Merchant merchant = new Merchant();
+        merchant.setMerchantId(30L);
+
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackId(feedbackId);
+        feedback.setFeedbackEmployee(employee);
+        feedback.setFeedbackDevice(device);
+        feedback.setFeedbackMerchant(merchant);
+        feedback.setFeedbackRating(rating);
+        return feedback;
+    }
+}
@@ -0,0 +1,84 @@
+package com.payswiff.mfmsproject.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.payswiff.mfmsproject.dtos.CacheRegionStatsDto;
+import com.payswiff.mfmsproject.utils.CacheRegions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Unit tests for the ReferenceCacheService class.
+ */
+class ReferenceCacheServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory; // Unwraps to the mocked session factory
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private Statistics statistics;
+
+    @InjectMocks
+    private ReferenceCacheService referenceCacheService; // The service under test
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    /**
+     * Tests that evicting lookups drops the given query region only.
+     */
+    @Test
+    void testEvictLookups() {
+        referenceCacheService.evictLookups(CacheRegions.MERCHANT_QUERIES);
+
+        verify(cache).evictQueryRegion(CacheRegions.MERCHANT_QUERIES);
+        verifyNoMoreInteractions(cache);
+    }
+
+    /**
+     * Tests that every reference region is reported, with zeros for regions not used yet.
+     */
+    @Test
+    void testGetStatistics() {
+        CacheRegionStatistics roles = mock(CacheRegionStatistics.class);
+        when(roles.getHitCount()).thenReturn(9L);
+        when(roles.getMissCount()).thenReturn(1L);
+        when(roles.getPutCount()).thenReturn(1L);
+        when(roles.getElementCountInMemory()).thenReturn(2L);
+        when(statistics.getCacheRegionStatistics(CacheRegions.ROLE)).thenReturn(roles);
+
+        List<CacheRegionStatsDto> result = referenceCacheService.getStatistics();
+
+        assertEquals(8, result.size());
+        CacheRegionStatsDto role = result.stream().filter(r -> r.getRegion().equals(CacheRegions.ROLE)).findFirst().get();
+        assertEquals(9, role.getHitCount());
+        assertEquals(0.9, role.getHitRatio(), 1e-9);
+        CacheRegionStatsDto device = result.get(0);
+        assertEquals(CacheRegions.DEVICE, device.getRegion());
+        assertEquals(0, device.getHitCount());
+        assertEquals(0, device.getHitRatio());
+    }
+}